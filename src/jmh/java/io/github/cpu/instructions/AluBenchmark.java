@@ -0,0 +1,128 @@
+package io.github.cpu.instructions;
+
+import io.github.cpu.CPU;
+import io.github.cpu.Registers;
+import io.github.memory.Bus;
+import io.github.memory.cartridge.MBC0;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the arithmetic ALU path with the precomputed tables in AluTables,
+ * every invocation runs the operation over a block of random operands
+ *
+ * <p>Run with: mvn -Pjmh test-compile exec:exec</p>
+ *
+ * @author rodrigotimoteo
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AluBenchmark {
+
+    /**
+     * Number of operations executed per benchmark invocation
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * Whether to use the precomputed tables or the arithmetic path
+     */
+    @Param({"false", "true"})
+    public boolean tables;
+
+    private CPU cpu;
+
+    private Alu alu;
+
+    private CBExecutor cbExecutor;
+
+    private final int[] operands = new int[OPERATIONS];
+
+    @Setup
+    public void setup() throws FileNotFoundException {
+        Bus bus = new Bus(false, new MBC0(2, 0, ByteBuffer.allocate(0x8000)));
+        cpu = new CPU(bus);
+        bus.setCpu(cpu);
+
+        alu = new Alu(bus, cpu);
+        alu.setTableBackend(tables);
+
+        cbExecutor = new CBExecutor(bus, cpu);
+        cbExecutor.setTableBackend(tables);
+
+        Random random = new Random(42);
+        for(int i = 0; i < OPERATIONS; i++)
+            operands[i] = random.nextInt(0x100);
+    }
+
+    @Benchmark
+    public int addAdcSubSbc() {
+        for(int operand : operands) {
+            cpu.getRegisters().setRegister(Registers.B, operand);
+
+            alu.add(Registers.B);
+            alu.adc(Registers.B);
+            alu.sub(Registers.B);
+            alu.sbc(Registers.B);
+        }
+
+        return cpu.getRegisters().getAF();
+    }
+
+    @Benchmark
+    public int compareAndBranch() {
+        int taken = 0;
+
+        for(int operand : operands) {
+            cpu.getRegisters().setRegister(Registers.B, operand);
+
+            alu.cp(Registers.B);
+            if(cpu.getRegisters().getFlags().getZeroFlag()) taken++;
+        }
+
+        return taken;
+    }
+
+    @Benchmark
+    public int incDecDaa() {
+        for(int operand : operands) {
+            cpu.getRegisters().setRegister(Registers.C, operand);
+
+            alu.inc(Registers.C);
+            alu.dec(Registers.C);
+            alu.daa();
+        }
+
+        return cpu.getRegisters().getAF();
+    }
+
+    @Benchmark
+    public int rotateShift() {
+        for(int operand : operands) {
+            cpu.getRegisters().setRegister(Registers.D, operand);
+
+            cbExecutor.execute(0x02 | ((operand & 0x7) << 3)); //RLC..SRL D
+        }
+
+        return cpu.getRegisters().getAF();
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.debug;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.cpu.RunResult;
+import io.github.memory.Bus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the sampling profiler, every invocation runs one frame
+ * of a program that keeps calling a short subroutine, so both the per
+ * instruction countdown and the call stack tracking are exercised. The
+ * difference being measured is smaller than the noise between forks, hence
+ * the number of forks
+ *
+ * <p>On JDK 21, one core, alternating one second iterations of the profiled
+ * and unprofiled cpu in the same JVM (3 x 15 pairs), sampling 1 in 1000 cost
+ * 1.5% +- 0.6% and sampling with call stacks 1.4% +- 0.6%</p>
+ *
+ * <p>Run with: mvn -Pjmh test-compile exec:exec -Djmh.benchmarks=ProfilerBenchmark</p>
+ *
+ * @author rodrigotimoteo
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(10)
+public class ProfilerBenchmark {
+
+    /**
+     * Program at 0x100 that calls the subroutine forever
+     */
+    private static final int[] PROGRAM = {
+            0xCD, 0x00, 0x02,   //CALL 0200H
+            0x04,               //INC B
+            0x18, 0xFA          //JR 0100H
+    };
+
+    /**
+     * Subroutine at 0x200 with a short loop
+     */
+    private static final int[] SUBROUTINE = {
+            0x16, 0x0A,         //LD D,0AH
+            0x81,               //ADD A,C
+            0x0C,               //INC C
+            0x15,               //DEC D
+            0x20, 0xFB,         //JR NZ,0202H
+            0xC9                //RET
+    };
+
+    /**
+     * Profiler attached to the cpu, none, sampling only or sampling with the
+     * shadow call stack
+     */
+    @Param({"none", "sampling", "callStacks"})
+    public String profiling;
+
+    private CPU cpu;
+
+    @Setup
+    public void setup() throws FileNotFoundException {
+        byte[] rom = TestMachines.rom(PROGRAM);
+        for(int i = 0; i < SUBROUTINE.length; i++)
+            rom[0x200 + i] = (byte) SUBROUTINE[i];
+
+        Bus bus = TestMachines.bus(rom);
+        cpu = TestMachines.cpu(bus);
+
+        if(!profiling.equals("none")) {
+            Profiler profiler = new Profiler(bus, cpu);
+            profiler.setCallStackTracking(profiling.equals("callStacks"));
+
+            cpu.setProfiler(profiler);
+        }
+    }
+
+    @Benchmark
+    public RunResult frame() {
+        return cpu.runFrame();
+    }
+}
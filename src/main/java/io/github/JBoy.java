@@ -1,6 +1,7 @@
 package io.github;
 
 import io.github.cpu.CPU;
+import io.github.cpu.RunResult;
 import io.github.display.Controller;
 import io.github.display.Display;
 import io.github.memory.Bus;
@@ -11,6 +12,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
+import java.util.function.Predicate;
 
 /**
  * Responsible for running an instance of the GB emulator
@@ -20,6 +22,11 @@ import java.io.IOException;
 
 public class JBoy extends Thread {
 
+    /**
+     * Stores whether roms are memory mapped instead of read into the heap
+     */
+    private static final boolean MAPPED_ROM = Boolean.getBoolean("jbemu.mappedRom");
+
     /**
      * Stores whether to run in Color Game Boy mode
      */
@@ -65,21 +72,25 @@ public class JBoy extends Thread {
         if (!rom.exists())
             throw new IllegalArgumentException("Invalid Path");
 
-        romReader.loadRom(rom);
+        if(MAPPED_ROM)
+            romReader.loadMappedRom(rom);
+        else
+            romReader.loadRom(rom);
 
         cgb = romReader.isCGB();
 
         bus        = new Bus(cgb, romReader.getModule());
         cpu        = new CPU(bus);
-        ppu        = new PPU(bus);
         display    = new Display(bus);
         controller = new Controller(bus);
 
         bus.setCpu(cpu);
-        bus.setPpu(ppu);
         bus.setDisplay(display);
         bus.setController(controller);
 
+        ppu        = new PPU(bus);
+        bus.setPpu(ppu);
+
         startDisplay();
     }
 
@@ -101,15 +112,51 @@ public class JBoy extends Thread {
     }
 
     /**
-     * Main loop of the emulator thread
+     * Runs the emulator for the given machine cycles and gives control back
+     *
+     * @param machineCycles machine cycles to run
+     * @return how the run ended
+     */
+    public RunResult runFor(long machineCycles) {
+        return cpu.runFor(machineCycles);
+    }
+
+    /**
+     * Runs the emulator for one frame and gives control back
+     *
+     * @return how the run ended
+     */
+    public RunResult runFrame() {
+        return cpu.runFrame();
+    }
+
+    /**
+     * Runs the emulator until the given condition holds, it is checked after
+     * every instruction
+     *
+     * @param condition checked between instructions
+     * @return how the run ended
+     */
+    public RunResult runUntil(Predicate<CPU> condition) {
+        return cpu.runUntil(condition);
+    }
+
+    /**
+     * Main loop of the emulator thread, while the GB is stopped the thread
+     * waits for a key press instead of running empty frames
      */
     @Override
     public void run() {
-        cpu.tick();
-        //ppu.tick();
         while(true) {
-            int machineCycles = cpu.getTimers().getMachineCycles();
-            cpu.tick();
+            if(cpu.runFrame().getReason() == RunResult.StopReason.STOPPED) {
+                try {
+                    controller.awaitKeyPress();
+                } catch (InterruptedException exception) {
+                    return;
+                }
+
+                cpu.setStopped(false);
+            }
         }
     }
 }
@@ -1,11 +1,18 @@
 package io.github.cpu;
 
+import io.github.cpu.instructions.Block;
+import io.github.cpu.instructions.BlockCache;
 import io.github.cpu.instructions.Decoder;
+import io.github.cpu.instructions.OpcodeInfo;
+import io.github.cpu.instructions.OpcodeTable;
+import io.github.debug.Breakpoint;
+import io.github.debug.Debugger;
+import io.github.debug.Profiler;
+import io.github.debug.TraceWriter;
 import io.github.memory.Bus;
 import io.github.memory.Word;
 
-import java.io.FileNotFoundException;
-import java.io.PrintStream;
+import java.util.function.Predicate;
 
 /**
  * Represents the Central Processing Unit of the emulator an 8-bit 8080-like
@@ -14,12 +21,18 @@ import java.io.PrintStream;
  * @author rodrigotimoteo
  */
 
-public class CPU {
+public class CPU implements CpuPort {
 
     /**
-     * Debug logger
+     * Stores the default maximum machine cycles advanced at once while halted
+     * (one frame)
      */
-    private PrintStream debug;
+    public static final int DEFAULT_MAX_HALT_SKIP = 17556;
+
+    /**
+     * Stores the machine cycles taken by one frame (154 lines of 114 cycles)
+     */
+    public static final int CYCLES_PER_FRAME = 17556;
 
     /**
      * Stores a reference to the bus used to communicate with other components
@@ -46,6 +59,75 @@ public class CPU {
      */
     private final Decoder decoder;
 
+    /**
+     * Stores a reference to the cpu idle loop detector
+     */
+    private final IdleLoopDetector idleLoopDetector;
+
+    /**
+     * Stores a reference to the counters describing this cpu's execution
+     */
+    private final CpuMetrics metrics = new CpuMetrics();
+
+    /**
+     * Stores whether idle loops are detected and fast-forwarded
+     */
+    private boolean idleLoopDetection = false;
+
+    /**
+     * Stores whether a halted cpu advances straight to the next event instead
+     * of one machine cycle per tick
+     */
+    private boolean haltFastForward = true;
+
+    /**
+     * Stores the maximum machine cycles advanced at once while halted
+     */
+    private int maxHaltSkip = DEFAULT_MAX_HALT_SKIP;
+
+    /**
+     * Stores whether the clock is advanced once per instruction instead of on
+     * every machine cycle
+     */
+    private boolean instructionTiming = false;
+
+    /**
+     * Stores the machine cycles the current instruction went through so far,
+     * how many of them were already given to the timers and what the opcode
+     * table charges for the whole instruction (0 when unknown)
+     */
+    private int instructionCycles = 0;
+    private int syncedCycles      = 0;
+    private int chargedCycles     = 0;
+
+    /**
+     * Stores a reference to the cache of pre-decoded blocks (only created when
+     * block execution is used)
+     */
+    private BlockCache blockCache;
+
+    /**
+     * Stores how the cpu is currently executing code
+     */
+    private ExecutionMode executionMode = ExecutionMode.INTERPRETER;
+
+    /**
+     * Stores a reference to the sampling profiler (null when not profiling)
+     */
+    private Profiler profiler;
+
+    /**
+     * Stores a reference to the writer of the binary trace (null when not
+     * tracing)
+     */
+    private TraceWriter traceWriter;
+
+    /**
+     * Stores a reference to the debugger (null when there are no breakpoints
+     * or watchpoints)
+     */
+    private Debugger debugger;
+
     /**
      * Indicates whether it's intended to run on Color Game Boy mode or not
      */
@@ -66,50 +148,510 @@ public class CPU {
      *
      * @param bus reference to this instances bus
      */
-    public CPU(Bus bus) throws FileNotFoundException {
+    public CPU(Bus bus) {
         this.bus = bus;
 
         cgb = bus.isCgb();
 
         registers   = new Registers(bus);
-        timers      = new Timers(bus);
-        interrupts  = new Interrupts(bus);
-        decoder     = new Decoder(bus);
+        timers      = new Timers(bus, this);
+        interrupts  = new Interrupts(bus, this);
+        decoder     = new Decoder(bus, this);
+
+        idleLoopDetector = new IdleLoopDetector(bus, registers, timers,
+                interrupts, metrics);
 
-        //DEBUG USE ONLY
-//        if(true) {
-//            debug = new PrintStream("test.txt");
-//            PrintStream console = System.out;
-//            System.setOut(debug);
-//        }
+        metrics.setOpcodeHistogram(decoder.getHistogram());
     }
 
     /**
      * Executes a CPU Cycle
      */
     public void tick() {
-        //DEBUG USE ONLY
-//        System.out.println(registers);
+        step(Integer.MAX_VALUE, null);
+    }
 
+    /**
+     * Executes the next instruction (or the next halted period), bulk skips
+     * of halted cycles and idle loops advance at most the given machine
+     * cycles and a cached block stops after the instruction that uses them up
+     * or makes the condition hold
+     *
+     * @param maxCycles maximum machine cycles advanced at once
+     * @param condition checked between the instructions of a block (null for
+     *                  none)
+     */
+    private void step(int maxCycles, Predicate<CPU> condition) {
         if(!isStopped()) {
             if(!isHalted()) {
-                fetchOperation();
+                int programCounter = registers.getProgramCounter();
+
+                if(debugger != null && debugger.checkExecution(programCounter))
+                    return;
 
-                boolean imeChange = interrupts.requestedInterruptChange();
-                int interruptChangeCounter = timers.getInterruptChangedCounter();
-                int machineCycles = timers.getMachineCycles();
+                if(executionMode == ExecutionMode.INTERPRETER || traceWriter != null ||
+                        debugger != null || interrupts.isHaltBug() ||
+                        !executeBlock(maxCycles, condition)) {
+                    if(traceWriter != null)
+                        traceWriter.record();
 
-                if (imeChange && interruptChangeCounter < machineCycles) {
-                    interrupts.triggerIMEChange();
+                    fetchOperation();
+                    finishInstruction();
                 }
 
-            } else
-                timers.tick();
+                if(idleLoopDetection)
+                    idleLoopDetector.check(programCounter, maxCycles);
+            } else {
+                if(haltFastForward && !interrupts.hasPendingInterrupts())
+                    skipHalt(maxCycles);
+                else
+                    timers.tick();
+
+                interrupts.handleInterrupt();
+            }
+        }
+    }
+
+    /**
+     * Runs the cpu for the given machine cycles, stopping at the first
+     * instruction boundary at or after them
+     *
+     * @param machineCycles machine cycles to run
+     * @return how the run ended
+     */
+    public RunResult runFor(long machineCycles) {
+        return run(null, machineCycles);
+    }
+
+    /**
+     * Runs the cpu for the machine cycles of one frame
+     *
+     * @return how the run ended
+     */
+    public RunResult runFrame() {
+        return run(null, CYCLES_PER_FRAME);
+    }
+
+    /**
+     * Runs the cpu until the given condition holds, it is checked after every
+     * instruction
+     *
+     * @param condition checked between instructions
+     * @return how the run ended
+     */
+    public RunResult runUntil(Predicate<CPU> condition) {
+        return run(condition, Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs the cpu until the given condition holds or the given machine cycles
+     * are executed, whichever comes first
+     *
+     * @param condition checked between instructions
+     * @param maxMachineCycles maximum machine cycles to run
+     * @return how the run ended
+     */
+    public RunResult runUntil(Predicate<CPU> condition, long maxMachineCycles) {
+        return run(condition, maxMachineCycles);
+    }
+
+    /**
+     * Main loop of the run methods, the elapsed cycles are kept in locals and
+     * the stop conditions (breakpoints included) are checked after every
+     * instruction, including the ones executed inside a cached block
+     *
+     * @param condition checked between instructions (null for none)
+     * @param maxMachineCycles maximum machine cycles to run
+     * @return how the run ended
+     */
+    private RunResult run(Predicate<CPU> condition, long maxMachineCycles) {
+        long elapsed = 0;
+        int previousCycles = getMachineCycles();
+
+        if(debugger != null)
+            debugger.takeHit();
+
+        while(elapsed < maxMachineCycles) {
+            if(isStopped)
+                return new RunResult(RunResult.StopReason.STOPPED, elapsed);
+
+            step((int) Math.min(maxMachineCycles - elapsed, Integer.MAX_VALUE),
+                    condition);
 
+            int machineCycles = getMachineCycles();
+            elapsed += machineCycles - previousCycles;
+            previousCycles = machineCycles;
+
+            if(debugger != null) {
+                Breakpoint hit = debugger.takeHit();
+
+                if(hit != null)
+                    return new RunResult(hit.getKind() == Breakpoint.Kind.EXECUTE ?
+                            RunResult.StopReason.BREAKPOINT :
+                            RunResult.StopReason.WATCHPOINT, elapsed);
+            }
+
+            if(condition != null && condition.test(this))
+                return new RunResult(RunResult.StopReason.CONDITION_MET, elapsed);
+        }
+
+        return new RunResult(RunResult.StopReason.CYCLES_ELAPSED, elapsed);
+    }
+
+    /**
+     * Executes the cached block starting at the program counter, interrupts
+     * are still handled after every instruction. Execution leaves the block
+     * early if an instruction invalidates it, halts or stops the cpu or moves
+     * the program counter away from the next pre-decoded instruction, as well
+     * as once the given machine cycles are used up or the condition holds
+     *
+     * @param maxCycles maximum machine cycles the block can run for
+     * @param condition checked between instructions (null for none)
+     * @return true if a block was executed, false if there is no block at the
+     * program counter and the instruction must be interpreted
+     */
+    private boolean executeBlock(int maxCycles, Predicate<CPU> condition) {
+        Block block = blockCache.getBlock(registers.getProgramCounter());
+        if(block == null) return false;
+
+        int startCycles = getMachineCycles();
+
+        for(int i = 0; i < block.size(); i++) {
+            if(i > 0 && !canContinue(block, block.getInstructionAddress(i),
+                    maxCycles - (getMachineCycles() - startCycles), condition))
+                break;
+
+            chargeInstruction(block.getInfo(i));
+            decoder.execute(block, i);
+            finishInstruction();
+        }
+
+        return true;
+    }
+
+    /**
+     * Advances the clock of a halted cpu straight to the next timer or ppu
+     * event (at most the maximum halt skip), nothing can end the halt before
+     * that unless it comes from outside the cpu
+     *
+     * @param maxCycles maximum machine cycles advanced, on top of the maximum
+     *                  halt skip
+     */
+    private void skipHalt(int maxCycles) {
+        int cycles = Math.max(1, Math.min(Math.min(maxHaltSkip, maxCycles),
+                timers.getCyclesToNextEvent()));
+
+        timers.advance(cycles);
+        metrics.addHaltSkip(cycles);
+    }
+
+    /**
+     * Checks if execution can go on to the next instruction of a block
+     *
+     * @param block being executed
+     * @param address of the next instruction of the block
+     * @param remainingCycles machine cycles left before the run has to stop
+     * @param condition that stops the run (null for none)
+     * @return true if the block is still valid, the cpu is running, the
+     * program counter is at the next instruction and the run can go on
+     */
+    private boolean canContinue(Block block, int address, int remainingCycles,
+                                Predicate<CPU> condition) {
+        return block.isValid() && !isHalted && !isStopped &&
+                registers.getProgramCounter() == address && remainingCycles > 0 &&
+                (condition == null || !condition.test(this));
+    }
+
+    /**
+     * Finishes an instruction executed from a block, applying interrupt master
+     * enable changes and handling interrupts
+     */
+    private void finishInstruction() {
+        settleCycles();
+        checkInterruptChange();
+
+        if(interrupts.hasPendingInterrupts()) {
             interrupts.handleInterrupt();
+            settleCycles();
+        }
+
+        if(profiler != null)
+            profiler.instructionExecuted();
+    }
+
+    /**
+     * Applies a requested change to the interrupt master enable once the
+     * instruction following EI or DI has started
+     */
+    private void checkInterruptChange() {
+        boolean imeChange = interrupts.requestedInterruptChange();
+        int interruptChangeCounter = timers.getInterruptChangedCounter();
+        int machineCycles = timers.getMachineCycles();
+
+        if (imeChange && interruptChangeCounter < machineCycles) {
+            interrupts.triggerIMEChange();
+        }
+    }
+
+    /**
+     * Changes how the cpu executes code, block execution registers the block
+     * cache on the bus so that writes to cached code invalidate it
+     *
+     * @param executionMode mode to be used
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        if(executionMode != ExecutionMode.INTERPRETER) {
+            if(blockCache == null)
+                blockCache = new BlockCache(bus, decoder);
+            else
+                blockCache.flush();
+
+            bus.setWriteListener(blockCache);
+        } else
+            bus.setWriteListener(null);
+
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Gets the mode the cpu is using to execute code
+     *
+     * @return current execution mode
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Enables or disables fast-forwarding loops that only wait for the
+     * hardware (disabled by default)
+     *
+     * @param idleLoopDetection true to skip idle loop iterations
+     */
+    public void setIdleLoopDetection(boolean idleLoopDetection) {
+        this.idleLoopDetection = idleLoopDetection;
+
+        idleLoopDetector.reset();
+    }
+
+    /**
+     * Checks if idle loops are being fast-forwarded
+     *
+     * @return true if idle loop detection is enabled
+     */
+    public boolean isIdleLoopDetection() {
+        return idleLoopDetection;
+    }
+
+    /**
+     * Enables or disables instruction granular timing, every instruction is
+     * charged the machine cycles of the opcode table (base or taken) and the
+     * timers advance by them in one step when it ends. The timers are brought
+     * up to date earlier whenever the instruction accesses the I/O registers
+     * or the interrupt state depends on the cycle count, so the result matches
+     * ticking every machine cycle
+     *
+     * @param instructionTiming true to advance the clock per instruction,
+     *                          false to advance it per machine cycle
+     */
+    public void setInstructionTiming(boolean instructionTiming) {
+        settleCycles();
+
+        this.instructionTiming = instructionTiming;
+    }
+
+    /**
+     * Checks if the clock is advanced once per instruction
+     *
+     * @return true if instruction granular timing is enabled
+     */
+    public boolean isInstructionTiming() {
+        return instructionTiming;
+    }
+
+    /**
+     * Gives the machine cycles the current instruction went through so far to
+     * the timers, used before anything that can observe them
+     */
+    public void synchronizeTimers() {
+        if(instructionCycles > syncedCycles) {
+            timers.advance(instructionCycles - syncedCycles);
+            syncedCycles = instructionCycles;
         }
     }
 
+    /**
+     * Resets the divider, called by the bus when DIV is written
+     */
+    public void resetDivider() {
+        timers.resetDivider();
+    }
+
+    /**
+     * Sets the machine cycles charged for the instruction about to execute
+     * from the opcode table, conditional instructions are charged their taken
+     * cycles if the condition holds on the current flags. Only used with
+     * instruction granular timing
+     *
+     * @param info of the instruction about to execute
+     */
+    private void chargeInstruction(OpcodeInfo info) {
+        if(!instructionTiming) return;
+
+        settleCycles();
+
+        if(info.isConditional() && !isConditionMet(info.getOpcode()))
+            chargedCycles = info.getCycles();
+        else
+            chargedCycles = info.getTakenCycles();
+    }
+
+    /**
+     * Checks the condition of a conditional jump, call or return, bit 4 of the
+     * opcode selects the carry or zero flag and bit 3 whether it must be set
+     *
+     * @param opcode of the conditional instruction
+     * @return true if the branch is taken
+     */
+    private boolean isConditionMet(int opcode) {
+        Flags flags = registers.getFlags();
+        boolean flag = (opcode & 0x10) != 0 ? flags.getCarryFlag() : flags.getZeroFlag();
+
+        return flag == ((opcode & 0x08) != 0);
+    }
+
+    /**
+     * Gives the timers what is left of the machine cycles charged for the
+     * instruction (the ones it went through if nothing was charged) and starts
+     * counting the next one
+     */
+    private void settleCycles() {
+        int cycles = (chargedCycles != 0 ? chargedCycles : instructionCycles) -
+                syncedCycles;
+
+        if(cycles > 0)
+            timers.advance(cycles);
+
+        instructionCycles = 0;
+        syncedCycles      = 0;
+        chargedCycles     = 0;
+    }
+
+    /**
+     * Recomputes the interrupts waiting to be serviced, called by the bus when
+     * the IE or IF register is written
+     */
+    public void updatePendingInterrupts() {
+        interrupts.updatePendingInterrupts();
+    }
+
+    /**
+     * Enables or disables advancing a halted cpu straight to the next timer
+     * overflow or ppu mode change (enabled by default), the result is the
+     * same as ticking every halted machine cycle
+     *
+     * @param haltFastForward true to skip halted cycles in bulk, false to
+     *                        advance one machine cycle per tick
+     */
+    public void setHaltFastForward(boolean haltFastForward) {
+        this.haltFastForward = haltFastForward;
+    }
+
+    /**
+     * Checks if halted cycles are skipped in bulk
+     *
+     * @return true if halt fast-forward is enabled
+     */
+    public boolean isHaltFastForward() {
+        return haltFastForward;
+    }
+
+    /**
+     * Changes the maximum machine cycles advanced at once while halted, a
+     * lower value keeps the emulator responsive to events coming from outside
+     * the cpu (such as key presses)
+     *
+     * @param maxHaltSkip maximum machine cycles advanced per tick
+     */
+    public void setMaxHaltSkip(int maxHaltSkip) {
+        this.maxHaltSkip = maxHaltSkip;
+    }
+
+    /**
+     * Gets the idle loop detector, used to configure it
+     *
+     * @return idle loop detector
+     */
+    public IdleLoopDetector getIdleLoopDetector() {
+        return idleLoopDetector;
+    }
+
+    /**
+     * Gets the counters describing this cpu's execution
+     *
+     * @return cpu metrics
+     */
+    public CpuMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Setter to assign the sampling profiler notified after every instruction
+     *
+     * @param profiler to notify, null to stop profiling
+     */
+    public void setProfiler(Profiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Setter to assign the debugger checked before every instruction, while
+     * one is set every instruction is interpreted
+     *
+     * @param debugger to check, null to stop debugging
+     */
+    public void setDebugger(Debugger debugger) {
+        this.debugger = debugger;
+    }
+
+    /**
+     * Gets the debugger
+     *
+     * @return debugger or null if there are no breakpoints
+     */
+    public Debugger getDebugger() {
+        return debugger;
+    }
+
+    /**
+     * Gets the sampling profiler
+     *
+     * @return profiler or null if not profiling
+     */
+    public Profiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Setter to assign the writer that records the state before every
+     * instruction, while tracing instructions are interpreted one at a time
+     * whatever the execution mode
+     *
+     * @param traceWriter to record to, null to stop tracing
+     */
+    public void setTraceWriter(TraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+    }
+
+    /**
+     * Gets the writer of the binary trace
+     *
+     * @return trace writer or null if not tracing
+     */
+    public TraceWriter getTraceWriter() {
+        return traceWriter;
+    }
+
     /**
      * Fetches an instruction and gives that instruction for the decoder to
      * decode and execute
@@ -117,12 +659,16 @@ public class CPU {
     private void fetchOperation() {
         int programCounter = registers.getProgramCounter();
 
+        int operationCode = bus.getImmediate(programCounter);
+        chargeInstruction(OpcodeTable.get(operationCode,
+                operationCode == OpcodeTable.PREFIX ? bus.getImmediate(programCounter + 1) : 0));
+
         if(interrupts.isHaltBug()) {
-            decoder.decode(programCounter);
+            decoder.decode(operationCode);
             registers.incrementProgramCounter(-1);
             interrupts.disableHaltBug();
         } else {
-            decoder.decode(bus.getValue(programCounter));
+            decoder.decode(operationCode);
         }
     }
 
@@ -131,6 +677,7 @@ public class CPU {
      *
      * @return halted boolean variable
      */
+    @Override
     public boolean isHalted() {
         return isHalted;
     }
@@ -150,6 +697,8 @@ public class CPU {
      * @param halted true if halted false otherwise
      */
     public void setHalted(boolean halted) {
+        synchronizeTimers();
+
         if(halted)
             timers.setHaltCycleCounter();
 
@@ -172,10 +721,161 @@ public class CPU {
      * @param changeTo true if we want to enable interrupts false otherwise
      */
     public void interruptChange(boolean changeTo) {
+        synchronizeTimers();
+
         interrupts.setInterruptChange(changeTo);
         timers.setInterruptChangedCounter();
     }
 
+    //CpuPort Methods
+
+    @Override
+    public int getRegister(int register) {
+        return registers.getRegister(register);
+    }
+
+    @Override
+    public void setRegister(int register, int value) {
+        registers.setRegister(register, value);
+    }
+
+    @Override
+    public Flags getFlags() {
+        return registers.getFlags();
+    }
+
+    @Override
+    public int getAF() {
+        return registers.getAF();
+    }
+
+    @Override
+    public int getBC() {
+        return registers.getBC();
+    }
+
+    @Override
+    public int getDE() {
+        return registers.getDE();
+    }
+
+    @Override
+    public int getHL() {
+        return registers.getHL();
+    }
+
+    @Override
+    public void setAF(int value) {
+        registers.setAF(value);
+    }
+
+    @Override
+    public void setBC(int value) {
+        registers.setBC(value);
+    }
+
+    @Override
+    public void setDE(int value) {
+        registers.setDE(value);
+    }
+
+    @Override
+    public void setHL(int value) {
+        registers.setHL(value);
+    }
+
+    @Override
+    public int getProgramCounter() {
+        return registers.getProgramCounter();
+    }
+
+    @Override
+    public void setProgramCounter(int value) {
+        registers.setProgramCounter(value);
+    }
+
+    @Override
+    public void incrementProgramCounter(int value) {
+        registers.incrementProgramCounter(value);
+    }
+
+    @Override
+    public int getStackPointer() {
+        return registers.getStackPointer();
+    }
+
+    @Override
+    public void setStackPointer(int value) {
+        registers.setStackPointer(value);
+    }
+
+    @Override
+    public void incrementStackPointer(int value) {
+        registers.incrementStackPointer(value);
+    }
+
+    @Override
+    public void tickTimers() {
+        if(instructionTiming)
+            instructionCycles++;
+        else
+            timers.tick();
+    }
+
+    @Override
+    public int getMachineCycles() {
+        synchronizeTimers();
+
+        return timers.getMachineCycles();
+    }
+
+    @Override
+    public int getHaltMachineCycles() {
+        return timers.getHaltCycleCounter();
+    }
+
+    @Override
+    public void halt() {
+        setHalted(true);
+    }
+
+    @Override
+    public void unhalt() {
+        setHalted(false);
+    }
+
+    @Override
+    public void stop() {
+        setStopped(true);
+    }
+
+    @Override
+    public void enableInterrupts() {
+        interruptChange(true);
+    }
+
+    @Override
+    public void disableInterrupts() {
+        interruptChange(false);
+    }
+
+    @Override
+    public void requestInterrupt(int interrupt) {
+        interrupts.requestInterrupt(interrupt);
+    }
+
+    @Override
+    public void subroutineCalled() {
+        if(profiler != null)
+            profiler.subroutineCalled();
+    }
+
+    @Override
+    public void subroutineReturned() {
+        if(profiler != null)
+            profiler.subroutineReturned();
+    }
+
     /**
      * Registers getter method
      *
@@ -194,6 +894,15 @@ public class CPU {
         return timers;
     }
 
+    /**
+     * Decoder getter method
+     *
+     * @return Decoder object
+     */
+    public Decoder getDecoder() {
+        return decoder;
+    }
+
     /**
      * Interrupts getter method
      *
@@ -0,0 +1,134 @@
+package io.github.cpu;
+
+import io.github.cpu.instructions.OpcodeHistogram;
+
+/**
+ * Stores counters describing how a cpu spent its time, kept per instance so
+ * several emulators can run side by side
+ *
+ * @author rodrigotimoteo
+ */
+
+public class CpuMetrics {
+
+    /**
+     * Stores the number of times an idle loop was fast-forwarded
+     */
+    private long idleLoopSkips = 0;
+
+    /**
+     * Stores the machine cycles skipped inside idle loops
+     */
+    private long idleLoopSkippedCycles = 0;
+
+    /**
+     * Stores the number of times a halted cpu was fast-forwarded
+     */
+    private long haltSkips = 0;
+
+    /**
+     * Stores the machine cycles skipped while halted
+     */
+    private long haltSkippedCycles = 0;
+
+    /**
+     * Stores a reference to the executions and cycles counted per opcode
+     */
+    private OpcodeHistogram opcodeHistogram;
+
+    /**
+     * Setter to assign the histogram filled by the cpu decoder
+     *
+     * @param opcodeHistogram reference to the decoder's histogram
+     */
+    void setOpcodeHistogram(OpcodeHistogram opcodeHistogram) {
+        this.opcodeHistogram = opcodeHistogram;
+    }
+
+    /**
+     * Registers an idle loop fast-forward
+     *
+     * @param cycles machine cycles skipped
+     */
+    void addIdleLoopSkip(int cycles) {
+        idleLoopSkips++;
+        idleLoopSkippedCycles += cycles;
+    }
+
+    /**
+     * Registers a halt fast-forward
+     *
+     * @param cycles machine cycles skipped
+     */
+    void addHaltSkip(int cycles) {
+        haltSkips++;
+        haltSkippedCycles += cycles;
+    }
+
+    /**
+     * Gets the number of times an idle loop was fast-forwarded
+     *
+     * @return idle loop skips
+     */
+    public long getIdleLoopSkips() {
+        return idleLoopSkips;
+    }
+
+    /**
+     * Gets the machine cycles skipped inside idle loops
+     *
+     * @return skipped machine cycles
+     */
+    public long getIdleLoopSkippedCycles() {
+        return idleLoopSkippedCycles;
+    }
+
+    /**
+     * Gets the number of times a halted cpu was fast-forwarded
+     *
+     * @return halt skips
+     */
+    public long getHaltSkips() {
+        return haltSkips;
+    }
+
+    /**
+     * Gets the machine cycles skipped while halted
+     *
+     * @return skipped machine cycles
+     */
+    public long getHaltSkippedCycles() {
+        return haltSkippedCycles;
+    }
+
+    /**
+     * Gets the executions and machine cycles counted per opcode, only filled
+     * when {@link OpcodeHistogram#ENABLED} is true
+     *
+     * @return opcode histogram
+     */
+    public OpcodeHistogram getOpcodeHistogram() {
+        return opcodeHistogram;
+    }
+
+    /**
+     * Clears every counter
+     */
+    public void reset() {
+        idleLoopSkips = 0;
+        idleLoopSkippedCycles = 0;
+        haltSkips = 0;
+        haltSkippedCycles = 0;
+
+        if(opcodeHistogram != null)
+            opcodeHistogram.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "Idle loop skips: " + idleLoopSkips +
+                " Idle loop skipped cycles: " + idleLoopSkippedCycles +
+                " Halt skips: " + haltSkips +
+                " Halt skipped cycles: " + haltSkippedCycles;
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.cpu;
+
+/**
+ * Defines the typed operations used by the instruction handlers and the
+ * interrupt handler to interact with the cpu state. Every method works with
+ * primitives so that executing an instruction doesn't need to allocate
+ *
+ * @author rodrigotimoteo
+ */
+
+public interface CpuPort {
+
+    /**
+     * Register getter based on given register's index
+     *
+     * @param register index of the register to retrieve (constants in Registers)
+     * @return value of the given register
+     */
+    int getRegister(int register);
+
+    /**
+     * Setter for all registers based on their index
+     *
+     * @param register index of the register to assign (constants in Registers)
+     * @param value to assign
+     */
+    void setRegister(int register, int value);
+
+    /**
+     * Flags object getter (contains F register)
+     *
+     * @return cpu flags object
+     */
+    Flags getFlags();
+
+    /**
+     * Getter for the 16 bit AF register pair
+     *
+     * @return value of register A followed by register F
+     */
+    int getAF();
+
+    /**
+     * Getter for the 16 bit BC register pair
+     *
+     * @return value of register B followed by register C
+     */
+    int getBC();
+
+    /**
+     * Getter for the 16 bit DE register pair
+     *
+     * @return value of register D followed by register E
+     */
+    int getDE();
+
+    /**
+     * Getter for the 16 bit HL register pair
+     *
+     * @return value of register H followed by register L
+     */
+    int getHL();
+
+    /**
+     * Setter for the 16 bit AF register pair
+     *
+     * @param value to assign to the register pair
+     */
+    void setAF(int value);
+
+    /**
+     * Setter for the 16 bit BC register pair
+     *
+     * @param value to assign to the register pair
+     */
+    void setBC(int value);
+
+    /**
+     * Setter for the 16 bit DE register pair
+     *
+     * @param value to assign to the register pair
+     */
+    void setDE(int value);
+
+    /**
+     * Setter for the 16 bit HL register pair
+     *
+     * @param value to assign to the register pair
+     */
+    void setHL(int value);
+
+    /**
+     * Program Counter getter method
+     *
+     * @return program counter value
+     */
+    int getProgramCounter();
+
+    /**
+     * Sets the value of program counter to the given one
+     *
+     * @param value to assign program counter
+     */
+    void setProgramCounter(int value);
+
+    /**
+     * Increments the program counter by the given value
+     *
+     * @param value to increase program counter
+     */
+    void incrementProgramCounter(int value);
+
+    /**
+     * Stack Pointer getter method
+     *
+     * @return stack pointer value
+     */
+    int getStackPointer();
+
+    /**
+     * Sets the value of the stack pointer to the given one
+     *
+     * @param value to assign stack pointer
+     */
+    void setStackPointer(int value);
+
+    /**
+     * Increments the stack pointer by the given value
+     *
+     * @param value to increase stack pointer
+     */
+    void incrementStackPointer(int value);
+
+    /**
+     * Advances the cpu timers by one machine cycle
+     */
+    void tickTimers();
+
+    /**
+     * Returns the number of machines cycles executed by the cpu
+     *
+     * @return machine cycle count
+     */
+    int getMachineCycles();
+
+    /**
+     * Returns the number of machine cycles when halt was activated
+     *
+     * @return machine cycle count
+     */
+    int getHaltMachineCycles();
+
+    /**
+     * Checks if the CPU is halted
+     *
+     * @return true if halted false otherwise
+     */
+    boolean isHalted();
+
+    /**
+     * Puts the cpu in halt mode
+     */
+    void halt();
+
+    /**
+     * Takes the cpu out of halt mode
+     */
+    void unhalt();
+
+    /**
+     * Stops the GB until a button is pressed
+     */
+    void stop();
+
+    /**
+     * Requests interrupts to be enabled after the current instruction
+     */
+    void enableInterrupts();
+
+    /**
+     * Requests interrupts to be disabled after the current instruction
+     */
+    void disableInterrupts();
+
+    /**
+     * Request an interrupt based on given value (bit of the IF register)
+     *
+     * @param interrupt which interrupt to request
+     */
+    void requestInterrupt(int interrupt);
+
+    /**
+     * Notifies that a subroutine was entered (CALL, RST or an interrupt) once
+     * the program counter is at its start
+     */
+    void subroutineCalled();
+
+    /**
+     * Notifies that a subroutine returned once the return address was popped
+     */
+    void subroutineReturned();
+}
@@ -0,0 +1,21 @@
+package io.github.cpu;
+
+/**
+ * Represents the ways the cpu can execute code, both interpret every
+ * instruction through its handler (there is no compiled tier, a cached block
+ * only saves the fetch and decode)
+ *
+ * @author rodrigotimoteo
+ */
+
+public enum ExecutionMode {
+    /**
+     * Fetches and decodes every instruction as it is executed
+     */
+    INTERPRETER,
+
+    /**
+     * Executes pre-decoded basic blocks cached by rom bank and address
+     */
+    BLOCK_CACHE
+}
@@ -1,7 +1,6 @@
 package io.github.cpu;
 
 import io.github.memory.Bus;
-import io.github.memory.Word;
 
 /**
  * <p>This class is abstraction of the Flags used by the CPU to check for special
@@ -24,9 +23,50 @@ public class Flags {
     private final Bus bus;
 
     /**
-     * Stores the internal value of the Flags register
+     * Stores the bits of each flag inside the Flags register
      */
-    private final Word word = new Word();
+    private static final int ZERO       = 0x80;
+    private static final int SUBTRACT   = 0x40;
+    private static final int HALF_CARRY = 0x20;
+    private static final int CARRY      = 0x10;
+
+    /**
+     * Stores the kinds of operation that can have their flags computed lazily,
+     * XOR uses the same flags as OR
+     */
+    public static final int NONE        = 0;
+    public static final int ADD         = 1;
+    public static final int SUB         = 2;
+    public static final int INC         = 3;
+    public static final int DEC         = 4;
+    public static final int AND         = 5;
+    public static final int OR          = 6;
+
+    /**
+     * Stores the internal value of the Flags register (only up to date when
+     * there is no pending operation)
+     */
+    private int value;
+
+    /**
+     * Stores whether the flags of recorded operations are only computed when
+     * they are read (lazy mode) or straight away
+     */
+    private boolean lazy = true;
+
+    /**
+     * Stores the kind of the last recorded operation whose flags weren't yet
+     * computed (NONE if the value is up to date)
+     */
+    private int operation = NONE;
+
+    /**
+     * Stores the operands, carry and result of the pending operation
+     */
+    private int operand1;
+    private int operand2;
+    private int carry;
+    private int result;
 
     /**
      * Creates a new CPU Flag manager object
@@ -38,12 +78,14 @@ public class Flags {
     }
 
     /**
-     * Flag register getter
+     * Flag register value getter
      *
-     * @return flag register
+     * @return value of the flag register
      */
-    public Word getRegister() {
-        return word;
+    public int getValue() {
+        if(operation != NONE) materialize();
+
+        return value;
     }
 
     /**
@@ -52,7 +94,107 @@ public class Flags {
      * @param value to assign to the flag register
      */
     public void setValue(int value) {
-        word.setValue(value);
+        operation  = NONE;
+        this.value = value & 0xFF;
+    }
+
+    /**
+     * Assigns the four flags at once from their register bits, keeping the
+     * unused lower bits of the register
+     *
+     * @param flags flag register bits (Z N H C in bits 7 to 4)
+     */
+    public void setFlagBits(int flags) {
+        operation = NONE;
+        value     = (value & 0x0F) | (flags & 0xF0);
+    }
+
+    /**
+     * Changes between computing the flags only when they are read (lazy) and
+     * computing them as soon as an operation is recorded
+     *
+     * @param lazy true to use lazy evaluation false otherwise
+     */
+    public void setLazy(boolean lazy) {
+        if(operation != NONE) materialize();
+
+        this.lazy = lazy;
+    }
+
+    /**
+     * Checks if flags are being lazily evaluated
+     *
+     * @return true if using lazy evaluation false otherwise
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Records an arithmetic or logic operation so that its flags can be
+     * computed once they are read. ADD and SUB results should not be masked
+     * (the carry is taken from them), INC and DEC keep the current carry flag
+     * so the carry given is ignored
+     *
+     * @param operation kind of operation (ADD, SUB, INC, DEC, AND or OR)
+     * @param operand1 first operand (register A or the value being changed)
+     * @param operand2 second operand
+     * @param carry carry used in the operation (1 if used 0 otherwise)
+     * @param result of the operation
+     */
+    public void recordOperation(int operation, int operand1, int operand2,
+                                int carry, int result) {
+        if(operation == INC || operation == DEC)
+            carry = getCarryFlag() ? 1 : 0;
+
+        this.operation  = operation;
+        this.operand1   = operand1;
+        this.operand2   = operand2;
+        this.carry      = carry;
+        this.result     = result;
+
+        if(!lazy) materialize();
+    }
+
+    /**
+     * Computes the flags of the pending operation and stores them in the flag
+     * register value
+     */
+    private void materialize() {
+        int flags = ((result & 0xFF) == 0) ? ZERO : 0;
+
+        switch (operation) {
+            case ADD -> {
+                if(((operand1 & 0xF) + (operand2 & 0xF) + carry) > 0xF)
+                    flags |= HALF_CARRY;
+                if(result > 0xFF)
+                    flags |= CARRY;
+            }
+            case SUB -> {
+                flags |= SUBTRACT;
+                if(((operand1 & 0xF) - (operand2 & 0xF) - carry) < 0)
+                    flags |= HALF_CARRY;
+                if(result < 0)
+                    flags |= CARRY;
+            }
+            case INC -> {
+                if((operand1 & 0xF) == 0xF)
+                    flags |= HALF_CARRY;
+                if(carry != 0)
+                    flags |= CARRY;
+            }
+            case DEC -> {
+                flags |= SUBTRACT;
+                if((operand1 & 0xF) == 0)
+                    flags |= HALF_CARRY;
+                if(carry != 0)
+                    flags |= CARRY;
+            }
+            case AND -> flags |= HALF_CARRY;
+        }
+
+        value = (value & 0x0F) | flags;
+        operation = NONE;
     }
 
     /**
@@ -66,6 +208,13 @@ public class Flags {
      * @param carry status of carry flag
      */
     public void setFlags(int zero, int subtract, int half, int carry) {
+        if(operation != NONE) {
+            if(zero > 1 || subtract > 1 || half > 1 || carry > 1)
+                materialize();
+            else
+                operation = NONE;
+        }
+
         if(zero == 0)
             resetZeroFlag();
         else if(zero == 1)
@@ -91,56 +240,72 @@ public class Flags {
      * Sets the bit correspondent to the Zero Flag
      */
     public void setZeroFlag() {
-        word.setBit(7);
+        if(operation != NONE) materialize();
+
+        value |= ZERO;
     }
 
     /**
      * Sets the bit correspondent to the Subtract Flag
      */
     public void setSubtractFlag() {
-        word.setBit(6);
+        if(operation != NONE) materialize();
+
+        value |= SUBTRACT;
     }
 
     /**
      * Sets the bit correspondent to the Half Carry Flag
      */
     public void setHalfCarryFlag() {
-        word.setBit(5);
+        if(operation != NONE) materialize();
+
+        value |= HALF_CARRY;
     }
 
     /**
      * Sets the bit correspondent to the Carry Flag
      */
     public void setCarryFlag() {
-        word.setBit(4);
+        if(operation != NONE) materialize();
+
+        value |= CARRY;
     }
 
     /**
      * Resets the bit correspondent to the Zero Flag
      */
     public void resetZeroFlag() {
-        word.resetBit(7);
+        if(operation != NONE) materialize();
+
+        value &= ~ZERO;
     }
 
     /**
      * Resets the bit correspondent to the Subtract Flag
      */
     public void resetSubtractFlag() {
-        word.resetBit(6);
+        if(operation != NONE) materialize();
+
+        value &= ~SUBTRACT;
     }
 
     /**
      * Resets the bit correspondent to the Half Carry Flag
      */
     public void resetHalfCarryFlag() {
-        word.resetBit(5);
+        if(operation != NONE) materialize();
+
+        value &= ~HALF_CARRY;
     }
 
     /**
      * Resets the bit correspondent to the Carry Flag
      */
     public void resetCarryFlag() {
-        word.resetBit(4);
+        if(operation != NONE) materialize();
+
+        value &= ~CARRY;
     }
 
     /**
@@ -149,7 +314,9 @@ public class Flags {
      * @return test of Zero Flag bit (true if 1 false otherwise)
      */
     public boolean getZeroFlag() {
-        return word.testBit(7);
+        if(operation != NONE) return (result & 0xFF) == 0;
+
+        return (value & ZERO) != 0;
     }
 
     /**
@@ -158,7 +325,9 @@ public class Flags {
      * @return test of Subtract Flag bit (true if 1 false otherwise)
      */
     public boolean getSubtractFlag() {
-        return word.testBit(6);
+        if(operation != NONE) materialize();
+
+        return (value & SUBTRACT) != 0;
     }
 
     /**
@@ -167,7 +336,9 @@ public class Flags {
      * @return test of Half Carry Flag bit (true if 1 false otherwise)
      */
     public boolean getHalfCarryFlag() {
-        return word.testBit(5);
+        if(operation != NONE) materialize();
+
+        return (value & HALF_CARRY) != 0;
     }
 
     /**
@@ -176,7 +347,13 @@ public class Flags {
      * @return test of Carry Flag bit (true if 1 false otherwise)
      */
     public boolean getCarryFlag() {
-        return word.testBit(4);
+        return switch (operation) {
+            case NONE       -> (value & CARRY) != 0;
+            case ADD        -> result > 0xFF;
+            case SUB        -> result < 0;
+            case INC, DEC   -> carry != 0;
+            default         -> false;
+        };
     }
 
     /**
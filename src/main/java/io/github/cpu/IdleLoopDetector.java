@@ -0,0 +1,222 @@
+package io.github.cpu;
+
+import io.github.memory.Bus;
+
+/**
+ * Class responsible for finding loops in which the cpu only waits for the
+ * hardware (polling LY, STAT or a flag set by an interrupt handler) and
+ * skipping their iterations in bulk.
+ *
+ * <p>A short backward branch marks the start of a candidate loop. When
+ * execution gets back to it without any write through the bus and with the
+ * registers, interrupt state and pending IME change exactly as they were, the
+ * next iterations can only repeat the same one, so the clock is advanced by a
+ * whole number of iterations up to the next timer event or the configured
+ * limit</p>
+ *
+ * @author rodrigotimoteo
+ */
+
+public class IdleLoopDetector {
+
+    /**
+     * Stores the default maximum machine cycles skipped at once (one frame)
+     */
+    public static final int DEFAULT_MAX_SKIP = 17556;
+
+    /**
+     * Stores the maximum distance in bytes of a backward branch for its target
+     * to be considered the start of a loop
+     */
+    private static final int MAX_LOOP_LENGTH = 32;
+
+    /**
+     * Stores the maximum machine cycles of a single loop iteration
+     */
+    private static final int MAX_ITERATION_CYCLES = 64;
+
+    /**
+     * Stores a reference to the bus used to count memory writes
+     */
+    private final Bus bus;
+
+    /**
+     * Stores a reference to the cpu registers object
+     */
+    private final Registers registers;
+
+    /**
+     * Stores a reference to the cpu timers object
+     */
+    private final Timers timers;
+
+    /**
+     * Stores a reference to the cpu interrupts object
+     */
+    private final Interrupts interrupts;
+
+    /**
+     * Stores a reference to the metrics where skips are reported
+     */
+    private final CpuMetrics metrics;
+
+    /**
+     * Stores the maximum machine cycles skipped at once
+     */
+    private int maxSkip = DEFAULT_MAX_SKIP;
+
+    /**
+     * Stores the address of the candidate loop start (-1 if none)
+     */
+    private int loopStart = -1;
+
+    /**
+     * Stores the state recorded the last time execution was at the loop start
+     */
+    private int machineCycles;
+    private int writeCount;
+    private int timerReadCount;
+    private boolean interruptMasterEnable;
+    private int registerAF;
+    private int registerBC;
+    private int registerDE;
+    private int registerHL;
+    private int stackPointer;
+
+    /**
+     * Creates a new idle loop detector
+     *
+     * @param bus reference to this instances bus
+     * @param registers reference to the cpu registers
+     * @param timers reference to the cpu timers
+     * @param interrupts reference to the cpu interrupts
+     * @param metrics reference to the cpu metrics
+     */
+    public IdleLoopDetector(Bus bus, Registers registers, Timers timers,
+                            Interrupts interrupts, CpuMetrics metrics) {
+        this.bus        = bus;
+        this.registers  = registers;
+        this.timers     = timers;
+        this.interrupts = interrupts;
+        this.metrics    = metrics;
+    }
+
+    /**
+     * Changes the maximum machine cycles skipped at once, a lower value keeps
+     * the emulator responsive to events coming from outside the cpu (such as
+     * key presses)
+     *
+     * @param maxSkip maximum machine cycles skipped at once
+     */
+    public void setMaxSkip(int maxSkip) {
+        this.maxSkip = maxSkip;
+    }
+
+    /**
+     * Gets the maximum machine cycles skipped at once
+     *
+     * @return maximum skip
+     */
+    public int getMaxSkip() {
+        return maxSkip;
+    }
+
+    /**
+     * Forgets the current candidate loop
+     */
+    public void reset() {
+        loopStart = -1;
+    }
+
+    /**
+     * Checks the program counter after the cpu executed code, starting to
+     * track a loop on a short backward branch and skipping iterations of a
+     * tracked loop that didn't change anything
+     *
+     * @param previousProgramCounter program counter before the code executed
+     */
+    public void check(int previousProgramCounter) {
+        check(previousProgramCounter, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks the program counter after the cpu executed code, skipping at
+     * most the given machine cycles (used to stop at the end of a bounded run)
+     *
+     * @param previousProgramCounter program counter before the code executed
+     * @param maxCycles maximum machine cycles that can be skipped
+     */
+    public void check(int previousProgramCounter, int maxCycles) {
+        int programCounter = registers.getProgramCounter();
+
+        if(programCounter == loopStart) {
+            if(isIdleIteration()) skipIterations(maxCycles);
+
+            record();
+        } else if(programCounter <= previousProgramCounter &&
+                previousProgramCounter - programCounter < MAX_LOOP_LENGTH) {
+            loopStart = programCounter;
+
+            record();
+        }
+    }
+
+    /**
+     * Checks if the iteration that just ended left the machine exactly as it
+     * was when it started
+     *
+     * @return true if nothing but the clock changed
+     */
+    private boolean isIdleIteration() {
+        int iterationCycles = timers.getMachineCycles() - machineCycles;
+
+        return iterationCycles > 0 && iterationCycles <= MAX_ITERATION_CYCLES &&
+                bus.getWriteCount() == writeCount &&
+                interrupts.isInterruptMasterEnable() == interruptMasterEnable &&
+                !interrupts.requestedInterruptChange() &&
+                !interrupts.hasPendingInterrupts() &&
+                registers.getAF() == registerAF &&
+                registers.getBC() == registerBC &&
+                registers.getDE() == registerDE &&
+                registers.getHL() == registerHL &&
+                registers.getStackPointer() == stackPointer;
+    }
+
+    /**
+     * Advances the clock by as many whole iterations as fit before the next
+     * timer event, the maximum skip and the given limit. A loop that reads DIV
+     * or TIMA would see them change, so it only skips until their next
+     * increment
+     *
+     * @param maxCycles maximum machine cycles that can be skipped
+     */
+    private void skipIterations(int maxCycles) {
+        int iterationCycles = timers.getMachineCycles() - machineCycles;
+        int budget = Math.min(Math.min(maxSkip, maxCycles),
+                timers.getCyclesToNextEvent());
+
+        if(bus.getTimerReadCount() != timerReadCount)
+            budget = Math.min(budget, timers.getCyclesToNextChange());
+        int skippedCycles = budget / iterationCycles * iterationCycles;
+
+        if(skippedCycles == 0) return;
+
+        timers.advance(skippedCycles);
+        metrics.addIdleLoopSkip(skippedCycles);
+    }
+
+    /**
+     * Records the state at the start of the tracked loop
+     */
+    private void record() {
+        machineCycles           = timers.getMachineCycles();
+        writeCount              = bus.getWriteCount();
+        timerReadCount          = bus.getTimerReadCount();
+        interruptMasterEnable   = interrupts.isInterruptMasterEnable();
+        registerAF              = registers.getAF();
+        registerBC              = registers.getBC();
+        registerDE              = registers.getDE();
+        registerHL              = registers.getHL();
+        stackPointer            = registers.getStackPointer();
+    }
+}
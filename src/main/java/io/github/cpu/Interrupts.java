@@ -32,11 +32,21 @@ public class Interrupts {
         }
     }
 
+    /**
+     * Stores the bit of the lowest priority interrupt
+     */
+    private static final int LAST_INTERRUPT = InterruptTypes.JOYPAD_INT.value;
+
     /**
      * Stores a reference to the bus to communicate with other components
      */
     private final Bus bus;
 
+    /**
+     * Stores a reference to the cpu used to change its state
+     */
+    private final CpuPort cpu;
+
     /**
      * Stores a reference to the IE register at 0xFFFF (easier access)
      */
@@ -47,6 +57,12 @@ public class Interrupts {
      */
     private final Word IF_REGISTER;
 
+    /**
+     * Stores the value of IE and IF after an and operation, recomputed only
+     * when either register is written
+     */
+    private int pendingInterrupts;
+
     /**
      * Stores whether the CPU is currently reacting to interrupts, disabled by
      * default
@@ -77,12 +93,16 @@ public class Interrupts {
      * Creates a new Interrupt handler
      *
      * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
      */
-    public Interrupts(Bus bus) {
+    public Interrupts(Bus bus, CpuPort cpu) {
         this.bus = bus;
+        this.cpu = cpu;
 
         IE_REGISTER = bus.getWord(ReservedAddresses.IE.getAddress());
         IF_REGISTER = bus.getWord(ReservedAddresses.IF.getAddress());
+
+        updatePendingInterrupts();
     }
 
     /**
@@ -90,42 +110,57 @@ public class Interrupts {
      * CPU Interrupts, as well as testing for the halt bug
      */
     public void handleInterrupt() {
-        Word availableInterrupts = decodeServiceableInterrupts();
+        int availableInterrupts = decodeServiceableInterrupts();
+        if(availableInterrupts == 0) return;
 
         if(interruptMasterEnable) {
 
-            if(availableInterrupts.getValue() != 0) {
-                bus.executeFromCPU(Bus.UNHALT, null);
+            if(availableInterrupts != 0) {
+                cpu.unhalt();
                 disableIME();
 
                 bus.storePCInSP();
 
                 checkInterruptTypes(availableInterrupts);
+                cpu.subroutineCalled();
             }
-        } else if((Boolean) bus.getFromCPU(Bus.GET_HALTED, null)) {
-            if(availableInterrupts.getValue() != 0) {
-                bus.executeFromCPU(Bus.HALT, null);
+        } else if(cpu.isHalted()) {
+            int machineCycles     = cpu.getMachineCycles();
+            int haltMachineCycles = cpu.getHaltMachineCycles();
 
-                int machineCycles     =
-                        (int) bus.getFromCPU(Bus.GET_MC, null);
-                int haltMachineCycles =
-                        (int) bus.getFromCPU(Bus.GET_HALT_MC, null);
+            if(machineCycles == haltMachineCycles)
+                haltBug = true;
 
-                if(machineCycles == haltMachineCycles)
-                    haltBug = true;
-            }
+            cpu.unhalt();
         }
 
     }
 
+    /**
+     * Checks if any interrupt is both enabled and requested
+     *
+     * @return true if there are interrupts waiting to be serviced
+     */
+    public boolean hasPendingInterrupts() {
+        return pendingInterrupts != 0;
+    }
+
     /**
      * Decodes the interrupts being request, this is obtained from the IE and IF
      * register
      *
      * @return value of IE register and IF register after and bit operation
      */
-    private Word decodeServiceableInterrupts() {
-        return new Word(IE_REGISTER.getValue() & IF_REGISTER.getValue());
+    private int decodeServiceableInterrupts() {
+        return pendingInterrupts;
+    }
+
+    /**
+     * Recomputes the interrupts being requested, must be called whenever the
+     * IE or IF register changes
+     */
+    public void updatePendingInterrupts() {
+        pendingInterrupts = IE_REGISTER.getValue() & IF_REGISTER.getValue();
     }
 
     /**
@@ -135,20 +170,18 @@ public class Interrupts {
      * each interrupt type should jump to, they are curiously 8 address apart from
      * each other.
      *
-     * @param availableInterrupts Word containing the register's that are ready
-     *                            to be handled
-     */
-    private void checkInterruptTypes(Word availableInterrupts) {
-        for(InterruptTypes interrupt : InterruptTypes.values()) {
-            if(availableInterrupts.testBit(interrupt.value)) {
-                bus.executeFromCPU(Bus.SET_PC, new String[]{String.valueOf(
-                        ReservedAddresses.INTERRUPT_START.getAddress() +
-                                0x08 * interrupt.value)});
-                IF_REGISTER.resetBit(interrupt.value);
-
-                return;
-            }
-        }
+     * @param availableInterrupts bits of the interrupts that are ready to be
+     *                            handled
+     */
+    private void checkInterruptTypes(int availableInterrupts) {
+        int interrupt = Integer.numberOfTrailingZeros(availableInterrupts);
+        if(interrupt > LAST_INTERRUPT) return;
+
+        cpu.setProgramCounter(ReservedAddresses.INTERRUPT_START.getAddress() +
+                0x08 * interrupt);
+        IF_REGISTER.resetBit(interrupt);
+
+        updatePendingInterrupts();
     }
 
     /**
@@ -161,6 +194,8 @@ public class Interrupts {
         if(interrupt < 0 || interrupt > 4) return;
 
         IF_REGISTER.setBit(interrupt);
+
+        updatePendingInterrupts();
     }
 
     /**
@@ -191,6 +226,15 @@ public class Interrupts {
         interruptChange = false;
     }
 
+    /**
+     * Checks if the interrupt master enable is set
+     *
+     * @return true if interrupts can be serviced
+     */
+    public boolean isInterruptMasterEnable() {
+        return interruptMasterEnable;
+    }
+
     public void disableIME() {
         interruptMasterEnable = false;
     }
@@ -1,9 +1,6 @@
 package io.github.cpu;
 
 import io.github.memory.Bus;
-import io.github.memory.Word;
-
-import java.util.HashMap;
 
 /**
  * This abstraction holds the registers inside the Sharp CPU as well as the
@@ -14,21 +11,37 @@ import java.util.HashMap;
 
 public class Registers {
 
+    /**
+     * Stores the indexes used to address each of the 8 bit registers, the order
+     * follows the one used by the hardware when pairing registers (AF, BC, DE,
+     * HL)
+     */
+    public static final int A = 0;
+    public static final int F = 1;
+    public static final int B = 2;
+    public static final int C = 3;
+    public static final int D = 4;
+    public static final int E = 5;
+    public static final int H = 6;
+    public static final int L = 7;
+
     /**
      * Stores a reference to the bus to communicate with other components
      */
     private final Bus bus;
 
     /**
-     * Stores an Array with the possible register names (8 registers)
+     * Stores an Array with the possible register names (8 registers) indexed
+     * by the register constants
      */
-    private final String[] registerNames = {"A", "F", "B", "C", "D", "E", "H", "L"};
+    private static final String[] registerNames = {"A", "F", "B", "C", "D", "E", "H", "L"};
 
     /**
-     * Stores all the registers with their associated name (registers are kept
-     * as words for consistency between memory objects)
+     * Stores all the registers indexed by the register constants, each value is
+     * kept between 0x00 and 0xFF. The F slot is unused since register F is
+     * owned by the flags object
      */
-    private final HashMap<String, Word> registers = new HashMap<>();
+    private final int[] registers = new int[8];
 
     /**
      * Stores the CPU flags corresponding to register F
@@ -48,8 +61,8 @@ public class Registers {
     private char stackPointer = 0xFFFE;
 
     /**
-     * Creates all the objects to insert in the HashMap to store the registers
-     * as well as initializes them to their default value at startup
+     * Creates the register file as well as initializes the registers to their
+     * default value at startup
      *
      * @param bus reference to this instances bus
      */
@@ -57,12 +70,6 @@ public class Registers {
         this.bus = bus;
         flags = new Flags(bus);
 
-        for(String name : registerNames)
-            if(!name.equals("F"))
-                registers.put(name, new Word());
-
-        registers.put("F", flags.getRegister());
-
         initRegisters();
     }
 
@@ -130,23 +137,30 @@ public class Registers {
     }
 
     /**
-     * Register getter based on given register's name
+     * Register getter based on given register's index
      *
-     * @param register to retrieve
-     * @return word representing given registers name
+     * @param register index of the register to retrieve (A, F, B, C, D, E, H
+     *                 or L)
+     * @return value of the given register
      */
-    public Word getRegister(String register) {
-        return registers.get(register);
+    public int getRegister(int register) {
+        if(register == F)
+            return flags.getValue();
+
+        return registers[register];
     }
 
     /**
      * Setter for all registers
      *
-     * @param register to assign new value
+     * @param register index of the register to assign a new value
      * @param value to assign
      */
-    public void setRegister(String register, int value) {
-        registers.get(register).setValue(value);
+    public void setRegister(int register, int value) {
+        if(register == F)
+            flags.setValue(value);
+        else
+            registers[register] = value & 0xFF;
     }
 
     /**
@@ -156,7 +170,7 @@ public class Registers {
      * @return register A with register F (16 bit Word)
      */
     public int getAF() {
-        return (getRegister("A").getValue() << 8) + getRegister("F").getValue();
+        return (registers[A] << 8) | flags.getValue();
     }
 
     /**
@@ -166,7 +180,7 @@ public class Registers {
      * @return register B with register C (16 bit Word)
      */
     public int getBC() {
-        return (getRegister("B").getValue() << 8) + getRegister("C").getValue();
+        return (registers[B] << 8) | registers[C];
     }
 
     /**
@@ -176,7 +190,7 @@ public class Registers {
      * @return register D with register E (16 bit Word)
      */
     public int getDE() {
-        return (getRegister("D").getValue() << 8) + getRegister("E").getValue();
+        return (registers[D] << 8) | registers[E];
     }
 
     /**
@@ -186,7 +200,7 @@ public class Registers {
      * @return register H with register L (16 bit Word)
      */
     public int getHL() {
-        return (getRegister("H").getValue() << 8) + getRegister("L").getValue();
+        return (registers[H] << 8) | registers[L];
     }
 
     /**
@@ -195,8 +209,8 @@ public class Registers {
      * @param value to assign the 16bit word
      */
     public void setAF(int value) {
-        setRegister("A", (value & 0xff00) >> 8);
-        setRegister("F", value & 0x00f0);
+        registers[A] = (value & 0xFF00) >> 8;
+        flags.setValue(value & 0x00F0);
     }
 
     /**
@@ -205,8 +219,8 @@ public class Registers {
      * @param value to assign the 16bit word
      */
     public void setBC(int value) {
-        setRegister("B", (value & 0xff00) >> 8);
-        setRegister("C", value & 0x00ff);
+        registers[B] = (value & 0xFF00) >> 8;
+        registers[C] = value & 0x00FF;
     }
 
     /**
@@ -215,8 +229,8 @@ public class Registers {
      * @param value to assign the 16bit word
      */
     public void setDE(int value) {
-        setRegister("D", (value & 0xff00) >> 8);
-        setRegister("E", value & 0x00ff);
+        registers[D] = (value & 0xFF00) >> 8;
+        registers[E] = value & 0x00FF;
     }
 
     /**
@@ -225,8 +239,8 @@ public class Registers {
      * @param value to assign the 16bit word
      */
     public void setHL(int value) {
-        setRegister("H", (value & 0xff00) >> 8);
-        setRegister("L", value & 0x00ff);
+        registers[H] = (value & 0xFF00) >> 8;
+        registers[L] = value & 0x00FF;
     }
 
     /**
@@ -250,9 +264,9 @@ public class Registers {
     public String toString() {
         StringBuilder stringBuilder = new StringBuilder();
 
-        for(String register : registerNames)
-            stringBuilder.append(register).append(": ")
-                .append(String.format("%02X", registers.get(register).getValue()))
+        for(int register = A; register <= L; register++)
+            stringBuilder.append(registerNames[register]).append(": ")
+                .append(String.format("%02X", getRegister(register)))
                 .append(" ");
 
         stringBuilder.append("SP: ").
@@ -0,0 +1,86 @@
+package io.github.cpu;
+
+/**
+ * Describes how a bounded run of the cpu ended, returned by the run methods
+ * of {@link CPU} so that the caller can decide what to do next
+ *
+ * @author rodrigotimoteo
+ */
+
+public final class RunResult {
+
+    /**
+     * Represents the reasons a run can end
+     */
+    public enum StopReason {
+        /**
+         * The requested machine cycles were executed
+         */
+        CYCLES_ELAPSED,
+
+        /**
+         * The condition given to the run was met
+         */
+        CONDITION_MET,
+
+        /**
+         * The cpu is stopped and won't execute until it is woken up
+         */
+        STOPPED,
+
+        /**
+         * An execution breakpoint was reached, its instruction didn't run yet
+         */
+        BREAKPOINT,
+
+        /**
+         * The last instruction accessed memory under a watchpoint
+         */
+        WATCHPOINT
+    }
+
+    /**
+     * Stores why the run ended
+     */
+    private final StopReason reason;
+
+    /**
+     * Stores the machine cycles executed during the run
+     */
+    private final long machineCycles;
+
+    /**
+     * Creates a new run result
+     *
+     * @param reason why the run ended
+     * @param machineCycles machine cycles executed during the run
+     */
+    RunResult(StopReason reason, long machineCycles) {
+        this.reason         = reason;
+        this.machineCycles  = machineCycles;
+    }
+
+    /**
+     * Gets why the run ended
+     *
+     * @return stop reason
+     */
+    public StopReason getReason() {
+        return reason;
+    }
+
+    /**
+     * Gets the machine cycles executed during the run, runs only end between
+     * instructions so this can be slightly over the requested amount
+     *
+     * @return machine cycles executed
+     */
+    public long getMachineCycles() {
+        return machineCycles;
+    }
+
+    @Override
+    public String toString() {
+        return reason + " after " + machineCycles + " machine cycles";
+    }
+}
@@ -1,30 +1,62 @@
 package io.github.cpu;
 
 import io.github.memory.Bus;
+import io.github.memory.ReservedAddresses;
+import io.github.memory.Word;
 
 /**
  * Class purposed with handling everything that needs timings inside the CPU
  * total Cycles, interrupts and others
  *
+ * <p>The divider and the timer count from an internal counter of machine
+ * cycles, DIV is its upper byte (one increment every 64 cycles) and TIMA
+ * increments whenever the bit selected by TAC overflows into the next one.
+ * Advancing several cycles at once computes the increments of the elapsed
+ * range, so the registers, the reload from TMA and the timer interrupt end
+ * up as if every cycle had been ticked</p>
+ *
  * @author rodrigotimoteo
  */
 
 public class Timers {
 
+    /**
+     * Stores the number of bits of the internal counter, the bits of DIV
+     * inside it and the TAC bit that enables the timer
+     */
+    private static final int COUNTER_MASK   = 0x3FFF;
+    private static final int DIV_SHIFT      = 6;
+    private static final int TIMER_ENABLE   = 0x04;
+
+    /**
+     * Stores the shift of the counter bit TIMA follows for each clock select
+     * of TAC (256, 4, 16 and 64 machine cycles per increment)
+     */
+    private static final int[] TIMER_SHIFTS = {8, 2, 4, 6};
+
     /**
      * Stores a reference to the bus to communicate with other components
      */
     private final Bus bus;
 
     /**
-     * Stores whether the timer is currently enabled
+     * Stores a reference to the cpu used to request the timer interrupt
      */
-    private boolean timerEnabled;
+    private final CpuPort cpu;
 
     /**
-     * Stores if there has been a timer overflow that needs handling
+     * Stores references to the timer registers (easier access)
      */
-    private boolean handleOverflow;
+    private final Word DIV;
+    private final Word TIMA;
+    private final Word TMA;
+    private final Word TAC;
+
+    /**
+     * Stores the internal counter DIV and TIMA are derived from, in machine
+     * cycles
+     */
+    private int counter;
 
     /**
      * Stores the amount of Machine Cycles executed
@@ -46,9 +78,18 @@ public class Timers {
      * Creates a new Timer handler object
      *
      * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
      */
-    public Timers(Bus bus) {
+    public Timers(Bus bus, CpuPort cpu) {
         this.bus = bus;
+        this.cpu = cpu;
+
+        DIV  = bus.getWord(ReservedAddresses.DIV.getAddress());
+        TIMA = bus.getWord(ReservedAddresses.TIMA.getAddress());
+        TMA  = bus.getWord(ReservedAddresses.TMA.getAddress());
+        TAC  = bus.getWord(ReservedAddresses.TAC.getAddress());
+
+        counter = DIV.getValue() << DIV_SHIFT;
     }
 
     /**
@@ -59,14 +100,121 @@ public class Timers {
 
         tickDividerTimer();
         tickNormalTimer();
+
+        bus.advancePpu(1);
+    }
+
+    /**
+     * Advances general timers by several units at once, DIV and TIMA take
+     * every increment of the elapsed cycles, reloading from TMA and requesting
+     * the timer interrupt if TIMA overflows
+     *
+     * @param cycles number of machine cycles to advance
+     */
+    public void advance(int cycles) {
+        machineCycles += cycles;
+
+        long end = (long) counter + cycles;
+
+        int tac = TAC.getValue();
+        if((tac & TIMER_ENABLE) != 0) {
+            int shift = TIMER_SHIFTS[tac & 0x03];
+
+            incrementTimer((end >> shift) - (counter >> shift));
+        }
+
+        counter = (int) (end & COUNTER_MASK);
+        DIV.setValue(counter >> DIV_SHIFT);
+
+        bus.advancePpu(cycles);
+    }
+
+    /**
+     * Gets the number of machine cycles until the timers next request an
+     * interrupt (TIMA overflowing) or the ppu next changes mode or line,
+     * nothing else the clock drives can end a halt
+     *
+     * @return machine cycles until the next event, Integer.MAX_VALUE if the
+     * timer is disabled and there is no running ppu
+     */
+    public int getCyclesToNextEvent() {
+        int ppuCycles = bus.getPpuCyclesToNextEvent();
+
+        int tac = TAC.getValue();
+        if((tac & TIMER_ENABLE) == 0) return ppuCycles;
+
+        int shift = TIMER_SHIFTS[tac & 0x03];
+        int increments = 0x100 - TIMA.getValue();
+
+        return Math.min(ppuCycles,
+                (((counter >> shift) + increments) << shift) - counter);
+    }
+
+    /**
+     * Gets the number of machine cycles until DIV or TIMA next change, used by
+     * code that reads them and can see every increment
+     *
+     * @return machine cycles until the next timer register change
+     */
+    public int getCyclesToNextChange() {
+        int shift = DIV_SHIFT;
+
+        int tac = TAC.getValue();
+        if((tac & TIMER_ENABLE) != 0)
+            shift = Math.min(shift, TIMER_SHIFTS[tac & 0x03]);
+
+        return (((counter >> shift) + 1) << shift) - counter;
     }
 
+    /**
+     * Resets the internal counter (and so DIV), called when DIV is written
+     */
+    public void resetDivider() {
+        counter = 0;
+        DIV.setValue(0);
+    }
+
+    /**
+     * Increments the internal counter, DIV follows its upper byte
+     */
     private void tickDividerTimer() {
+        counter = (counter + 1) & COUNTER_MASK;
 
+        if((counter & ((1 << DIV_SHIFT) - 1)) == 0)
+            DIV.setValue(counter >> DIV_SHIFT);
     }
 
+    /**
+     * Increments TIMA when the counter bit selected by TAC overflows
+     */
     private void tickNormalTimer() {
+        int tac = TAC.getValue();
+        if((tac & TIMER_ENABLE) == 0) return;
+
+        if((counter & ((1 << TIMER_SHIFTS[tac & 0x03]) - 1)) == 0)
+            incrementTimer(1);
+    }
+
+    /**
+     * Increments TIMA by the given amount, every overflow reloads it from TMA
+     * and requests the timer interrupt
+     *
+     * @param increments number of times TIMA is incremented
+     */
+    private void incrementTimer(long increments) {
+        if(increments == 0) return;
+
+        int tima = TIMA.getValue();
+        if(increments < 0x100 - tima) {
+            TIMA.setValue(tima + (int) increments);
+            return;
+        }
+
+        int tma = TMA.getValue();
+        long afterOverflow = increments - (0x100 - tima);
 
+        TIMA.setValue(tma + (int) (afterOverflow % (0x100 - tma)));
+        cpu.requestInterrupt(Interrupts.InterruptTypes.TIMER_INT.getValue());
     }
 
     /**
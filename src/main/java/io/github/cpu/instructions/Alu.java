@@ -1,8 +1,9 @@
 package io.github.cpu.instructions;
 
+import io.github.cpu.CpuPort;
 import io.github.cpu.Flags;
+import io.github.cpu.Registers;
 import io.github.memory.Bus;
-import io.github.memory.Word;
 
 /**
  * Class responsible for handling all things that deal with arithmetic operations
@@ -17,13 +18,35 @@ public class Alu {
      */
     private final Bus bus;
 
+    /**
+     * Stores a reference to the cpu used to access its registers and timers
+     */
+    private final CpuPort cpu;
+
+    /**
+     * Stores whether results and flags are read from the precomputed tables
+     */
+    private boolean tableBackend = false;
+
     /**
      * Creates a handler for the alu operations done by the CPU
      *
      * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
      */
-    public Alu(Bus bus) {
+    public Alu(Bus bus, CpuPort cpu) {
         this.bus = bus;
+        this.cpu = cpu;
+    }
+
+    /**
+     * Changes between computing results and flags arithmetically (default) or
+     * reading them from the precomputed tables in AluTables
+     *
+     * @param tableBackend true to use the precomputed tables false otherwise
+     */
+    public void setTableBackend(boolean tableBackend) {
+        this.tableBackend = tableBackend;
     }
 
     /**
@@ -44,15 +67,15 @@ public class Alu {
     }
 
     /**
-     * Checks if the carry flag will be set or reset based on the values used
-     * in the arithmetic calculation. Used for additions
+     * Reads the operand of an instruction that takes it from memory, either
+     * at the address in HL or as the immediate after the opcode
      *
-     * @param value1 to check
-     * @return status of the carry flag (1 if true 0 otherwise)
+     * @param address of the operand
+     * @param HL if the address comes from HL (false for immediates)
+     * @return operand value
      */
-    private int checkCarryAdd(int value1) {
-        if(value1 > 0xFF) return 1;
-        else return 0;
+    private int getOperand(int address, boolean HL) {
+        return HL ? bus.getValue(address) : bus.getImmediate(address);
     }
 
     /**
@@ -67,47 +90,16 @@ public class Alu {
         else return 0;
     }
 
-    private int checkHalfCarrySub(int value1, int value2, int carry) {
-        if(((value1 & 0xf) - (value2 & 0xf) - carry) < 0)
-            return 1;
-        else
-            return 0;
-    }
-
-    private int checkCarrySub(int value1) {
-        if(value1 < 0) return 1;
-        else return 0;
-    }
-
     /**
      * Performs the operations of adding any given value (in this case only the
      * ones contained inside registers) to A
      *
      * @param register used to retrieve the register to add to register A's value
      */
-    public void add(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue = valueN.getValue();
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-
-        int halfCarry = checkHalfCarryAdd(valueNValue, registerAValue, 0);
-
-        valueNValue += registerAValue;
+    public void add(int register) {
+        addValue(cpu.getRegister(register), 0);
 
-        int carry = checkCarryAdd(valueNValue);
-        int zero = checkZero(valueNValue);
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
-
-        flags.setFlags(zero, 0, halfCarry, carry);
-
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -119,29 +111,12 @@ public class Alu {
      * @param HL      if HL is being used or not
      */
     public void addSpecial(int address, boolean HL) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue    = bus.getValue(address);
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-
-        int halfCarry = checkHalfCarryAdd(valueNValue, registerAValue, 0);
-
-        valueNValue += registerAValue;
+        cpu.tickTimers();
 
-        int carry = checkCarryAdd(valueNValue);
-        int zero = checkZero(valueNValue);
+        addValue(getOperand(address, HL), 0);
 
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
-
-        flags.setFlags(zero, 0, halfCarry, carry);
-
-        if(HL)  bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
-        else    bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        if(HL)  cpu.incrementProgramCounter(1);
+        else    cpu.incrementProgramCounter(2);
     }
 
     /**
@@ -151,30 +126,12 @@ public class Alu {
      *
      * @param register used to retrieve the register to add to register A's value
      */
-    public void adc(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue = valueN.getValue();
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-        int carry = flags.getCarryFlag() ? 1 : 0;
-
-        int halfCarry = checkHalfCarryAdd(valueNValue, registerAValue, carry);
+    public void adc(int register) {
+        int carry = cpu.getFlags().getCarryFlag() ? 1 : 0;
 
-        valueNValue += registerAValue + carry;
+        addValue(cpu.getRegister(register), carry);
 
-        carry = checkCarryAdd(valueNValue);
-        int zero = checkZero(valueNValue);
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
-
-        flags.setFlags(zero, 0, halfCarry, carry);
-
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -187,264 +144,166 @@ public class Alu {
      * @param HL      if HL is being used or not
      */
     public void adcSpecial(int address, boolean HL) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
+        cpu.tickTimers();
 
-        int valueNValue    = bus.getValue(address);
-        int registerAValue = registerA.getValue();
+        int carry = cpu.getFlags().getCarryFlag() ? 1 : 0;
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-        int carry = flags.getCarryFlag() ? 1 : 0;
+        addValue(getOperand(address, HL), carry);
 
-        int halfCarry = checkHalfCarryAdd(valueNValue, registerAValue, carry);
-
-        valueNValue += registerAValue + carry;
-
-        carry = checkCarryAdd(valueNValue);
-        int zero = checkZero(valueNValue);
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
-
-        flags.setFlags(zero, 0, halfCarry, carry);
-
-        if(HL)  bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
-        else    bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        if(HL)  cpu.incrementProgramCounter(1);
+        else    cpu.incrementProgramCounter(2);
     }
 
+    /**
+     * Adds the given value and carry to register A and records the operation
+     * in the flags
+     *
+     * @param value to add to register A's value
+     * @param carry to add (1 if used 0 otherwise)
+     */
+    private void addValue(int value, int carry) {
+        int registerAValue = cpu.getRegister(Registers.A);
 
-    public void sub(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue = valueN.getValue();
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        if(tableBackend) {
+            int entry = AluTables.ADD[(carry << 16) | (registerAValue << 8) | value];
 
-        int halfCarry = checkHalfCarrySub(registerAValue, valueNValue, 0);
+            cpu.getFlags().setFlagBits(entry >> 8);
+            cpu.setRegister(Registers.A, entry);
+            return;
+        }
 
-        valueNValue = (registerAValue - valueNValue);
+        int result = registerAValue + value + carry;
 
-        int carry = checkCarrySub(valueNValue);
-        int zero = checkZero(valueNValue);
+        cpu.getFlags().recordOperation(Flags.ADD, registerAValue, value, carry,
+                result);
 
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue & 0xFF)});
+        cpu.setRegister(Registers.A, result);
+    }
 
-        flags.setFlags(zero, 1, halfCarry, carry);
+    public void sub(int register) {
+        subValue(cpu.getRegister(register), 0, true);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     public void subSpecial(int address, boolean HL) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue    = bus.getValue(address);
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-
-        int halfCarry = checkHalfCarrySub(registerAValue, valueNValue, 0);
-
-        valueNValue = (registerAValue - valueNValue);
+        cpu.tickTimers();
 
-        int carry = checkCarrySub(valueNValue);
-        int zero = checkZero(valueNValue);
+        subValue(getOperand(address, HL), 0, true);
 
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue & 0xFF)});
-
-        flags.setFlags(zero, 1, halfCarry, carry);
-
-        if(HL)  bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
-        else    bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        if(HL)  cpu.incrementProgramCounter(1);
+        else    cpu.incrementProgramCounter(2);
     }
 
-    public void sbc(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue = valueN.getValue();
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-        int carry = flags.getCarryFlag() ? 1 : 0;
-
-        int halfCarry = checkHalfCarrySub(registerAValue, valueNValue, carry);
-
-        valueNValue = (registerAValue - valueNValue - carry);
-
-        carry = checkCarrySub(valueNValue);
-        int zero = checkZero(valueNValue);
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue & 0xFF)});
+    public void sbc(int register) {
+        int carry = cpu.getFlags().getCarryFlag() ? 1 : 0;
 
-        flags.setFlags(zero, 1, halfCarry, carry);
+        subValue(cpu.getRegister(register), carry, true);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     public void sbcSpecial(int address, boolean HL) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
+        int carry = cpu.getFlags().getCarryFlag() ? 1 : 0;
 
-        int valueNValue    = bus.getValue(address);
-        int registerAValue = registerA.getValue();
+        subValue(getOperand(address, HL), carry, true);
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-        int carry = flags.getCarryFlag() ? 1 : 0;
+        if(HL)  cpu.incrementProgramCounter(1);
+        else    cpu.incrementProgramCounter(2);
+    }
 
-        int halfCarry = checkHalfCarrySub(registerAValue, valueNValue, carry);
+    /**
+     * Subtracts the given value and carry from register A and records the
+     * operation in the flags
+     *
+     * @param value to subtract from register A's value
+     * @param carry to subtract (1 if used 0 otherwise)
+     * @param store whether to store the result in register A (false for compares)
+     */
+    private void subValue(int value, int carry, boolean store) {
+        int registerAValue = cpu.getRegister(Registers.A);
 
-        valueNValue = (registerAValue - valueNValue - carry);
+        if(tableBackend) {
+            int entry = AluTables.SUB[(carry << 16) | (registerAValue << 8) | value];
 
-        carry = checkCarrySub(valueNValue);
-        int zero = checkZero(valueNValue);
+            cpu.getFlags().setFlagBits(entry >> 8);
+            if(store) cpu.setRegister(Registers.A, entry);
+            return;
+        }
 
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue & 0xFF)});
+        int result = registerAValue - value - carry;
 
-        flags.setFlags(zero, 1, halfCarry, carry);
+        cpu.getFlags().recordOperation(Flags.SUB, registerAValue, value, carry,
+                result);
 
-        if(HL)  bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
-        else    bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        if(store) cpu.setRegister(Registers.A, result);
     }
 
-    public void and(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue = valueN.getValue();
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-
-        valueNValue = registerAValue & valueNValue;
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
+    public void and(int register) {
+        logicValue(Flags.AND, cpu.getRegister(Registers.A) &
+                cpu.getRegister(register));
 
-        int zero = checkZero(valueNValue);
-        flags.setFlags(zero, 0, 1, 0);
-
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     public void andSpecial(int address, boolean HL) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue    = bus.getValue(address);
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        cpu.tickTimers();
 
-        valueNValue = registerAValue & valueNValue;
+        logicValue(Flags.AND, cpu.getRegister(Registers.A) &
+                getOperand(address, HL));
 
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
-
-        int zero = checkZero(valueNValue);
-        flags.setFlags(zero, 0, 1, 0);
-
-        if(HL)  bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
-        else    bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        if(HL)  cpu.incrementProgramCounter(1);
+        else    cpu.incrementProgramCounter(2);
     }
 
-    public void or(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue = valueN.getValue();
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+    public void or(int register) {
+        logicValue(Flags.OR, cpu.getRegister(Registers.A) |
+                cpu.getRegister(register));
 
-        valueNValue = valueNValue | registerAValue;
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
-
-        int zero = checkZero(valueNValue);
-        flags.setFlags(zero, 0, 0, 0);
-
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     public void orSpecial(int address, boolean HL) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue    = bus.getValue(address);
-        int registerAValue = registerA.getValue();
+        cpu.tickTimers();
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        logicValue(Flags.OR, cpu.getRegister(Registers.A) |
+                getOperand(address, HL));
 
-        valueNValue = valueNValue | registerAValue;
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
-
-        int zero = checkZero(valueNValue);
-        flags.setFlags(zero, 0, 0, 0);
-
-        if(HL)  bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
-        else    bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        if(HL)  cpu.incrementProgramCounter(1);
+        else    cpu.incrementProgramCounter(2);
     }
 
-    public void xor(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue = valueN.getValue();
-        int registerAValue = registerA.getValue();
+    public void xor(int register) {
+        logicValue(Flags.OR, cpu.getRegister(Registers.A) ^
+                cpu.getRegister(register));
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-
-        valueNValue = valueNValue ^ registerAValue;
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
-
-        int zero = checkZero(valueNValue);
-        flags.setFlags(zero, 0, 0, 0);
-
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     public void xorSpecial(int address, boolean HL) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
+        logicValue(Flags.OR, cpu.getRegister(Registers.A) ^
+                getOperand(address, HL));
 
-        int valueNValue    = bus.getValue(address);
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-
-        valueNValue = valueNValue ^ registerAValue;
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
+        if(HL)  cpu.incrementProgramCounter(1);
+        else    cpu.incrementProgramCounter(2);
+    }
 
-        int zero = checkZero(valueNValue);
-        flags.setFlags(zero, 0, 0, 0);
+    /**
+     * Stores the result of a logic operation in register A and records the
+     * operation in the flags
+     *
+     * @param operation kind of logic operation (AND or OR, XOR has the same
+     *                  flags as OR)
+     * @param result of the logic operation
+     */
+    private void logicValue(int operation, int result) {
+        cpu.getFlags().recordOperation(operation, 0, 0, 0, result);
 
-        if(HL)  bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
-        else    bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        cpu.setRegister(Registers.A, result);
     }
 
     /**
@@ -454,45 +313,19 @@ public class Alu {
      * @param register used to retrieve the register to compare to register A's
      *                 value
      */
-    public void cp(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int valueNValue = valueN.getValue();
-        int registerAValue = registerA.getValue();
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+    public void cp(int register) {
+        subValue(cpu.getRegister(register), 0, false);
 
-        int zero = checkZero(valueNValue - registerAValue);
-        int halfCarry = checkHalfCarrySub(registerAValue, valueNValue, 0);
-        int carry = checkCarrySub(registerAValue - valueNValue);
-
-        flags.setFlags(zero, 1, halfCarry, carry);
-
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     public void cpSpecial(int address, boolean HL) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int registerAValue = registerA.getValue();
-        int valueNValue = bus.getValue(address);
+        cpu.tickTimers();
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        subValue(getOperand(address, HL), 0, false);
 
-        int zero = checkZero(valueNValue - registerAValue);
-        int halfCarry = checkHalfCarrySub(registerAValue, valueNValue, 0);
-        int carry = checkCarrySub(registerAValue - valueNValue);
-
-        flags.setFlags(zero, 1, halfCarry, carry);
-
-        if(HL)  bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
-        else    bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        if(HL)  cpu.incrementProgramCounter(1);
+        else    cpu.incrementProgramCounter(2);
     }
 
     /**
@@ -500,111 +333,116 @@ public class Alu {
      *
      * @param register used to retrieve the register to increment
      */
-    public void inc(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-        int valueNValue = valueN.getValue();
-        int halfCarry = checkHalfCarryAdd(valueNValue, 1, 0);
-
-        valueNValue = (valueNValue + 1) & 0xFF;
+    public void inc(int register) {
+        int result = incValue(cpu.getRegister(register));
 
-        int zero = checkZero(valueNValue);
-        flags.setFlags(zero, 0, halfCarry, 2);
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{register, String.valueOf(valueNValue)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.setRegister(register, result);
+        cpu.incrementProgramCounter(1);
     }
 
     public void incSpecial(int address) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-        int valueNValue = bus.getValue(address);
+        cpu.tickTimers();
 
-        int halfCarry = checkHalfCarryAdd(valueNValue, 1,0 );
+        int result = incValue(bus.getValue(address));
 
-        valueNValue = (valueNValue + 1) & 0xFF;
+        bus.setValue(address, result);
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(1);
+    }
 
-        int zero = checkZero(valueNValue);
-        flags.setFlags(zero, 0, halfCarry, 2);
+    public void dec(int register) {
+        int result = decValue(cpu.getRegister(register));
 
-        bus.setValue(address, valueNValue);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.setRegister(register, result);
+        cpu.incrementProgramCounter(1);
     }
 
-    public void dec(String register) {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
+    public void decSpecial(int address) {
+        cpu.tickTimers();
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-        int valueNValue = valueN.getValue();
+        int result = decValue(bus.getValue(address));
 
-        int halfCarry = checkHalfCarrySub(valueNValue, 1, 0);
+        bus.setValue(address, result);
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(1);
+    }
 
-        valueNValue--;
+    /**
+     * Increments the given value and records the operation in the flags
+     *
+     * @param value to increment
+     * @return incremented value
+     */
+    private int incValue(int value) {
+        Flags flags = cpu.getFlags();
 
-        int zero = checkZero(valueNValue);
-        flags.setFlags(zero, 1, halfCarry, 2);
+        if(tableBackend) {
+            int entry = AluTables.INC[value];
 
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{register, String.valueOf(valueNValue)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
-    }
+            flags.setFlagBits((entry >> 8) | (flags.getCarryFlag() ? 0x10 : 0));
+            return entry & 0xFF;
+        }
 
-    public void decSpecial(int address) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        int result = (value + 1) & 0xFF;
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        flags.recordOperation(Flags.INC, value, 1, 0, result);
+        return result;
+    }
 
-        int valueNValue = bus.getValue(address);
+    /**
+     * Decrements the given value and records the operation in the flags
+     *
+     * @param value to decrement
+     * @return decremented value
+     */
+    private int decValue(int value) {
+        Flags flags = cpu.getFlags();
 
-        int halfCarry = checkHalfCarrySub(valueNValue, 1, 0);
-        valueNValue -= 1;
+        if(tableBackend) {
+            int entry = AluTables.DEC[value];
 
-        int zero = checkZero(valueNValue);
+            flags.setFlagBits((entry >> 8) | (flags.getCarryFlag() ? 0x10 : 0));
+            return entry & 0xFF;
+        }
 
-        flags.setFlags(zero, 1, halfCarry, 2);
+        int result = (value - 1) & 0xFF;
 
-        bus.setValue(address, valueNValue & 0xFF);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        flags.recordOperation(Flags.DEC, value, 1, 0, result);
+        return result;
     }
 
     public void addHL(int register) {
-        int HL = (Integer) bus.getFromCPU(Bus.GET_HL, null);
+        int HL = cpu.getHL();
         int R = 0;
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        Flags flags = cpu.getFlags();
 
         switch(register) {
-            case 0 -> R = (Integer) bus.getFromCPU(Bus.GET_BC, null);
-            case 1 -> R = (Integer) bus.getFromCPU(Bus.GET_DE, null);
-            case 2 -> R = (Integer) bus.getFromCPU(Bus.GET_HL, null);
+            case 0 -> R = cpu.getBC();
+            case 1 -> R = cpu.getDE();
+            case 2 -> R = cpu.getHL();
         }
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
         int halfCarry = (((HL & 0xFFF) + (R & 0xFFF) & 0x1000) == 0x1000) ? 1 : 0;
         int carry = ((HL & 0xFFFF) + (R & 0xFFFF) > 0xFFFF) ? 1 : 0;
 
         int temp = ((HL & 0xffff) + (R & 0xffff)) & 0xffff;
 
-
         flags.setFlags(2, 0, halfCarry, carry);
 
-        bus.executeFromCPU(Bus.SET_HL, new String[]{String.valueOf(temp)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.setHL(temp);
+        cpu.incrementProgramCounter(1);
     }
 
     public void addHLSP() {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
-        int HL = (Integer) bus.getFromCPU(Bus.GET_HL, null);
-        int stackPointer = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        int HL = cpu.getHL();
+        int stackPointer = cpu.getStackPointer();
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        Flags flags = cpu.getFlags();
 
         int halfCarry = (((HL & 0xFFF) + (stackPointer & 0xFFF) & 0x1000) == 0x1000) ? 1 : 0;
         int carry = ((HL & 0xFFFF) + (stackPointer & 0xFFFF) > 0xFFFF) ? 1 : 0;
@@ -613,18 +451,18 @@ public class Alu {
 
         flags.setFlags(2, 0, halfCarry, carry);
 
-        bus.executeFromCPU(Bus.SET_HL, new String[]{String.valueOf(temp)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.setHL(temp);
+        cpu.incrementProgramCounter(1);
     }
 
     public void addSP(int address) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        Flags flags = cpu.getFlags();
 
-        int value = bus.getValue(address);
-        int valueSigned = bus.getValue(address);
-        int stackPointer = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        int value = bus.getImmediate(address);
+        int valueSigned = bus.getImmediate(address);
+        int stackPointer = cpu.getStackPointer();
         if(((valueSigned & 0x80) >> 7) == 1) valueSigned = (valueSigned & 0x7F) - 0x80;
 
         int halfCarry = checkHalfCarryAdd(value, stackPointer, 0);
@@ -634,82 +472,82 @@ public class Alu {
 
         flags.setFlags(0, 0, halfCarry, carry);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.SET_SP, new String[]{String.valueOf(valueSigned)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        cpu.tickTimers();
+        cpu.tickTimers();
+        cpu.setStackPointer(valueSigned);
+        cpu.incrementProgramCounter(2);
     }
 
     public void incR(int register) {
         switch(register) {
             case 0 -> {
-                int temp = (Integer) bus.getFromCPU(Bus.GET_BC, null);
+                int temp = cpu.getBC();
                 temp = (temp + 1) & 0xFFFF;
-                bus.executeFromCPU(Bus.SET_BC, new String[]{String.valueOf(temp)});
+                cpu.setBC(temp);
             }
             case 1-> {
-                int temp = (Integer) bus.getFromCPU(Bus.GET_DE, null);
+                int temp = cpu.getDE();
                 temp = (temp + 1) & 0xFFFF;
-                bus.executeFromCPU(Bus.SET_DE, new String[]{String.valueOf(temp)});
+                cpu.setDE(temp);
             }
             case 2-> {
-                int temp = (Integer) bus.getFromCPU(Bus.GET_HL, null);
+                int temp = cpu.getHL();
                 temp = (temp + 1) & 0xFFFF;
-                bus.executeFromCPU(Bus.SET_HL, new String[]{String.valueOf(temp)});
+                cpu.setHL(temp);
             }
         }
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(1);
     }
 
     /**
      * This operation increments the stack pointer by one
      */
     public void incSP() {
-        int SP = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        int SP = cpu.getStackPointer();
         SP = (SP + 1) & 0xffff;
 
-        bus.executeFromCPU(Bus.SET_SP, new String[]{String.valueOf(SP)});
+        cpu.setStackPointer(SP);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(1);
     }
 
     public void decR(int register) {
         switch(register) {
             case 0 -> {
-                int temp = (Integer) bus.getFromCPU(Bus.GET_BC, null);
+                int temp = cpu.getBC();
                 temp = (temp - 1) & 0xFFFF;
-                bus.executeFromCPU(Bus.SET_BC, new String[]{String.valueOf(temp)});
+                cpu.setBC(temp);
             }
             case 1-> {
-                int temp = (Integer) bus.getFromCPU(Bus.GET_DE, null);
+                int temp = cpu.getDE();
                 temp = (temp - 1) & 0xFFFF;
-                bus.executeFromCPU(Bus.SET_DE, new String[]{String.valueOf(temp)});
+                cpu.setDE(temp);
             }
             case 2-> {
-                int temp = (Integer) bus.getFromCPU(Bus.GET_HL, null);
+                int temp = cpu.getHL();
                 temp = (temp - 1) & 0xFFFF;
-                bus.executeFromCPU(Bus.SET_HL, new String[]{String.valueOf(temp)});
+                cpu.setHL(temp);
             }
         }
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(1);
     }
 
     /**
      * This operation decrements the stack pointer by one
      */
     public void decSP() {
-        int SP = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        int SP = cpu.getStackPointer();
         SP = (SP - 1) & 0xffff;
 
-        bus.executeFromCPU(Bus.SET_SP, new String[]{String.valueOf(SP)});
+        cpu.setStackPointer(SP);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -717,11 +555,18 @@ public class Alu {
      * this means getting the correct Binary Coded Decimal for the value in A
      */
     public void daa() {
-        Word valueN = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-        int valueNValue = valueN.getValue();
+        int valueNValue = cpu.getRegister(Registers.A);
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        Flags flags = cpu.getFlags();
+
+        if(tableBackend) {
+            int entry = AluTables.DAA[((flags.getValue() & 0x70) << 4) | valueNValue];
+
+            flags.setFlagBits(entry >> 8);
+            cpu.setRegister(Registers.A, entry);
+            cpu.incrementProgramCounter(1);
+            return;
+        }
 
         int offset = 0;
         int carry  = 0;
@@ -741,25 +586,22 @@ public class Alu {
         int zero = checkZero(valueNValue & 0xFF);
         flags.setFlags(zero, 2, 0, carry);
 
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(valueNValue)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.setRegister(Registers.A, valueNValue);
+        cpu.incrementProgramCounter(1);
     }
 
     /**
      * This operation takes the A register and complements it (flips all bits)
      */
     public void cpl() {
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-
-        int registerAValue = registerA.getValue();
+        int registerAValue = cpu.getRegister(Registers.A);
         registerAValue = (~registerAValue & 0xFF);
 
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{"A", String.valueOf(registerAValue)});
+        cpu.setRegister(Registers.A, registerAValue);
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        Flags flags = cpu.getFlags();
         flags.setFlags(2, 1, 1, 2);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 }
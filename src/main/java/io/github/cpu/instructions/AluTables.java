@@ -0,0 +1,158 @@
+package io.github.cpu.instructions;
+
+/**
+ * Holds precomputed result and flag tables for the 8 bit arithmetic, logic,
+ * DAA and rotate/shift operations. Every entry packs the 8 bit result in the
+ * lower byte and the flag register bits (Z N H C in bits 7 to 4) in the upper
+ * byte, so an operation becomes a single array access
+ *
+ * <p>Memory budget (char entries, 2 bytes each):
+ *   ADD and SUB   - 2 * 2 * 256 * 256 entries = 512 KiB
+ *   INC and DEC   - 2 * 256 entries           =   1 KiB
+ *   DAA           - 8 * 256 entries           =   4 KiB
+ *   ROTATE_SHIFT  - 8 * 2 * 256 entries       =   8 KiB
+ * The ADD and SUB tables don't fit in L1 cache so whether this beats the
+ * arithmetic path depends on the host cpu, which is why it is optional</p>
+ *
+ * <p>AluBenchmark on JDK 21, one core, mean of two forks (ops/us, higher is
+ * better, arithmetic vs tables):
+ *   addAdcSubSbc      0.226 vs 0.033
+ *   compareAndBranch  0.427 vs 0.379
+ *   incDecDaa         0.175 vs 0.150
+ *   rotateShift       0.089 vs 0.159
+ * Only the rotate/shift table wins, the random operands make every ADD and
+ * SUB lookup a cache miss while the arithmetic path only records the
+ * operation for the lazy flags</p>
+ *
+ * @author rodrigotimoteo
+ */
+
+final class AluTables {
+
+    /**
+     * Stores the bits of each flag inside the Flags register
+     */
+    private static final int ZERO       = 0x80;
+    private static final int SUBTRACT   = 0x40;
+    private static final int HALF_CARRY = 0x20;
+    private static final int CARRY      = 0x10;
+
+    /**
+     * Stores the results of A + n + carry indexed by (carry << 16 | A << 8 | n)
+     */
+    static final char[] ADD = new char[2 * 0x10000];
+
+    /**
+     * Stores the results of A - n - carry indexed by (carry << 16 | A << 8 | n),
+     * also used by CP
+     */
+    static final char[] SUB = new char[2 * 0x10000];
+
+    /**
+     * Stores the results of incrementing a value indexed by that value, the
+     * carry flag is not included as INC keeps it
+     */
+    static final char[] INC = new char[0x100];
+
+    /**
+     * Stores the results of decrementing a value indexed by that value, the
+     * carry flag is not included as DEC keeps it
+     */
+    static final char[] DEC = new char[0x100];
+
+    /**
+     * Stores the results of DAA indexed by (N << 10 | H << 9 | C << 8 | A)
+     */
+    static final char[] DAA = new char[8 * 0x100];
+
+    /**
+     * Stores the results of the CB rotate and shift operations indexed by
+     * (operation << 9 | carry << 8 | value), operations follow bits 3 to 5 of
+     * their opcode (RLC, RRC, RL, RR, SLA, SRA, SWAP, SRL)
+     */
+    static final char[] ROTATE_SHIFT = new char[8 * 2 * 0x100];
+
+    static {
+        for(int carry = 0; carry < 2; carry++)
+            for(int a = 0; a < 0x100; a++)
+                for(int n = 0; n < 0x100; n++) {
+                    int index = (carry << 16) | (a << 8) | n;
+
+                    int sum = a + n + carry;
+                    int flags = zero(sum);
+                    if(((a & 0xF) + (n & 0xF) + carry) > 0xF) flags |= HALF_CARRY;
+                    if(sum > 0xFF) flags |= CARRY;
+                    ADD[index] = pack(sum, flags);
+
+                    int difference = a - n - carry;
+                    flags = zero(difference) | SUBTRACT;
+                    if(((a & 0xF) - (n & 0xF) - carry) < 0) flags |= HALF_CARRY;
+                    if(difference < 0) flags |= CARRY;
+                    SUB[index] = pack(difference, flags);
+                }
+
+        for(int value = 0; value < 0x100; value++) {
+            int flags = zero(value + 1);
+            if((value & 0xF) == 0xF) flags |= HALF_CARRY;
+            INC[value] = pack(value + 1, flags);
+
+            flags = zero(value - 1) | SUBTRACT;
+            if((value & 0xF) == 0) flags |= HALF_CARRY;
+            DEC[value] = pack(value - 1, flags);
+        }
+
+        for(int nhc = 0; nhc < 8; nhc++)
+            for(int a = 0; a < 0x100; a++)
+                DAA[(nhc << 8) | a] = daa(a, (nhc & 0x4) != 0,
+                        (nhc & 0x2) != 0, (nhc & 0x1) != 0);
+
+        for(int operation = 0; operation < 8; operation++)
+            for(int carry = 0; carry < 2; carry++)
+                for(int value = 0; value < 0x100; value++)
+                    ROTATE_SHIFT[(operation << 9) | (carry << 8) | value] =
+                            (char) CBExecutor.computeRotateShift(operation, carry, value);
+    }
+
+    private AluTables() {}
+
+    /**
+     * Packs a result and its flags into a table entry
+     *
+     * @param result of the operation (only the lower 8 bits are kept)
+     * @param flags flag register bits
+     * @return packed entry
+     */
+    private static char pack(int result, int flags) {
+        return (char) ((flags << 8) | (result & 0xFF));
+    }
+
+    /**
+     * Computes the zero flag bit of a result
+     *
+     * @param result to check (only the lower 8 bits are used)
+     * @return zero flag bit if the result is zero, 0 otherwise
+     */
+    private static int zero(int result) {
+        return ((result & 0xFF) == 0) ? ZERO : 0;
+    }
+
+    /**
+     * Computes the decimal adjustment of A for the given flags
+     */
+    private static char daa(int a, boolean subtract, boolean half, boolean carry) {
+        int offset = 0;
+        int carryOut = 0;
+
+        if((!subtract && (a & 0x0F) > 0x09) || half)
+            offset |= 0x06;
+        if((!subtract && a > 0x99) || carry) {
+            offset |= 0x60;
+            carryOut = CARRY;
+        }
+
+        int result = subtract ? a - offset : a + offset;
+
+        return pack(result, zero(result) | (subtract ? SUBTRACT : 0) | carryOut);
+    }
+
+}
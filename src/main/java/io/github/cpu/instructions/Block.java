@@ -0,0 +1,166 @@
+package io.github.cpu.instructions;
+
+/**
+ * Represents a pre-decoded basic block, a straight run of instructions that
+ * ends on the first branch (or the end of a memory region). Each instruction
+ * has its handler already resolved so executing the block doesn't require
+ * fetching or decoding opcodes again
+ *
+ * @author rodrigotimoteo
+ */
+
+public class Block {
+
+    /**
+     * Stores the address of the first instruction of the block
+     */
+    private final int address;
+
+    /**
+     * Stores the rom bank the block was decoded from (0 for non banked areas)
+     */
+    private final int bank;
+
+    /**
+     * Stores the resolved handler of each instruction
+     */
+    private final Instruction[] instructions;
+
+    /**
+     * Stores the description of each instruction
+     */
+    private final OpcodeInfo[] infos;
+
+    /**
+     * Stores the address of each instruction
+     */
+    private final int[] addresses;
+
+    /**
+     * Stores the number of bytes covered by the block
+     */
+    private final int length;
+
+    /**
+     * Stores the machine cycles the block takes if no branch is taken
+     */
+    private final int cycles;
+
+    /**
+     * Stores whether the block still matches the memory it was decoded from
+     */
+    private boolean valid = true;
+
+    /**
+     * Creates a new pre-decoded block
+     *
+     * @param address of the first instruction
+     * @param bank rom bank the block was decoded from
+     * @param instructions resolved handler of each instruction
+     * @param infos description of each instruction
+     * @param addresses address of each instruction
+     * @param length number of bytes covered
+     * @param cycles machine cycles taken if no branch is taken
+     */
+    Block(int address, int bank, Instruction[] instructions, OpcodeInfo[] infos,
+          int[] addresses, int length, int cycles) {
+        this.address        = address;
+        this.bank           = bank;
+        this.instructions   = instructions;
+        this.infos          = infos;
+        this.addresses      = addresses;
+        this.length         = length;
+        this.cycles         = cycles;
+    }
+
+    /**
+     * Gets the address of the first instruction of the block
+     *
+     * @return block start address
+     */
+    public int getAddress() {
+        return address;
+    }
+
+    /**
+     * Gets the rom bank the block was decoded from
+     *
+     * @return rom bank index
+     */
+    public int getBank() {
+        return bank;
+    }
+
+    /**
+     * Gets the number of instructions in the block
+     *
+     * @return number of instructions
+     */
+    public int size() {
+        return instructions.length;
+    }
+
+    /**
+     * Gets the resolved handler of the instruction at the given index
+     *
+     * @param index of the instruction inside the block
+     * @return instruction handler
+     */
+    public Instruction getInstruction(int index) {
+        return instructions[index];
+    }
+
+    /**
+     * Gets the description of the instruction at the given index
+     *
+     * @param index of the instruction inside the block
+     * @return instruction description
+     */
+    public OpcodeInfo getInfo(int index) {
+        return infos[index];
+    }
+
+    /**
+     * Gets the address of the instruction at the given index
+     *
+     * @param index of the instruction inside the block
+     * @return instruction address
+     */
+    public int getInstructionAddress(int index) {
+        return addresses[index];
+    }
+
+    /**
+     * Gets the number of bytes covered by the block
+     *
+     * @return block length in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the machine cycles the block takes if no branch is taken
+     *
+     * @return machine cycles
+     */
+    public int getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Checks if the block still matches the memory it was decoded from
+     *
+     * @return true if valid false otherwise
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Marks the block as no longer matching memory
+     */
+    void invalidate() {
+        valid = false;
+    }
+}
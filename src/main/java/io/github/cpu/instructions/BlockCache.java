@@ -0,0 +1,285 @@
+package io.github.cpu.instructions;
+
+import io.github.memory.Bus;
+import io.github.memory.MemoryWriteListener;
+
+import java.util.Arrays;
+
+/**
+ * Class responsible for decoding and caching basic blocks so that the cpu can
+ * execute code without fetching and decoding it again. Blocks are keyed by the
+ * address of their first instruction and, on the switchable rom area, by the
+ * rom bank they were decoded from, so bank switches select other blocks
+ * instead of invalidating them. Only rom, WRAM and HRAM are cached, other
+ * areas (VRAM, ERAM, echo RAM and I/O) are always interpreted, as is the first
+ * rom area while the controller maps a bank other than 0 to it.
+ *
+ * <p>Writes to cached code (RAM, or rom on controllers that allow it) drop
+ * every block that covers the address written to</p>
+ *
+ * @author rodrigotimoteo
+ */
+
+public class BlockCache implements MemoryWriteListener {
+
+    /**
+     * Stores the maximum number of instructions decoded into a block
+     */
+    private static final int MAX_INSTRUCTIONS = 32;
+
+    /**
+     * Stores the maximum number of bytes a block can cover
+     */
+    private static final int MAX_BLOCK_LENGTH = MAX_INSTRUCTIONS * 3;
+
+    /**
+     * Stores the boundaries of the cached memory areas
+     */
+    private static final int SWITCH_ROM_START   = 0x4000;
+    private static final int ROM_END            = 0x8000;
+    private static final int WRAM_START         = 0xC000;
+    private static final int WRAM_END           = 0xE000;
+    private static final int HRAM_START         = 0xFF80;
+    private static final int HRAM_END           = 0xFFFF;
+
+    /**
+     * Stores the maximum number of rom banks a cartridge can have
+     */
+    private static final int MAX_ROM_BANKS      = 512;
+
+    /**
+     * Stores a reference to the bus used to read the code being decoded
+     */
+    private final Bus bus;
+
+    /**
+     * Stores a reference to the decoder used to resolve instruction handlers
+     */
+    private final Decoder decoder;
+
+    /**
+     * Stores the blocks that start in rom bank 0 (0x0000 to 0x4000)
+     */
+    private final Block[] bankZero = new Block[SWITCH_ROM_START];
+
+    /**
+     * Stores the blocks that start in the switchable rom area for each bank,
+     * each bank's table is only created when code from it is executed
+     */
+    private final Block[][] switchableBanks = new Block[MAX_ROM_BANKS][];
+
+    /**
+     * Stores the blocks that start in WRAM
+     */
+    private final Block[] wram = new Block[WRAM_END - WRAM_START];
+
+    /**
+     * Stores the blocks that start in HRAM
+     */
+    private final Block[] hram = new Block[HRAM_END - HRAM_START];
+
+    /**
+     * Stores which addresses are covered by at least one cached block, so
+     * writes that don't touch code are ignored straight away
+     */
+    private final boolean[] codeBytes = new boolean[0x10000];
+
+    /**
+     * Creates a new block cache
+     *
+     * @param bus reference to this instances bus
+     * @param decoder reference to the decoder used to resolve handlers
+     */
+    public BlockCache(Bus bus, Decoder decoder) {
+        this.bus = bus;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Gets the block starting at the given address, decoding it if it isn't
+     * cached yet
+     *
+     * @param address of the first instruction
+     * @return block starting at the address or null if the address is not in
+     * a cached area or has no valid instruction
+     */
+    public Block getBlock(int address) {
+        int regionStart = getRegionStart(address);
+        if(regionStart < 0) return null;
+        if(address < SWITCH_ROM_START && bus.getFixedRomBank() != 0) return null;
+
+        int bank = getBank(address);
+        Block[] table = getTable(address, bank);
+        Block block = table[address - regionStart];
+
+        if(block == null) {
+            block = decodeBlock(address, bank);
+            table[address - regionStart] = block;
+        }
+
+        return block;
+    }
+
+    /**
+     * Drops every cached block
+     */
+    public void flush() {
+        invalidateAll(bankZero);
+        invalidateAll(wram);
+        invalidateAll(hram);
+
+        for(Block[] bank : switchableBanks)
+            if(bank != null) invalidateAll(bank);
+
+        Arrays.fill(codeBytes, false);
+    }
+
+    /**
+     * Drops every block that covers the address written to, writes to the
+     * rom area only reach the cartridge controller and bank switches are
+     * already told apart by the bank in each block's key
+     *
+     * @param address that was written to
+     */
+    @Override
+    public void memoryWritten(int address) {
+        if(address < ROM_END || !codeBytes[address]) return;
+
+        int regionStart = getRegionStart(address);
+        Block[] table = getTable(address, getBank(address));
+
+        for(int start = Math.max(regionStart, address - MAX_BLOCK_LENGTH + 1);
+            start <= address; start++) {
+            Block block = table[start - regionStart];
+
+            if(block != null && start + block.getLength() > address) {
+                block.invalidate();
+                table[start - regionStart] = null;
+            }
+        }
+    }
+
+    /**
+     * Decodes a block starting at the given address, stopping after the first
+     * branch, at the end of the memory area or at the instruction limit
+     *
+     * @param address of the first instruction
+     * @param bank rom bank being decoded
+     * @return decoded block or null if the first instruction is not valid
+     */
+    private Block decodeBlock(int address, int bank) {
+        int regionEnd = getRegionEnd(address);
+
+        Instruction[] instructions = new Instruction[MAX_INSTRUCTIONS];
+        OpcodeInfo[] infos = new OpcodeInfo[MAX_INSTRUCTIONS];
+        int[] addresses = new int[MAX_INSTRUCTIONS];
+        int count   = 0;
+        int cycles  = 0;
+        int current = address;
+
+        while(count < MAX_INSTRUCTIONS) {
+            int operationCode = bus.getValue(current);
+            int cbOperationCode = operationCode == OpcodeTable.PREFIX ?
+                    bus.getValue(current + 1) : 0;
+            OpcodeInfo info = OpcodeTable.get(operationCode, cbOperationCode);
+
+            if(!info.isValid() || current + info.getLength() > regionEnd) break;
+
+            instructions[count] = decoder.getInstruction(operationCode,
+                    cbOperationCode);
+            infos[count] = info;
+            addresses[count] = current;
+
+            count++;
+            cycles  += info.getCycles();
+            current += info.getLength();
+
+            if(info.endsBlock()) break;
+        }
+
+        if(count == 0) return null;
+
+        Arrays.fill(codeBytes, address, current, true);
+
+        return new Block(address, bank, Arrays.copyOf(instructions, count),
+                Arrays.copyOf(infos, count),
+                Arrays.copyOf(addresses, count), current - address, cycles);
+    }
+
+    /**
+     * Gets the rom bank an address is decoded from
+     *
+     * @param address to check
+     * @return active rom bank for the switchable rom area, 0 otherwise
+     */
+    private int getBank(int address) {
+        if(address >= SWITCH_ROM_START && address < ROM_END)
+            return bus.getRomBank();
+
+        return 0;
+    }
+
+    /**
+     * Gets the table of blocks that holds the given address
+     *
+     * @param address to check (must be inside a cached area)
+     * @param bank rom bank of the address
+     * @return table of blocks
+     */
+    private Block[] getTable(int address, int bank) {
+        if(address < SWITCH_ROM_START) return bankZero;
+        if(address < ROM_END) {
+            if(switchableBanks[bank] == null)
+                switchableBanks[bank] = new Block[ROM_END - SWITCH_ROM_START];
+
+            return switchableBanks[bank];
+        }
+        if(address < WRAM_END) return wram;
+
+        return hram;
+    }
+
+    /**
+     * Gets the start of the cached area that holds the given address
+     *
+     * @param address to check
+     * @return start of the area or -1 if the address isn't cached
+     */
+    private int getRegionStart(int address) {
+        if(address < 0) return -1;
+        if(address < SWITCH_ROM_START) return 0;
+        if(address < ROM_END) return SWITCH_ROM_START;
+        if(address >= WRAM_START && address < WRAM_END) return WRAM_START;
+        if(address >= HRAM_START && address < HRAM_END) return HRAM_START;
+
+        return -1;
+    }
+
+    /**
+     * Gets the end of the cached area that holds the given address, blocks
+     * never cross into another area
+     *
+     * @param address to check (must be inside a cached area)
+     * @return end of the area (exclusive)
+     */
+    private int getRegionEnd(int address) {
+        if(address < SWITCH_ROM_START) return SWITCH_ROM_START;
+        if(address < ROM_END) return ROM_END;
+        if(address < WRAM_END) return WRAM_END;
+
+        return HRAM_END;
+    }
+
+    /**
+     * Invalidates and removes every block of a table
+     *
+     * @param table of blocks to clear
+     */
+    private void invalidateAll(Block[] table) {
+        for(int i = 0; i < table.length; i++)
+            if(table[i] != null) {
+                table[i].invalidate();
+                table[i] = null;
+            }
+    }
+}
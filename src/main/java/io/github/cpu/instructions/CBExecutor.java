@@ -0,0 +1,225 @@
+package io.github.cpu.instructions;
+
+import io.github.cpu.CpuPort;
+import io.github.cpu.Flags;
+import io.github.cpu.Registers;
+import io.github.memory.Bus;
+
+/**
+ * Class responsible for executing all the operations prefixed by 0xCB, instead
+ * of having one handler per opcode it decodes the opcode bit fields, bits 0 to
+ * 2 select the operand (B, C, D, E, H, L, (HL), A), bits 3 to 5 select the bit
+ * or the rotate/shift operation and bits 6 to 7 select the group (rotate/shift,
+ * BIT, RES or SET)
+ *
+ * @author rodrigotimoteo
+ */
+
+public class CBExecutor {
+
+    /**
+     * Stores the operation groups selected by bits 6 to 7
+     */
+    private static final int ROTATE_SHIFT   = 0;
+    private static final int BIT            = 1;
+    private static final int RES            = 2;
+
+    /**
+     * Stores the rotate and shift operations selected by bits 3 to 5
+     */
+    private static final int RLC            = 0;
+    private static final int RRC            = 1;
+    private static final int RL             = 2;
+    private static final int RR             = 3;
+    private static final int SLA            = 4;
+    private static final int SRA            = 5;
+    private static final int SWAP           = 6;
+
+    /**
+     * Stores the operand index that represents the memory pointed by HL
+     */
+    private static final int HL_OPERAND     = 6;
+
+    /**
+     * Stores the register selected by each operand index, (HL) has no register
+     */
+    private static final int[] OPERAND_REGISTERS = {Registers.B, Registers.C,
+            Registers.D, Registers.E, Registers.H, Registers.L, -1, Registers.A};
+
+    /**
+     * Stores a reference to the bus used to communicate with other components
+     */
+    private final Bus bus;
+
+    /**
+     * Stores a reference to the cpu used to access its registers and timers
+     */
+    private final CpuPort cpu;
+
+    /**
+     * Stores whether results and flags are read from the precomputed tables
+     */
+    private boolean tableBackend = false;
+
+    /**
+     * Creates an executor for the 0xCB prefixed operations done by the CPU
+     *
+     * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
+     */
+    public CBExecutor(Bus bus, CpuPort cpu) {
+        this.bus = bus;
+        this.cpu = cpu;
+    }
+
+    /**
+     * Changes between computing results and flags arithmetically (default) or
+     * reading them from the precomputed tables in AluTables
+     *
+     * @param tableBackend true to use the precomputed tables false otherwise
+     */
+    public void setTableBackend(boolean tableBackend) {
+        this.tableBackend = tableBackend;
+    }
+
+    /**
+     * Executes the 0xCB prefixed operation given by its opcode (the byte that
+     * follows the prefix)
+     *
+     * @param operationCode to be executed
+     */
+    public void execute(int operationCode) {
+        int operand = operationCode & 0x07;
+        int index   = (operationCode >> 3) & 0x07;
+        int group   = operationCode >> 6;
+
+        int value = readOperand(operand);
+
+        if(group == BIT) {
+            int zero = ((value & (1 << index)) == 0) ? 1 : 0;
+
+            cpu.getFlags().setFlags(zero, 0, 1, 2);
+        } else {
+            int result;
+
+            if(group == ROTATE_SHIFT)
+                result = rotateShift(index, value);
+            else if(group == RES)
+                result = value & ~(1 << index);
+            else
+                result = value | (1 << index);
+
+            writeOperand(operand, result);
+        }
+
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Reads the value of the given operand, reading (HL) takes a machine cycle
+     *
+     * @param operand index of the operand (bits 0 to 2 of the opcode)
+     * @return value of the operand
+     */
+    private int readOperand(int operand) {
+        if(operand == HL_OPERAND) {
+            cpu.tickTimers();
+
+            return bus.getValue(cpu.getHL());
+        }
+
+        return cpu.getRegister(OPERAND_REGISTERS[operand]);
+    }
+
+    /**
+     * Writes the value to the given operand, writing (HL) takes a machine cycle
+     *
+     * @param operand index of the operand (bits 0 to 2 of the opcode)
+     * @param value to assign to the operand
+     */
+    private void writeOperand(int operand, int value) {
+        if(operand == HL_OPERAND) {
+            cpu.tickTimers();
+
+            bus.setValue(cpu.getHL(), value);
+        } else
+            cpu.setRegister(OPERAND_REGISTERS[operand], value);
+    }
+
+    /**
+     * Executes the rotate or shift operation given on the value and updates the
+     * flags accordingly
+     *
+     * @param operation rotate or shift operation (bits 3 to 5 of the opcode)
+     * @param value to rotate or shift
+     * @return result of the operation
+     */
+    private int rotateShift(int operation, int value) {
+        Flags flags = cpu.getFlags();
+
+        int carryIn = flags.getCarryFlag() ? 1 : 0;
+
+        int entry;
+        if(tableBackend)
+            entry = AluTables.ROTATE_SHIFT[(operation << 9) | (carryIn << 8) | value];
+        else
+            entry = computeRotateShift(operation, carryIn, value);
+
+        flags.setFlagBits(entry >> 8);
+        return entry & 0xFF;
+    }
+
+    /**
+     * Computes a rotate or shift operation, also used to fill the rotate and
+     * shift table of AluTables
+     *
+     * @param operation rotate or shift operation (bits 3 to 5 of the opcode)
+     * @param carryIn value of the carry flag (0 or 1)
+     * @param value to rotate or shift
+     * @return result in the lower byte and the flag register bits (Z N H C in
+     * bits 7 to 4) in the upper byte
+     */
+    static int computeRotateShift(int operation, int carryIn, int value) {
+        int carry;
+        int result;
+
+        switch (operation) {
+            case RLC -> {
+                carry  = value >> 7;
+                result = (value << 1) | carry;
+            }
+            case RRC -> {
+                carry  = value & 0x01;
+                result = (value >> 1) | (carry << 7);
+            }
+            case RL -> {
+                carry  = value >> 7;
+                result = (value << 1) | carryIn;
+            }
+            case RR -> {
+                carry  = value & 0x01;
+                result = (value >> 1) | (carryIn << 7);
+            }
+            case SLA -> {
+                carry  = value >> 7;
+                result = value << 1;
+            }
+            case SRA -> {
+                carry  = value & 0x01;
+                result = (value >> 1) | (value & 0x80);
+            }
+            case SWAP -> {
+                carry  = 0;
+                result = (value << 4) | (value >> 4);
+            }
+            default -> { //SRL
+                carry  = value & 0x01;
+                result = value >> 1;
+            }
+        }
+
+        result &= 0xFF;
+
+        return ((result == 0 ? 0x80 : 0) | (carry << 4)) << 8 | result;
+    }
+}
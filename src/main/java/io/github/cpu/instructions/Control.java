@@ -1,5 +1,6 @@
 package io.github.cpu.instructions;
 
+import io.github.cpu.CpuPort;
 import io.github.cpu.Flags;
 import io.github.memory.Bus;
 import io.github.memory.ReservedAddresses;
@@ -18,45 +19,52 @@ public class Control {
      */
     private final Bus bus;
 
+    /**
+     * Stores a reference to the cpu used to access its registers and timers
+     */
+    private final CpuPort cpu;
+
     /**
      * Creates a handler for the cpu control operations done by the CPU
      *
      * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
      */
-    public Control(Bus bus) {
+    public Control(Bus bus, CpuPort cpu) {
         this.bus = bus;
+        this.cpu = cpu;
     }
 
     /**
      * Executes the operation NOP (no operation performed)
      */
     protected void nop() {
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
      * Executes the CCF operation, complements the Carry Flag
      */
     protected void ccf() {
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        Flags flags = cpu.getFlags();
 
         if(flags.getCarryFlag())
             flags.setFlags(2, 0, 0, 0);
         else
             flags.setFlags(2, 0, 0, 1);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
      * Executes the SCF operation, sets the carry flag
      */
     protected void scf() {
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        Flags flags = cpu.getFlags();
 
         flags.setFlags(2, 0, 0, 1);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -64,9 +72,9 @@ public class Control {
      * occurs. Used to reduce energy consumption
      */
     protected void halt() {
-        bus.executeFromCPU(Bus.HALT, null);
+        cpu.halt();
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -74,11 +82,11 @@ public class Control {
      * pressed
      */
     protected void stop() {
-        bus.executeFromCPU(Bus.STOP, null);
+        cpu.stop();
 
         bus.setValue(ReservedAddresses.DIV.getAddress(), 0);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -86,9 +94,9 @@ public class Control {
      * immediately, only after this instruction's execution)
      */
     protected void di() {
-        bus.executeFromCPU(Bus.DISABLE_INT, null);
+        cpu.disableInterrupts();
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -96,9 +104,9 @@ public class Control {
      * immediately, only after this instruction's execution)
      */
     protected void ei() {
-        bus.executeFromCPU(Bus.ENABLE_INT, null);
+        cpu.enableInterrupts();
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
 }
@@ -0,0 +1,89 @@
+package io.github.cpu.instructions;
+
+import io.github.memory.Bus;
+
+/**
+ * Class responsible for turning the instructions in memory back into their
+ * mnemonics, using the opcode table to know their size and operands
+ *
+ * @author rodrigotimoteo
+ */
+
+public class Disassembler {
+
+    /**
+     * Stores a reference to the bus used to read the instructions
+     */
+    private final Bus bus;
+
+    /**
+     * Creates a new disassembler reading from the given bus
+     *
+     * @param bus reference to this instances bus
+     */
+    public Disassembler(Bus bus) {
+        this.bus = bus;
+    }
+
+    /**
+     * Gets the description of the instruction at the given address
+     *
+     * @param address of the instruction
+     * @return opcode description
+     */
+    public OpcodeInfo getInfo(int address) {
+        int opcode = bus.getValue(address);
+
+        return OpcodeTable.get(opcode, opcode == OpcodeTable.PREFIX ?
+                bus.getValue(address + 1) : 0);
+    }
+
+    /**
+     * Disassembles the instruction at the given address
+     *
+     * @param address of the instruction
+     * @return instruction text with its operand (immediates in hexadecimal,
+     * relative jumps as their target address)
+     */
+    public String disassemble(int address) {
+        OpcodeInfo info = getInfo(address);
+        String mnemonic = info.getMnemonic();
+
+        return switch(info.getOperandKind()) {
+            case NONE -> mnemonic;
+            case IMMEDIATE_8 -> mnemonic.replace("d8", hex8(bus.getValue(address + 1)));
+            case IMMEDIATE_16 -> mnemonic.replace("d16", hex16(read16(address + 1)));
+            case ADDRESS_16 -> mnemonic.replace("a16", hex16(read16(address + 1)));
+            case HIGH_ADDRESS_8 -> mnemonic.replace("a8",
+                    hex16(0xFF00 + bus.getValue(address + 1)));
+            case RELATIVE_8 -> mnemonic.replace("r8", hex16((address +
+                    info.getLength() + (byte) bus.getValue(address + 1)) & 0xFFFF));
+            case SIGNED_8 -> {
+                int offset = (byte) bus.getValue(address + 1);
+                String text = offset < 0 ? "-" + hex8(-offset) : hex8(offset);
+
+                yield mnemonic.contains("+r8") ?
+                        mnemonic.replace("+r8", offset < 0 ? text : "+" + text) :
+                        mnemonic.replace("r8", text);
+            }
+        };
+    }
+
+    /**
+     * Reads a little endian 16 bit value
+     *
+     * @param address of the low byte
+     * @return 16 bit value
+     */
+    private int read16(int address) {
+        return bus.getValue(address) | (bus.getValue(address + 1) << 8);
+    }
+
+    private String hex8(int value) {
+        return String.format("$%02X", value);
+    }
+
+    private String hex16(int value) {
+        return String.format("$%04X", value);
+    }
+}
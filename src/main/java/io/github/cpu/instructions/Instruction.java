@@ -0,0 +1,17 @@
+package io.github.cpu.instructions;
+
+/**
+ * Represents a single operation with its operands already resolved, used to
+ * build the decoder's opcode tables
+ *
+ * @author rodrigotimoteo
+ */
+
+@FunctionalInterface
+public interface Instruction {
+
+    /**
+     * Executes the operation
+     */
+    void execute();
+}
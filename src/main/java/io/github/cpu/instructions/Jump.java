@@ -1,8 +1,8 @@
 package io.github.cpu.instructions;
 
+import io.github.cpu.CpuPort;
 import io.github.cpu.Flags;
 import io.github.memory.Bus;
-import io.github.memory.Word;
 
 /**
  * Class responsible for handling all things that deal with program counter changes
@@ -13,37 +13,53 @@ import io.github.memory.Word;
 
 public class Jump {
 
+    /**
+     * Stores the codes of the conditions that can be tested by conditional
+     * jumps, calls and returns (same encoding used by the opcodes)
+     */
+    public static final int NZ = 0;
+    public static final int Z  = 1;
+    public static final int NC = 2;
+    public static final int C  = 3;
+
     /**
      * Stores a reference to the bus used to communicate with other components
      */
     private final Bus bus;
 
+    /**
+     * Stores a reference to the cpu used to access its registers and timers
+     */
+    private final CpuPort cpu;
+
     /**
      * Creates a handler for the jump operations done by the CPU
      *
      * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
      */
-    public Jump(Bus bus) {
+    public Jump(Bus bus, CpuPort cpu) {
         this.bus = bus;
+        this.cpu = cpu;
     }
 
     /**
      * Gets the boolean correspondent to the Condition we are testing (conditions
      * explained in method that use them as parameters)
      *
-     * @param conditionString which condition to tet
+     * @param condition which condition to test
      * @return result of testing given condition
      */
-    private boolean getConditionValue(String conditionString) {
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
-
-        return switch (conditionString) {
-            case "NZ" -> !flags.getZeroFlag();
-            case "Z"  ->  flags.getZeroFlag();
-            case "NC" -> !flags.getCarryFlag();
-            case "C"  ->  flags.getCarryFlag();
+    private boolean getConditionValue(int condition) {
+        Flags flags = cpu.getFlags();
+
+        return switch (condition) {
+            case NZ -> !flags.getZeroFlag();
+            case Z  ->  flags.getZeroFlag();
+            case NC -> !flags.getCarryFlag();
+            case C  ->  flags.getCarryFlag();
             default ->
-                    throw new IllegalStateException("Unexpected condition " + conditionString);
+                    throw new IllegalStateException("Unexpected condition " + condition);
         };
     }
 
@@ -54,28 +70,28 @@ public class Jump {
     public void jp() {
         int jumpAddress = bus.calculateNN();
 
-        bus.executeFromCPU(Bus.SET_PC, new String[]{String.valueOf(jumpAddress)});
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.setProgramCounter(jumpAddress);
+        cpu.tickTimers();
     }
 
     /**
      * Executes the operation that jump to the address on the two words after
      * the program counter but if only the condition given is true
-     * "NZ" -> Zero flag is false
-     * "Z"  -> Zero flag is true
-     * "NC" -> Carry flag is false
-     * "C"  -> Carry flag is true
+     * NZ -> Zero flag is false
+     * Z  -> Zero flag is true
+     * NC -> Carry flag is false
+     * C  -> Carry flag is true
      *
-     * @param conditionString which condition to check as String
+     * @param conditionCode which condition to check (NZ, Z, NC or C)
      */
-    public void jpCond(String conditionString) {
-        boolean condition = getConditionValue(conditionString);
+    public void jpCond(int conditionCode) {
+        boolean condition = getConditionValue(conditionCode);
 
         if(condition) jp();
         else {
-            bus.executeFromCPU(Bus.INCR_PC, new String[]{"3"});
-            bus.executeFromCPU(Bus.TICK_TIMERS, null);
-            bus.executeFromCPU(Bus.TICK_TIMERS, null);
+            cpu.incrementProgramCounter(3);
+            cpu.tickTimers();
+            cpu.tickTimers();
         }
     }
 
@@ -84,9 +100,9 @@ public class Jump {
      * at the HL value
      */
     public void jpHL() {
-        int hl = (Integer) bus.getFromCPU(Bus.GET_HL, null);
+        int hl = cpu.getHL();
 
-        bus.executeFromCPU(Bus.SET_PC, new String[]{String.valueOf(hl)});
+        cpu.setProgramCounter(hl);
     }
 
     /**
@@ -95,19 +111,19 @@ public class Jump {
      * program counter current address)
      */
     public void jr() {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
-        int programCounter = (Integer) bus.getFromCPU(Bus.GET_PC, null);
+        int programCounter = cpu.getProgramCounter();
 
-        int check = bus.getValue(programCounter + 1);
+        int check = bus.getImmediate(programCounter + 1);
 
         if((check >> 7) == 0)
-            bus.executeFromCPU(Bus.INCR_PC, new String[]{String.valueOf(check & 0x7f)});
+            cpu.incrementProgramCounter(check & 0x7f);
         else
-            bus.executeFromCPU(Bus.INCR_PC, new String[]{String.valueOf((check & 0x7f) - 128)});
+            cpu.incrementProgramCounter((check & 0x7f) - 128);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(2);
     }
 
     /**
@@ -115,20 +131,20 @@ public class Jump {
      * jumps to it (the value is retrieved from the memory directly after the
      * program counter current address) This only happens if the following
      * condition is true.
-     * "NZ" -> Zero flag is false
-     * "Z"  -> Zero flag is true
-     * "NC" -> Carry flag is false
-     * "C"  -> Carry flag is true
+     * NZ -> Zero flag is false
+     * Z  -> Zero flag is true
+     * NC -> Carry flag is false
+     * C  -> Carry flag is true
      *
-     * @param conditionString which condition to check as String
+     * @param conditionCode which condition to check (NZ, Z, NC or C)
      */
-    public void jrCond(String conditionString) {
-        boolean condition = getConditionValue(conditionString);
+    public void jrCond(int conditionCode) {
+        boolean condition = getConditionValue(conditionCode);
 
         if(condition) jr();
         else {
-            bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
-            bus.executeFromCPU(Bus.TICK_TIMERS, null);
+            cpu.incrementProgramCounter(2);
+            cpu.tickTimers();
         }
     }
 
@@ -138,20 +154,21 @@ public class Jump {
      * the program counter current address
      */
     public void call() {
-        int programCounter = (Integer) bus.getFromCPU(Bus.GET_PC, null);
+        int programCounter = cpu.getProgramCounter();
         int jumpAddress = bus.calculateNN();
         int tempProgramCounter = programCounter + 3;
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        int stackPointer = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        cpu.tickTimers();
+        int stackPointer = cpu.getStackPointer();
 
-        bus.executeFromCPU(Bus.SET_PC, new String[]{String.valueOf(jumpAddress)});
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.setProgramCounter(jumpAddress);
+        cpu.tickTimers();
         bus.setValue(stackPointer - 1, (tempProgramCounter & 0xff00) >> 8);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         bus.setValue(stackPointer - 2, (tempProgramCounter & 0xff));
 
-        bus.executeFromCPU(Bus.INCR_SP, new String[]{"-2"});
+        cpu.incrementStackPointer(-2);
+        cpu.subroutineCalled();
     }
 
     /**
@@ -159,21 +176,21 @@ public class Jump {
      * onto the stack and then jumps to the address NN (16bits) directly after
      * the program counter current address. This happens if the following
      * condition is true
-     * "NZ" -> Zero flag is false
-     * "Z"  -> Zero flag is true
-     * "NC" -> Carry flag is false
-     * "C"  -> Carry flag is true
+     * NZ -> Zero flag is false
+     * Z  -> Zero flag is true
+     * NC -> Carry flag is false
+     * C  -> Carry flag is true
      *
-     * @param conditionString which condition to check as String
+     * @param conditionCode which condition to check (NZ, Z, NC or C)
      */
-    public void callCond(String conditionString) {
-        boolean condition = getConditionValue(conditionString);
+    public void callCond(int conditionCode) {
+        boolean condition = getConditionValue(conditionCode);
 
         if(condition) call();
         else {
-            bus.executeFromCPU(Bus.INCR_PC, new String[]{"3"});
-            bus.executeFromCPU(Bus.TICK_TIMERS, null);
-            bus.executeFromCPU(Bus.TICK_TIMERS, null);
+            cpu.incrementProgramCounter(3);
+            cpu.tickTimers();
+            cpu.tickTimers();
         }
     }
 
@@ -181,37 +198,38 @@ public class Jump {
      * This operation pops two bytes from the stacks and jumps to that address
      */
     public void ret() {
-        int stackPointer = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        int stackPointer = cpu.getStackPointer();
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         int lowerAddress = bus.getValue(stackPointer);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         int upperAddress = bus.getValue(stackPointer + 1) << 8;
 
         int returnAddress = upperAddress + lowerAddress;
 
-        bus.executeFromCPU(Bus.SET_PC, new String[]{String.valueOf(returnAddress)});
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.INCR_SP, new String[]{"2"});
+        cpu.setProgramCounter(returnAddress);
+        cpu.tickTimers();
+        cpu.incrementStackPointer(2);
+        cpu.subroutineReturned();
     }
 
     /**
      * This operation pops two bytes from the stacks and jumps to that address.
      * This happens if the following condition is true
-     * "NZ" -> Zero flag is false
-     * "Z"  -> Zero flag is true
-     * "NC" -> Carry flag is false
-     * "C"  -> Carry flag is true
+     * NZ -> Zero flag is false
+     * Z  -> Zero flag is true
+     * NC -> Carry flag is false
+     * C  -> Carry flag is true
      *
-     * @param conditionString which condition to check as String
+     * @param conditionCode which condition to check (NZ, Z, NC or C)
      */
-    public void retCond(String conditionString) {
-        boolean condition = getConditionValue(conditionString);
+    public void retCond(int conditionCode) {
+        boolean condition = getConditionValue(conditionCode);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
         if(condition) ret();
-        else bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        else cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -221,7 +239,7 @@ public class Jump {
     public void reti() {
         ret();
 
-        bus.executeFromCPU(Bus.ENABLE_INT, null);
+        cpu.enableInterrupts();
     }
 
     /**
@@ -241,7 +259,7 @@ public class Jump {
     public void rst(int type) {
         int address = 0;
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
         switch (type) {
             case 1 -> address = 0x8;
@@ -253,16 +271,17 @@ public class Jump {
             case 7 -> address = 0x38;
         }
 
-        int tempProgramCounter = (Integer) bus.getFromCPU(Bus.GET_PC, null) + 1;
-        int stackPointer = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        int tempProgramCounter = cpu.getProgramCounter() + 1;
+        int stackPointer = cpu.getStackPointer();
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         bus.setValue(stackPointer - 1, (tempProgramCounter & 0xff00) >> 8);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         bus.setValue(stackPointer - 2, tempProgramCounter & 0xff);
 
-        bus.executeFromCPU(Bus.SET_PC, new String[]{String.valueOf(address)});
-        bus.executeFromCPU(Bus.INCR_SP, new String[]{"-2"});
+        cpu.setProgramCounter(address);
+        cpu.incrementStackPointer(-2);
+        cpu.subroutineCalled();
     }
 
 }
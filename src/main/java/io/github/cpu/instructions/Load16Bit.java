@@ -1,8 +1,9 @@
 package io.github.cpu.instructions;
 
+import io.github.cpu.CpuPort;
 import io.github.cpu.Flags;
+import io.github.cpu.Registers;
 import io.github.memory.Bus;
-import io.github.memory.Word;
 
 public class Load16Bit {
 
@@ -11,13 +12,20 @@ public class Load16Bit {
      */
     private final Bus bus;
 
+    /**
+     * Stores a reference to the cpu used to access its registers and timers
+     */
+    private final CpuPort cpu;
+
     /**
      * Creates a handler for the 16 bit load operations done by the CPU
      *
      * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
      */
-    public Load16Bit(Bus bus) {
+    public Load16Bit(Bus bus, CpuPort cpu) {
         this.bus = bus;
+        this.cpu = cpu;
     }
 
     /**
@@ -27,17 +35,17 @@ public class Load16Bit {
      * @param type selects which register set to use
      */
     public void ld16bit(int type) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         int value = bus.calculateNN();
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
         switch(type) {
-            case 0 -> bus.executeFromCPU(Bus.SET_BC, new String[]{String.valueOf(value)});
-            case 1 -> bus.executeFromCPU(Bus.SET_DE, new String[]{String.valueOf(value)});
-            case 2 -> bus.executeFromCPU(Bus.SET_HL, new String[]{String.valueOf(value)});
+            case 0 -> cpu.setBC(value);
+            case 1 -> cpu.setDE(value);
+            case 2 -> cpu.setHL(value);
         }
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"3"});
+        cpu.incrementProgramCounter(3);
     }
 
     /**
@@ -45,54 +53,54 @@ public class Load16Bit {
      * Pointer
      */
     public void ldSPUU() {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
+        cpu.tickTimers();
 
         int value = bus.calculateNN();
 
-        bus.executeFromCPU(Bus.SET_SP, new String[]{String.valueOf(value)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"3"});
+        cpu.setStackPointer(value);
+        cpu.incrementProgramCounter(3);
     }
 
     /**
      * Put the HL 16bit register into the stack pointer
      */
     public void ldSPHL() {;
-        int HL = (Integer) bus.getFromCPU(Bus.GET_HL, null);
+        int HL = cpu.getHL();
 
-        bus.executeFromCPU(Bus.SET_SP, new String[]{String.valueOf(HL)});
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.setStackPointer(HL);
+        cpu.tickTimers();
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
      * Puts SP plus the immediate word n after the program counter into HL
      */
     public void LDHL() {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        int stackPointer = (Integer) bus.getFromCPU(Bus.GET_SP, null);
-        int programCounter = (Integer) bus.getFromCPU(Bus.GET_PC, null);
+        cpu.tickTimers();
+        int stackPointer = cpu.getStackPointer();
+        int programCounter = cpu.getProgramCounter();
 
-        Flags flags = (Flags) bus.getFromCPU(Bus.GET_FLAGS, null);
+        Flags flags = cpu.getFlags();
 
-        int signedValue = bus.getValue(programCounter + 1);
+        int signedValue = bus.getImmediate(programCounter + 1);
         if(((signedValue & 0x80) >> 7) == 1)
             signedValue = (signedValue & 0x7F) - 0x80;
 
         int address = (stackPointer + signedValue) & 0xFFFF;
 
-        int value = bus.getValue(programCounter + 1);
+        int value = bus.getImmediate(programCounter + 1);
 
         int halfCarry = (((stackPointer & 0xF) + (value & 0xF) & 0x10) == 0x10) ? 1 : 0;
         int carry = ((((stackPointer & 0xFF) + value) & 0x100) == 0x100) ? 1 : 0;
 
-        bus.executeFromCPU(Bus.SET_HL, new String[]{String.valueOf(address)});
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.setHL(address);
+        cpu.tickTimers();
 
         flags.setFlags(0, 0, halfCarry, carry);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        cpu.incrementProgramCounter(2);
     }
 
     /**
@@ -100,14 +108,14 @@ public class Load16Bit {
      */
     public void LDnnSP() {
         int address = bus.calculateNN();
-        int stackPointer = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        int stackPointer = cpu.getStackPointer();
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         bus.setValue(address + 1, (char) ((stackPointer & 0xFF00) >> 8));
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         bus.setValue(address, (char) (stackPointer & 0x00FF));
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"3"});
+        cpu.incrementProgramCounter(3);
     }
 
     /**
@@ -117,35 +125,31 @@ public class Load16Bit {
      * @param register pair of register to use as input
      */
     public void push(int register) {
-        String in1, in2;
+        int in1, in2;
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        int stackPointer = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        cpu.tickTimers();
+        int stackPointer = cpu.getStackPointer();
 
         switch (register) {
-            case 0 -> { in1 = "A"; in2 = "F"; }
-            case 1 -> { in1 = "B"; in2 = "C"; }
-            case 2 -> { in1 = "D"; in2 = "E"; }
-            case 3 -> { in1 = "H"; in2 = "L"; }
+            case 0 -> { in1 = Registers.A; in2 = Registers.F; }
+            case 1 -> { in1 = Registers.B; in2 = Registers.C; }
+            case 2 -> { in1 = Registers.D; in2 = Registers.E; }
+            case 3 -> { in1 = Registers.H; in2 = Registers.L; }
             default -> { return; }
         }
 
-        Word word1 = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{in1});
-        Word word2 = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{in2});
-        int value1 = word1.getValue();
-        int value2 = word2.getValue();
+        int value1 = cpu.getRegister(in1);
+        int value2 = cpu.getRegister(in2);
         int addressLower = stackPointer - 1;
         int addressUpper = stackPointer - 2;
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         bus.setValue(addressLower, value1);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         bus.setValue(addressUpper, value2);
 
-        bus.executeFromCPU(Bus.INCR_SP, new String[]{"-2"});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementStackPointer(-2);
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -155,24 +159,24 @@ public class Load16Bit {
      * @param register which register pair to use
      */
     public void pop(int register) {
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        int stackPointer = (Integer) bus.getFromCPU(Bus.GET_SP, null);
+        cpu.tickTimers();
+        int stackPointer = cpu.getStackPointer();
 
         int wordUpper = bus.getValue(stackPointer + 1) << 8;
         int wordLower = bus.getValue(stackPointer);
 
         int word16Bit = wordUpper + wordLower;
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
         switch(register) {
-            case 0 -> bus.executeFromCPU(Bus.SET_AF, new String[]{String.valueOf(word16Bit)});
-            case 1 -> bus.executeFromCPU(Bus.SET_BC, new String[]{String.valueOf(word16Bit)});
-            case 2 -> bus.executeFromCPU(Bus.SET_DE, new String[]{String.valueOf(word16Bit)});
-            case 3 -> bus.executeFromCPU(Bus.SET_HL, new String[]{String.valueOf(word16Bit)});
+            case 0 -> cpu.setAF(word16Bit);
+            case 1 -> cpu.setBC(word16Bit);
+            case 2 -> cpu.setDE(word16Bit);
+            case 3 -> cpu.setHL(word16Bit);
         }
 
-        bus.executeFromCPU(Bus.INCR_SP, new String[]{"2"});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementStackPointer(2);
+        cpu.incrementProgramCounter(1);
     }
 }
@@ -1,7 +1,8 @@
 package io.github.cpu.instructions;
 
+import io.github.cpu.CpuPort;
+import io.github.cpu.Registers;
 import io.github.memory.Bus;
-import io.github.memory.Word;
 
 /**
  * Class responsible for handling all things that deal with 8 Bit loads into
@@ -17,13 +18,20 @@ public class Load8Bit {
      */
     private final Bus bus;
 
+    /**
+     * Stores a reference to the cpu used to access its registers and timers
+     */
+    private final CpuPort cpu;
+
     /**
      * Creates a handler for the 8 bit load operations done by the CPU
      *
      * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
      */
-    public Load8Bit(Bus bus) {
+    public Load8Bit(Bus bus, CpuPort cpu) {
         this.bus = bus;
+        this.cpu = cpu;
     }
 
     /**
@@ -35,9 +43,9 @@ public class Load8Bit {
      */
     private int decodeRegister(int number) {
         return switch (number) {
-            case 0 -> (Integer) bus.getFromCPU(Bus.GET_BC, null);
-            case 1 -> (Integer) bus.getFromCPU(Bus.GET_DE, null);
-            case 2 -> (Integer) bus.getFromCPU(Bus.GET_HL, null);
+            case 0 -> cpu.getBC();
+            case 1 -> cpu.getDE();
+            case 2 -> cpu.getHL();
             default ->
                     throw new IllegalStateException("Unexpected register " + number);
         };
@@ -52,13 +60,11 @@ public class Load8Bit {
     public void ldTwoRegisters(int register) {
         int address = decodeRegister(register);
 
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-        int valueRegisterA = registerA.getValue();
+        int valueRegisterA = cpu.getRegister(Registers.A);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         bus.setValue(address, valueRegisterA);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -68,13 +74,11 @@ public class Load8Bit {
     public void ldNN() {
         int address = bus.calculateNN();
 
-        Word registerA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-        int valueRegisterA = registerA.getValue();
+        int valueRegisterA = cpu.getRegister(Registers.A);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
         bus.setValue(address, valueRegisterA);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"3"});
+        cpu.incrementProgramCounter(3);
     }
 
     /**
@@ -87,9 +91,9 @@ public class Load8Bit {
         int address = decodeRegister(register);
         int valueAtAddress = bus.getValue(address);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.SET_REGISTER,new String[]{"A", String.valueOf(valueAtAddress)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.tickTimers();
+        cpu.setRegister(Registers.A, valueAtAddress);
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -100,10 +104,10 @@ public class Load8Bit {
         int address = bus.calculateNN();
         int valueAtAddress = bus.getValue(address);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.SET_REGISTER,new String[]{"A", String.valueOf(valueAtAddress)});
+        cpu.tickTimers();
+        cpu.setRegister(Registers.A, valueAtAddress);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"3"});
+        cpu.incrementProgramCounter(3);
     }
 
     /**
@@ -112,13 +116,13 @@ public class Load8Bit {
      *
      * @param register where to store immediate word
      */
-    public void ldNRegister(String register) {
-        int programCounter = (Integer) bus.getFromCPU(Bus.GET_PC, null);
-        int word = bus.getValue(programCounter + 1);
+    public void ldNRegister(int register) {
+        int programCounter = cpu.getProgramCounter();
+        int word = bus.getImmediate(programCounter + 1);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.SET_REGISTER,new String[]{register, String.valueOf(word)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        cpu.tickTimers();
+        cpu.setRegister(register, word);
+        cpu.incrementProgramCounter(2);
     }
 
     /**
@@ -127,14 +131,14 @@ public class Load8Bit {
      */
     public void ldNHL() {
         int HL = decodeRegister(2);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
-        int programCounter = (Integer) bus.getFromCPU(Bus.GET_PC, null);
-        int value = bus.getValue(programCounter + 1);
+        int programCounter = cpu.getProgramCounter();
+        int value = bus.getImmediate(programCounter + 1);
 
         bus.setValue(HL, value);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(2);
     }
 
     /**
@@ -143,14 +147,11 @@ public class Load8Bit {
      * @param registerIn to receive a new value
      * @param registerOut input register
      */
-    public void ld(String registerIn, String registerOut) {
-        Word wordOut = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{registerOut});
+    public void ld(int registerIn, int registerOut) {
+        int valueOut = cpu.getRegister(registerOut);
 
-        int valueOut = wordOut.getValue();
-
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{registerIn, String.valueOf(valueOut)});
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.setRegister(registerIn, valueOut);
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -159,15 +160,15 @@ public class Load8Bit {
      *
      * @param register to receive new value
      */
-    public void ldHLtoRegister(String register) {
+    public void ldHLtoRegister(int register) {
         int HL = decodeRegister(2);
         int valueHL = bus.getValue(HL);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
-        bus.executeFromCPU(Bus.SET_REGISTER, new String[]{register, String.valueOf(valueHL)});
+        cpu.setRegister(register, valueHL);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -176,17 +177,15 @@ public class Load8Bit {
      *
      * @param register to be used as input value
      */
-    public void ldRtoHL(String register) {
-        Word wordInput = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{register});
-        int valueIn = wordInput.getValue();
+    public void ldRtoHL(int register) {
+        int valueIn = cpu.getRegister(register);
         int HL = decodeRegister(2);
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
         bus.setValue(HL, valueIn);
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -197,22 +196,16 @@ public class Load8Bit {
      *             (false) or otherwise (true)
      */
     public void ldAC(boolean AtoC) {
-        Word wordA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-        Word wordC = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"C"});
-
-        int valueA = wordA.getValue();
-        int valueC = wordC.getValue();
+        int valueA = cpu.getRegister(Registers.A);
+        int valueC = cpu.getRegister(Registers.C);
         int address = 0xFF00 + valueC;
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
 
         if(AtoC) bus.setValue(address, valueA);
-        else     bus.executeFromCPU(Bus.SET_REGISTER,
-                new String[]{"A", String.valueOf(bus.getValue(address))});
+        else     cpu.setRegister(Registers.A, bus.getValue(address));
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"1"});
+        cpu.incrementProgramCounter(1);
     }
 
     /**
@@ -229,7 +222,7 @@ public class Load8Bit {
         else ldTwoRegistersIntoA(2);
 
         HL = (HL - 1) & 0xFFFF;
-        bus.executeFromCPU(Bus.SET_HL, new String[]{String.valueOf(HL)});
+        cpu.setHL(HL);
     }
 
     /**
@@ -247,7 +240,7 @@ public class Load8Bit {
 
         HL = (HL + 1) & 0xFFFF;
 
-        bus.executeFromCPU(Bus.SET_HL, new String[]{String.valueOf(HL)});
+        cpu.setHL(HL);
     }
 
     /**
@@ -258,22 +251,19 @@ public class Load8Bit {
      *            as the receiver (false)
      */
     public void ldh(boolean Ato) {
-        int programCounter = (Integer) bus.getFromCPU(Bus.GET_PC, null);
-        int valueN = bus.getValue(programCounter + 1);
+        int programCounter = cpu.getProgramCounter();
+        int valueN = bus.getImmediate(programCounter + 1);
 
-        Word wordA = (Word)
-                bus.getFromCPU(Bus.GET_REGISTER, new String[]{"A"});
-        int valueA = wordA.getValue();
+        int valueA = cpu.getRegister(Registers.A);
         int address = 0xFF00 + valueN;
 
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
-        bus.executeFromCPU(Bus.TICK_TIMERS, null);
+        cpu.tickTimers();
+        cpu.tickTimers();
 
         if(Ato) bus.setValue(address, valueA);
-        else    bus.executeFromCPU(Bus.SET_REGISTER,
-                new String[]{"A", String.valueOf(bus.getValue(address))});
+        else    cpu.setRegister(Registers.A, bus.getValue(address));
 
-        bus.executeFromCPU(Bus.INCR_PC, new String[]{"2"});
+        cpu.incrementProgramCounter(2);
     }
 
 }
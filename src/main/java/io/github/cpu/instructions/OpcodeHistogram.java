@@ -0,0 +1,194 @@
+package io.github.cpu.instructions;
+
+import java.util.Arrays;
+
+/**
+ * Counts the executions and the machine cycles spent on each opcode, kept
+ * separately for the regular and the 0xCB prefixed table. Counting is only
+ * compiled in when the jbemu.opcodeHistogram system property is true at
+ * startup, otherwise {@link #ENABLED} is false and the JIT drops every check
+ * guarded by it
+ *
+ * @author rodrigotimoteo
+ */
+
+public final class OpcodeHistogram {
+
+    /**
+     * Stores whether executed instructions are counted, fixed for the whole
+     * run so disabled instrumentation costs nothing
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("jbemu.opcodeHistogram");
+
+    /**
+     * Stores the executions of each regular and each prefixed opcode
+     */
+    private final long[] regularCounts  = new long[0x100];
+    private final long[] prefixedCounts = new long[0x100];
+
+    /**
+     * Stores the machine cycles spent on each regular and each prefixed opcode
+     */
+    private final long[] regularCycles  = new long[0x100];
+    private final long[] prefixedCycles = new long[0x100];
+
+    /**
+     * Registers an execution of an instruction
+     *
+     * @param info description of the executed instruction
+     * @param cycles machine cycles it took
+     */
+    void record(OpcodeInfo info, int cycles) {
+        int opcode = info.getOpcode();
+
+        if(info.isPrefixed()) {
+            prefixedCounts[opcode]++;
+            prefixedCycles[opcode] += cycles;
+        } else {
+            regularCounts[opcode]++;
+            regularCycles[opcode] += cycles;
+        }
+    }
+
+    /**
+     * Gets the number of times an opcode was executed
+     *
+     * @param opcode to look up (the byte after the prefix if prefixed)
+     * @param prefixed whether the opcode belongs to the 0xCB prefixed table
+     * @return execution count
+     */
+    public long getCount(int opcode, boolean prefixed) {
+        return prefixed ? prefixedCounts[opcode] : regularCounts[opcode];
+    }
+
+    /**
+     * Gets the machine cycles spent on an opcode
+     *
+     * @param opcode to look up (the byte after the prefix if prefixed)
+     * @param prefixed whether the opcode belongs to the 0xCB prefixed table
+     * @return accumulated machine cycles
+     */
+    public long getCycles(int opcode, boolean prefixed) {
+        return prefixed ? prefixedCycles[opcode] : regularCycles[opcode];
+    }
+
+    /**
+     * Gets the number of instructions counted
+     *
+     * @return total executions
+     */
+    public long getTotalCount() {
+        return Arrays.stream(regularCounts).sum() + Arrays.stream(prefixedCounts).sum();
+    }
+
+    /**
+     * Gets the machine cycles spent on all counted instructions
+     *
+     * @return total machine cycles
+     */
+    public long getTotalCycles() {
+        return Arrays.stream(regularCycles).sum() + Arrays.stream(prefixedCycles).sum();
+    }
+
+    /**
+     * Clears every counter
+     */
+    public void reset() {
+        Arrays.fill(regularCounts, 0);
+        Arrays.fill(prefixedCounts, 0);
+        Arrays.fill(regularCycles, 0);
+        Arrays.fill(prefixedCycles, 0);
+    }
+
+    /**
+     * Copies the current counters, so that they can be exported while the
+     * emulator keeps running
+     *
+     * @return independent copy of this histogram
+     */
+    public OpcodeHistogram snapshot() {
+        OpcodeHistogram snapshot = new OpcodeHistogram();
+
+        System.arraycopy(regularCounts, 0, snapshot.regularCounts, 0, 0x100);
+        System.arraycopy(prefixedCounts, 0, snapshot.prefixedCounts, 0, 0x100);
+        System.arraycopy(regularCycles, 0, snapshot.regularCycles, 0, 0x100);
+        System.arraycopy(prefixedCycles, 0, snapshot.prefixedCycles, 0, 0x100);
+
+        return snapshot;
+    }
+
+    /**
+     * Exports the executed opcodes as CSV, one line per opcode with the table,
+     * opcode, mnemonic, executions and machine cycles
+     *
+     * @return CSV text with a header line
+     */
+    public String toCsv() {
+        StringBuilder stringBuilder = new StringBuilder("table,opcode,mnemonic,count,cycles\n");
+
+        for(int prefixed = 0; prefixed < 2; prefixed++) {
+            for(int opcode = 0; opcode < 0x100; opcode++) {
+                long count = getCount(opcode, prefixed == 1);
+                if(count == 0) continue;
+
+                stringBuilder.append(prefixed == 1 ? "cb" : "regular").append(',')
+                        .append(String.format("0x%02X", opcode)).append(',')
+                        .append('"').append(getMnemonic(opcode, prefixed == 1)).append('"').append(',')
+                        .append(count).append(',')
+                        .append(getCycles(opcode, prefixed == 1)).append('\n');
+            }
+        }
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Exports the executed opcodes as JSON, an object with a regular and a cb
+     * array holding the opcode, mnemonic, executions and machine cycles
+     *
+     * @return JSON text
+     */
+    public String toJson() {
+        StringBuilder stringBuilder = new StringBuilder("{");
+
+        for(int prefixed = 0; prefixed < 2; prefixed++) {
+            stringBuilder.append(prefixed == 1 ? ",\"cb\":[" : "\"regular\":[");
+
+            boolean first = true;
+            for(int opcode = 0; opcode < 0x100; opcode++) {
+                long count = getCount(opcode, prefixed == 1);
+                if(count == 0) continue;
+
+                if(!first) stringBuilder.append(',');
+                first = false;
+
+                stringBuilder.append("{\"opcode\":").append(opcode)
+                        .append(",\"mnemonic\":\"").append(getMnemonic(opcode, prefixed == 1))
+                        .append("\",\"count\":").append(count)
+                        .append(",\"cycles\":").append(getCycles(opcode, prefixed == 1))
+                        .append('}');
+            }
+
+            stringBuilder.append(']');
+        }
+
+        return stringBuilder.append('}').toString();
+    }
+
+    /**
+     * Gets the mnemonic of an opcode
+     *
+     * @param opcode to look up
+     * @param prefixed whether the opcode belongs to the 0xCB prefixed table
+     * @return mnemonic
+     */
+    private String getMnemonic(int opcode, boolean prefixed) {
+        return prefixed ? OpcodeTable.getPrefixed(opcode).getMnemonic() :
+                OpcodeTable.getRegular(opcode).getMnemonic();
+    }
+
+    @Override
+    public String toString() {
+        return "Instructions: " + getTotalCount() + " Cycles: " + getTotalCycles();
+    }
+}
@@ -0,0 +1,286 @@
+package io.github.cpu.instructions;
+
+/**
+ * Describes an instruction as data (size, timings, operands, flags and memory
+ * accesses) so that other components can look these facts up instead of
+ * executing the handler. Instances are immutable and shared through
+ * {@link OpcodeTable}
+ *
+ * @author rodrigotimoteo
+ */
+
+public final class OpcodeInfo {
+
+    /**
+     * Stores the masks of each flag inside the F register
+     */
+    public static final int FLAG_Z = 0x80;
+    public static final int FLAG_N = 0x40;
+    public static final int FLAG_H = 0x20;
+    public static final int FLAG_C = 0x10;
+
+    /**
+     * Represents the kind of immediate operand that follows the opcode
+     */
+    public enum OperandKind {
+        NONE,
+        IMMEDIATE_8,
+        IMMEDIATE_16,
+        ADDRESS_16,
+        HIGH_ADDRESS_8,
+        RELATIVE_8,
+        SIGNED_8
+    }
+
+    /**
+     * Represents how an instruction accesses memory (immediate operand fetches
+     * are not included)
+     */
+    public enum MemoryAccess {
+        NONE,
+        READ,
+        WRITE,
+        READ_WRITE,
+        STACK
+    }
+
+    /**
+     * Stores the opcode (the byte after the prefix for prefixed instructions)
+     */
+    private final int opcode;
+
+    /**
+     * Stores whether the instruction belongs to the 0xCB prefixed table
+     */
+    private final boolean prefixed;
+
+    /**
+     * Stores the mnemonic with the immediate operand as a placeholder (d8,
+     * d16, a8, a16 or r8)
+     */
+    private final String mnemonic;
+
+    /**
+     * Stores the number of bytes of the instruction (prefix included)
+     */
+    private final int length;
+
+    /**
+     * Stores the machine cycles of the instruction, for conditional branches
+     * when the branch is not taken
+     */
+    private final int cycles;
+
+    /**
+     * Stores the machine cycles of the instruction when its branch is taken
+     */
+    private final int takenCycles;
+
+    /**
+     * Stores the kind of the immediate operand
+     */
+    private final OperandKind operandKind;
+
+    /**
+     * Stores the flags the instruction depends on
+     */
+    private final int flagsRead;
+
+    /**
+     * Stores the flags the instruction changes
+     */
+    private final int flagsWritten;
+
+    /**
+     * Stores how the instruction accesses memory
+     */
+    private final MemoryAccess memoryAccess;
+
+    /**
+     * Stores whether the instruction may change the program counter other
+     * than by moving to the next instruction
+     */
+    private final boolean branch;
+
+    /**
+     * Stores whether the branch depends on a flag
+     */
+    private final boolean conditional;
+
+    /**
+     * Stores whether the opcode has an instruction assigned to it
+     */
+    private final boolean valid;
+
+    /**
+     * Creates the description of an instruction
+     *
+     * @param opcode of the instruction
+     * @param prefixed whether it belongs to the 0xCB prefixed table
+     * @param mnemonic with the immediate operand as a placeholder
+     * @param length number of bytes
+     * @param cycles machine cycles (branch not taken)
+     * @param takenCycles machine cycles when the branch is taken
+     * @param operandKind kind of the immediate operand
+     * @param flagsRead flags the instruction depends on
+     * @param flagsWritten flags the instruction changes
+     * @param memoryAccess how memory is accessed
+     * @param branch whether the program counter can jump
+     * @param conditional whether the jump depends on a flag
+     * @param valid whether the opcode has an instruction
+     */
+    OpcodeInfo(int opcode, boolean prefixed, String mnemonic, int length,
+               int cycles, int takenCycles, OperandKind operandKind,
+               int flagsRead, int flagsWritten, MemoryAccess memoryAccess,
+               boolean branch, boolean conditional, boolean valid) {
+        this.opcode         = opcode;
+        this.prefixed       = prefixed;
+        this.mnemonic       = mnemonic;
+        this.length         = length;
+        this.cycles         = cycles;
+        this.takenCycles    = takenCycles;
+        this.operandKind    = operandKind;
+        this.flagsRead      = flagsRead;
+        this.flagsWritten   = flagsWritten;
+        this.memoryAccess   = memoryAccess;
+        this.branch         = branch;
+        this.conditional    = conditional;
+        this.valid          = valid;
+    }
+
+    /**
+     * Gets the opcode (the byte after the prefix for prefixed instructions)
+     *
+     * @return opcode
+     */
+    public int getOpcode() {
+        return opcode;
+    }
+
+    /**
+     * Checks if the instruction belongs to the 0xCB prefixed table
+     *
+     * @return true if prefixed
+     */
+    public boolean isPrefixed() {
+        return prefixed;
+    }
+
+    /**
+     * Gets the mnemonic with the immediate operand as a placeholder
+     *
+     * @return mnemonic
+     */
+    public String getMnemonic() {
+        return mnemonic;
+    }
+
+    /**
+     * Gets the number of bytes of the instruction (prefix included)
+     *
+     * @return length in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the machine cycles of the instruction, for conditional branches
+     * when the branch is not taken
+     *
+     * @return machine cycles
+     */
+    public int getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Gets the machine cycles of the instruction when its branch is taken
+     * (same as the cycles for instructions that don't branch)
+     *
+     * @return machine cycles
+     */
+    public int getTakenCycles() {
+        return takenCycles;
+    }
+
+    /**
+     * Gets the kind of the immediate operand
+     *
+     * @return operand kind
+     */
+    public OperandKind getOperandKind() {
+        return operandKind;
+    }
+
+    /**
+     * Gets the flags the instruction depends on
+     *
+     * @return mask of flags as stored in the F register
+     */
+    public int getFlagsRead() {
+        return flagsRead;
+    }
+
+    /**
+     * Gets the flags the instruction changes
+     *
+     * @return mask of flags as stored in the F register
+     */
+    public int getFlagsWritten() {
+        return flagsWritten;
+    }
+
+    /**
+     * Gets how the instruction accesses memory
+     *
+     * @return memory access class
+     */
+    public MemoryAccess getMemoryAccess() {
+        return memoryAccess;
+    }
+
+    /**
+     * Checks if the instruction may change the program counter other than
+     * by moving to the next instruction
+     *
+     * @return true if it branches
+     */
+    public boolean isBranch() {
+        return branch;
+    }
+
+    /**
+     * Checks if the branch depends on a flag
+     *
+     * @return true if conditional
+     */
+    public boolean isConditional() {
+        return conditional;
+    }
+
+    /**
+     * Checks if the opcode has an instruction assigned to it
+     *
+     * @return true if valid
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Checks if straight line execution can't go past this instruction (it
+     * branches, halts or stops the cpu or has no instruction)
+     *
+     * @return true if a pre-decoded block has to end on this instruction
+     */
+    public boolean endsBlock() {
+        return branch || !valid || (!prefixed &&
+                (opcode == OpcodeTable.HALT || opcode == OpcodeTable.STOP));
+    }
+
+    @Override
+    public String toString() {
+        return mnemonic;
+    }
+}
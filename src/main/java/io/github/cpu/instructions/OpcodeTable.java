@@ -0,0 +1,335 @@
+package io.github.cpu.instructions;
+
+import io.github.cpu.instructions.OpcodeInfo.MemoryAccess;
+import io.github.cpu.instructions.OpcodeInfo.OperandKind;
+
+import static io.github.cpu.instructions.OpcodeInfo.FLAG_C;
+import static io.github.cpu.instructions.OpcodeInfo.FLAG_H;
+import static io.github.cpu.instructions.OpcodeInfo.FLAG_N;
+import static io.github.cpu.instructions.OpcodeInfo.FLAG_Z;
+
+/**
+ * Holds the description of all 512 opcodes (regular and 0xCB prefixed). The
+ * table is generated once from the mnemonics and this emulator's timings, the
+ * length, operand kind, flags and memory accesses are derived from the
+ * mnemonic of each instruction
+ *
+ * @author rodrigotimoteo
+ */
+
+public final class OpcodeTable {
+
+    /**
+     * Stores the opcodes that stop straight line execution without branching
+     */
+    public static final int STOP    = 0x10;
+    public static final int HALT    = 0x76;
+    public static final int PREFIX  = 0xCB;
+
+    /**
+     * Stores the mnemonics of the regular opcodes outside of the 0x40 to 0xBF
+     * range (those are generated), null for opcodes with no instruction
+     */
+    private static final String[] MNEMONICS = {
+            "NOP", "LD BC,d16", "LD (BC),A", "INC BC", "INC B", "DEC B", "LD B,d8", "RLCA",
+            "LD (a16),SP", "ADD HL,BC", "LD A,(BC)", "DEC BC", "INC C", "DEC C", "LD C,d8", "RRCA",
+            "STOP", "LD DE,d16", "LD (DE),A", "INC DE", "INC D", "DEC D", "LD D,d8", "RLA",
+            "JR r8", "ADD HL,DE", "LD A,(DE)", "DEC DE", "INC E", "DEC E", "LD E,d8", "RRA",
+            "JR NZ,r8", "LD HL,d16", "LD (HL+),A", "INC HL", "INC H", "DEC H", "LD H,d8", "DAA",
+            "JR Z,r8", "ADD HL,HL", "LD A,(HL+)", "DEC HL", "INC L", "DEC L", "LD L,d8", "CPL",
+            "JR NC,r8", "LD SP,d16", "LD (HL-),A", "INC SP", "INC (HL)", "DEC (HL)", "LD (HL),d8", "SCF",
+            "JR C,r8", "ADD HL,SP", "LD A,(HL-)", "DEC SP", "INC A", "DEC A", "LD A,d8", "CCF",
+            "RET NZ", "POP BC", "JP NZ,a16", "JP a16", "CALL NZ,a16", "PUSH BC", "ADD A,d8", "RST 00H",
+            "RET Z", "RET", "JP Z,a16", "PREFIX CB", "CALL Z,a16", "CALL a16", "ADC A,d8", "RST 08H",
+            "RET NC", "POP DE", "JP NC,a16", null, "CALL NC,a16", "PUSH DE", "SUB d8", "RST 10H",
+            "RET C", "RETI", "JP C,a16", null, "CALL C,a16", null, "SBC A,d8", "RST 18H",
+            "LDH (a8),A", "POP HL", "LD (C),A", null, null, "PUSH HL", "AND d8", "RST 20H",
+            "ADD SP,r8", "JP (HL)", "LD (a16),A", null, null, null, "XOR d8", "RST 28H",
+            "LDH A,(a8)", "POP AF", "LD A,(C)", "DI", null, "PUSH AF", "OR d8", "RST 30H",
+            "LD HL,SP+r8", "LD SP,HL", "LD A,(a16)", "EI", null, null, "CP d8", "RST 38H"
+    };
+
+    /**
+     * Stores the operand names used by the register encoded opcodes
+     */
+    private static final String[] OPERANDS = {"B", "C", "D", "E", "H", "L", "(HL)", "A"};
+
+    /**
+     * Stores the mnemonics of the arithmetic/logic group (0x80 to 0xBF) and of
+     * the rotate/shift group of the prefixed table
+     */
+    private static final String[] ALU_OPERATIONS = {"ADD A,", "ADC A,", "SUB ", "SBC A,",
+            "AND ", "XOR ", "OR ", "CP "};
+    private static final String[] ROTATE_OPERATIONS = {"RLC", "RRC", "RL", "RR", "SLA",
+            "SRA", "SWAP", "SRL"};
+    private static final String[] BIT_OPERATIONS = {null, "BIT", "RES", "SET"};
+
+    /**
+     * Stores the machine cycles of each regular opcode as executed by this
+     * emulator (conditional branches as not taken)
+     */
+    private static final int[] CYCLES = {
+            1, 5, 2, 2, 1, 1, 2, 1, 5, 2, 2, 2, 1, 1, 2, 1,
+            1, 5, 2, 2, 1, 1, 2, 1, 3, 2, 2, 2, 1, 1, 2, 1,
+            2, 5, 2, 2, 1, 1, 2, 1, 2, 2, 2, 2, 1, 1, 2, 1,
+            2, 5, 2, 2, 3, 3, 3, 1, 2, 2, 2, 2, 1, 1, 2, 1,
+            1, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 2, 1,
+            1, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 2, 1,
+            1, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 2, 1,
+            2, 2, 2, 2, 2, 2, 1, 2, 1, 1, 1, 1, 1, 1, 2, 1,
+            1, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 2, 1,
+            1, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 2, 1,
+            1, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 2, 1,
+            1, 1, 1, 1, 1, 1, 2, 1, 1, 1, 1, 1, 1, 1, 2, 1,
+            2, 3, 3, 4, 3, 4, 2, 4, 2, 4, 3, 1, 3, 6, 2, 4,
+            2, 3, 3, 0, 3, 4, 2, 4, 2, 4, 3, 0, 3, 0, 2, 4,
+            3, 3, 2, 0, 0, 4, 2, 4, 4, 1, 4, 0, 0, 0, 2, 4,
+            3, 3, 2, 1, 0, 4, 2, 4, 3, 2, 4, 1, 0, 0, 2, 4
+    };
+
+    /**
+     * Stores the machine cycles of the taken conditional branches
+     */
+    private static final int JR_TAKEN_CYCLES    = 3;
+    private static final int JP_TAKEN_CYCLES    = 4;
+    private static final int CALL_TAKEN_CYCLES  = 6;
+    private static final int RET_TAKEN_CYCLES   = 5;
+
+    /**
+     * Stores the description of each regular opcode
+     */
+    private static final OpcodeInfo[] REGULAR = new OpcodeInfo[0x100];
+
+    /**
+     * Stores the description of each 0xCB prefixed opcode
+     */
+    private static final OpcodeInfo[] PREFIXED = new OpcodeInfo[0x100];
+
+    static {
+        for(int opcode = 0; opcode < 0x100; opcode++) {
+            REGULAR[opcode] = createRegular(opcode);
+            PREFIXED[opcode] = createPrefixed(opcode);
+        }
+    }
+
+    private OpcodeTable() {}
+
+    /**
+     * Gets the description of a regular opcode
+     *
+     * @param opcode to describe
+     * @return opcode description
+     */
+    public static OpcodeInfo getRegular(int opcode) {
+        return REGULAR[opcode];
+    }
+
+    /**
+     * Gets the description of a 0xCB prefixed opcode
+     *
+     * @param opcode byte following the prefix
+     * @return opcode description
+     */
+    public static OpcodeInfo getPrefixed(int opcode) {
+        return PREFIXED[opcode];
+    }
+
+    /**
+     * Gets the description of the instruction made of the given bytes
+     *
+     * @param opcode first byte of the instruction
+     * @param nextByte byte following the opcode (only used after the prefix)
+     * @return opcode description
+     */
+    public static OpcodeInfo get(int opcode, int nextByte) {
+        return opcode == PREFIX ? PREFIXED[nextByte] : REGULAR[opcode];
+    }
+
+    /**
+     * Gets the mnemonic of a regular opcode
+     *
+     * @param opcode to describe
+     * @return mnemonic or null if there is no instruction
+     */
+    private static String getMnemonic(int opcode) {
+        if(opcode == HALT) return "HALT";
+        if(opcode >= 0x40 && opcode < 0x80)
+            return "LD " + OPERANDS[(opcode >> 3) & 0x07] + "," + OPERANDS[opcode & 0x07];
+        if(opcode >= 0x80 && opcode < 0xC0)
+            return ALU_OPERATIONS[(opcode >> 3) & 0x07] + OPERANDS[opcode & 0x07];
+        if(opcode < 0x40)
+            return MNEMONICS[opcode];
+
+        return MNEMONICS[opcode - 0x80];
+    }
+
+    /**
+     * Creates the description of a regular opcode
+     *
+     * @param opcode to describe
+     * @return opcode description
+     */
+    private static OpcodeInfo createRegular(int opcode) {
+        String mnemonic = getMnemonic(opcode);
+
+        if(mnemonic == null)
+            return new OpcodeInfo(opcode, false, "INVALID", 1, 0, 0,
+                    OperandKind.NONE, 0, 0, MemoryAccess.NONE, false, false, false);
+
+        int space = mnemonic.indexOf(' ');
+        String operation = space < 0 ? mnemonic : mnemonic.substring(0, space);
+        String operands = space < 0 ? "" : mnemonic.substring(space + 1);
+        OperandKind operandKind = getOperandKind(mnemonic);
+
+        boolean branch = operation.equals("JR") || operation.equals("JP") ||
+                operation.equals("CALL") || operation.equals("RET") ||
+                operation.equals("RETI") || operation.equals("RST");
+        int condition = branch ? getConditionFlag(operands) : 0;
+
+        int takenCycles = CYCLES[opcode];
+        if(condition != 0) {
+            switch(operation) {
+                case "JR" -> takenCycles = JR_TAKEN_CYCLES;
+                case "JP" -> takenCycles = JP_TAKEN_CYCLES;
+                case "CALL" -> takenCycles = CALL_TAKEN_CYCLES;
+                case "RET" -> takenCycles = RET_TAKEN_CYCLES;
+            }
+        }
+
+        int length = 1;
+        if(operandKind == OperandKind.IMMEDIATE_16 || operandKind == OperandKind.ADDRESS_16)
+            length = 3;
+        else if(operandKind != OperandKind.NONE)
+            length = 2;
+
+        int[] flags = getRegularFlags(operation, operands);
+
+        return new OpcodeInfo(opcode, false, mnemonic, length, CYCLES[opcode],
+                takenCycles, operandKind, flags[0] | condition, flags[1],
+                getMemoryAccess(operation, operands), branch, condition != 0, true);
+    }
+
+    /**
+     * Creates the description of a 0xCB prefixed opcode
+     *
+     * @param opcode byte following the prefix
+     * @return opcode description
+     */
+    private static OpcodeInfo createPrefixed(int opcode) {
+        int group = opcode >> 6;
+        int index = (opcode >> 3) & 0x07;
+        int operand = opcode & 0x07;
+
+        String mnemonic;
+        int flagsRead = 0;
+        int flagsWritten;
+        if(group == 0) {
+            mnemonic = ROTATE_OPERATIONS[index] + " " + OPERANDS[operand];
+            flagsWritten = FLAG_Z | FLAG_N | FLAG_H | FLAG_C;
+            if(index == 2 || index == 3) flagsRead = FLAG_C;
+        } else {
+            mnemonic = BIT_OPERATIONS[group] + " " + index + "," + OPERANDS[operand];
+            flagsWritten = group == 1 ? FLAG_Z | FLAG_N | FLAG_H : 0;
+        }
+
+        MemoryAccess memoryAccess = MemoryAccess.NONE;
+        int cycles = 2;
+        if(operand == 6) {
+            memoryAccess = group == 1 ? MemoryAccess.READ : MemoryAccess.READ_WRITE;
+            cycles = group == 1 ? 3 : 4;
+        }
+
+        return new OpcodeInfo(opcode, true, mnemonic, 2, cycles, cycles,
+                OperandKind.NONE, flagsRead, flagsWritten, memoryAccess, false,
+                false, true);
+    }
+
+    /**
+     * Gets the kind of immediate operand from the placeholder in a mnemonic
+     *
+     * @param mnemonic of the instruction
+     * @return operand kind
+     */
+    private static OperandKind getOperandKind(String mnemonic) {
+        if(mnemonic.contains("d16")) return OperandKind.IMMEDIATE_16;
+        if(mnemonic.contains("a16")) return OperandKind.ADDRESS_16;
+        if(mnemonic.contains("d8")) return OperandKind.IMMEDIATE_8;
+        if(mnemonic.contains("a8")) return OperandKind.HIGH_ADDRESS_8;
+        if(mnemonic.contains("SP") && mnemonic.contains("r8")) return OperandKind.SIGNED_8;
+        if(mnemonic.contains("r8")) return OperandKind.RELATIVE_8;
+
+        return OperandKind.NONE;
+    }
+
+    /**
+     * Gets the flag a conditional branch depends on
+     *
+     * @param operands of the branch
+     * @return flag mask or 0 if the branch is unconditional
+     */
+    private static int getConditionFlag(String operands) {
+        String condition = operands.split(",")[0];
+
+        return switch(condition) {
+            case "NZ", "Z" -> FLAG_Z;
+            case "NC", "C" -> FLAG_C;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Gets the flags a regular instruction reads and writes (conditions of
+     * branches are added separately)
+     *
+     * @param operation name of the instruction
+     * @param operands of the instruction
+     * @return flags read and flags written
+     */
+    private static int[] getRegularFlags(String operation, String operands) {
+        int all = FLAG_Z | FLAG_N | FLAG_H | FLAG_C;
+
+        return switch(operation) {
+            case "ADD" -> operands.startsWith("HL,") ?
+                    new int[] {0, FLAG_N | FLAG_H | FLAG_C} : new int[] {0, all};
+            case "ADC", "SBC", "RLA", "RRA" -> new int[] {FLAG_C, all};
+            case "SUB", "AND", "XOR", "OR", "CP", "RLCA", "RRCA" -> new int[] {0, all};
+            case "INC", "DEC" -> operands.length() == 1 || operands.equals("(HL)") ?
+                    new int[] {0, FLAG_Z | FLAG_N | FLAG_H} : new int[] {0, 0};
+            case "DAA" -> new int[] {FLAG_N | FLAG_H | FLAG_C, FLAG_Z | FLAG_H | FLAG_C};
+            case "CPL" -> new int[] {0, FLAG_N | FLAG_H};
+            case "SCF" -> new int[] {0, FLAG_N | FLAG_H | FLAG_C};
+            case "CCF" -> new int[] {FLAG_C, FLAG_N | FLAG_H | FLAG_C};
+            case "LD" -> operands.contains("SP+") ? new int[] {0, all} : new int[] {0, 0};
+            case "POP" -> operands.equals("AF") ? new int[] {0, all} : new int[] {0, 0};
+            case "PUSH" -> operands.equals("AF") ? new int[] {all, 0} : new int[] {0, 0};
+            default -> new int[] {0, 0};
+        };
+    }
+
+    /**
+     * Gets how a regular instruction accesses memory
+     *
+     * @param operation name of the instruction
+     * @param operands of the instruction
+     * @return memory access class
+     */
+    private static MemoryAccess getMemoryAccess(String operation, String operands) {
+        switch(operation) {
+            case "PUSH", "POP", "CALL", "RET", "RETI", "RST":
+                return MemoryAccess.STACK;
+            case "JP":
+                return MemoryAccess.NONE;
+            case "INC", "DEC":
+                return operands.equals("(HL)") ? MemoryAccess.READ_WRITE : MemoryAccess.NONE;
+        }
+
+        String[] parts = operands.split(",");
+        boolean load = operation.equals("LD") || operation.equals("LDH");
+
+        if(load && parts[0].startsWith("(")) return MemoryAccess.WRITE;
+        for(String part : parts)
+            if(part.startsWith("(")) return MemoryAccess.READ;
+
+        return MemoryAccess.NONE;
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.debug;
+
+import io.github.cpu.Registers;
+import io.github.memory.Bus;
+
+import java.util.function.BiPredicate;
+
+/**
+ * Represents an execution breakpoint or a memory watchpoint of a
+ * {@link Debugger}. Addresses in the rom area can be qualified with the bank
+ * that must be mapped for the breakpoint to be hit, and any breakpoint can
+ * have a condition over the registers and memory that is only evaluated when
+ * its address is reached (conditions should read memory with
+ * {@link Bus#peek(int)}, which has no side effects)
+ *
+ * @author rodrigotimoteo
+ */
+
+public final class Breakpoint {
+
+    /**
+     * Stores the bank value that matches every bank
+     */
+    public static final int ANY_BANK = -1;
+
+    /**
+     * Represents the kinds of breakpoints
+     */
+    public enum Kind {
+        /**
+         * Hit before the instruction at the address is executed
+         */
+        EXECUTE,
+
+        /**
+         * Hit after the instruction that read the address is executed
+         */
+        READ,
+
+        /**
+         * Hit after the instruction that wrote the address is executed
+         */
+        WRITE
+    }
+
+    /**
+     * Stores the kind of the breakpoint
+     */
+    private final Kind kind;
+
+    /**
+     * Stores the rom bank the breakpoint applies to (ANY_BANK for every bank,
+     * ignored outside of the rom area)
+     */
+    private final int bank;
+
+    /**
+     * Stores the address of the breakpoint
+     */
+    private final int address;
+
+    /**
+     * Stores the condition that must hold for the breakpoint to be hit (null
+     * if none)
+     */
+    private final BiPredicate<Registers, Bus> condition;
+
+    /**
+     * Creates a new breakpoint
+     *
+     * @param kind of the breakpoint
+     * @param bank rom bank it applies to (ANY_BANK for every bank)
+     * @param address of the breakpoint
+     * @param condition that must hold (null if none)
+     */
+    Breakpoint(Kind kind, int bank, int address, BiPredicate<Registers, Bus> condition) {
+        this.kind       = kind;
+        this.bank       = bank;
+        this.address    = address;
+        this.condition  = condition;
+    }
+
+    /**
+     * Gets the kind of the breakpoint
+     *
+     * @return breakpoint kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the rom bank the breakpoint applies to
+     *
+     * @return bank index or ANY_BANK
+     */
+    public int getBank() {
+        return bank;
+    }
+
+    /**
+     * Gets the address of the breakpoint
+     *
+     * @return address
+     */
+    public int getAddress() {
+        return address;
+    }
+
+    /**
+     * Gets the condition that must hold for the breakpoint to be hit
+     *
+     * @return condition or null if none
+     */
+    public BiPredicate<Registers, Bus> getCondition() {
+        return condition;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + (bank == ANY_BANK ? String.format("%04X", address) :
+                SymbolTable.format(bank, address));
+    }
+}
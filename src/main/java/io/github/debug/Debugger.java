@@ -0,0 +1,358 @@
+package io.github.debug;
+
+import io.github.cpu.CPU;
+import io.github.cpu.Registers;
+import io.github.memory.Bus;
+import io.github.memory.MemoryWatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Holds the execution breakpoints and memory watchpoints of an emulator
+ * instance. Every kind has a bitmap with one bit per address, so the cpu and
+ * the bus only look up the breakpoints (checking their bank and condition)
+ * when an address has one. The debugger attaches itself to the cpu and the
+ * bus while it has breakpoints, when it has none they only test a null field
+ *
+ * <p>Hits don't block, the run methods of the cpu ({@link CPU#runFor(long)},
+ * ...) return with the BREAKPOINT or WATCHPOINT reason and the caller can look
+ * at {@link #getLastHit()}. An execution breakpoint stops before its
+ * instruction and is skipped once when the run is resumed, a watchpoint
+ * stops after the instruction that accessed its address</p>
+ *
+ * @author rodrigotimoteo
+ */
+
+public class Debugger implements MemoryWatcher {
+
+    /**
+     * Stores the end of the fixed rom area and the switchable rom area,
+     * addresses inside both are bank aware (MBC1 can switch the fixed one)
+     */
+    private static final int SWITCH_ROM_START   = 0x4000;
+    private static final int SWITCH_ROM_END     = 0x8000;
+
+    /**
+     * Stores a reference to the bus watched for memory accesses
+     */
+    private final Bus bus;
+
+    /**
+     * Stores a reference to the cpu checked for breakpoints
+     */
+    private final CPU cpu;
+
+    /**
+     * Stores a reference to the registers given to the conditions
+     */
+    private final Registers registers;
+
+    /**
+     * Stores a bitmap per kind of breakpoint with a bit set for every address
+     * that has at least one
+     */
+    private final long[][] bitmaps = new long[Breakpoint.Kind.values().length][0x10000 >> 6];
+
+    /**
+     * Stores the breakpoints by kind and address
+     */
+    private final Map<Integer, List<Breakpoint>> breakpoints = new HashMap<>();
+
+    /**
+     * Stores the number of breakpoints of each kind
+     */
+    private final int[] counts = new int[Breakpoint.Kind.values().length];
+
+    /**
+     * Stores the breakpoint hit that wasn't reported to a run yet (null if
+     * none)
+     */
+    private Breakpoint pendingHit;
+
+    /**
+     * Stores the last breakpoint hit (null if none)
+     */
+    private Breakpoint lastHit;
+
+    /**
+     * Stores the address of the execution breakpoint skipped once when the
+     * cpu resumes (-1 if none)
+     */
+    private int resumeAddress = -1;
+
+    /**
+     * Stores whether a condition is being evaluated, its memory reads don't
+     * hit watchpoints
+     */
+    private boolean evaluating = false;
+
+    /**
+     * Creates a new debugger without breakpoints
+     *
+     * @param bus reference to the debugged instances bus
+     * @param cpu reference to the debugged cpu
+     */
+    public Debugger(Bus bus, CPU cpu) {
+        this.bus        = bus;
+        this.cpu        = cpu;
+        this.registers  = cpu.getRegisters();
+    }
+
+    /**
+     * Adds an execution breakpoint on every bank
+     *
+     * @param address of the instruction
+     * @return the breakpoint added
+     */
+    public Breakpoint addBreakpoint(int address) {
+        return add(Breakpoint.Kind.EXECUTE, Breakpoint.ANY_BANK, address, null);
+    }
+
+    /**
+     * Adds an execution breakpoint
+     *
+     * @param bank rom bank it applies to (ANY_BANK for every bank)
+     * @param address of the instruction
+     * @param condition that must hold before the instruction (null if none)
+     * @return the breakpoint added
+     */
+    public Breakpoint addBreakpoint(int bank, int address, BiPredicate<Registers, Bus> condition) {
+        return add(Breakpoint.Kind.EXECUTE, bank, address, condition);
+    }
+
+    /**
+     * Adds a watchpoint on every bank
+     *
+     * @param kind READ or WRITE
+     * @param address watched
+     * @return the watchpoint added
+     */
+    public Breakpoint addWatchpoint(Breakpoint.Kind kind, int address) {
+        return addWatchpoint(kind, Breakpoint.ANY_BANK, address, null);
+    }
+
+    /**
+     * Adds a watchpoint
+     *
+     * @param kind READ or WRITE
+     * @param bank rom bank it applies to (ANY_BANK for every bank)
+     * @param address watched
+     * @param condition that must hold after the access (null if none)
+     * @return the watchpoint added
+     */
+    public Breakpoint addWatchpoint(Breakpoint.Kind kind, int bank, int address,
+                                    BiPredicate<Registers, Bus> condition) {
+        if(kind == Breakpoint.Kind.EXECUTE)
+            throw new IllegalArgumentException("Watchpoints read or write memory");
+
+        return add(kind, bank, address, condition);
+    }
+
+    /**
+     * Removes a breakpoint or watchpoint
+     *
+     * @param breakpoint to remove
+     * @return true if it was present
+     */
+    public boolean remove(Breakpoint breakpoint) {
+        int key = key(breakpoint.getKind(), breakpoint.getAddress());
+        List<Breakpoint> list = breakpoints.get(key);
+
+        if(list == null || !list.remove(breakpoint)) return false;
+
+        if(list.isEmpty()) {
+            breakpoints.remove(key);
+            bitmaps[breakpoint.getKind().ordinal()][breakpoint.getAddress() >> 6] &=
+                    ~(1L << breakpoint.getAddress());
+        }
+
+        counts[breakpoint.getKind().ordinal()]--;
+        attach();
+
+        return true;
+    }
+
+    /**
+     * Removes every breakpoint and watchpoint
+     */
+    public void clear() {
+        breakpoints.clear();
+
+        for(long[] bitmap : bitmaps)
+            Arrays.fill(bitmap, 0);
+        Arrays.fill(counts, 0);
+
+        attach();
+    }
+
+    /**
+     * Gets the breakpoints and watchpoints
+     *
+     * @return list of every breakpoint
+     */
+    public List<Breakpoint> getBreakpoints() {
+        List<Breakpoint> list = new ArrayList<>();
+        for(List<Breakpoint> addressBreakpoints : breakpoints.values())
+            list.addAll(addressBreakpoints);
+
+        return list;
+    }
+
+    /**
+     * Gets the last breakpoint or watchpoint hit
+     *
+     * @return breakpoint or null if none was hit
+     */
+    public Breakpoint getLastHit() {
+        return lastHit;
+    }
+
+    /**
+     * Called by the cpu before executing the instruction at the given
+     * address
+     *
+     * @param address of the instruction
+     * @return true if a breakpoint was hit and the instruction must not run
+     */
+    public boolean checkExecution(int address) {
+        if(resumeAddress >= 0) {
+            boolean resuming = resumeAddress == address;
+            resumeAddress = -1;
+
+            if(resuming) return false;
+        }
+
+        if(!isMarked(Breakpoint.Kind.EXECUTE, address) ||
+                !check(Breakpoint.Kind.EXECUTE, address)) return false;
+
+        resumeAddress = address;
+        return true;
+    }
+
+    /**
+     * Takes the breakpoint hit since the last call, used by the cpu to end a
+     * run
+     *
+     * @return breakpoint hit or null if none
+     */
+    public Breakpoint takeHit() {
+        Breakpoint hit = pendingHit;
+        pendingHit = null;
+
+        return hit;
+    }
+
+    @Override
+    public void memoryRead(int address) {
+        if(!evaluating && pendingHit == null && isMarked(Breakpoint.Kind.READ, address))
+            check(Breakpoint.Kind.READ, address);
+    }
+
+    @Override
+    public void memoryWritten(int address, int value) {
+        if(!evaluating && pendingHit == null && isMarked(Breakpoint.Kind.WRITE, address))
+            check(Breakpoint.Kind.WRITE, address);
+    }
+
+    /**
+     * Adds a breakpoint of any kind
+     *
+     * @param kind of the breakpoint
+     * @param bank rom bank it applies to (ANY_BANK for every bank)
+     * @param address of the breakpoint
+     * @param condition that must hold (null if none)
+     * @return the breakpoint added
+     */
+    private Breakpoint add(Breakpoint.Kind kind, int bank, int address,
+                           BiPredicate<Registers, Bus> condition) {
+        if(address < 0 || address > 0xFFFF)
+            throw new IllegalArgumentException("Invalid address " + address);
+
+        Breakpoint breakpoint = new Breakpoint(kind, bank, address, condition);
+
+        breakpoints.computeIfAbsent(key(kind, address), key -> new ArrayList<>(1))
+                .add(breakpoint);
+        bitmaps[kind.ordinal()][address >> 6] |= 1L << address;
+        counts[kind.ordinal()]++;
+        attach();
+
+        return breakpoint;
+    }
+
+    /**
+     * Attaches the debugger to the cpu while it has any breakpoint and to the
+     * bus while it has watchpoints, detaching it otherwise
+     */
+    private void attach() {
+        boolean watching = counts[Breakpoint.Kind.READ.ordinal()] > 0 ||
+                counts[Breakpoint.Kind.WRITE.ordinal()] > 0;
+
+        bus.setMemoryWatcher(watching ? this : null);
+        cpu.setDebugger(watching || counts[Breakpoint.Kind.EXECUTE.ordinal()] > 0 ? this : null);
+    }
+
+    /**
+     * Checks the bitmap of a kind of breakpoint
+     *
+     * @param kind of the breakpoint
+     * @param address to check
+     * @return true if the address has at least one breakpoint of the kind
+     */
+    private boolean isMarked(Breakpoint.Kind kind, int address) {
+        address &= 0xFFFF;
+
+        return (bitmaps[kind.ordinal()][address >> 6] & (1L << address)) != 0;
+    }
+
+    /**
+     * Looks for a breakpoint of the address whose bank matches and whose
+     * condition holds, recording it as hit
+     *
+     * @param kind of the breakpoint
+     * @param address reached
+     * @return true if a breakpoint was hit
+     */
+    private boolean check(Breakpoint.Kind kind, int address) {
+        address &= 0xFFFF;
+
+        int bank = address < SWITCH_ROM_START ? bus.getFixedRomBank() :
+                address < SWITCH_ROM_END ? bus.getRomBank() : 0;
+        boolean rom = address < SWITCH_ROM_END;
+
+        evaluating = true;
+        try {
+            for(Breakpoint breakpoint : breakpoints.get(key(kind, address))) {
+                if(rom && breakpoint.getBank() != Breakpoint.ANY_BANK &&
+                        breakpoint.getBank() != bank) continue;
+
+                BiPredicate<Registers, Bus> condition = breakpoint.getCondition();
+                if(condition == null || condition.test(registers, bus)) {
+                    pendingHit = breakpoint;
+                    lastHit    = breakpoint;
+
+                    return true;
+                }
+            }
+        } finally {
+            evaluating = false;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the key of the breakpoints of a kind at an address
+     *
+     * @param kind of the breakpoints
+     * @param address of the breakpoints
+     * @return key in the breakpoints map
+     */
+    private static int key(Breakpoint.Kind kind, int address) {
+        return kind.ordinal() << 16 | address;
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.debug;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from long keys to long counts, storing everything
+ * in primitive arrays so that counting doesn't allocate. Missing keys read as
+ * 0 and keys can't be removed (only cleared all at once)
+ *
+ * @author rodrigotimoteo
+ */
+
+class LongCounterMap {
+
+    /**
+     * Stores the key used to mark an empty slot
+     */
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /**
+     * Stores the initial number of slots (a power of two)
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Stores the key and the count of each slot
+     */
+    private long[] keys;
+    private long[] counts;
+
+    /**
+     * Stores the number of used slots
+     */
+    private int size = 0;
+
+    /**
+     * Creates an empty map
+     */
+    LongCounterMap() {
+        keys   = new long[INITIAL_CAPACITY];
+        counts = new long[INITIAL_CAPACITY];
+
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Adds to the count of a key
+     *
+     * @param key to count (any value but Long.MIN_VALUE)
+     * @param delta value added to the count
+     */
+    void add(long key, long delta) {
+        int slot = findSlot(keys, key);
+
+        if(keys[slot] == EMPTY) {
+            if((size + 1) * 2 > keys.length) {
+                grow();
+                slot = findSlot(keys, key);
+            }
+
+            keys[slot] = key;
+            size++;
+        }
+
+        counts[slot] += delta;
+    }
+
+    /**
+     * Gets the count of a key
+     *
+     * @param key to look up
+     * @return count or 0 if the key was never added
+     */
+    long get(long key) {
+        int slot = findSlot(keys, key);
+
+        return keys[slot] == EMPTY ? 0 : counts[slot];
+    }
+
+    /**
+     * Gets the number of keys counted
+     *
+     * @return number of keys
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Calls the given consumer with every key and its count
+     *
+     * @param consumer receiving the entries
+     */
+    void forEach(EntryConsumer consumer) {
+        for(int slot = 0; slot < keys.length; slot++)
+            if(keys[slot] != EMPTY)
+                consumer.accept(keys[slot], counts[slot]);
+    }
+
+    /**
+     * Removes every key
+     */
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    /**
+     * Finds the slot holding a key or the empty slot where it would go
+     *
+     * @param table of keys to search
+     * @param key to find
+     * @return slot index
+     */
+    private static int findSlot(long[] table, long key) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+
+        while(table[slot] != EMPTY && table[slot] != key)
+            slot = (slot + 1) & mask;
+
+        return slot;
+    }
+
+    /**
+     * Spreads the bits of a key so that nearby addresses don't cluster
+     *
+     * @param key to hash
+     * @return hash code
+     */
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Doubles the number of slots
+     */
+    private void grow() {
+        long[] oldKeys   = keys;
+        long[] oldCounts = counts;
+
+        keys   = new long[oldKeys.length * 2];
+        counts = new long[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+
+        for(int slot = 0; slot < oldKeys.length; slot++) {
+            if(oldKeys[slot] == EMPTY) continue;
+
+            int newSlot = findSlot(keys, oldKeys[slot]);
+            keys[newSlot]   = oldKeys[slot];
+            counts[newSlot] = oldCounts[slot];
+        }
+    }
+
+    /**
+     * Receives the entries of the map
+     */
+    interface EntryConsumer {
+
+        /**
+         * Receives an entry
+         *
+         * @param key of the entry
+         * @param count of the entry
+         */
+        void accept(long key, long count);
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.debug;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through a memory mapped window that moves as the file is
+ * read, so files larger than the heap (or than the 2GB a single mapping can
+ * cover) are read without copying them into the heap
+ *
+ * @author rodrigotimoteo
+ */
+
+final class MappedFile implements AutoCloseable {
+
+    /**
+     * Stores the default size in bytes of the mapped window
+     */
+    static final int DEFAULT_WINDOW_SIZE = 1 << 26;
+
+    /**
+     * Stores the channel the windows are mapped from
+     */
+    private final FileChannel channel;
+
+    /**
+     * Stores the size of the file in bytes
+     */
+    private final long size;
+
+    /**
+     * Stores the size in bytes of the mapped window
+     */
+    private final int windowSize;
+
+    /**
+     * Stores the currently mapped window (little endian) and the range of
+     * the file it covers
+     */
+    private MappedByteBuffer window;
+    private long windowStart = 0;
+    private long windowEnd = 0;
+
+    /**
+     * Opens a file for reading
+     *
+     * @param path of the file
+     * @param windowSize size in bytes of the mapped window
+     * @throws IOException failed to open the file
+     */
+    MappedFile(Path path, int windowSize) throws IOException {
+        this.channel    = FileChannel.open(path, StandardOpenOption.READ);
+        this.size       = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Gets the size of the file
+     *
+     * @return size in bytes
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Gets a byte of the file
+     *
+     * @param position of the byte
+     * @return unsigned value of the byte
+     * @throws IOException failed to map the file or position past its end
+     */
+    int get(long position) throws IOException {
+        if(position < windowStart || position >= windowEnd)
+            map(position, position < windowStart);
+
+        return window.get((int) (position - windowStart)) & 0xFF;
+    }
+
+    /**
+     * Gets a window covering a range of the file, the range starts at
+     * {@link #offset(long)} inside the returned buffer
+     *
+     * @param position of the first byte of the range
+     * @param length of the range in bytes (at most the window size)
+     * @return mapped window in little endian order
+     * @throws IOException failed to map the file or range past its end
+     */
+    ByteBuffer window(long position, int length) throws IOException {
+        if(position < windowStart || position + length > windowEnd) {
+            map(position, false);
+
+            if(position + length > windowEnd)
+                throw new EOFException("Range past the end of the file " + position);
+        }
+
+        return window;
+    }
+
+    /**
+     * Gets the offset of a position inside the current window
+     *
+     * @param position in the file
+     * @return offset inside the window
+     */
+    int offset(long position) {
+        return (int) (position - windowStart);
+    }
+
+    /**
+     * Maps a window covering the given position, starting at it when reading
+     * forward and centered on it when reading backward
+     *
+     * @param position that the window must cover
+     * @param backward whether the file is being read backward
+     * @throws IOException failed to map the file or position past its end
+     */
+    private void map(long position, boolean backward) throws IOException {
+        if(position < 0 || position >= size)
+            throw new EOFException("Position outside of the file " + position);
+
+        windowStart = backward ? Math.max(0, position - windowSize / 2) : position;
+        windowEnd   = Math.min(size, windowStart + windowSize);
+        window      = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                windowEnd - windowStart);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,400 @@
+package io.github.debug;
+
+import io.github.cpu.CPU;
+import io.github.memory.Bus;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sampling profiler that records where the cpu spends its time. Every
+ * sample interval instructions the rom bank and program counter are counted
+ * in a primitive histogram. Optionally a shadow call stack is kept from the
+ * subroutine calls, restarts, interrupt entries and returns, so samples can
+ * be exported as collapsed stacks (the input format of flame graph tools).
+ * Each frame of a stack is named after the code that made the call (found
+ * from the return address) and the last one after the sampled address
+ *
+ * <p>The shadow stack follows the stack pointer instead of pairing calls
+ * with returns, frames whose return address was popped are dropped, so code
+ * that discards return addresses or resets the stack doesn't desynchronize
+ * it</p>
+ *
+ * @author rodrigotimoteo
+ */
+
+public class Profiler {
+
+    /**
+     * Stores the default number of instructions between samples
+     */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 1000;
+
+    /**
+     * Stores the maximum depth of the shadow call stack, deeper calls are
+     * counted in the deepest frame
+     */
+    private static final int MAX_DEPTH = 64;
+
+    /**
+     * Stores the maximum number of distinct call paths, calls made from a
+     * path once the limit is reached are counted in the caller
+     */
+    private static final int MAX_NODES = 1 << 16;
+
+    /**
+     * Stores the end of the fixed rom area and the switchable rom area,
+     * addresses inside both are bank aware (MBC1 can switch the fixed one)
+     */
+    private static final int SWITCH_ROM_START   = 0x4000;
+    private static final int SWITCH_ROM_END     = 0x8000;
+
+    /**
+     * Stores a reference to the bus used to read the active rom bank
+     */
+    private final Bus bus;
+
+    /**
+     * Stores a reference to the cpu being profiled
+     */
+    private final CPU cpu;
+
+    /**
+     * Stores the number of instructions between samples
+     */
+    private final int sampleInterval;
+
+    /**
+     * Stores the instructions left until the next sample
+     */
+    private int countdown;
+
+    /**
+     * Stores whether the shadow call stack is kept
+     */
+    private boolean callStackTracking = false;
+
+    /**
+     * Stores the number of samples taken
+     */
+    private long totalSamples = 0;
+
+    /**
+     * Stores the samples by call path and location, the key holds the call
+     * path node in the upper half and the location in the lower half
+     */
+    private final LongCounterMap samples = new LongCounterMap();
+
+    /**
+     * Stores the call paths as a tree, each node has the location of the call
+     * site and its parent node (node 0 is the root)
+     */
+    private int[] nodeLocations = new int[256];
+    private int[] nodeParents   = new int[256];
+    private int nodeCount = 1;
+
+    /**
+     * Stores the child node of each call path node by call site location
+     * (shifted by one so that 0 means there is no child yet)
+     */
+    private final LongCounterMap children = new LongCounterMap();
+
+    /**
+     * Stores the shadow call stack, the node and stack pointer after the call
+     * of each frame
+     */
+    private final int[] stackNodes    = new int[MAX_DEPTH];
+    private final int[] stackPointers = new int[MAX_DEPTH];
+    private int depth = 0;
+
+    /**
+     * Creates a new profiler sampling every default interval instructions
+     *
+     * @param bus reference to the profiled instances bus
+     * @param cpu reference to the profiled cpu
+     */
+    public Profiler(Bus bus, CPU cpu) {
+        this(bus, cpu, DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Creates a new profiler
+     *
+     * @param bus reference to the profiled instances bus
+     * @param cpu reference to the profiled cpu
+     * @param sampleInterval number of instructions between samples
+     */
+    public Profiler(Bus bus, CPU cpu, int sampleInterval) {
+        if(sampleInterval < 1)
+            throw new IllegalArgumentException("Invalid sample interval " + sampleInterval);
+
+        this.bus            = bus;
+        this.cpu            = cpu;
+        this.sampleInterval = sampleInterval;
+
+        countdown = sampleInterval;
+    }
+
+    /**
+     * Enables or disables the shadow call stack (disabled by default)
+     *
+     * @param callStackTracking true to record the call path of each sample
+     */
+    public void setCallStackTracking(boolean callStackTracking) {
+        this.callStackTracking = callStackTracking;
+
+        depth = 0;
+    }
+
+    /**
+     * Checks if the shadow call stack is kept
+     *
+     * @return true if call stacks are tracked
+     */
+    public boolean isCallStackTracking() {
+        return callStackTracking;
+    }
+
+    /**
+     * Gets the number of instructions between samples
+     *
+     * @return sample interval
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Called by the cpu after every instruction, takes a sample once every
+     * sample interval calls
+     */
+    public void instructionExecuted() {
+        if(--countdown > 0) return;
+
+        countdown = sampleInterval;
+        totalSamples++;
+
+        int location = getLocation(cpu.getProgramCounter());
+        samples.add((long) getCurrentNode() << 32 | location, 1);
+    }
+
+    /**
+     * Called by the cpu after a subroutine was entered (CALL, RST or an
+     * interrupt), pushes a frame to the shadow call stack
+     */
+    public void subroutineCalled() {
+        if(!callStackTracking) return;
+
+        int stackPointer = cpu.getStackPointer();
+        unwind(stackPointer);
+
+        if(depth == MAX_DEPTH) return;
+
+        int returnAddress = bus.peek(stackPointer & 0xFFFF) |
+                bus.peek((stackPointer + 1) & 0xFFFF) << 8;
+
+        stackNodes[depth]    = getChild(getCurrentNode(), getLocation(returnAddress - 1));
+        stackPointers[depth] = stackPointer;
+        depth++;
+    }
+
+    /**
+     * Called by the cpu after a return, drops the frames whose return address
+     * was popped
+     */
+    public void subroutineReturned() {
+        if(!callStackTracking) return;
+
+        unwind(cpu.getStackPointer() - 1);
+    }
+
+    /**
+     * Drops the frames of the shadow call stack entered with the stack pointer
+     * at or above the given one
+     *
+     * @param stackPointer lowest stack pointer of the frames kept
+     */
+    private void unwind(int stackPointer) {
+        while(depth > 0 && stackPointers[depth - 1] <= stackPointer)
+            depth--;
+    }
+
+    /**
+     * Gets the call path node of the top of the shadow call stack
+     *
+     * @return node index (0 when the stack is empty)
+     */
+    private int getCurrentNode() {
+        return depth == 0 ? 0 : stackNodes[depth - 1];
+    }
+
+    /**
+     * Gets the node reached by calling a subroutine from the given node,
+     * creating it the first time
+     *
+     * @param parent node the call is made from
+     * @param location of the call site
+     * @return child node index (the parent once the node limit is reached)
+     */
+    private int getChild(int parent, int location) {
+        long key = (long) parent << 32 | location;
+        int child = (int) children.get(key) - 1;
+        if(child >= 0) return child;
+
+        if(nodeCount == MAX_NODES) return parent;
+
+        if(nodeCount == nodeLocations.length) {
+            nodeLocations = Arrays.copyOf(nodeLocations, nodeCount * 2);
+            nodeParents   = Arrays.copyOf(nodeParents, nodeCount * 2);
+        }
+
+        child = nodeCount++;
+        nodeLocations[child] = location;
+        nodeParents[child]   = parent;
+        children.add(key, child + 1);
+
+        return child;
+    }
+
+    /**
+     * Gets the bank aware location of an address, the rom bank is only part
+     * of it inside the rom areas (the fixed area can be switched by MBC1)
+     *
+     * @param address to locate
+     * @return rom bank in the upper 16 bits and address in the lower 16 bits
+     */
+    private int getLocation(int address) {
+        address &= 0xFFFF;
+
+        if(address < SWITCH_ROM_START)
+            return bus.getFixedRomBank() << 16 | address;
+        if(address < SWITCH_ROM_END)
+            return bus.getRomBank() << 16 | address;
+
+        return address;
+    }
+
+    /**
+     * Gets the number of samples taken
+     *
+     * @return total samples
+     */
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    /**
+     * Gets the number of samples taken at an address, whatever the call path
+     *
+     * @param bank rom bank of the address (0 outside of the rom areas)
+     * @param address sampled
+     * @return number of samples
+     */
+    public long getSamples(int bank, int address) {
+        int location = bank << 16 | address;
+        long[] total = new long[1];
+
+        samples.forEach((key, count) -> {
+            if((int) key == location) total[0] += count;
+        });
+
+        return total[0];
+    }
+
+    /**
+     * Gets the current depth of the shadow call stack
+     *
+     * @return number of frames
+     */
+    public int getCallDepth() {
+        return depth;
+    }
+
+    /**
+     * Discards every sample and the shadow call stack
+     */
+    public void reset() {
+        samples.clear();
+        children.clear();
+        nodeCount = 1;
+        depth = 0;
+        totalSamples = 0;
+        countdown = sampleInterval;
+    }
+
+    /**
+     * Exports the samples as collapsed stacks, one line per call path with
+     * the frames separated by ';' followed by the number of samples
+     *
+     * @param symbols used to name addresses (null to use "BB:AAAA")
+     * @return collapsed stacks text
+     */
+    public String toCollapsedStacks(SymbolTable symbols) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for(Map.Entry<String, Long> entry : collapse(symbols).entrySet())
+            stringBuilder.append(entry.getKey()).append(' ')
+                    .append(entry.getValue()).append('\n');
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Writes the samples as collapsed stacks
+     *
+     * @param writer to write to
+     * @param symbols used to name addresses (null to use "BB:AAAA")
+     * @throws IOException failed to write
+     */
+    public void writeCollapsedStacks(Writer writer, SymbolTable symbols) throws IOException {
+        writer.write(toCollapsedStacks(symbols));
+        writer.flush();
+    }
+
+    /**
+     * Groups the samples by the names of their frames, samples whose frames
+     * have the same names (for example addresses inside the same label) are
+     * added together
+     *
+     * @param symbols used to name addresses (null to use "BB:AAAA")
+     * @return number of samples of each call path
+     */
+    private Map<String, Long> collapse(SymbolTable symbols) {
+        Map<String, Long> stacks = new TreeMap<>();
+
+        samples.forEach((key, count) -> {
+            List<String> frames = new ArrayList<>();
+
+            frames.add(getName(symbols, (int) key));
+            for(int node = (int) (key >>> 32); node != 0; node = nodeParents[node])
+                frames.add(getName(symbols, nodeLocations[node]));
+
+            Collections.reverse(frames);
+            stacks.merge(String.join(";", frames), count, Long::sum);
+        });
+
+        return stacks;
+    }
+
+    /**
+     * Gets the name of a location
+     *
+     * @param symbols used to name addresses (null to use "BB:AAAA")
+     * @param location bank aware location
+     * @return frame name
+     */
+    private String getName(SymbolTable symbols, int location) {
+        int bank = location >>> 16;
+        int address = location & 0xFFFF;
+
+        if(symbols == null) return SymbolTable.format(bank, address);
+
+        return symbols.getName(bank, address);
+    }
+}
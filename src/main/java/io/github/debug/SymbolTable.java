@@ -0,0 +1,129 @@
+package io.github.debug;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Holds the labels of a .sym file (as written by RGBDS and read by most
+ * debuggers), every line has the form "BB:AAAA Name" where BB is the rom bank
+ * (two or more hex digits, MBC5 banks go up to 1FF) and AAAA the address,
+ * comments start with ';'. Addresses are named after the
+ * closest label at or before them in the same bank
+ *
+ * @author rodrigotimoteo
+ */
+
+public class SymbolTable {
+
+    /**
+     * Stores the labels of each bank ordered by address
+     */
+    private final Map<Integer, TreeMap<Integer, String>> banks = new HashMap<>();
+
+    /**
+     * Loads the labels of a .sym file
+     *
+     * @param path of the .sym file
+     * @return table with the labels of the file
+     * @throws IOException failed to read the file
+     */
+    public static SymbolTable load(Path path) throws IOException {
+        try(Reader reader = Files.newBufferedReader(path)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Reads labels in the .sym format, lines that don't follow it are ignored
+     *
+     * @param reader to read the labels from
+     * @return table with the labels read
+     * @throws IOException failed to read
+     */
+    public static SymbolTable parse(Reader reader) throws IOException {
+        SymbolTable symbolTable = new SymbolTable();
+        BufferedReader lines = new BufferedReader(reader);
+
+        String line;
+        while((line = lines.readLine()) != null) {
+            int comment = line.indexOf(';');
+            if(comment >= 0) line = line.substring(0, comment);
+
+            String[] parts = line.trim().split("\\s+", 2);
+            if(parts.length < 2) continue;
+
+            int colon = parts[0].indexOf(':');
+            if(colon < 1 || parts[0].length() - colon != 5) continue;
+
+            try {
+                int bank = Integer.parseInt(parts[0], 0, colon, 16);
+                int address = Integer.parseInt(parts[0], colon + 1,
+                        parts[0].length(), 16);
+
+                symbolTable.add(bank, address, parts[1].trim());
+            } catch (NumberFormatException ignored) {
+
+            }
+        }
+
+        return symbolTable;
+    }
+
+    /**
+     * Adds a label
+     *
+     * @param bank rom bank of the label (0 outside of the switchable area)
+     * @param address of the label
+     * @param name of the label
+     */
+    public void add(int bank, int address, String name) {
+        banks.computeIfAbsent(bank, key -> new TreeMap<>()).put(address, name);
+    }
+
+    /**
+     * Gets the name of the label an address belongs to
+     *
+     * @param bank rom bank of the address (0 outside of the switchable area)
+     * @param address to name
+     * @return closest label at or before the address, null if there is none
+     */
+    public String getLabel(int bank, int address) {
+        TreeMap<Integer, String> labels = banks.get(bank);
+        if(labels == null) return null;
+
+        Map.Entry<Integer, String> entry = labels.floorEntry(address);
+
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Gets the name of an address, the label it belongs to or its bank and
+     * address when there is none
+     *
+     * @param bank rom bank of the address (0 outside of the switchable area)
+     * @param address to name
+     * @return label or "BB:AAAA"
+     */
+    public String getName(int bank, int address) {
+        String label = getLabel(bank, address);
+
+        return label != null ? label : format(bank, address);
+    }
+
+    /**
+     * Formats an address as in .sym files
+     *
+     * @param bank rom bank of the address
+     * @param address to format
+     * @return "BB:AAAA"
+     */
+    public static String format(int bank, int address) {
+        return String.format("%02X:%04X", bank, address);
+    }
+}
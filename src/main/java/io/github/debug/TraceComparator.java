@@ -0,0 +1,331 @@
+package io.github.debug;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Compares a binary trace written by {@link TraceWriter} with the text log of
+ * a reference emulator (in either {@link TraceRecord.TextFormat}), line i of
+ * the log being the state before the same instruction as record i of the
+ * trace. Both files are memory mapped and streamed, so logs of many gigabytes
+ * can be compared without reading them into the heap. The comparison stops on
+ * the first record that differs and reports the fields that don't match with
+ * a few lines of context around it
+ *
+ * <p>Usage: TraceComparator &lt;reference log&gt; &lt;trace&gt; [--context lines]
+ * [--start record] [--cycle machine cycles]</p>
+ *
+ * @author rodrigotimoteo
+ */
+
+public class TraceComparator {
+
+    /**
+     * Stores the default number of lines shown before and after a divergence
+     */
+    public static final int DEFAULT_CONTEXT_LINES = 5;
+
+    /**
+     * Stores the maximum length of a reference line, longer lines are cut
+     */
+    private static final int MAX_LINE_LENGTH = 256;
+
+    /**
+     * Stores the paths of the reference log and of the binary trace
+     */
+    private final Path reference;
+    private final Path trace;
+
+    /**
+     * Stores the size in bytes of the mapped windows
+     */
+    private final int windowSize;
+
+    /**
+     * Stores the number of lines shown before and after a divergence
+     */
+    private int contextLines = DEFAULT_CONTEXT_LINES;
+
+    /**
+     * Stores the index of the first compared record
+     */
+    private long startRecord = 0;
+
+    /**
+     * Stores the machine cycles of the first compared record (the first
+     * record at or after them)
+     */
+    private long startCycle = 0;
+
+    /**
+     * Stores the bytes of the last reference line read and their count
+     */
+    private final byte[] line = new byte[MAX_LINE_LENGTH];
+    private int lineLength;
+
+    /**
+     * Stores the records being compared and the parser of reference lines
+     */
+    private final TraceRecord expected = new TraceRecord();
+    private final TraceRecord actual = new TraceRecord();
+    private final TraceLineParser parser = new TraceLineParser();
+
+    /**
+     * Creates a new comparator
+     *
+     * @param reference path of the reference text log
+     * @param trace path of the binary trace
+     */
+    public TraceComparator(Path reference, Path trace) {
+        this(reference, trace, MappedFile.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new comparator with the given mapped window size
+     *
+     * @param reference path of the reference text log
+     * @param trace path of the binary trace
+     * @param windowSize size in bytes of the mapped windows
+     */
+    TraceComparator(Path reference, Path trace, int windowSize) {
+        this.reference  = reference;
+        this.trace      = trace;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Compares the files given on the command line, the report is written to
+     * the standard output and the exit status is 1 if they diverge
+     *
+     * @param args reference log path, trace path and options
+     * @throws IOException failed to read the files
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2 || args.length % 2 != 0) {
+            System.err.println("Usage: TraceComparator <reference log> <trace> " +
+                    "[--context lines] [--start record] [--cycle machine cycles]");
+            System.exit(2);
+        }
+
+        TraceComparator traceComparator = new TraceComparator(Path.of(args[0]), Path.of(args[1]));
+
+        for(int i = 2; i < args.length; i += 2) {
+            long value = Long.parseLong(args[i + 1]);
+
+            switch(args[i]) {
+                case "--context" -> traceComparator.setContextLines((int) value);
+                case "--start" -> traceComparator.setStartRecord(value);
+                case "--cycle" -> traceComparator.setStartCycle(value);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        long divergence = traceComparator.compare(writer);
+        writer.flush();
+
+        if(divergence >= 0) System.exit(1);
+    }
+
+    /**
+     * Changes the number of lines shown before and after a divergence
+     *
+     * @param contextLines number of lines
+     */
+    public void setContextLines(int contextLines) {
+        this.contextLines = contextLines;
+    }
+
+    /**
+     * Changes the index of the first compared record, the same number of
+     * reference lines is skipped
+     *
+     * @param startRecord index of the record (0 is the first)
+     */
+    public void setStartRecord(long startRecord) {
+        this.startRecord = startRecord;
+    }
+
+    /**
+     * Starts comparing from the first record at or after the given machine
+     * cycles (and after the start record), the same number of reference lines
+     * is skipped
+     *
+     * @param startCycle machine cycles
+     */
+    public void setStartCycle(long startCycle) {
+        this.startCycle = startCycle;
+    }
+
+    /**
+     * Compares the files until one of them ends or a record differs
+     *
+     * @param report to write the result of the comparison to
+     * @return index of the first record that differs, -1 if none
+     * @throws IOException failed to read the files or write the report
+     */
+    public long compare(Writer report) throws IOException {
+        try(MappedFile referenceFile = new MappedFile(reference, windowSize);
+            MappedFile traceFile = new MappedFile(trace, windowSize)) {
+            long records = traceFile.size() / TraceRecord.SIZE;
+            long index = Math.min(startRecord, records);
+
+            while(index < records && readRecord(traceFile, index).getMachineCycles() < startCycle)
+                index++;
+
+            long position = 0;
+            for(long skipped = 0; skipped < index && position < referenceFile.size(); skipped++)
+                position = readLine(referenceFile, position);
+
+            long first = index;
+            for(; index < records && position < referenceFile.size(); index++) {
+                long next = readLine(referenceFile, position);
+                readRecord(traceFile, index);
+
+                boolean parsed = parser.parse(line, lineLength, expected);
+                int different = parsed ? expected.compare(actual) : 0;
+
+                if(!parsed || different != 0) {
+                    reportDivergence(report, referenceFile, traceFile, index, position,
+                            parsed, different);
+                    return index;
+                }
+
+                position = next;
+            }
+
+            report.append("No divergence in ").append(Long.toString(index - first))
+                    .append(" records, ")
+                    .append(index < records ? "reference ended" : "trace ended")
+                    .append(" at record ").append(Long.toString(index)).append('\n');
+            report.flush();
+
+            return -1;
+        }
+    }
+
+    /**
+     * Writes the fields that differ and the lines around the divergence
+     *
+     * @param report to write to
+     * @param referenceFile reference log
+     * @param traceFile binary trace
+     * @param index of the record that differs
+     * @param position of the reference line that differs
+     * @param parsed whether the reference line could be parsed
+     * @param different mask of the fields that differ
+     * @throws IOException failed to read the files or write the report
+     */
+    private void reportDivergence(Writer report, MappedFile referenceFile, MappedFile traceFile,
+                                  long index, long position, boolean parsed, int different)
+            throws IOException {
+        report.append("Divergence at record ").append(Long.toString(index))
+                .append(" (reference line ").append(Long.toString(index + 1))
+                .append(", machine cycles ")
+                .append(Long.toString(actual.getMachineCycles())).append(")\n");
+
+        if(!parsed) {
+            report.append("  reference line has no program counter\n");
+        } else {
+            for(int field = 0; field < TraceRecord.FIELD_COUNT; field++) {
+                if((different & (1 << field)) == 0) continue;
+
+                report.append("  ").append(TraceRecord.getFieldName(field))
+                        .append(": reference ").append(expected.formatField(field))
+                        .append(", trace ").append(actual.formatField(field)).append('\n');
+            }
+        }
+
+        TraceRecord.TextFormat format = parser.getFormat();
+        long first = Math.max(0, index - contextLines);
+
+        long linePosition = position;
+        for(long i = index; i > first; i--)
+            linePosition = findPreviousLine(referenceFile, linePosition);
+
+        StringBuilder text = new StringBuilder(96);
+        for(long i = first; i <= index + contextLines; i++) {
+            if(linePosition >= referenceFile.size() ||
+                    (i + 1) * TraceRecord.SIZE > traceFile.size())
+                break;
+
+            long next = readLine(referenceFile, linePosition);
+            String marker = i == index ? "> " : "  ";
+
+            report.append(marker).append(Long.toString(i)).append(" R ")
+                    .append(new String(line, 0, lineLength, StandardCharsets.US_ASCII))
+                    .append('\n');
+
+            text.setLength(0);
+            readRecord(traceFile, i).appendText(text, format);
+            report.append(marker).append(Long.toString(i)).append(" T ").append(text)
+                    .append('\n');
+
+            linePosition = next;
+        }
+
+        report.flush();
+    }
+
+    /**
+     * Loads a record of the trace into the actual record
+     *
+     * @param traceFile binary trace
+     * @param index of the record
+     * @return the actual record
+     * @throws IOException failed to read the trace
+     */
+    private TraceRecord readRecord(MappedFile traceFile, long index) throws IOException {
+        long position = index * TraceRecord.SIZE;
+
+        return actual.load(traceFile.window(position, TraceRecord.SIZE),
+                traceFile.offset(position));
+    }
+
+    /**
+     * Reads a reference line into the line buffer (without the line
+     * terminator)
+     *
+     * @param referenceFile reference log
+     * @param position of the first byte of the line
+     * @return position of the next line
+     * @throws IOException failed to read the log
+     */
+    private long readLine(MappedFile referenceFile, long position) throws IOException {
+        long size = referenceFile.size();
+        lineLength = 0;
+
+        while(position < size) {
+            int value = referenceFile.get(position++);
+            if(value == '\n') break;
+
+            if(value != '\r' && lineLength < line.length)
+                line[lineLength++] = (byte) value;
+        }
+
+        return position;
+    }
+
+    /**
+     * Finds the start of the line before the one at the given position
+     *
+     * @param referenceFile reference log
+     * @param position of the first byte of a line
+     * @return position of the first byte of the previous line
+     * @throws IOException failed to read the log
+     */
+    private long findPreviousLine(MappedFile referenceFile, long position) throws IOException {
+        position--;
+
+        while(position > 0 && referenceFile.get(position - 1) != '\n')
+            position--;
+
+        return Math.max(0, position);
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.debug;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts a binary trace written by {@link TraceWriter} to text, one line
+ * per record, so it can be compared with logs of other emulators
+ *
+ * <p>Usage: TraceConverter &lt;trace&gt; &lt;output&gt; [doctor|log]</p>
+ *
+ * @author rodrigotimoteo
+ */
+
+public final class TraceConverter {
+
+    /**
+     * Stores the number of records read from the file at once
+     */
+    private static final int RECORDS_PER_READ = 4096;
+
+    private TraceConverter() {}
+
+    /**
+     * Converts the trace given on the command line
+     *
+     * @param args trace path, output path and optionally the text format
+     * @throws IOException failed to read the trace or write the output
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2) {
+            System.err.println("Usage: TraceConverter <trace> <output> [doctor|log]");
+            System.exit(1);
+        }
+
+        TraceRecord.TextFormat format = args.length > 2 ?
+                TraceRecord.TextFormat.valueOf(args[2].toUpperCase()) :
+                TraceRecord.TextFormat.DOCTOR;
+
+        try(Writer writer = Files.newBufferedWriter(Path.of(args[1]))) {
+            convert(Path.of(args[0]), writer, format);
+        }
+    }
+
+    /**
+     * Converts a binary trace to text, a partial record at the end of the
+     * file (from a trace that wasn't closed) is ignored
+     *
+     * @param trace path of the binary trace
+     * @param writer to write the lines to
+     * @param format of the lines
+     * @return number of records converted
+     * @throws IOException failed to read the trace or write the output
+     */
+    public static long convert(Path trace, Writer writer, TraceRecord.TextFormat format)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORDS_PER_READ * TraceRecord.SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        TraceRecord record = new TraceRecord();
+        StringBuilder line = new StringBuilder(96);
+        Writer output = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        long records = 0;
+
+        try(FileChannel channel = FileChannel.open(trace, StandardOpenOption.READ)) {
+            while(channel.read(buffer) >= 0) {
+                buffer.flip();
+
+                int complete = buffer.remaining() / TraceRecord.SIZE;
+                for(int i = 0; i < complete; i++) {
+                    line.setLength(0);
+                    record.load(buffer, i * TraceRecord.SIZE).appendText(line, format);
+                    output.append(line).append('\n');
+                }
+
+                records += complete;
+                buffer.position(complete * TraceRecord.SIZE);
+                buffer.compact();
+            }
+        }
+
+        output.flush();
+
+        return records;
+    }
+}
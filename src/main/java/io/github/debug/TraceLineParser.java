@@ -0,0 +1,204 @@
+package io.github.debug;
+
+import io.github.cpu.Registers;
+
+/**
+ * Parses lines of text traces written by other emulators into a
+ * {@link TraceRecord}. Both {@link TraceRecord.TextFormat} layouts are read,
+ * fields are found by name so their order and spacing don't matter and
+ * fields that aren't known (LY, IME, ...) are skipped
+ *
+ * @author rodrigotimoteo
+ */
+
+final class TraceLineParser {
+
+    /**
+     * Stores the position of the next byte to read in the line
+     */
+    private int position;
+
+    /**
+     * Stores the format of the last parsed line
+     */
+    private TraceRecord.TextFormat format = TraceRecord.TextFormat.DOCTOR;
+
+    /**
+     * Stores the memory values read from the line
+     */
+    private final int[] memory = new int[4];
+
+    /**
+     * Parses a line, the record is cleared before
+     *
+     * @param line bytes of the line (without the line terminator)
+     * @param length number of bytes of the line
+     * @param record to store the fields read
+     * @return true if the line holds at least the program counter
+     */
+    boolean parse(byte[] line, int length, TraceRecord record) {
+        record.clear();
+        position = 0;
+        format = TraceRecord.TextFormat.DOCTOR;
+
+        while(position < length) {
+            int character = line[position];
+
+            if(character == '(') {
+                position++;
+                format = TraceRecord.TextFormat.LOG;
+                parseMemory(line, length, record, ' ');
+                continue;
+            }
+            if(!isLetter(character)) {
+                position++;
+                continue;
+            }
+
+            int nameStart = position;
+            while(position < length && isLetter(line[position])) position++;
+            int nameLength = position - nameStart;
+
+            if(position >= length || line[position] != ':') continue;
+            position++;
+            skipSpaces(line, length);
+
+            if(matches(line, nameStart, nameLength, "PCMEM")) {
+                parseMemory(line, length, record, ',');
+            } else if(matches(line, nameStart, nameLength, "PC")) {
+                int value = parseHex(line, length);
+
+                if(value >= 0 && position < length && line[position] == ':') {
+                    position++;
+                    value = parseHex(line, length);
+                }
+                if(value >= 0) record.setProgramCounter(value);
+            } else if(matches(line, nameStart, nameLength, "SP")) {
+                int value = parseHex(line, length);
+                if(value >= 0) record.setStackPointer(value);
+            } else if(nameLength == 1 && registerOf(line[nameStart]) >= 0) {
+                int value = parseHex(line, length);
+                if(value >= 0) record.setRegister(registerOf(line[nameStart]), value);
+            } else {
+                while(position < length && line[position] != ' ') position++;
+            }
+        }
+
+        return record.hasField(TraceRecord.FIELD_PC);
+    }
+
+    /**
+     * Gets the format of the last parsed line
+     *
+     * @return LOG if the memory was written between parentheses, DOCTOR
+     * otherwise
+     */
+    TraceRecord.TextFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Parses the 4 bytes of memory at the program counter, the record only
+     * gets them if all 4 are present
+     *
+     * @param line bytes of the line
+     * @param length number of bytes of the line
+     * @param record to store the memory
+     * @param separator between the values
+     */
+    private void parseMemory(byte[] line, int length, TraceRecord record, int separator) {
+        int count = 0;
+
+        while(count < memory.length) {
+            int value = parseHex(line, length);
+            if(value < 0) break;
+
+            memory[count++] = value;
+
+            if(position >= length || line[position] != separator) break;
+            position++;
+        }
+
+        if(count == memory.length) record.setMemory(memory);
+    }
+
+    /**
+     * Parses a hexadecimal value
+     *
+     * @param line bytes of the line
+     * @param length number of bytes of the line
+     * @return value read or -1 if there were no hexadecimal digits
+     */
+    private int parseHex(byte[] line, int length) {
+        int value = 0;
+        int start = position;
+
+        while(position < length && position - start < 8) {
+            int digit = Character.digit(line[position], 16);
+            if(digit < 0) break;
+
+            value = (value << 4) | digit;
+            position++;
+        }
+
+        return position == start ? -1 : value;
+    }
+
+    /**
+     * Skips the spaces at the current position
+     *
+     * @param line bytes of the line
+     * @param length number of bytes of the line
+     */
+    private void skipSpaces(byte[] line, int length) {
+        while(position < length && line[position] == ' ') position++;
+    }
+
+    /**
+     * Checks if part of the line is the given name
+     *
+     * @param line bytes of the line
+     * @param start of the part
+     * @param length of the part
+     * @param name to compare with (upper case)
+     * @return true if equal ignoring case
+     */
+    private static boolean matches(byte[] line, int start, int length, String name) {
+        if(length != name.length()) return false;
+
+        for(int i = 0; i < length; i++)
+            if(Character.toUpperCase(line[start + i]) != name.charAt(i)) return false;
+
+        return true;
+    }
+
+    /**
+     * Gets the index of a register based on its name
+     *
+     * @param name single letter name of the register
+     * @return index of the register (constants in Registers) or -1
+     */
+    private static int registerOf(int name) {
+        return switch(Character.toUpperCase(name)) {
+            case 'A' -> Registers.A;
+            case 'F' -> Registers.F;
+            case 'B' -> Registers.B;
+            case 'C' -> Registers.C;
+            case 'D' -> Registers.D;
+            case 'E' -> Registers.E;
+            case 'H' -> Registers.H;
+            case 'L' -> Registers.L;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Checks if a byte is an ascii letter
+     *
+     * @param character to check
+     * @return true if it's a letter
+     */
+    private static boolean isLetter(int character) {
+        return (character >= 'A' && character <= 'Z') || (character >= 'a' && character <= 'z');
+    }
+}
@@ -0,0 +1,395 @@
+package io.github.debug;
+
+import io.github.cpu.Registers;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Represents the cpu state before an instruction as stored in a binary trace.
+ * Each record takes {@link #SIZE} bytes in little endian order:
+ *
+ * <pre>
+ * 0   long    machine cycles since the cpu started (doesn't wrap)
+ * 8   short   program counter
+ * 10  short   rom bank
+ * 12  short   stack pointer
+ * 14  byte[8] registers in the order of the indexes of {@link Registers}
+ *             (A, F, B, C, D, E, H, L)
+ * 22  byte[4] memory at the program counter (opcode and the next 3 bytes)
+ * 26  byte    status bits (bit 0 interrupt master enable)
+ * 27  byte[5] unused
+ * </pre>
+ *
+ * A single instance is meant to be reused for every record read, so going
+ * through a trace doesn't allocate
+ *
+ * @author rodrigotimoteo
+ */
+
+public final class TraceRecord {
+
+    /**
+     * Stores the size in bytes of a record
+     */
+    public static final int SIZE = 32;
+
+    /**
+     * Stores the offset of each field inside a record
+     */
+    static final int CYCLES_OFFSET      = 0;
+    static final int PC_OFFSET          = 8;
+    static final int BANK_OFFSET        = 10;
+    static final int SP_OFFSET          = 12;
+    static final int REGISTERS_OFFSET   = 14;
+    static final int MEMORY_OFFSET      = 22;
+    static final int STATUS_OFFSET      = 26;
+
+    /**
+     * Stores the status bit set when the interrupt master enable is on
+     */
+    static final int IME_BIT = 0x01;
+
+    /**
+     * Stores the index of each field when comparing records, the registers
+     * use the indexes of {@link Registers}
+     */
+    static final int FIELD_SP       = 8;
+    static final int FIELD_PC       = 9;
+    static final int FIELD_BANK     = 10;
+    static final int FIELD_MEMORY   = 11;
+    static final int FIELD_IME      = 12;
+    static final int FIELD_CYCLES   = 13;
+    static final int FIELD_COUNT    = 14;
+
+    /**
+     * Represents the text formats a record can be converted to
+     */
+    public enum TextFormat {
+        /**
+         * Format read by gameboy-doctor, for example
+         * "A:01 F:B0 B:00 C:13 D:00 E:D8 H:01 L:4D SP:FFFE PC:0100 PCMEM:00,C3,13,02"
+         */
+        DOCTOR,
+
+        /**
+         * Format of {@link Registers#toString()}, also used by the common
+         * Game Boy log collections (the bank is always written as 00), for
+         * example
+         * "A: 01 F: B0 B: 00 C: 13 D: 00 E: D8 H: 01 L: 4D SP: FFFE PC: 00:0100 (00 C3 13 02)"
+         */
+        LOG
+    }
+
+    /**
+     * Stores the names of the registers in the order of their indexes
+     */
+    private static final String[] REGISTER_NAMES = {"A", "F", "B", "C", "D", "E", "H", "L"};
+
+    /**
+     * Stores the names of the fields in the order of their indexes
+     */
+    private static final String[] FIELD_NAMES = {"A", "F", "B", "C", "D", "E", "H", "L",
+            "SP", "PC", "BANK", "PCMEM", "IME", "CYCLES"};
+
+    /**
+     * Stores the fields of the record
+     */
+    private long machineCycles;
+    private int programCounter;
+    private int bank;
+    private int stackPointer;
+    private final int[] registers = new int[8];
+    private final int[] memory = new int[4];
+    private int status;
+
+    /**
+     * Stores a mask of the fields that hold a value (a line of text doesn't
+     * have every field of a binary record)
+     */
+    private int fields;
+
+    /**
+     * Reads the record stored at the given position of a buffer
+     *
+     * @param buffer holding records (its byte order is ignored)
+     * @param offset of the first byte of the record
+     * @return this record
+     */
+    public TraceRecord load(ByteBuffer buffer, int offset) {
+        ByteBuffer little = buffer.order() == ByteOrder.LITTLE_ENDIAN ? buffer :
+                buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+        machineCycles   = little.getLong(offset + CYCLES_OFFSET);
+        programCounter  = little.getShort(offset + PC_OFFSET) & 0xFFFF;
+        bank            = little.getShort(offset + BANK_OFFSET) & 0xFFFF;
+        stackPointer    = little.getShort(offset + SP_OFFSET) & 0xFFFF;
+        status          = little.get(offset + STATUS_OFFSET) & 0xFF;
+        fields          = (1 << FIELD_COUNT) - 1;
+
+        for(int i = 0; i < registers.length; i++)
+            registers[i] = little.get(offset + REGISTERS_OFFSET + i) & 0xFF;
+        for(int i = 0; i < memory.length; i++)
+            memory[i] = little.get(offset + MEMORY_OFFSET + i) & 0xFF;
+
+        return this;
+    }
+
+    /**
+     * Gets the machine cycles executed before the instruction
+     *
+     * @return machine cycle count
+     */
+    public long getMachineCycles() {
+        return machineCycles;
+    }
+
+    /**
+     * Gets the program counter
+     *
+     * @return program counter value
+     */
+    public int getProgramCounter() {
+        return programCounter;
+    }
+
+    /**
+     * Gets the rom bank mapped to the switchable rom area
+     *
+     * @return rom bank index
+     */
+    public int getBank() {
+        return bank;
+    }
+
+    /**
+     * Gets the stack pointer
+     *
+     * @return stack pointer value
+     */
+    public int getStackPointer() {
+        return stackPointer;
+    }
+
+    /**
+     * Gets a register based on its index
+     *
+     * @param register index of the register (constants in Registers)
+     * @return value of the register
+     */
+    public int getRegister(int register) {
+        return registers[register];
+    }
+
+    /**
+     * Gets a byte of memory at the program counter
+     *
+     * @param index 0 for the opcode up to 3
+     * @return memory value
+     */
+    public int getMemory(int index) {
+        return memory[index];
+    }
+
+    /**
+     * Checks if the interrupt master enable was on
+     *
+     * @return true if interrupts were enabled
+     */
+    public boolean isInterruptMasterEnable() {
+        return (status & IME_BIT) != 0;
+    }
+
+    /**
+     * Forgets the value of every field
+     */
+    void clear() {
+        fields = 0;
+    }
+
+    /**
+     * Changes a register based on its index
+     *
+     * @param register index of the register (constants in Registers)
+     * @param value to assign
+     */
+    void setRegister(int register, int value) {
+        registers[register] = value & 0xFF;
+        fields |= 1 << register;
+    }
+
+    /**
+     * Changes the stack pointer
+     *
+     * @param stackPointer value to assign
+     */
+    void setStackPointer(int stackPointer) {
+        this.stackPointer = stackPointer & 0xFFFF;
+        fields |= 1 << FIELD_SP;
+    }
+
+    /**
+     * Changes the program counter
+     *
+     * @param programCounter value to assign
+     */
+    void setProgramCounter(int programCounter) {
+        this.programCounter = programCounter & 0xFFFF;
+        fields |= 1 << FIELD_PC;
+    }
+
+    /**
+     * Changes the memory at the program counter
+     *
+     * @param values the opcode and the next 3 bytes
+     */
+    void setMemory(int[] values) {
+        for(int i = 0; i < memory.length; i++)
+            memory[i] = values[i] & 0xFF;
+        fields |= 1 << FIELD_MEMORY;
+    }
+
+    /**
+     * Checks if a field holds a value
+     *
+     * @param field index of the field
+     * @return true if the field was loaded or set
+     */
+    boolean hasField(int field) {
+        return (fields & (1 << field)) != 0;
+    }
+
+    /**
+     * Compares the fields that hold a value in both records
+     *
+     * @param other record to compare with
+     * @return mask of the fields (bit per field index) with different values
+     */
+    int compare(TraceRecord other) {
+        int common = fields & other.fields;
+        int different = 0;
+
+        for(int field = 0; field < FIELD_COUNT; field++) {
+            if((common & (1 << field)) == 0) continue;
+
+            boolean equal = field == FIELD_MEMORY ? Arrays.equals(memory, other.memory) :
+                    getField(field) == other.getField(field);
+            if(!equal) different |= 1 << field;
+        }
+
+        return different;
+    }
+
+    /**
+     * Gets the value of a field other than the memory
+     *
+     * @param field index of the field
+     * @return value of the field
+     */
+    private long getField(int field) {
+        return switch(field) {
+            case FIELD_SP       -> stackPointer;
+            case FIELD_PC       -> programCounter;
+            case FIELD_BANK     -> bank;
+            case FIELD_IME      -> status & IME_BIT;
+            case FIELD_CYCLES   -> machineCycles;
+            default             -> registers[field];
+        };
+    }
+
+    /**
+     * Gets the name of a field
+     *
+     * @param field index of the field
+     * @return name as written in text traces
+     */
+    static String getFieldName(int field) {
+        return FIELD_NAMES[field];
+    }
+
+    /**
+     * Formats the value of a field as it's written in text traces
+     *
+     * @param field index of the field
+     * @return value of the field
+     */
+    String formatField(int field) {
+        StringBuilder stringBuilder = new StringBuilder(12);
+
+        switch(field) {
+            case FIELD_SP, FIELD_PC, FIELD_BANK -> appendHex(stringBuilder, (int) getField(field), 4);
+            case FIELD_MEMORY -> {
+                for(int i = 0; i < memory.length; i++) {
+                    if(i > 0) stringBuilder.append(',');
+                    appendHex(stringBuilder, memory[i], 2);
+                }
+            }
+            case FIELD_IME, FIELD_CYCLES -> stringBuilder.append(getField(field));
+            default -> appendHex(stringBuilder, registers[field], 2);
+        }
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Converts the record to a line of text
+     *
+     * @param format of the line
+     * @return line without the line terminator
+     */
+    public String toText(TextFormat format) {
+        StringBuilder stringBuilder = new StringBuilder(96);
+        appendText(stringBuilder, format);
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Appends the record as a line of text
+     *
+     * @param stringBuilder to append to
+     * @param format of the line
+     */
+    public void appendText(StringBuilder stringBuilder, TextFormat format) {
+        boolean doctor = format == TextFormat.DOCTOR;
+
+        for(int register = Registers.A; register <= Registers.L; register++) {
+            stringBuilder.append(REGISTER_NAMES[register]).append(doctor ? ":" : ": ");
+            appendHex(stringBuilder, registers[register], 2).append(' ');
+        }
+
+        stringBuilder.append(doctor ? "SP:" : "SP: ");
+        appendHex(stringBuilder, stackPointer, 4);
+
+        if(doctor) {
+            stringBuilder.append(" PC:");
+            appendHex(stringBuilder, programCounter, 4).append(" PCMEM:");
+        } else {
+            stringBuilder.append(" PC: 00:");
+            appendHex(stringBuilder, programCounter, 4).append(" (");
+        }
+
+        for(int i = 0; i < memory.length; i++) {
+            if(i > 0) stringBuilder.append(doctor ? ',' : ' ');
+            appendHex(stringBuilder, memory[i], 2);
+        }
+
+        if(!doctor) stringBuilder.append(')');
+    }
+
+    /**
+     * Appends a value in upper case hexadecimal
+     *
+     * @param stringBuilder to append to
+     * @param value to append
+     * @param digits number of digits (zero padded)
+     * @return the string builder
+     */
+    private static StringBuilder appendHex(StringBuilder stringBuilder, int value, int digits) {
+        for(int shift = (digits - 1) * 4; shift >= 0; shift -= 4)
+            stringBuilder.append(Character.toUpperCase(Character.forDigit((value >> shift) & 0xF, 16)));
+
+        return stringBuilder;
+    }
+}
@@ -0,0 +1,245 @@
+package io.github.debug;
+
+import io.github.cpu.CPU;
+import io.github.cpu.Registers;
+import io.github.memory.Bus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes a binary trace of the cpu state before every instruction. Records
+ * ({@link TraceRecord}) are stored by the emulator thread in a preallocated
+ * ring buffer and a background thread drains the buffer to a file channel,
+ * so tracing costs a few memory writes per instruction. When the buffer is
+ * full the emulator waits for the drain instead of dropping records
+ *
+ * @author rodrigotimoteo
+ */
+
+public class TraceWriter implements AutoCloseable {
+
+    /**
+     * Stores the default number of records held by the ring buffer
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * Stores how long the drain thread sleeps when the buffer is empty
+     */
+    private static final long IDLE_NANOS = 1_000_000;
+
+    /**
+     * Stores a reference to the bus used to read the rom bank and memory
+     */
+    private final Bus bus;
+
+    /**
+     * Stores a reference to the traced cpu
+     */
+    private final CPU cpu;
+
+    /**
+     * Stores the channel records are written to
+     */
+    private final FileChannel channel;
+
+    /**
+     * Stores the ring buffer records are written to by the emulator thread
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Stores the view of the ring buffer used by the drain thread
+     */
+    private final ByteBuffer drainBuffer;
+
+    /**
+     * Stores the number of records the ring buffer holds
+     */
+    private final int capacity;
+
+    /**
+     * Stores the number of records written to the buffer and drained from it
+     * since the start (positions in the buffer are taken modulo the capacity)
+     */
+    private volatile long written = 0;
+    private volatile long drained = 0;
+
+    /**
+     * Stores the machine cycles since the cpu started, the cpu's counter is
+     * 32 bits and wraps so it's extended by adding the cycles between records
+     */
+    private long machineCycles;
+    private int lastMachineCycles;
+
+    /**
+     * Stores whether the writer was closed
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * Stores the error that stopped the drain thread (null if none)
+     */
+    private volatile IOException error;
+
+    /**
+     * Stores the thread draining the buffer to the channel
+     */
+    private final Thread drainThread;
+
+    /**
+     * Creates a new trace writer with the default capacity, the file is
+     * created or truncated
+     *
+     * @param bus reference to the traced instances bus
+     * @param cpu reference to the traced cpu
+     * @param path of the trace file
+     * @throws IOException failed to open the file
+     */
+    public TraceWriter(Bus bus, CPU cpu, Path path) throws IOException {
+        this(bus, cpu, path, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new trace writer, the file is created or truncated
+     *
+     * @param bus reference to the traced instances bus
+     * @param cpu reference to the traced cpu
+     * @param path of the trace file
+     * @param capacity number of records held by the ring buffer
+     * @throws IOException failed to open the file
+     */
+    public TraceWriter(Bus bus, CPU cpu, Path path, int capacity) throws IOException {
+        if(capacity < 1)
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+
+        this.bus        = bus;
+        this.cpu        = cpu;
+        this.capacity   = capacity;
+
+        lastMachineCycles = cpu.getMachineCycles();
+        machineCycles     = Integer.toUnsignedLong(lastMachineCycles);
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        buffer = ByteBuffer.allocateDirect(capacity * TraceRecord.SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        drainBuffer = buffer.duplicate();
+
+        drainThread = new Thread(this::drain, "JBEmu trace writer");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    /**
+     * Called by the cpu before every instruction, stores the current state
+     * in the ring buffer
+     */
+    public void record() {
+        long position = written;
+
+        while(position - drained >= capacity) {
+            if(closed)
+                throw new IllegalStateException("Trace writer is closed");
+            if(error != null)
+                throw new UncheckedIOException("Trace writer failed", error);
+
+            LockSupport.unpark(drainThread);
+            Thread.onSpinWait();
+        }
+
+        int offset = (int) (position % capacity) * TraceRecord.SIZE;
+        int programCounter = cpu.getProgramCounter();
+        int cpuMachineCycles = cpu.getMachineCycles();
+
+        machineCycles += cpuMachineCycles - lastMachineCycles;
+        lastMachineCycles = cpuMachineCycles;
+
+        buffer.putLong(offset + TraceRecord.CYCLES_OFFSET, machineCycles);
+        buffer.putShort(offset + TraceRecord.PC_OFFSET, (short) programCounter);
+        buffer.putShort(offset + TraceRecord.BANK_OFFSET, (short) bus.getRomBank());
+        buffer.putShort(offset + TraceRecord.SP_OFFSET, (short) cpu.getStackPointer());
+
+        for(int register = Registers.A; register <= Registers.L; register++)
+            buffer.put(offset + TraceRecord.REGISTERS_OFFSET + register,
+                    (byte) cpu.getRegister(register));
+        for(int i = 0; i < 4; i++)
+            buffer.put(offset + TraceRecord.MEMORY_OFFSET + i,
+                    (byte) bus.peek((programCounter + i) & 0xFFFF));
+
+        buffer.put(offset + TraceRecord.STATUS_OFFSET, (byte)
+                (cpu.getInterrupts().isInterruptMasterEnable() ? TraceRecord.IME_BIT : 0));
+
+        written = position + 1;
+    }
+
+    /**
+     * Gets the number of records stored so far
+     *
+     * @return record count
+     */
+    public long getRecordCount() {
+        return written;
+    }
+
+    /**
+     * Main loop of the drain thread, writes the stored records to the channel
+     * until the writer is closed and the buffer is empty
+     */
+    private void drain() {
+        try {
+            while(true) {
+                long available = written - drained;
+
+                if(available == 0) {
+                    if(closed) return;
+
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+
+                int start = (int) (drained % capacity);
+                int count = (int) Math.min(available, capacity - start);
+
+                drainBuffer.limit((start + count) * TraceRecord.SIZE);
+                drainBuffer.position(start * TraceRecord.SIZE);
+                while(drainBuffer.hasRemaining())
+                    channel.write(drainBuffer);
+
+                drained += count;
+            }
+        } catch (IOException exception) {
+            error = exception;
+        }
+    }
+
+    /**
+     * Writes every stored record and closes the file
+     *
+     * @throws IOException failed to write or close the file
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) return;
+        closed = true;
+
+        LockSupport.unpark(drainThread);
+        try {
+            drainThread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        channel.close();
+
+        if(error != null) throw error;
+    }
+}
@@ -20,6 +20,11 @@ public class Controller implements KeyListener {
      */
     private final Word joypad;
 
+    /**
+     * Stores the number of keys pressed so far, used to wait for the next one
+     */
+    private int keyPresses = 0;
+
     /**
      *
      *
@@ -52,6 +57,24 @@ public class Controller implements KeyListener {
     @Override
     public void keyPressed(KeyEvent e) {
         System.out.println(e.getKeyCode());
+
+        synchronized(this) {
+            keyPresses++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Blocks the calling thread until the next key is pressed, used while the
+     * GB is stopped (only a key press wakes it up)
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized void awaitKeyPress() throws InterruptedException {
+        int presses = keyPresses;
+
+        while(keyPresses == presses)
+            wait();
     }
 
     /**
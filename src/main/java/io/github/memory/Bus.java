@@ -18,41 +18,30 @@ import java.awt.image.BufferedImage;
 public class Bus {
 
     /**
-     * Stores CPU Getter codes
-     */
-    public static final int GET_FLAGS       = 0;
-    public static final int GET_REGISTER    = 1;
-    public static final int GET_AF          = 2;
-    public static final int GET_BC          = 3;
-    public static final int GET_DE          = 4;
-    public static final int GET_HL          = 5;
-    public static final int GET_PC          = 6;
-    public static final int GET_SP          = 7;
-    public static final int GET_HALTED      = 8;
-    public static final int GET_STOPPED     = 9;
-    public static final int GET_MC          = 10;
-    public static final int GET_HALT_MC     = 11;
-
-    /**
-     * Stores CPU Execution codes
-     */
-    public static final int TICK_TIMERS     = 0;
-    public static final int SET_REGISTER    = 1;
-    public static final int INCR_PC         = 2;
-    public static final int SET_PC          = 3;
-    public static final int INCR_SP         = 4;
-    public static final int SET_SP          = 5;
-    public static final int SET_AF          = 6;
-    public static final int SET_BC          = 7;
-    public static final int SET_DE          = 8;
-    public static final int SET_HL          = 9;
-    public static final int DISABLE_INT     = 10;
-    public static final int ENABLE_INT      = 11;
-    public static final int REQUEST_INT     = 12;
-    public static final int HALT            = 13;
-    public static final int UNHALT          = 14;
-    public static final int STOP            = 15;
+     * Stores the start and mask of the I/O registers area (0xFF00 to 0xFF7F),
+     * accessing it brings the cpu timers up to date
+     */
+    private static final int IO_START   = 0xFF00;
+    private static final int IO_MASK    = 0xFF80;
+
+    /**
+     * Stores the addresses of the interrupt registers, writing them updates
+     * the interrupts the cpu has pending
+     */
+    private static final int IF_ADDRESS = ReservedAddresses.IF.getAddress();
+    private static final int IE_ADDRESS = ReservedAddresses.IE.getAddress();
+
+    /**
+     * Stores the addresses of the divider and timer counter, writing DIV
+     * resets the cpu divider and reading either counts as a timer read
+     */
+    private static final int DIV_ADDRESS  = ReservedAddresses.DIV.getAddress();
+    private static final int TIMA_ADDRESS = ReservedAddresses.TIMA.getAddress();
 
+    /**
+     * Stores the end of the rom area, writes below it can switch the rom bank
+     */
+    private static final int ROM_END    = ReservedAddresses.SWITCH_ROM_END.getAddress();
 
     /**
      * Stores a reference to the CPU
@@ -84,6 +73,37 @@ public class Bus {
      */
     private final boolean cgb;
 
+    /**
+     * Stores the component notified of memory writes (null if none)
+     */
+    private MemoryWriteListener writeListener;
+
+    /**
+     * Stores the component watching memory accesses (null when there are no
+     * watchpoints)
+     */
+    private MemoryWatcher watcher;
+
+    /**
+     * Stores the number of writes made through the bus
+     */
+    private int writeCount = 0;
+
+    /**
+     * Stores the number of DIV and TIMA reads made through the bus
+     */
+    private int timerReadCount = 0;
+
+    /**
+     * Stores the array backing the bank code is currently fetched from, the
+     * value added to an address to find its index in it and the range of
+     * addresses mapped to the bank (empty until a fetch resolves it)
+     */
+    private byte[] fetchMemory;
+    private int fetchOffset     = 0;
+    private int fetchPageStart  = 0;
+    private int fetchPageEnd    = 0;
+
     /**
      * Responsible for initializing the Bus creating the Memory Space in this
      * instance
@@ -154,7 +174,63 @@ public class Bus {
      * @param value to assign to the word
      */
     public void setValue(int address, int value) {
+        if((address & IO_MASK) == IO_START && cpu != null)
+            cpu.synchronizeTimers();
+
         memory.setValue(address, value);
+        writeCount++;
+
+        if(address < ROM_END)
+            fetchPageEnd = fetchPageStart;
+
+        if((address == IF_ADDRESS || address == IE_ADDRESS) && cpu != null)
+            cpu.updatePendingInterrupts();
+        else if(address == DIV_ADDRESS && cpu != null)
+            cpu.resetDivider();
+
+        if(writeListener != null)
+            writeListener.memoryWritten(address);
+
+        if(watcher != null)
+            watcher.memoryWritten(address, value);
+    }
+
+    /**
+     * Gets the number of writes made through the bus, used to check whether a
+     * piece of code changed memory
+     *
+     * @return write count (wraps around on overflow)
+     */
+    public int getWriteCount() {
+        return writeCount;
+    }
+
+    /**
+     * Gets the number of reads of DIV and TIMA made through the bus, used to
+     * check whether a piece of code watches the timers count
+     *
+     * @return timer read count (wraps around on overflow)
+     */
+    public int getTimerReadCount() {
+        return timerReadCount;
+    }
+
+    /**
+     * Setter to assign the component notified of memory writes
+     *
+     * @param writeListener to notify, null to stop notifying
+     */
+    public void setWriteListener(MemoryWriteListener writeListener) {
+        this.writeListener = writeListener;
+    }
+
+    /**
+     * Setter to assign the component watching memory accesses
+     *
+     * @param watcher to notify, null to stop watching
+     */
+    public void setMemoryWatcher(MemoryWatcher watcher) {
+        this.watcher = watcher;
     }
 
     /**
@@ -164,9 +240,74 @@ public class Bus {
      * @return value stored in specific address
      */
     public int getValue(int address) {
+        if((address & IO_MASK) == IO_START && cpu != null) {
+            cpu.synchronizeTimers();
+
+            if(address == DIV_ADDRESS || address == TIMA_ADDRESS)
+                timerReadCount++;
+        }
+
+        if(watcher != null)
+            watcher.memoryRead(address);
+
         return memory.getValue(address);
     }
 
+    /**
+     * Gets the value of specific word without any side effect, the memory
+     * watcher isn't notified and the timers aren't synchronized. Used by
+     * debugging tools so their reads aren't seen as accesses of the program
+     *
+     * @param address where to retrieve the value
+     * @return value stored in specific address
+     */
+    public int peek(int address) {
+        return memory.getValue(address);
+    }
+
+    /**
+     * Gets a value that is part of the code being executed (opcodes and
+     * immediate operands), reading it straight from the bank the program
+     * counter is in. The bank is resolved once and kept until a fetch falls
+     * outside of it or a rom write may have switched it
+     *
+     * @param address where the value is fetched
+     * @return value stored in specific address
+     */
+    public int getImmediate(int address) {
+        if(address < fetchPageStart || address >= fetchPageEnd) {
+            MemoryModule module = memory.getCodeModule(address);
+            if(module == null) return getValue(address);
+
+            fetchMemory     = module.getMemory(address);
+            fetchPageStart  = module.getBankStart(address);
+            fetchPageEnd    = fetchPageStart + module.getBankSize();
+            fetchOffset     = module.getIndex(fetchPageStart) - fetchPageStart;
+
+            if(address >= fetchPageEnd) return getValue(address);
+        }
+
+        return fetchMemory[address + fetchOffset] & 0xFF;
+    }
+
+    /**
+     * Gets the rom bank currently mapped to the switchable rom area
+     *
+     * @return index of the active rom bank
+     */
+    public int getRomBank() {
+        return memory.getRomBank();
+    }
+
+    /**
+     * Gets the rom bank currently mapped to the first rom area
+     *
+     * @return index of the fixed rom bank
+     */
+    public int getFixedRomBank() {
+        return memory.getFixedRomBank();
+    }
+
     /**
      * Gets the specific word based on its address
      *
@@ -182,13 +323,13 @@ public class Bus {
      * pointer by 2
      */
     public void storePCInSP() {
-        int stackPointer   = cpu.getRegisters().getStackPointer();
-        int programCounter = cpu.getRegisters().getProgramCounter();
+        int stackPointer   = cpu.getStackPointer();
+        int programCounter = cpu.getProgramCounter();
 
         setValue(stackPointer - 1, (programCounter & 0xFF00) >> 8);
         setValue(stackPointer - 2, (programCounter & 0xFF));
 
-        cpu.getRegisters().incrementStackPointer(-2);
+        cpu.incrementStackPointer(-2);
     }
 
     /**
@@ -200,74 +341,6 @@ public class Bus {
 
     //CPU Interaction Methods
 
-    /**
-     * Follows a structured table in order to retrieve information from the cpu
-     * based on codes
-     * MC stands for Machine Cycle
-     *
-     * @param code information identifier
-     * @param parameters additional information that might be required to execute
-     *                   some methods
-     * @return asked information
-     */
-    public Object getFromCPU(int code, String[] parameters) {
-        return switch (code) {
-            case GET_FLAGS      -> cpu.getRegisters().getFlags();
-            case GET_REGISTER   -> cpu.getRegisters().getRegister(parameters[0]);
-            case GET_AF         -> cpu.getRegisters().getAF();
-            case GET_BC         -> cpu.getRegisters().getBC();
-            case GET_DE         -> cpu.getRegisters().getDE();
-            case GET_HL         -> cpu.getRegisters().getHL();
-            case GET_PC         -> cpu.getRegisters().getProgramCounter();
-            case GET_SP         -> cpu.getRegisters().getStackPointer();
-            case GET_HALTED     -> cpu.isHalted();
-            case GET_STOPPED    -> cpu.isStopped();
-            case GET_MC         -> cpu.getTimers().getMachineCycles();
-            case GET_HALT_MC    -> cpu.getTimers().getHaltCycleCounter();
-            default ->
-                    throw new IllegalStateException("Unexpected value: " + code);
-        };
-    }
-
-    /**
-     * Follows a structured table in order to execute operations inside the cpu
-     * based on codes
-     *
-     * @param code information identifier
-     * @param parameters additional information that might be required to execute
-     *                   some methods
-     */
-    public void executeFromCPU(int code, String[] parameters) {
-        switch (code) {
-            case TICK_TIMERS    -> cpu.getTimers().tick();
-            case SET_REGISTER   -> cpu.getRegisters()
-                    .setRegister(parameters[0], Integer.parseInt(parameters[1]));
-            case INCR_PC        -> cpu.getRegisters()
-                    .incrementProgramCounter(Integer.parseInt(parameters[0]));
-            case SET_PC         -> cpu.getRegisters()
-                    .setProgramCounter(Integer.parseInt(parameters[0]));
-            case INCR_SP        -> cpu.getRegisters()
-                    .incrementStackPointer(Integer.parseInt(parameters[0]));
-            case SET_SP         -> cpu.getRegisters()
-                    .setStackPointer(Integer.parseInt(parameters[0]));
-            case SET_AF         -> cpu.getRegisters()
-                    .setAF(Integer.parseInt(parameters[0]));
-            case SET_BC         -> cpu.getRegisters()
-                    .setBC(Integer.parseInt(parameters[0]));
-            case SET_DE         -> cpu.getRegisters()
-                    .setDE(Integer.parseInt(parameters[0]));
-            case SET_HL         -> cpu.getRegisters()
-                    .setHL(Integer.parseInt(parameters[0]));
-            case DISABLE_INT    -> cpu.interruptChange(false);
-            case ENABLE_INT     -> cpu.interruptChange(true);
-            case REQUEST_INT    -> cpu.getInterrupts()
-                    .requestInterrupt(Integer.parseInt(parameters[0]));
-            case HALT           -> cpu.setHalted(true);
-            case UNHALT         -> cpu.setHalted(false);
-            case STOP           -> cpu.setStopped(true);
-        }
-    }
-
     /**
      * Using the program counter uses the next two word to build a new address
      * usually called NN
@@ -275,27 +348,58 @@ public class Bus {
      * @return address calculated
      */
     public int calculateNN() {
-        int programCounter = (Integer) getFromCPU(Bus.GET_PC, null);
+        int programCounter = cpu.getProgramCounter();
 
-        executeFromCPU(Bus.TICK_TIMERS, null);
-        int lowerAddress = getValue(programCounter + 1);
-        executeFromCPU(Bus.TICK_TIMERS, null);
-        int upperAddress = getValue(programCounter + 2) << 8;
+        cpu.tickTimers();
+        int lowerAddress = getImmediate(programCounter + 1);
+        cpu.tickTimers();
+        int upperAddress = getImmediate(programCounter + 2) << 8;
 
         return upperAddress + lowerAddress;
     }
 
     //PPU Interaction Methods
 
+    /**
+     * Advances the ppu by the given machine cycles (nothing happens when there
+     * is no ppu)
+     *
+     * @param cycles number of machine cycles to advance
+     */
+    public void advancePpu(int cycles) {
+        if(ppu != null) ppu.advance(cycles);
+    }
+
+    /**
+     * Gets the number of machine cycles until the ppu next changes mode or
+     * line
+     *
+     * @return machine cycles until the next ppu event, Integer.MAX_VALUE if
+     * there is no ppu or the LCD is turned off
+     */
+    public int getPpuCyclesToNextEvent() {
+        return ppu == null ? Integer.MAX_VALUE : ppu.getCyclesToNextEvent();
+    }
+
+    /**
+     * Requests an interrupt to the cpu
+     *
+     * @param interrupt bit of the interrupt in IF
+     */
+    public void requestInterrupt(int interrupt) {
+        cpu.requestInterrupt(interrupt);
+    }
+
     //Display Interaction Methods
 
     /**
      * Buffered Image getter method
      *
-     * @return buffered image reference stored in the Display
+     * @return buffered image reference stored in the Display (null if there
+     * is no display)
      */
     public BufferedImage getImage() {
-        return display.getBufferedImage();
+        return display == null ? null : display.getBufferedImage();
     }
 }
 
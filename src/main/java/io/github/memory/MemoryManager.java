@@ -19,11 +19,42 @@ import io.github.memory.cartridge.RomModule;
  *   0xFF80 to 0xFFFF - Internal RAM
  *   0xFFFF           - Interrupt Enable Register</p>
  *
+ * <p>Reads and writes go through a page table of 256 pages of 256 bytes,
+ * each holding the array backing the page and the index of its first byte,
+ * so plain memory costs one array lookup. Pages whose accesses have side
+ * effects (MBC control, disabled external RAM, echo RAM, the prohibited area
+ * and I/O writes) have no array and are handled by the address checks. Bank
+ * switches repoint the switchable pages once, so reads never test the
+ * banking state</p>
+ *
  * @author rodrigotimoteo
  */
 
 public class MemoryManager implements MemoryManipulation {
 
+    /**
+     * Stores the number of bits of an address inside a page, the size of a
+     * page and the number of pages of the address space
+     */
+    private static final int PAGE_SHIFT = 8;
+    private static final int PAGE_SIZE  = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK  = PAGE_SIZE - 1;
+    private static final int PAGE_COUNT = 0x100;
+
+    /**
+     * Stores the switchable rom area, remapped after writes that change the
+     * rom bank
+     */
+    private static final int SWITCH_ROM_START = ReservedAddresses.ROM_BANK0_END.getAddress();
+    private static final int SWITCH_ROM_END   = ReservedAddresses.SWITCH_ROM_END.getAddress();
+
+    /**
+     * Stores the switchable ram area, remapped after writes that change the
+     * ram bank or enable and disable the ram
+     */
+    private static final int ERAM_START = ReservedAddresses.VRAM_END.getAddress();
+    private static final int ERAM_END   = ReservedAddresses.ERAM_END.getAddress();
+
     /**
      * Reference to instances bus
      */
@@ -34,6 +65,11 @@ public class MemoryManager implements MemoryManipulation {
      */
     private final MemoryModule rom;
 
+    /**
+     * Reference to the memory bank controller of the ROM
+     */
+    private final RomModule controller;
+
     /**
      * Reference to the VRAM memory module
      */
@@ -65,6 +101,27 @@ public class MemoryManager implements MemoryManipulation {
      */
     private final boolean cgb;
 
+    /**
+     * Stores for every page the array reads come from and the index of the
+     * page's first byte in it (null if reads must be handled)
+     */
+    private final byte[][] readPages = new byte[PAGE_COUNT][];
+    private final int[] readOffsets = new int[PAGE_COUNT];
+
+    /**
+     * Stores for every page the array writes go to and the index of the
+     * page's first byte in it (null if writes must be handled)
+     */
+    private final byte[][] writePages = new byte[PAGE_COUNT][];
+    private final int[] writeOffsets = new int[PAGE_COUNT];
+
+    /**
+     * Stores the rom and ram banks the banked pages currently point to
+     */
+    private int mappedFixedBank;
+    private int mappedRomBank;
+    private int mappedRamBank = RomModule.NO_RAM_BANK;
+
     /**
      * Creates a new Memory Manager to facilitate memory assignments based on
      * hardware requirements as well as handling special writes and reads
@@ -79,13 +136,14 @@ public class MemoryManager implements MemoryManipulation {
         cgb = bus.isCgb();
 
         this.rom = rom;
+        controller = (RomModule) rom;
 
         if(cgb)
             vram = new MemoryModule(0x2000, 1, 0x8000, 2);
         else
             vram = new MemoryModule(0x2000, 0x8000);
 
-        int numberOfRamBanks = ((RomModule) rom).getRamBanks();
+        int numberOfRamBanks = controller.getRamBanks();
         if(numberOfRamBanks == 0)
             eram = null;
         else
@@ -99,9 +157,91 @@ public class MemoryManager implements MemoryManipulation {
         oam = new MemoryModule(0xA0, ReservedAddresses.OAM_START.getAddress());
         bottomRegisters = new MemoryModule(0x100, ReservedAddresses.JOYP.getAddress());
 
+        initPages();
         init();
     }
 
+    /**
+     * Points the pages of plain memory to the arrays of their modules
+     */
+    private void initPages() {
+        mapPages(rom, 0x0000, SWITCH_ROM_END, false);
+        mapPages(vram, SWITCH_ROM_END, ReservedAddresses.VRAM_END.getAddress(), true);
+        mapPages(wram, ERAM_END, ReservedAddresses.WRAM_END.getAddress(), true);
+        mapPages(bottomRegisters, ReservedAddresses.JOYP.getAddress(), 0x10000, false);
+
+        mappedFixedBank = rom.getFixedBank();
+        mappedRomBank   = rom.getActiveBank();
+        updateBanks();
+    }
+
+    /**
+     * Repoints the banked pages after a write to the memory bank controller,
+     * pages are only touched when the bank they show changes
+     */
+    private void updateBanks() {
+        int fixedBank = rom.getFixedBank();
+        if(fixedBank != mappedFixedBank) {
+            mappedFixedBank = fixedBank;
+            mapPages(rom, 0x0000, SWITCH_ROM_START, false);
+        }
+
+        int romBank = rom.getActiveBank();
+        if(romBank != mappedRomBank) {
+            mappedRomBank = romBank;
+            mapPages(rom, SWITCH_ROM_START, SWITCH_ROM_END, false);
+        }
+
+        int ramBank = controller.getRamStatus() && eram != null ?
+                controller.getRamBank() : RomModule.NO_RAM_BANK;
+        if(ramBank == mappedRamBank) return;
+
+        mappedRamBank = ramBank;
+        if(ramBank == RomModule.NO_RAM_BANK)
+            unmapPages(ERAM_START, ERAM_END);
+        else {
+            eram.changeActiveBank(ramBank);
+            mapPages(eram, ERAM_START, ERAM_END, true);
+        }
+    }
+
+    /**
+     * Points a range of pages to the bytes a module currently maps to them
+     *
+     * @param module holding the range
+     * @param start address of the first page
+     * @param end address after the last page
+     * @param writable whether writes can go straight to the array
+     */
+    private void mapPages(MemoryModule module, int start, int end, boolean writable) {
+        for(int address = start; address < end; address += PAGE_SIZE) {
+            int page = address >> PAGE_SHIFT;
+            byte[] memory = module.getMemory(address);
+            int index = module.getIndex(address);
+
+            readPages[page]   = memory;
+            readOffsets[page] = index;
+
+            if(writable) {
+                writePages[page]   = memory;
+                writeOffsets[page] = index;
+            }
+        }
+    }
+
+    /**
+     * Routes a range of pages back to the address checks
+     *
+     * @param start address of the first page
+     * @param end address after the last page
+     */
+    private void unmapPages(int start, int end) {
+        for(int page = start >> PAGE_SHIFT; page < end >> PAGE_SHIFT; page++) {
+            readPages[page]  = null;
+            writePages[page] = null;
+        }
+    }
+
     /**
      * Changes value of specific word based on its address
      *
@@ -109,13 +249,31 @@ public class MemoryManager implements MemoryManipulation {
      * @param value to assign to the word
      */
     public void setValue(int address, int value) {
-        if      (address < ReservedAddresses.SWITCH_ROM_END.getAddress())
+        int page = address >>> PAGE_SHIFT;
+        byte[] memory = writePages[page];
+
+        if(memory != null)
+            memory[writeOffsets[page] + (address & PAGE_MASK)] = (byte) value;
+        else
+            handleWrite(address, value);
+    }
+
+    /**
+     * Changes the value of an address whose page has side effects
+     *
+     * @param address where to change the value
+     * @param value to assign to the word
+     */
+    private void handleWrite(int address, int value) {
+        if      (address < ReservedAddresses.SWITCH_ROM_END.getAddress()) {
             rom.setValue(address, value);
+            updateBanks();
+        }
         else if (address < ReservedAddresses.VRAM_END.getAddress())
             vram.setValue(address, value);
         else if (address < ReservedAddresses.ERAM_END.getAddress()) {
-            if(eram != null)
-                eram.setValue(address, value);
+            if(controller.getRamStatus())
+                controller.setRamValue(address, value);
         }
         else if (address < ReservedAddresses.WRAM_END.getAddress())
             wram.setValue(address, value);
@@ -141,8 +299,8 @@ public class MemoryManager implements MemoryManipulation {
             bottomRegisters.setValue(address, 0x00);
         else if(address == ReservedAddresses.LY.getAddress())
             bottomRegisters.setValue(address, 0x00);
-
-        bottomRegisters.setValue(address, value);
+        else
+            bottomRegisters.setValue(address, value);
     }
 
     /**
@@ -152,13 +310,29 @@ public class MemoryManager implements MemoryManipulation {
      * @return value stored in specific address
      */
     public int getValue(int address) {
+        int page = address >>> PAGE_SHIFT;
+        byte[] memory = readPages[page];
+
+        if(memory != null)
+            return memory[readOffsets[page] + (address & PAGE_MASK)] & 0xFF;
+
+        return handleRead(address);
+    }
+
+    /**
+     * Gets the value of an address whose page has side effects
+     *
+     * @param address where to retrieve the value
+     * @return value stored in specific address
+     */
+    private int handleRead(int address) {
         if      (address < ReservedAddresses.SWITCH_ROM_END.getAddress())
             return rom.getValue(address);
         else if (address < ReservedAddresses.VRAM_END.getAddress())
             return vram.getValue(address);
         else if (address < ReservedAddresses.ERAM_END.getAddress())
-            if(eram != null && ((RomModule) rom).getRamStatus())
-                return eram.getValue(address);
+            if(controller.getRamStatus())
+                return controller.getRamValue(address);
             else
                 return 0x00;
         else if (address < ReservedAddresses.WRAM_END.getAddress())
@@ -204,8 +378,42 @@ public class MemoryManager implements MemoryManipulation {
             return bottomRegisters.getWord(address);
     }
 
-    protected void changeRamBank(int bank) {
-        eram.changeActiveBank(bank);
+    /**
+     * Gets the module holding the given address if code can be fetched from
+     * it straight from its banks (rom and work ram), reads elsewhere have side
+     * effects or mirror other areas and go through the regular path
+     *
+     * @param address where code is being fetched
+     * @return memory module or null if the address must be read normally
+     */
+    MemoryModule getCodeModule(int address) {
+        if      (address < ReservedAddresses.SWITCH_ROM_END.getAddress())
+            return rom;
+        else if (address >= ReservedAddresses.ERAM_END.getAddress() &&
+                address < ReservedAddresses.WRAM_END.getAddress())
+            return wram;
+
+        return null;
+    }
+
+    /**
+     * Gets the rom bank currently mapped to the switchable rom area
+     * (0x4000 to 0x8000)
+     *
+     * @return index of the active rom bank
+     */
+    public int getRomBank() {
+        return rom.getActiveBank();
+    }
+
+    /**
+     * Gets the rom bank currently mapped to the first rom area (0x0000 to
+     * 0x4000)
+     *
+     * @return index of the fixed rom bank
+     */
+    public int getFixedRomBank() {
+        return rom.getFixedBank();
     }
 
     /**
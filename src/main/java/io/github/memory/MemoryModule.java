@@ -1,7 +1,6 @@
 package io.github.memory;
 
-import java.util.Arrays;
-import java.util.stream.IntStream;
+import java.nio.ByteBuffer;
 
 /**
  * Represents a single memory module, the full memory of the system is a set of
@@ -9,6 +8,16 @@ import java.util.stream.IntStream;
  * WRAM, etc.) This specific object is responsible for managing the different
  * banks as well as resolving the specific address of where to write or read
  *
+ * <p>Every bank is stored in its own byte array, allocated the first time
+ * the bank is mapped. The array of an address is found with one comparison
+ * (addresses below the fixed area read the fixed bank, normally the first)
+ * against references that only change when the active or fixed bank does</p>
+ *
+ * <p>Modules created from content (cartridge roms) fill each bank from it
+ * when the bank is allocated, so a memory mapped rom only takes heap for
+ * the banks the program visits and the content is let go once every bank
+ * was copied</p>
+ *
  * @author rodrigotimoteo
  */
 
@@ -20,11 +29,14 @@ public class MemoryModule implements MemoryManipulation {
     private final int numberOfBanks;
 
     /**
-     * Stores a Matrix that represents the address space allocated to specific
-     * module as well as number of banks that can be used by default the value
-     * will be 1
+     * Stores the contents of every bank (null for banks never mapped)
+     */
+    private final byte[][] banks;
+
+    /**
+     * Stores the size in bytes of each bank
      */
-    private final Word[][] memory;
+    private final int bankSize;
 
     /**
      * Store the offset of the memory address being access in this specific
@@ -38,12 +50,45 @@ public class MemoryModule implements MemoryManipulation {
      */
     private final int simultaneousBanks;
 
+    /**
+     * Stores the size of the area always mapped to the first bank (one bank
+     * when two are accessible simultaneously, none otherwise)
+     */
+    private final int fixedSize;
+
     /**
      * If there are more than 1 simultaneousBanks that can be accessed we need
      * to know which bank is currently active
      */
     private int activeBank;
 
+    /**
+     * Stores the array of the active bank
+     */
+    private byte[] activeMemory;
+
+    /**
+     * Stores the bank mapped to the fixed area, only controllers that can
+     * switch it (MBC1 in its advanced banking mode) change it from 0
+     */
+    private int fixedBank;
+
+    /**
+     * Stores the array of the bank mapped to the fixed area
+     */
+    private byte[] fixedMemory;
+
+    /**
+     * Stores the content banks are copied from (null once every bank was
+     * copied or if the module wasn't created from content)
+     */
+    private ByteBuffer content;
+
+    /**
+     * Stores the number of banks not allocated yet
+     */
+    private int unloadedBanks;
+
     /** Constructor Method
      *
      * <p>Creates a new Memory Module using by default only one bank</p>
@@ -53,15 +98,7 @@ public class MemoryModule implements MemoryManipulation {
      *               space and arrays)
      */
     public MemoryModule(int size, int offset) {
-        numberOfBanks = 1;
-        activeBank = 0;
-
-        memory = new Word[numberOfBanks][size];
-
-        initMemory();
-
-        this.offset = offset;
-        this.simultaneousBanks = 1;
+        this(size, 1, offset, 1);
     }
 
     /** Constructor Method
@@ -76,165 +113,194 @@ public class MemoryModule implements MemoryManipulation {
      * @param banks number of total banks used
      */
     public MemoryModule(int size, int simultaneousBanks, int offset, int banks) {
-        numberOfBanks = banks;
-
-        memory = new Word[banks][size];
-
-        initMemory();
-
-        this.offset = offset;
-        this.simultaneousBanks = simultaneousBanks;
-
-        if(simultaneousBanks == 2)
-            activeBank = 1;
+        this(null, size, simultaneousBanks, offset, banks);
     }
 
     /** Constructor Method
      *
      * <p>Creates a new Memory Module being able to use more than one
-     * simultaneous memory bank</p>
+     * simultaneous memory bank, each bank is copied from the content the
+     * first time it is mapped</p>
      *
+     * @param content to assign content to this module (a heap buffer or a
+     *                memory mapped file, kept until every bank was copied),
+     *                null for empty banks
      * @param size of the memory module to create
-     * @param content to assign content to this module
      * @param simultaneousBanks accessible at a time
      * @param offset to find desired address (due to no alignment between address
      *               space and arrays)
      * @param banks number of total banks used
      */
-    public MemoryModule(byte[] content, int size, int simultaneousBanks, int offset, int banks) {
+    public MemoryModule(ByteBuffer content, int size, int simultaneousBanks, int offset, int banks) {
         numberOfBanks = banks;
 
-        memory = new Word[banks][size];
-        initMemory();
+        this.banks              = new byte[banks][];
+        this.bankSize           = size;
+        this.offset             = offset;
+        this.simultaneousBanks  = simultaneousBanks;
+        this.content            = content;
 
-        assignMemory(content, size);
+        unloadedBanks = banks;
+        fixedSize = simultaneousBanks == 2 && banks > 1 ? size : 0;
 
-        this.offset = offset;
-        this.simultaneousBanks = simultaneousBanks;
+        changeFixedBank(0);
+        changeActiveBank(fixedSize > 0 ? 1 : 0);
+    }
 
-        if(simultaneousBanks == 2)
-            activeBank = 1;
+    /**
+     * Changes the current active bank
+     *
+     * @param value to assign to change active bank to
+     */
+    public void changeActiveBank(int value) {
+        activeBank   = value;
+        activeMemory = loadBank(value);
     }
 
     /**
-     * Responsible for initializing all the Word objects that store each byte of
-     * memory
+     * Changes the bank mapped to the fixed area
+     *
+     * @param value to assign to change fixed bank to
      */
-    private void initMemory() {
-        for(int i = 0; i < numberOfBanks; i++)
-            for(int j = 0; j < memory[i].length; j++)
-                memory[i][j] = new Word();
+    public void changeFixedBank(int value) {
+        fixedBank   = value;
+        fixedMemory = loadBank(value);
     }
 
     /**
-     * Populates the memory in this module with a byte matrix
+     * Allocates a bank the first time it is mapped, copying it from the
+     * content if there is one (the content is let go once every bank was
+     * copied)
      *
-     * @param content matrix containing information to populate module with
-     * @param size of each bank
+     * @param bank to allocate
+     * @return array of the bank
      */
-    private void assignMemory(byte[] content, int size) {
-        int i = 0;
+    private byte[] loadBank(int bank) {
+        byte[] memory = banks[bank];
+        if(memory != null) return memory;
 
-        for(byte word : content) {
-            memory[i / size][i % size].setValue(word);
-            i++;
+        memory = new byte[bankSize];
+        banks[bank] = memory;
+
+        if(content != null) {
+            int start = bank * bankSize;
+            int length = Math.min(bankSize, content.limit() - start);
+            if(length > 0)
+                content.get(start, memory, 0, length);
+
+            if(--unloadedBanks == 0) content = null;
         }
+
+        return memory;
     }
 
     /**
-     * Changes the current active bank
+     * Checks if a bank was already allocated (and copied from the content)
      *
-     * @param value to assign to change active bank to
+     * @param bank to check
+     * @return true if the bank was mapped at least once
      */
-    public void changeActiveBank(int value) {
-        activeBank = value;
+    boolean isBankLoaded(int bank) {
+        return banks[bank] != null;
+    }
+
+    /**
+     * Gets the bank mapped to the fixed area
+     *
+     * @return index of the fixed bank
+     */
+    public int getFixedBank() {
+        return fixedBank;
+    }
+
+    /**
+     * Gets the current active bank
+     *
+     * @return index of the active bank
+     */
+    public int getActiveBank() {
+        return activeBank;
+    }
+
+    /**
+     * Gets the index of the given address inside the array of the bank mapped
+     * to it
+     *
+     * @param address inside the module
+     * @return index in the bank's array
+     */
+    public int getIndex(int address) {
+        int index = address - offset;
+
+        return index < fixedSize ? index : index - fixedSize;
     }
 
     /**
      * Method responsible for assigning a value for a specific address in the
-     * memory managed by a specific memory module, in this case we need to test
-     * various cases, like how many banks exist, how many can be access simultaneously
-     * and if both of the responses are more than 1 we need to find in which to
-     * write to
+     * memory managed by a specific memory module
      *
      * @param address where memory should be changed
      * @param value   to assign
      */
     @Override
     public void setValue(int address, int value) {
-        int realIndex = address - offset;
-
-        if(numberOfBanks == 1)
-            memory[activeBank][realIndex].setValue(value);
-        else
-            if(simultaneousBanks == 1)
-                memory[activeBank][realIndex].setValue(value);
-            else {
-                int moduleSize = memory[activeBank].length;
-
-                if(realIndex >= moduleSize)
-                    memory[activeBank][realIndex - moduleSize].setValue(value);
-                else
-                    memory[0][realIndex].setValue(value);
-            }
+        getMemory(address)[getIndex(address)] = (byte) value;
     }
 
     /**
      * Method responsible for returning a value for a specific address in the
-     * memory managed by a specific memory module, in this case we need to test
-     * various cases, like how many banks exist, how many can be access simultaneously
-     * and if both of the responses are more than 1 we need to find in which to
-     * read from
+     * memory managed by a specific memory module
      *
      * @param address where memory should be retrieved
      * @return value in given address
      */
     @Override
     public int getValue(int address) {
-        int realIndex = address - offset;
-
-        if(numberOfBanks == 1)
-            return memory[activeBank][realIndex].getValue();
-        else
-        if(simultaneousBanks == 1)
-            return memory[activeBank][realIndex].getValue();
-        else {
-            int moduleSize = memory[activeBank].length;
-
-            if(realIndex >= moduleSize)
-                return memory[activeBank][realIndex - moduleSize].getValue();
-            else
-                return memory[0][realIndex].getValue();
-        }
+        return getMemory(address)[getIndex(address)] & 0xFF;
     }
 
     /**
      * Method responsible for returning a Word for a specific address in the
-     * memory managed by a specific memory module, in this case we need to test
-     * various cases, like how many banks exist, how many can be access simultaneously
-     * and if both of the responses are more than 1 we need to find in which to
-     * write to
+     * memory managed by a specific memory module, the Word is a view of the
+     * byte of the bank active when it was created
      *
      * @param address where memory should be retrieved
      * @return Word (as object) in given address
      */
     @Override
     public Word getWord(int address) {
-        int realIndex = address - offset;
-
-        if(numberOfBanks == 1)
-            return memory[activeBank][realIndex];
-        else
-        if(simultaneousBanks == 1)
-            return memory[activeBank][realIndex];
-        else {
-            int moduleSize = memory[activeBank].length;
-
-            if(realIndex >= moduleSize)
-                return memory[activeBank][realIndex - moduleSize];
-            else
-                return memory[0][realIndex];
-        }
+        return new Word(getMemory(address), getIndex(address));
+    }
+
+    /**
+     * Gets the array of the bank mapped to the given address, used together
+     * with {@link #getIndex(int)} to read consecutive addresses without
+     * resolving the bank every time
+     *
+     * @param address inside the module
+     * @return array of the bank
+     */
+    public byte[] getMemory(int address) {
+        return address - offset < fixedSize ? fixedMemory : activeMemory;
+    }
+
+    /**
+     * Gets the first address mapped to the bank holding the given address
+     *
+     * @param address inside the bank
+     * @return address of the first byte of the bank
+     */
+    public int getBankStart(int address) {
+        return address - offset < fixedSize ? offset : offset + fixedSize;
+    }
+
+    /**
+     * Gets the size of each bank
+     *
+     * @return size in bytes
+     */
+    public int getBankSize() {
+        return bankSize;
     }
 
     /**
@@ -253,17 +319,20 @@ public class MemoryModule implements MemoryManipulation {
      */
     @Override
     public String toString() {
+        for(int i = 0; i < numberOfBanks; i++)
+            loadBank(i);
+
         StringBuilder stringBuilder = new StringBuilder();
 
         stringBuilder.append("0 ");
         for(int i = 0; i < numberOfBanks; i++) {
-            for(int j = 0; j < memory[i].length; j++)
+            for(int j = 0; j < bankSize; j++)
                 if(i % 16 == 0 && i != 0) {
                     stringBuilder.append(" \n");
                     stringBuilder.append(Integer.toHexString(i)).append(" ");
-                    stringBuilder.append(Integer.toHexString(memory[i][j].getValue())).append(" ");
+                    stringBuilder.append(Integer.toHexString(banks[i][j] & 0xFF)).append(" ");
                 } else
-                    stringBuilder.append(Integer.toHexString(memory[i][j].getValue())).append(" ");
+                    stringBuilder.append(Integer.toHexString(banks[i][j] & 0xFF)).append(" ");
         }
 
         return stringBuilder.toString();
@@ -0,0 +1,27 @@
+package io.github.memory;
+
+/**
+ * Defines the behaviour of components that watch the cpu's memory accesses
+ * (for example a debugger with watchpoints), the bus only calls them while
+ * one is set
+ *
+ * @author rodrigotimoteo
+ */
+
+public interface MemoryWatcher {
+
+    /**
+     * Called before a value is read from the given address
+     *
+     * @param address that is read
+     */
+    void memoryRead(int address);
+
+    /**
+     * Called after a value was written to the given address
+     *
+     * @param address that was written to
+     * @param value written
+     */
+    void memoryWritten(int address, int value);
+}
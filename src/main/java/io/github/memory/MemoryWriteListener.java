@@ -0,0 +1,18 @@
+package io.github.memory;
+
+/**
+ * Defines the behaviour of components that need to be notified when the cpu
+ * writes to memory (for example to drop cached code)
+ *
+ * @author rodrigotimoteo
+ */
+
+public interface MemoryWriteListener {
+
+    /**
+     * Called after a value was written to the given address
+     *
+     * @param address that was written to
+     */
+    void memoryWritten(int address);
+}
@@ -3,6 +3,8 @@ package io.github.memory;
 /**
  * <p>Defines the base memory unit in which the architecture of the GB is based</p>
  * <p>1 Word is equivalent to 1 byte or 8 bits</p>
+ * <p>Words returned by the memory are views of a byte of a
+ * {@link MemoryModule}'s backing array, changing them changes the memory</p>
  *
  * @author rodrigotimoteo
  */
@@ -10,16 +12,21 @@ package io.github.memory;
 public class Word implements BitOperations {
 
     /**
-     * Holds the value of a word
+     * Holds the array the value of the word is stored in
      */
-    private byte value;
+    private final byte[] memory;
+
+    /**
+     * Stores the index of the value of the word inside the array
+     */
+    private final int index;
 
     /** Constructor Method
      *
      * <p>Creates a new Word object with value set to 0x00</p>
      */
     public Word() {
-        setValue(0x00);
+        this(0x00);
     }
 
     /** Constructor Method
@@ -29,16 +36,30 @@ public class Word implements BitOperations {
      * @param value to be assigned to Word
      */
     public Word(int value) {
+        this(new byte[1], 0);
+
         setValue(value);
     }
 
+    /** Constructor Method
+     *
+     * <p>Creates a new Word object that views a byte of an array</p>
+     *
+     * @param memory array holding the value
+     * @param index of the value inside the array
+     */
+    Word(byte[] memory, int index) {
+        this.memory = memory;
+        this.index  = index;
+    }
+
     /**
      * Method responsible for assigning a new value to a Word
      *
      * @param value to assign as integer
      */
     public void setValue(int value) {
-        this.value = (byte) value;
+        memory[index] = (byte) value;
     }
 
     /**
@@ -47,7 +68,7 @@ public class Word implements BitOperations {
      * @return value as integer
      */
     public int getValue() {
-        return value & 0xff;
+        return memory[index] & 0xff;
     }
 
     /**
@@ -60,8 +81,7 @@ public class Word implements BitOperations {
         if(bit < 0 || bit > 7)
             throw new IllegalArgumentException("Invalid bit");
 
-        value = (byte) (value | (1 << bit));
-
+        memory[index] = (byte) (memory[index] | (1 << bit));
     }
 
     /**
@@ -74,7 +94,7 @@ public class Word implements BitOperations {
         if(bit < 0 || bit > 7)
             throw new IllegalArgumentException("Invalid bit");
 
-        value = (byte) (value & ~(1 << bit));
+        memory[index] = (byte) (memory[index] & ~(1 << bit));
     }
 
     /**
@@ -3,6 +3,8 @@ package io.github.memory.cartridge;
 import io.github.memory.MemoryManager;
 import io.github.memory.MemoryModule;
 
+import java.nio.ByteBuffer;
+
 /**
  * Represents the MBC0 (Memory Bank Controller) one of many types of controller
  * used in the Game Boy this controller makes use of a normally a single 32KiB
@@ -22,14 +24,24 @@ public class MBC0 extends MemoryModule implements RomModule {
      * Creates a new Memory Module based on rom content
      *
      * @param romBanks number of Rom banks
-     * @param romContent byte array containing the rom's content
+     * @param romContent buffer containing the rom's content
      */
-    public MBC0(int romBanks, int ramBanks, byte[] romContent) {
+    public MBC0(int romBanks, int ramBanks, ByteBuffer romContent) {
         super(romContent, 0x4000, 2, 0x0, romBanks);
 
         numberOfRamBanks = ramBanks;
     }
 
+    /**
+     * Handles writes to the rom area, this controller has no registers and
+     * rom can't be written so they are ignored
+     *
+     * @param address where memory should be changed
+     * @param value   to assign
+     */
+    @Override
+    public void setValue(int address, int value) {}
+
     /**
      * Method to check the status of the boolean variable that check whether ram
      * is enable
@@ -52,4 +64,36 @@ public class MBC0 extends MemoryModule implements RomModule {
     public int getRamBanks() {
         return numberOfRamBanks;
     }
+
+    /**
+     * Method to get the ram bank currently selected to be mapped to
+     * 0xA000-0xBFFF
+     *
+     * @return index of the selected ram bank
+     */
+    @Override
+    public int getRamBank() {
+        return 0;
+    }
+
+    /**
+     * Method to read from A000-BFFF while ram is not present
+     *
+     * @param address where memory should be retrieved
+     * @return always 0xFF (open bus)
+     */
+    @Override
+    public int getRamValue(int address) {
+        return 0xFF;
+    }
+
+    /**
+     * Method to write to A000-BFFF while ram is not present, writes are
+     * ignored
+     *
+     * @param address where memory should be changed
+     * @param value   to assign
+     */
+    @Override
+    public void setRamValue(int address, int value) {}
 }
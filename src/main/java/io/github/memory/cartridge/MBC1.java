@@ -3,6 +3,8 @@ package io.github.memory.cartridge;
 import io.github.memory.MemoryManager;
 import io.github.memory.MemoryModule;
 
+import java.nio.ByteBuffer;
+
 /**
  * <p>Represents the MBC1 (Memory Bank Controller) one of many types of controller
  * used in the Game Boy this controller has up to 2MByte rom and/or 32KiB ram.
@@ -56,30 +58,37 @@ public class MBC1 extends MemoryModule implements RomModule {
     private boolean bankingMode = false;
 
     /**
-     * Stores if the rom is big enough or if the ram is big enough to check the
-     * 4000-5FFF register
+     * Stores the lower 5 bits of the rom bank number (2000-3FFF register)
      */
-    private final boolean bigEnoughRom;
+    private int romBankLow = 1;
+
+    /**
+     * Stores the 2 bit value of the 4000-5FFF register, used as the ram bank
+     * number or as the upper bits of the rom bank number
+     */
+    private int upperBank = 0;
 
-    //LACKS IMPLEMENTATION FOR NOW
     /**
      * If banking mode is changed to true this will define which bank will be
      * accessed at 0000-3FFF
      */
     private int romBankIfBankingModeTrue = 0;
 
+    /**
+     * Stores the ram bank mapped to A000-BFFF
+     */
+    private int ramBank = 0;
+
     /**
      * Creates a new Memory Module based on rom content
      *
      * @param romBanks number of rom banks to create
-     * @param romContent byte array containing the rom's content
+     * @param romContent buffer containing the rom's content
      */
-    public MBC1(int romBanks, int ramBanks, byte[] romContent) {
+    public MBC1(int romBanks, int ramBanks, ByteBuffer romContent) {
         super(romContent, 0x4000, 2, 0x0, romBanks);
 
         numberOfRamBanks = ramBanks;
-
-        bigEnoughRom = numberOfRamBanks > 1 && getRomBanks() > 16;
     }
 
     /**
@@ -91,28 +100,35 @@ public class MBC1 extends MemoryModule implements RomModule {
      */
     @Override
     public void setValue(int address, int value) {
-        int numberOfBanks = getRomBanks();
-
         if      (address < RAM_ENABLE_END)
-            ramEnable = (value & 0x0A) == 0x0A;
+            ramEnable = (value & 0x0F) == 0x0A;
 
-        else if (address < ROM_BANK_NUMBER_END)
-            if(value != 0)
-                if(numberOfBanks > 16)
-                    changeActiveBank(value & (numberOfBanks - 1));
-                else
-                    changeActiveBank(value & (numberOfBanks - 1));
-            else
-                changeActiveBank(1);
+        else if (address < ROM_BANK_NUMBER_END) {
+            romBankLow = value & 0x1F;
+            if(romBankLow == 0) romBankLow = 1;
+        }
 
         else if (address < RAM_BANK_NUMBER_END)
-            System.out.println("no implementation");
-//            if(numberOfRamBanks != 1)
-//                bus.changeRamBank();
+            upperBank = value & 0x03;
 
-        else if (address < BANK_MODE_END && bigEnoughRom)
+        else if (address < BANK_MODE_END)
             bankingMode = (value & 0x01) != 0;
 
+        updateBanks();
+    }
+
+    /**
+     * Resolves the rom and ram banks selected by the registers, the upper
+     * bits only reach 0000-3FFF and A000-BFFF in banking mode 1
+     */
+    private void updateBanks() {
+        int romBankMask = getRomBanks() - 1;
+
+        romBankIfBankingModeTrue = bankingMode ? (upperBank << 5) & romBankMask : 0;
+        ramBank = bankingMode && numberOfRamBanks > 0 ? upperBank & (numberOfRamBanks - 1) : 0;
+
+        changeFixedBank(romBankIfBankingModeTrue);
+        changeActiveBank((upperBank << 5 | romBankLow) & romBankMask);
     }
 
     /**
@@ -135,4 +151,36 @@ public class MBC1 extends MemoryModule implements RomModule {
     public int getRamBanks() {
         return numberOfRamBanks;
     }
+
+    /**
+     * Method to get the ram bank currently selected to be mapped to
+     * 0xA000-0xBFFF
+     *
+     * @return index of the selected ram bank
+     */
+    @Override
+    public int getRamBank() {
+        return ramBank;
+    }
+
+    /**
+     * Method to read from A000-BFFF while ram is enabled but not present
+     *
+     * @param address where memory should be retrieved
+     * @return always 0xFF (open bus)
+     */
+    @Override
+    public int getRamValue(int address) {
+        return 0xFF;
+    }
+
+    /**
+     * Method to write to A000-BFFF while ram is enabled but not present,
+     * writes are ignored
+     *
+     * @param address where memory should be changed
+     * @param value   to assign
+     */
+    @Override
+    public void setRamValue(int address, int value) {}
 }
@@ -3,20 +3,48 @@ package io.github.memory.cartridge;
 import io.github.memory.MemoryManager;
 import io.github.memory.MemoryModule;
 
+import java.nio.ByteBuffer;
+
 /**
- * Represents the MBC2 (Memory Bank Controller) one of many types of controller
- * used in the Game Boy
+ * <p>Represents the MBC2 (Memory Bank Controller) one of many types of controller
+ * used in the Game Boy this controller has up to 256KiB rom and a built-in
+ * ram of 512 half bytes.</p>
+ *
+ * <p>0000-3FFF is used to write to MBC control registers, bit 8 of the address
+ * selects between the ram enable and the rom bank number registers. The
+ * built-in ram is echoed through A000-BFFF and only its lower 4 bits are
+ * used, the upper ones always read as 1</p>
  *
  * @author rodrigotimoteo
  */
 
 public class MBC2 extends MemoryModule implements RomModule{
 
+    /**
+     * Stores the end of the control registers
+     */
+    private final int REGISTERS_END = 0x4000;
+
+    /**
+     * Stores the address bit that selects the rom bank number register
+     */
+    private final int ROM_BANK_SELECT_BIT = 0x100;
+
+    /**
+     * Stores the size of the built-in ram
+     */
+    private final int RAM_SIZE = 0x200;
+
     /**
      * Stores the number of ram banks used by this rom
      */
     private final int numberOfRamBanks;
 
+    /**
+     * Stores the content of the built-in ram (one half byte per entry)
+     */
+    private final byte[] ram = new byte[RAM_SIZE];
+
     /**
      * Stores whether ram is enabled or not
      */
@@ -26,9 +54,9 @@ public class MBC2 extends MemoryModule implements RomModule{
      * Creates a new Memory Module based on rom content
      *
      * @param romBanks number of Rom banks
-     * @param romContent byte array containing the rom's content
+     * @param romContent buffer containing the rom's content
      */
-    public MBC2(int romBanks, int ramBanks, byte[] romContent) {
+    public MBC2(int romBanks, int ramBanks, ByteBuffer romContent) {
         super(romContent, 0x4000, 2, 0x0, romBanks);
 
         numberOfRamBanks = ramBanks;
@@ -43,19 +71,16 @@ public class MBC2 extends MemoryModule implements RomModule{
      */
     @Override
     public void setValue(int address, int value) {
-//        if      (address < RAM_ENABLE_END)
-//            ramEnable = (value & 0x0A) == 0x0A;
-//
-//        else if (address < ROM_BANK_NUMBER_END)
-//            if(value != 0)
-//                changeActiveBank(value & );
-//
-//            else if (address < RAM_BANK_NUMBER_END)
-//
-//
-//        else if (address < BANK_MODE_END)
+        if(address >= REGISTERS_END) return;
 
+        if((address & ROM_BANK_SELECT_BIT) == 0)
+            ramEnable = (value & 0x0F) == 0x0A;
+        else {
+            int bank = value & 0x0F;
+            if(bank == 0) bank = 1;
 
+            changeActiveBank(bank & (getRomBanks() - 1));
+        }
     }
 
     /**
@@ -78,4 +103,37 @@ public class MBC2 extends MemoryModule implements RomModule{
     public int getRamBanks() {
         return numberOfRamBanks;
     }
+
+    /**
+     * Method to get the ram bank currently selected to be mapped to
+     * 0xA000-0xBFFF
+     *
+     * @return always NO_RAM_BANK as the built-in ram is handled here
+     */
+    @Override
+    public int getRamBank() {
+        return NO_RAM_BANK;
+    }
+
+    /**
+     * Method to read from the built-in ram
+     *
+     * @param address where memory should be retrieved
+     * @return value in given address with the upper 4 bits set
+     */
+    @Override
+    public int getRamValue(int address) {
+        return ram[address & (RAM_SIZE - 1)] | 0xF0;
+    }
+
+    /**
+     * Method to write to the built-in ram, only the lower 4 bits are kept
+     *
+     * @param address where memory should be changed
+     * @param value   to assign
+     */
+    @Override
+    public void setRamValue(int address, int value) {
+        ram[address & (RAM_SIZE - 1)] = (byte) (value & 0x0F);
+    }
 }
@@ -3,15 +3,65 @@ package io.github.memory.cartridge;
 import io.github.memory.MemoryManager;
 import io.github.memory.MemoryModule;
 
+import java.nio.ByteBuffer;
+
 /**
- * Represents the MBC3 (Memory Bank Controller) one of many types of controller
- * used in the Game Boy
+ * <p>Represents the MBC3 (Memory Bank Controller) one of many types of controller
+ * used in the Game Boy this controller has up to 2MByte rom, 32KiB ram and a
+ * real time clock.</p>
+ *
+ * <p>0000-7FFF is used to write to MBC control registers, writing 08-0C to
+ * 4000-5FFF maps one of the clock registers to A000-BFFF instead of a ram
+ * bank. The clock counts real time and is only copied to the readable
+ * registers when latched (writing 00 and then 01 to 6000-7FFF)</p>
  *
  * @author rodrigotimoteo
  */
 
 public class MBC3 extends MemoryModule implements RomModule {
 
+    /**
+     * Stores the end of the ram and timer enable register
+     */
+    private final int RAM_ENABLE_END = 0x2000;
+
+    /**
+     * Stores the end of the rom bank selector register
+     */
+    private final int ROM_BANK_NUMBER_END = 0x4000;
+
+    /**
+     * Stores the end of the ram bank and clock register selector register
+     */
+    private final int RAM_BANK_NUMBER_END = 0x6000;
+
+    /**
+     * Stores the end of the latch clock data register
+     */
+    private final int LATCH_CLOCK_END = 0x8000;
+
+    /**
+     * Stores the value selecting the first clock register (seconds), followed
+     * by minutes, hours, lower 8 bits of the day counter and upper day bits
+     */
+    private final int CLOCK_SECONDS = 0x08;
+    private final int CLOCK_DAY_HIGH = 0x0C;
+
+    /**
+     * Stores the bits of the upper day register (day counter bit 8, halt and
+     * day counter carry)
+     */
+    private final int DAY_HIGH_BIT  = 0x01;
+    private final int HALT_BIT      = 0x40;
+    private final int DAY_CARRY_BIT = 0x80;
+
+    /**
+     * Stores the number of seconds in a day and the number of days the day
+     * counter holds before overflowing
+     */
+    private final long SECONDS_PER_DAY = 86400;
+    private final long DAYS = 512;
+
     /**
      * Stores the number of ram banks used by this rom
      */
@@ -22,13 +72,51 @@ public class MBC3 extends MemoryModule implements RomModule {
      */
     boolean ramEnable = false;
 
+    /**
+     * Stores the ram bank mapped to A000-BFFF
+     */
+    private int ramBank = 0;
+
+    /**
+     * Stores the clock register mapped to A000-BFFF or -1 if a ram bank is
+     */
+    private int clockRegister = -1;
+
+    /**
+     * Stores the last value written to the latch register
+     */
+    private int latchValue = -1;
+
+    /**
+     * Stores the clock registers as of the last latch (seconds, minutes, hours,
+     * lower day bits and upper day bits)
+     */
+    private final int[] latchedClock = new int[5];
+
+    /**
+     * Stores the time counted by the clock in milliseconds when it was last
+     * changed, and the system time of that change
+     */
+    private long clockTime = 0;
+    private long clockReference = System.currentTimeMillis();
+
+    /**
+     * Stores whether the clock is halted
+     */
+    private boolean clockHalted = false;
+
+    /**
+     * Stores whether the day counter overflowed
+     */
+    private boolean dayCarry = false;
+
     /**
      * Creates a new Memory Module based on rom content
      *
      * @param romBanks number of Rom banks
-     * @param romContent byte array containing the rom's content
+     * @param romContent buffer containing the rom's content
      */
-    public MBC3(int romBanks, int ramBanks, byte[] romContent) {
+    public MBC3(int romBanks, int ramBanks, ByteBuffer romContent) {
         super(romContent, 0x4000, 2, 0x0, romBanks);
 
         numberOfRamBanks = ramBanks;
@@ -43,19 +131,107 @@ public class MBC3 extends MemoryModule implements RomModule {
      */
     @Override
     public void setValue(int address, int value) {
-//        if      (address < RAM_ENABLE_END)
-//            ramEnable = (value & 0x0A) == 0x0A;
-//
-//        else if (address < ROM_BANK_NUMBER_END)
-//            if(value != 0)
-//                changeActiveBank(value & );
-//
-//            else if (address < RAM_BANK_NUMBER_END)
-//
-//
-//        else if (address < BANK_MODE_END)
+        if      (address < RAM_ENABLE_END)
+            ramEnable = (value & 0x0F) == 0x0A;
+
+        else if (address < ROM_BANK_NUMBER_END) {
+            int bank = value & 0x7F;
+            if(bank == 0) bank = 1;
+
+            changeActiveBank(bank & (getRomBanks() - 1));
+        }
 
+        else if (address < RAM_BANK_NUMBER_END) {
+            if(value >= CLOCK_SECONDS && value <= CLOCK_DAY_HIGH)
+                clockRegister = value - CLOCK_SECONDS;
+            else {
+                clockRegister = -1;
+                ramBank = numberOfRamBanks > 0 ? value & 0x03 & (numberOfRamBanks - 1) : 0;
+            }
+        }
 
+        else if (address < LATCH_CLOCK_END) {
+            if(latchValue == 0x00 && value == 0x01)
+                latchClock();
+
+            latchValue = value;
+        }
+    }
+
+    /**
+     * Gets the time counted by the clock, wrapping the day counter and setting
+     * its carry when it overflows
+     *
+     * @return time counted in milliseconds
+     */
+    private long getClockTime() {
+        long time = clockHalted ? clockTime :
+                clockTime + System.currentTimeMillis() - clockReference;
+
+        long period = DAYS * SECONDS_PER_DAY * 1000;
+        if(time >= period) {
+            dayCarry = true;
+            time %= period;
+        }
+
+        return time;
+    }
+
+    /**
+     * Restarts counting from the given time
+     *
+     * @param time counted by the clock in milliseconds
+     */
+    private void setClockTime(long time) {
+        clockTime = time;
+        clockReference = System.currentTimeMillis();
+    }
+
+    /**
+     * Copies the time counted by the clock to the readable registers
+     */
+    private void latchClock() {
+        long seconds = getClockTime() / 1000;
+        long days = seconds / SECONDS_PER_DAY;
+
+        latchedClock[0] = (int) (seconds % 60);
+        latchedClock[1] = (int) (seconds / 60 % 60);
+        latchedClock[2] = (int) (seconds / 3600 % 24);
+        latchedClock[3] = (int) (days & 0xFF);
+        latchedClock[4] = (int) (days >> 8) & DAY_HIGH_BIT |
+                (clockHalted ? HALT_BIT : 0) | (dayCarry ? DAY_CARRY_BIT : 0);
+    }
+
+    /**
+     * Changes the selected clock register, the counter keeps going from the
+     * new time
+     *
+     * @param value to assign
+     */
+    private void setClockRegister(int value) {
+        long time = getClockTime();
+        long milliseconds = time % 1000;
+        long seconds = time / 1000;
+
+        long second = seconds % 60;
+        long minute = seconds / 60 % 60;
+        long hour   = seconds / 3600 % 24;
+        long day    = seconds / SECONDS_PER_DAY;
+
+        switch (clockRegister) {
+            case 0 -> second = value & 0x3F;
+            case 1 -> minute = value & 0x3F;
+            case 2 -> hour   = value & 0x1F;
+            case 3 -> day    = (day & 0x100) | (value & 0xFF);
+            case 4 -> {
+                day = (value & DAY_HIGH_BIT) << 8 | (day & 0xFF);
+                dayCarry = (value & DAY_CARRY_BIT) != 0;
+                clockHalted = (value & HALT_BIT) != 0;
+            }
+        }
+
+        setClockTime(((day * 24 + hour) * 60 + minute) * 60 * 1000 + second * 1000 + milliseconds);
+        latchedClock[clockRegister] = value;
     }
 
     /**
@@ -78,4 +254,39 @@ public class MBC3 extends MemoryModule implements RomModule {
     public int getRamBanks() {
         return numberOfRamBanks;
     }
+
+    /**
+     * Method to get the ram bank currently selected to be mapped to
+     * 0xA000-0xBFFF
+     *
+     * @return index of the selected ram bank or NO_RAM_BANK if a clock
+     * register is selected
+     */
+    @Override
+    public int getRamBank() {
+        return clockRegister < 0 ? ramBank : NO_RAM_BANK;
+    }
+
+    /**
+     * Method to read the selected clock register as of the last latch
+     *
+     * @param address where memory should be retrieved
+     * @return latched clock register or 0xFF if no ram is present
+     */
+    @Override
+    public int getRamValue(int address) {
+        return clockRegister < 0 ? 0xFF : latchedClock[clockRegister];
+    }
+
+    /**
+     * Method to write to the selected clock register
+     *
+     * @param address where memory should be changed
+     * @param value   to assign
+     */
+    @Override
+    public void setRamValue(int address, int value) {
+        if(clockRegister >= 0)
+            setClockRegister(value);
+    }
 }
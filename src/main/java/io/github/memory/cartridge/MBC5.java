@@ -3,15 +3,43 @@ package io.github.memory.cartridge;
 import io.github.memory.MemoryManager;
 import io.github.memory.MemoryModule;
 
+import java.nio.ByteBuffer;
+
 /**
- * Represents the MBC5 (Memory Bank Controller) one of many types of controller
- * used in the Game Boy
+ * <p>Represents the MBC5 (Memory Bank Controller) one of many types of controller
+ * used in the Game Boy this controller has up to 8MByte rom and 128KiB ram.</p>
+ *
+ * <p>0000-5FFF is used to write to MBC control registers, the rom bank number
+ * is 9 bits wide and split between 2000-2FFF (lower 8 bits) and 3000-3FFF
+ * (upper bit), unlike other controllers bank 0 can also be selected</p>
  *
  * @author rodrigotimoteo
  */
 
 public class MBC5 extends MemoryModule implements RomModule {
 
+    /**
+     * Stores the end of the ram enable register
+     */
+    private final int RAM_ENABLE_END = 0x2000;
+
+    /**
+     * Stores the end of the register holding the lower 8 bits of the rom bank
+     * number
+     */
+    private final int ROM_BANK_LOW_END = 0x3000;
+
+    /**
+     * Stores the end of the register holding the upper bit of the rom bank
+     * number
+     */
+    private final int ROM_BANK_HIGH_END = 0x4000;
+
+    /**
+     * Stores the end of the ram bank selector register
+     */
+    private final int RAM_BANK_NUMBER_END = 0x6000;
+
     /**
      * Stores the number of ram banks used by this rom
      */
@@ -22,13 +50,23 @@ public class MBC5 extends MemoryModule implements RomModule {
      */
     boolean ramEnable = false;
 
+    /**
+     * Stores the 9 bit rom bank number
+     */
+    private int romBank = 1;
+
+    /**
+     * Stores the ram bank mapped to A000-BFFF
+     */
+    private int ramBank = 0;
+
     /**
      * Creates a new Memory Module based on rom content
      *
      * @param romBanks number of Rom banks
-     * @param romContent byte array containing the rom's content
+     * @param romContent buffer containing the rom's content
      */
-    public MBC5(int romBanks, int ramBanks, byte[] romContent) {
+    public MBC5(int romBanks, int ramBanks, ByteBuffer romContent) {
         super(romContent, 0x4000, 2, 0x0, romBanks);
 
         numberOfRamBanks = ramBanks;
@@ -43,19 +81,21 @@ public class MBC5 extends MemoryModule implements RomModule {
      */
     @Override
     public void setValue(int address, int value) {
-//        if      (address < RAM_ENABLE_END)
-//            ramEnable = (value & 0x0A) == 0x0A;
-//
-//        else if (address < ROM_BANK_NUMBER_END)
-//            if(value != 0)
-//                changeActiveBank(value & );
-//
-//            else if (address < RAM_BANK_NUMBER_END)
-//
-//
-//        else if (address < BANK_MODE_END)
+        if      (address < RAM_ENABLE_END)
+            ramEnable = (value & 0x0F) == 0x0A;
 
+        else if (address < ROM_BANK_LOW_END) {
+            romBank = (romBank & 0x100) | (value & 0xFF);
+            changeActiveBank(romBank & (getRomBanks() - 1));
+        }
 
+        else if (address < ROM_BANK_HIGH_END) {
+            romBank = (value & 0x01) << 8 | (romBank & 0xFF);
+            changeActiveBank(romBank & (getRomBanks() - 1));
+        }
+
+        else if (address < RAM_BANK_NUMBER_END && numberOfRamBanks > 0)
+            ramBank = value & 0x0F & (numberOfRamBanks - 1);
     }
 
     /**
@@ -79,14 +119,35 @@ public class MBC5 extends MemoryModule implements RomModule {
         return numberOfRamBanks;
     }
 
-//    /**
-//     * Assigns a memory manager to a specific rom memory module (due to them
-//     * being created before managerCreation)
-//     *
-//     * @param memoryManager manager for this instance
-//     */
-//    @Override
-//    public void assignManager(MemoryManager memoryManager) {
-//
-//    }
+    /**
+     * Method to get the ram bank currently selected to be mapped to
+     * 0xA000-0xBFFF
+     *
+     * @return index of the selected ram bank
+     */
+    @Override
+    public int getRamBank() {
+        return ramBank;
+    }
+
+    /**
+     * Method to read from A000-BFFF while ram is enabled but not present
+     *
+     * @param address where memory should be retrieved
+     * @return always 0xFF (open bus)
+     */
+    @Override
+    public int getRamValue(int address) {
+        return 0xFF;
+    }
+
+    /**
+     * Method to write to A000-BFFF while ram is enabled but not present,
+     * writes are ignored
+     *
+     * @param address where memory should be changed
+     * @param value   to assign
+     */
+    @Override
+    public void setRamValue(int address, int value) {}
 }
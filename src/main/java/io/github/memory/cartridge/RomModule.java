@@ -11,6 +11,12 @@ import io.github.memory.MemoryManager;
 
 public interface RomModule {
 
+    /**
+     * Stores the ram bank returned while the selected ram area is not plain
+     * memory (built-in or clock registers handled by the controller)
+     */
+    int NO_RAM_BANK = -1;
+
     /**
      * Method to check the status of the boolean variable that check whether ram
      * is enable
@@ -25,4 +31,31 @@ public interface RomModule {
      * @return number of ram banks
      */
     int getRamBanks();
+
+    /**
+     * Method to get the ram bank currently selected to be mapped to
+     * 0xA000-0xBFFF
+     *
+     * @return index of the selected ram bank or NO_RAM_BANK if the area is
+     * handled by the controller
+     */
+    int getRamBank();
+
+    /**
+     * Method to read from 0xA000-0xBFFF while ram is enabled but the area is
+     * not mapped to a ram bank
+     *
+     * @param address where memory should be retrieved
+     * @return value in given address
+     */
+    int getRamValue(int address);
+
+    /**
+     * Method to write to 0xA000-0xBFFF while ram is enabled but the area is
+     * not mapped to a ram bank
+     *
+     * @param address where memory should be changed
+     * @param value   to assign
+     */
+    void setRamValue(int address, int value);
 }
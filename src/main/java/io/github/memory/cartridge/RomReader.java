@@ -5,13 +5,21 @@ import io.github.memory.ReservedAddresses;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 
 /**
  * Responsible for reading the ROM and assigning the content to the desired
  * module to be read from
  *
+ * <p>The ROM can either be read into the heap or memory mapped, in which case
+ * only the banks the program maps are read from the file (each copied into
+ * the module the first time it is mapped). The reader only keeps the header
+ * once the module is built, leaving the content to the module</p>
+ *
  * @author rodrigotimoteo
  */
 
@@ -48,9 +56,15 @@ public class RomReader {
     }
 
     /**
-     * Stores the entirety of the ROM's content
+     * Stores the entirety of the ROM's content until the module is built
+     */
+    private ByteBuffer romContent;
+
+    /**
+     * Stores the ROM's header (up to the ram size), kept after the module is
+     * built
      */
-    private byte[] romContent;
+    private byte[] header;
 
     /**
      * Loads a Rom from a given File into the romContent variable
@@ -60,10 +74,37 @@ public class RomReader {
      */
     public void loadRom(File romFile) throws IOException{
         try {
-            romContent = Files.readAllBytes(romFile.toPath());
+            romContent = ByteBuffer.wrap(Files.readAllBytes(romFile.toPath()));
         } catch (IOException exception) {
             throw new IOException("Error Reading ROM");
         }
+
+        readHeader();
+    }
+
+    /**
+     * Maps a Rom from a given File read only into the romContent variable
+     *
+     * @param romFile to load
+     * @throws IOException if there is an error mapping the Rom
+     */
+    public void loadMappedRom(File romFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(romFile.toPath(), StandardOpenOption.READ)) {
+            romContent = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException exception) {
+            throw new IOException("Error Reading ROM");
+        }
+
+        readHeader();
+    }
+
+    /**
+     * Copies the header out of the loaded content so it can still be read
+     * after the module is built
+     */
+    private void readHeader() {
+        header = new byte[ReservedAddresses.RAM_SIZE.getAddress() + 1];
+        romContent.get(0, header, 0, Math.min(header.length, romContent.limit()));
     }
 
     /**
@@ -76,8 +117,8 @@ public class RomReader {
         StringBuilder title = new StringBuilder();
 
         for(int i = ReservedAddresses.TITLE_START.getAddress(); i <= ReservedAddresses.TITLE_END.getAddress(); i++) {
-            if(romContent[i] != 0)
-                title.append((char) romContent[i]);
+            if(header[i] != 0)
+                title.append((char) header[i]);
             else break;
         }
 
@@ -90,33 +131,38 @@ public class RomReader {
      * @return boolean (true if CGB mode false otherwise)
      */
     public boolean isCGB() {
-        return (romContent[ReservedAddresses.CONSOLE_TYPE.getAddress()] & 0xff) == 0x80;
+        return (header[ReservedAddresses.CONSOLE_TYPE.getAddress()] & 0xff) == 0x80;
     }
 
     /**
-     * Converts a byte array representing a rom to memory module
-     *
+     * Converts the content of a rom to memory module, the content is handed
+     * to the module so it can only be built once per load
      *
      * @return Memory Module as MBC
      */
     public MemoryModule getModule() {
-        int cartridgeType = romContent[ReservedAddresses.CARTRIDGE_TYPE.getAddress()];
+        if(romContent == null)
+            throw new IllegalStateException("No ROM loaded");
+
+        int cartridgeType = header[ReservedAddresses.CARTRIDGE_TYPE.getAddress()];
+        ByteBuffer content = romContent;
+        romContent = null;
 
         switch (cartridgeType) {
             case 0x00, 0x08, 0x09 -> { //No MBC (MBC0)
-                return new MBC0(getRomSize(), getRamSize(), romContent);
+                return new MBC0(getRomSize(), getRamSize(), content);
             }
             case 0x01, 0x02, 0x03 -> { //MBC1
-                return new MBC1(getRomSize(), getRamSize(), romContent);
+                return new MBC1(getRomSize(), getRamSize(), content);
             }
             case 0x05, 0x06 -> { //MBC2
-                return new MBC2(getRomSize(), getRamSize(), romContent);
+                return new MBC2(getRomSize(), getRamSize(), content);
             }
             case 0x0F, 0x10, 0x11, 0x12, 0x13 -> { //MBC3
-                return new MBC3(getRomSize(), getRamSize(), romContent);
+                return new MBC3(getRomSize(), getRamSize(), content);
             }
             case 0x19, 0x1A, 0x1B, 0x1C, 0x1D, 0x1E -> { //MBC5
-                return new MBC5(getRomSize(), getRamSize(), romContent);
+                return new MBC5(getRomSize(), getRamSize(), content);
             }
         };
 
@@ -130,7 +176,7 @@ public class RomReader {
      * @return number of ram banks
      */
     public int getRomSize() {
-        int romSize = romContent[ReservedAddresses.ROM_SIZE.getAddress()];
+        int romSize = header[ReservedAddresses.ROM_SIZE.getAddress()];
 
         return romBanksMap.get(romSize);
     }
@@ -142,7 +188,7 @@ public class RomReader {
      * @return number of ram banks
      */
     protected int getRamSize() {
-        int ramSize = romContent[ReservedAddresses.RAM_SIZE.getAddress()];
+        int ramSize = header[ReservedAddresses.RAM_SIZE.getAddress()];
 
         return ramBanksMap.get(ramSize);
     }
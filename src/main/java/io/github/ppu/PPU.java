@@ -48,7 +48,7 @@ public class PPU {
 
         drawer    = new Drawer(bus);
         registers = new Registers(bus);
-        timers    = new Timers(bus);
+        timers    = new Timers(bus, registers);
     }
 
     public void tick() {
@@ -56,4 +56,24 @@ public class PPU {
 
     }
 
+    /**
+     * Advances the ppu by several machine cycles at once
+     *
+     * @param cycles number of machine cycles to advance
+     */
+    public void advance(int cycles) {
+        timers.advance(cycles);
+    }
+
+    /**
+     * Gets the number of machine cycles until the ppu next changes mode or
+     * line (when it can request an interrupt)
+     *
+     * @return machine cycles until the next ppu event, Integer.MAX_VALUE if
+     * the LCD is turned off
+     */
+    public int getCyclesToNextEvent() {
+        return timers.getCyclesToNextEvent();
+    }
+
 }
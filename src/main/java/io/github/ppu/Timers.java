@@ -1,9 +1,15 @@
 package io.github.ppu;
 
 import io.github.memory.Bus;
+import io.github.memory.ReservedAddresses;
+import io.github.memory.Word;
 
 /**
- *
+ * Keeps the timing of the LCD, while it is turned on every line takes 114
+ * machine cycles, lines 0 to 143 go through OAM scan (20 cycles), drawing
+ * (43 cycles) and HBlank (51 cycles) and lines 144 to 153 are VBlank. LY and
+ * the mode and coincidence bits of STAT follow it and the VBlank and STAT
+ * interrupts are requested as they happen
  *
  * @author rodrigotimoteo
  */
@@ -11,25 +17,206 @@ import io.github.memory.Bus;
 public class Timers {
 
     /**
-     *
+     * Stores the machine cycles in which each part of a line ends and the
+     * lines where VBlank starts and the frame ends
+     */
+    private static final int OAM_SCAN_END   = 20;
+    private static final int DRAWING_END    = 63;
+    private static final int LINE_CYCLES    = 114;
+    private static final int VBLANK_LINE    = 144;
+    private static final int LINES          = 154;
+
+    /**
+     * Stores the values of the STAT mode bits
+     */
+    private static final int HBLANK         = 0;
+    private static final int VBLANK         = 1;
+    private static final int OAM_SCAN       = 2;
+    private static final int DRAWING        = 3;
+
+    /**
+     * Stores the interrupts the ppu can request
+     */
+    private static final int VBLANK_INTERRUPT   = 0;
+    private static final int STAT_INTERRUPT     = 1;
+
+    /**
+     * Stores a reference to the bus used to request interrupts
      */
     private final Bus bus;
 
+    /**
+     * Stores a reference to the ppu registers (used to check the LCD is on)
+     */
+    private final Registers registers;
+
+    /**
+     * Stores references to the registers following the LCD timing
+     */
+    private final Word STAT;
+    private final Word LY;
+    private final Word LYC;
+
+    /**
+     * Stores the machine cycles the ppu went through
+     */
     private int tickCounter = 0;
 
     /**
-     *
+     * Stores the machine cycles elapsed in the current line
+     */
+    private int lineCycles = 0;
+
+    /**
+     * Stores the current mode of the LCD
+     */
+    private int mode;
+
+    /**
+     * Stores whether any of the enabled STAT interrupt sources holds, the
+     * interrupt is only requested when this goes from false to true
+     */
+    private boolean statLine = false;
+
+    /**
+     * Creates the timing of the LCD starting at the beginning of the line in
+     * LY
      *
      * @param bus reference to this instances bus
+     * @param registers reference to the ppu registers
      */
-    public Timers(Bus bus) {
-        this.bus = bus;
+    public Timers(Bus bus, Registers registers) {
+        this.bus       = bus;
+        this.registers = registers;
+
+        STAT = bus.getWord(ReservedAddresses.STAT.getAddress());
+        LY   = bus.getWord(ReservedAddresses.LY.getAddress());
+        LYC  = bus.getWord(ReservedAddresses.LYC.getAddress());
+
+        mode = registers.isTurnedOn() ? getCurrentMode() : HBLANK;
     }
 
+    /**
+     * Advances the LCD timing by one machine cycle
+     */
     public void tick() {
-        tickCounter++;
+        advance(1);
+    }
+
+    /**
+     * Advances the LCD timing by several machine cycles at once, every mode
+     * and line change in between is gone through so the registers and the
+     * requested interrupts end up as if every cycle had been ticked
+     *
+     * @param cycles number of machine cycles to advance
+     */
+    public void advance(int cycles) {
+        tickCounter += cycles;
+
+        if(!registers.isTurnedOn()) {
+            turnOff();
+            return;
+        }
+
+        while(cycles > 0) {
+            int step = Math.min(cycles, getCyclesToNextChange());
+
+            cycles     -= step;
+            lineCycles += step;
+
+            if(lineCycles == LINE_CYCLES) {
+                lineCycles = 0;
+                LY.setValue((LY.getValue() + 1) % LINES);
+            }
+
+            update();
+        }
+    }
+
+    /**
+     * Gets the number of machine cycles until the next mode or line change,
+     * the only moments where the LCD can request an interrupt or change a
+     * register
+     *
+     * @return machine cycles until the next event, Integer.MAX_VALUE if the
+     * LCD is turned off
+     */
+    public int getCyclesToNextEvent() {
+        if(!registers.isTurnedOn()) return Integer.MAX_VALUE;
+
+        return getCyclesToNextChange();
+    }
+
+    /**
+     * Gets the number of machine cycles until the next mode or line change
+     *
+     * @return machine cycles until the next change
+     */
+    private int getCyclesToNextChange() {
+        if(LY.getValue() < VBLANK_LINE) {
+            if(lineCycles < OAM_SCAN_END) return OAM_SCAN_END - lineCycles;
+            if(lineCycles < DRAWING_END)  return DRAWING_END - lineCycles;
+        }
+
+        return LINE_CYCLES - lineCycles;
+    }
+
+    /**
+     * Gets the mode the LCD is in at the current line and cycle
+     *
+     * @return mode of the LCD
+     */
+    private int getCurrentMode() {
+        if(LY.getValue() >= VBLANK_LINE) return VBLANK;
+        if(lineCycles < OAM_SCAN_END)    return OAM_SCAN;
+        if(lineCycles < DRAWING_END)     return DRAWING;
+
+        return HBLANK;
     }
 
+    /**
+     * Updates the mode and coincidence bits of STAT and requests the VBlank
+     * interrupt on entering VBlank and the STAT interrupt when one of its
+     * enabled sources starts holding
+     */
+    private void update() {
+        int newMode = getCurrentMode();
+        if(newMode == VBLANK && mode != VBLANK)
+            bus.requestInterrupt(VBLANK_INTERRUPT);
+        mode = newMode;
+
+        boolean coincidence = LY.getValue() == LYC.getValue();
+        int stat = (STAT.getValue() & 0xF8) | (coincidence ? 0x04 : 0) | mode;
+        STAT.setValue(stat);
+
+        boolean newStatLine = (coincidence && (stat & 0x40) != 0) ||
+                (mode == HBLANK && (stat & 0x08) != 0) ||
+                (mode == VBLANK && (stat & 0x10) != 0) ||
+                (mode == OAM_SCAN && (stat & 0x20) != 0);
+
+        if(newStatLine && !statLine)
+            bus.requestInterrupt(STAT_INTERRUPT);
+        statLine = newStatLine;
+    }
+
+    /**
+     * Resets the LCD timing while it is turned off, LY stays at 0 and STAT
+     * reports HBlank
+     */
+    private void turnOff() {
+        lineCycles = 0;
+        mode       = HBLANK;
+        statLine   = false;
+
+        LY.setValue(0);
+        STAT.setValue(STAT.getValue() & 0xFC);
+    }
+
+    /**
+     * Gets the machine cycles the ppu went through
+     *
+     * @return machine cycle count
+     */
     public int getCounter() {
         return tickCounter;
     }
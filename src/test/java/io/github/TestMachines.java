@@ -0,0 +1,131 @@
+package io.github;
+
+import io.github.cpu.CPU;
+import io.github.memory.Bus;
+import io.github.memory.cartridge.MBC0;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Builds the machines shared by the tests, a DMG bus with a 32KiB rom on an
+ * MBC0 cartridge and a cpu connected to it
+ *
+ * @author rodrigotimoteo
+ */
+
+public final class TestMachines {
+
+    /**
+     * Stores the size of the rom of every test cartridge (2 banks)
+     */
+    public static final int ROM_SIZE = 0x8000;
+
+    /**
+     * Stores the address the cpu starts executing from
+     */
+    public static final int PROGRAM_START = 0x100;
+
+    /**
+     * Opcodes left out of random programs (no instruction, HALT and STOP)
+     */
+    private static final int[] EXCLUDED_OPCODES = {0xD3, 0xDB, 0xDD, 0xE3,
+            0xE4, 0xEB, 0xEC, 0xED, 0xF4, 0xFC, 0xFD, 0x10, 0x76};
+
+    private TestMachines() {}
+
+    /**
+     * Creates a rom holding the given bytes at the address the cpu starts
+     * executing from
+     *
+     * @param program bytes to place at address 0x100
+     * @return rom content
+     */
+    public static byte[] rom(int... program) {
+        byte[] rom = new byte[ROM_SIZE];
+        for(int i = 0; i < program.length; i++)
+            rom[PROGRAM_START + i] = (byte) program[i];
+
+        return rom;
+    }
+
+    /**
+     * Creates a rom filled with random instructions in the given range, left
+     * out opcodes are never generated
+     *
+     * @param seed of the random generator
+     * @param start first address filled
+     * @param end address after the last one filled
+     * @return rom content
+     */
+    public static byte[] randomRom(long seed, int start, int end) {
+        Random random = new Random(seed);
+        byte[] rom = new byte[ROM_SIZE];
+
+        for(int i = start; i < end; i++) {
+            int value;
+            do {
+                value = random.nextInt(0x100);
+            } while(isExcluded(value));
+
+            rom[i] = (byte) value;
+        }
+
+        return rom;
+    }
+
+    /**
+     * Checks if an opcode is left out of random programs
+     *
+     * @param operationCode to check
+     * @return true if it has no instruction or halts or stops the cpu
+     */
+    public static boolean isExcluded(int operationCode) {
+        for(int excluded : EXCLUDED_OPCODES)
+            if(excluded == operationCode) return true;
+
+        return false;
+    }
+
+    /**
+     * Creates a bus with an empty rom
+     *
+     * @return bus ready to be connected to a cpu
+     */
+    public static Bus bus() {
+        return bus(new byte[ROM_SIZE]);
+    }
+
+    /**
+     * Creates a bus with the given rom
+     *
+     * @param rom content of the cartridge (copied by the module)
+     * @return bus ready to be connected to a cpu
+     */
+    public static Bus bus(byte[] rom) {
+        return new Bus(false, new MBC0(2, 0, ByteBuffer.wrap(rom)));
+    }
+
+    /**
+     * Creates a cpu connected to the given bus
+     *
+     * @param bus bus used by the cpu
+     * @return cpu ready to execute
+     */
+    public static CPU cpu(Bus bus) {
+        CPU cpu = new CPU(bus);
+        bus.setCpu(cpu);
+
+        return cpu;
+    }
+
+    /**
+     * Creates a cpu running the given rom
+     *
+     * @param rom content of the cartridge (copied by the module)
+     * @return cpu ready to execute
+     */
+    public static CPU cpu(byte[] rom) {
+        return cpu(bus(rom));
+    }
+}
@@ -0,0 +1,436 @@
+package io.github.cpu;
+
+import io.github.TestMachines;
+import io.github.memory.Bus;
+import io.github.ppu.PPU;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CPUTest {
+
+    /**
+     * Creates a cpu that will execute the given bytes at address 0x100
+     *
+     * @param program bytes to place at address 0x100
+     * @param haltFastForward whether to skip halted cycles in bulk
+     * @return cpu ready to execute the program
+     */
+    private CPU createCPU(int[] program, boolean haltFastForward)
+            throws FileNotFoundException {
+        return createCPU(TestMachines.rom(program), haltFastForward);
+    }
+
+    /**
+     * Creates a cpu that will execute the given rom
+     *
+     * @param rom cartridge contents
+     * @param haltFastForward whether to skip halted cycles in bulk
+     * @return cpu ready to execute the rom
+     */
+    private CPU createCPU(byte[] rom, boolean haltFastForward)
+            throws FileNotFoundException {
+        CPU cpu = TestMachines.cpu(rom);
+        cpu.setHaltFastForward(haltFastForward);
+
+        return cpu;
+    }
+
+    /**
+     * Test that halt fast-forward is enabled by default and a halted cpu
+     * advances one machine cycle per tick once it is disabled
+     */
+    @Test
+    void haltTicksWithoutFastForward() throws FileNotFoundException {
+        CPU cpu = TestMachines.cpu(TestMachines.rom(0x76)); //HALT
+        assertTrue(cpu.isHaltFastForward());
+
+        cpu.setHaltFastForward(false);
+
+        cpu.tick();
+        assertTrue(cpu.isHalted());
+
+        int machineCycles = cpu.getTimers().getMachineCycles();
+        cpu.tick();
+
+        assertEquals(machineCycles + 1, cpu.getTimers().getMachineCycles());
+        assertEquals(0, cpu.getMetrics().getHaltSkips());
+    }
+
+    /**
+     * Test that the halt bug executes the byte following HALT twice when it is
+     * past address 0xFF
+     */
+    @Test
+    void haltBugRepeatsNextByte() throws FileNotFoundException {
+        int[] program = {
+                0x3E, 0x04,         //LD A,04H
+                0xE0, 0xFF,         //LDH (FFH),A
+                0xE0, 0x0F,         //LDH (0FH),A
+                0x76,               //HALT
+                0x04,               //INC B
+                0x00                //NOP
+        };
+
+        CPU cpu = createCPU(program, false);
+        int valueB = cpu.getRegisters().getRegister(Registers.B);
+
+        while(cpu.getRegisters().getProgramCounter() != 0x108)
+            cpu.tick();
+
+        assertFalse(cpu.isHalted());
+        assertFalse(cpu.getInterrupts().isHaltBug());
+        assertEquals((valueB + 2) & 0xFF, cpu.getRegisters().getRegister(Registers.B));
+    }
+
+    /**
+     * Test that a halted cpu with nothing pending skips up to the maximum
+     * halt skip per tick
+     */
+    @Test
+    void haltSkipsToLimit() throws FileNotFoundException {
+        int[] program = {
+                0x76                //HALT
+        };
+
+        CPU cpu = createCPU(program, true);
+        cpu.tick();
+        assertTrue(cpu.isHalted());
+
+        int machineCycles = cpu.getTimers().getMachineCycles();
+        cpu.tick();
+
+        assertEquals(machineCycles + CPU.DEFAULT_MAX_HALT_SKIP,
+                cpu.getTimers().getMachineCycles());
+        assertEquals(1, cpu.getMetrics().getHaltSkips());
+
+        cpu.setMaxHaltSkip(10);
+        cpu.tick();
+
+        assertEquals(machineCycles + CPU.DEFAULT_MAX_HALT_SKIP + 10,
+                cpu.getTimers().getMachineCycles());
+    }
+
+    /**
+     * Test that an interrupt ends a fast-forwarded halt on the same cycle and
+     * state as when ticking one machine cycle at a time
+     */
+    @Test
+    void interruptEndsHaltLikeTicking() throws FileNotFoundException {
+        int[] program = {
+                0x3E, 0x01,         //LD A,01H
+                0xE0, 0xFF,         //LDH (FFH),A
+                0xFB,               //EI
+                0x76                //HALT
+        };
+
+        CPU skippingCPU = createCPU(program, true);
+        CPU tickingCPU  = createCPU(program, false);
+
+        for(CPU cpu : new CPU[] {skippingCPU, tickingCPU})
+            while(!cpu.isHalted())
+                cpu.tick();
+
+        skippingCPU.tick();
+        while(tickingCPU.getTimers().getMachineCycles() <
+                skippingCPU.getTimers().getMachineCycles())
+            tickingCPU.tick();
+
+        skippingCPU.requestInterrupt(0);
+        tickingCPU.requestInterrupt(0);
+        skippingCPU.tick();
+        tickingCPU.tick();
+
+        assertFalse(skippingCPU.isHalted());
+        assertEquals(0x40, skippingCPU.getRegisters().getProgramCounter());
+        assertEquals(tickingCPU.getTimers().getMachineCycles(),
+                skippingCPU.getTimers().getMachineCycles());
+        assertEquals(tickingCPU.getRegisters().toString(),
+                skippingCPU.getRegisters().toString());
+    }
+
+    /**
+     * Runs a cpu skipping halted cycles and one ticking them side by side and
+     * checks they reach the same state, I/O registers included, after every
+     * chunk of machine cycles
+     *
+     * @param rom cartridge contents
+     * @param ppu whether a ppu is attached to both machines
+     * @return cpu that skipped halted cycles
+     */
+    private CPU assertHaltSkipsLikeTicking(byte[] rom, boolean ppu)
+            throws FileNotFoundException {
+        Bus skippingBus = TestMachines.bus(rom);
+        Bus tickingBus  = TestMachines.bus(rom);
+        CPU skippingCPU = TestMachines.cpu(skippingBus);
+        CPU tickingCPU  = TestMachines.cpu(tickingBus);
+        tickingCPU.setHaltFastForward(false);
+
+        if(ppu) {
+            skippingBus.setPpu(new PPU(skippingBus));
+            tickingBus.setPpu(new PPU(tickingBus));
+        }
+
+        for(int i = 0; i < 40; i++) {
+            skippingCPU.runFor(1000);
+            tickingCPU.runFor(1000);
+
+            assertEquals(tickingCPU.getTimers().getMachineCycles(),
+                    skippingCPU.getTimers().getMachineCycles());
+            assertEquals(tickingCPU.getRegisters().toString(),
+                    skippingCPU.getRegisters().toString());
+            for(int address = 0xFF04; address <= 0xFF45; address++)
+                assertEquals(tickingBus.peek(address), skippingBus.peek(address));
+        }
+
+        assertTrue(skippingCPU.getMetrics().getHaltSkips() > 0);
+
+        return skippingCPU;
+    }
+
+    /**
+     * Test that the timer interrupt wakes a fast-forwarded halt on the same
+     * cycle as when ticking every halted machine cycle
+     */
+    @Test
+    void timerInterruptEndsHaltLikeTicking() throws FileNotFoundException {
+        int[] program = {
+                0x3E, 0x06,         //LD A,06H
+                0xE0, 0x07,         //LDH (07H),A
+                0x3E, 0x04,         //LD A,04H
+                0xE0, 0xFF,         //LDH (FFH),A
+                0xAF,               //XOR A
+                0xE0, 0x0F,         //LDH (0FH),A
+                0xFB,               //EI
+                0x76,               //HALT
+                0x04,               //INC B
+                0x18, 0xFC          //JR -4
+        };
+
+        byte[] rom = TestMachines.rom(program);
+        rom[0x50] = 0x0C;           //INC C
+        rom[0x51] = (byte) 0xD9;    //RETI
+
+        CPU cpu = assertHaltSkipsLikeTicking(rom, false);
+
+        assertTrue(cpu.getRegisters().getRegister(Registers.C) > 0);
+    }
+
+    /**
+     * Test that the VBlank interrupt of the ppu wakes a fast-forwarded halt on
+     * the same cycle as when ticking every halted machine cycle
+     */
+    @Test
+    void vblankInterruptEndsHaltLikeTicking() throws FileNotFoundException {
+        int[] program = {
+                0x3E, 0x01,         //LD A,01H
+                0xE0, 0xFF,         //LDH (FFH),A
+                0xAF,               //XOR A
+                0xE0, 0x0F,         //LDH (0FH),A
+                0xFB,               //EI
+                0x76,               //HALT
+                0x04,               //INC B
+                0x18, 0xFC          //JR -4
+        };
+
+        byte[] rom = TestMachines.rom(program);
+        rom[0x40] = 0x0C;           //INC C
+        rom[0x41] = (byte) 0xD9;    //RETI
+
+        CPU cpu = assertHaltSkipsLikeTicking(rom, true);
+
+        assertTrue(cpu.getRegisters().getRegister(Registers.C) > 0);
+    }
+
+    /**
+     * Test that advancing the clock once per instruction reaches the same
+     * state as ticking every machine cycle
+     */
+    @Test
+    void instructionTimingMatchesCycleTiming() throws FileNotFoundException {
+        byte[] rom = TestMachines.randomRom(2, 0x100, 0x4100);
+
+        CPU instructionCPU = createCPU(rom, true);
+        CPU cycleCPU = createCPU(rom, true);
+        instructionCPU.setInstructionTiming(true);
+
+        for(int i = 0; i < 5000; i++) {
+            instructionCPU.tick();
+            cycleCPU.tick();
+
+            assertEquals(cycleCPU.getTimers().getMachineCycles(),
+                    instructionCPU.getTimers().getMachineCycles());
+            assertEquals(cycleCPU.getRegisters().toString(),
+                    instructionCPU.getRegisters().toString());
+        }
+    }
+
+    /**
+     * Test that charging the cycles of every instruction at once keeps DIV,
+     * TIMA and the timer interrupts exactly where ticking every machine cycle
+     * puts them, with a loop that polls TIMA and branches both ways
+     */
+    @Test
+    void instructionTimingMatchesCycleTimingWithTimer() throws FileNotFoundException {
+        int[] program = {
+                0x3E, 0x05,         //LD A,05H
+                0xE0, 0x07,         //LDH (07H),A
+                0x3E, 0xF0,         //LD A,F0H
+                0xE0, 0x06,         //LDH (06H),A
+                0x3E, 0x04,         //LD A,04H
+                0xE0, 0xFF,         //LDH (FFH),A
+                0xFB,               //EI
+                0xF0, 0x05,         //LDH A,(05H)
+                0x47,               //LD B,A
+                0x15,               //DEC D
+                0x20, 0xFA,         //JR NZ,-6
+                0x18, 0xF8          //JR -8
+        };
+
+        byte[] rom = TestMachines.rom(program);
+        rom[0x50] = 0x0C;           //INC C
+        rom[0x51] = (byte) 0xD9;    //RETI
+
+        Bus instructionBus = TestMachines.bus(rom);
+        Bus cycleBus = TestMachines.bus(rom);
+        CPU instructionCPU = TestMachines.cpu(instructionBus);
+        CPU cycleCPU = TestMachines.cpu(cycleBus);
+        instructionCPU.setInstructionTiming(true);
+
+        for(int i = 0; i < 5000; i++) {
+            instructionCPU.tick();
+            cycleCPU.tick();
+
+            assertEquals(cycleCPU.getTimers().getMachineCycles(),
+                    instructionCPU.getTimers().getMachineCycles());
+            assertEquals(cycleCPU.getRegisters().toString(),
+                    instructionCPU.getRegisters().toString());
+            for(int address = 0xFF04; address <= 0xFF0F; address++)
+                assertEquals(cycleBus.peek(address), instructionBus.peek(address));
+        }
+
+        assertTrue(instructionCPU.getRegisters().getRegister(Registers.C) > 0);
+    }
+
+    /**
+     * Test that the highest priority pending interrupt is serviced first and
+     * only its request is cleared
+     */
+    @Test
+    void interruptsAreServicedByPriority() throws FileNotFoundException {
+        int[] program = {
+                0x3E, 0x1F,         //LD A,1FH
+                0xE0, 0xFF,         //LDH (FFH),A
+                0x3E, 0x14,         //LD A,14H
+                0xE0, 0x0F,         //LDH (0FH),A
+                0xFB,               //EI
+                0x00                //NOP
+        };
+
+        byte[] rom = TestMachines.rom(program);
+        rom[0x50] = (byte) 0xF0;    //LDH A,(0FH)
+        rom[0x51] = 0x0F;
+
+        CPU cpu = createCPU(rom, true);
+        for(int i = 0; i < 6; i++)
+            cpu.tick();
+
+        assertEquals(0x50, cpu.getRegisters().getProgramCounter());
+
+        cpu.tick();
+        assertEquals(0x10, cpu.getRegisters().getRegister(Registers.A) & 0x1F);
+    }
+
+    /**
+     * Test that a bounded run ends on the first instruction boundary at or
+     * after the requested cycles
+     */
+    @Test
+    void runForEndsBetweenInstructions() throws FileNotFoundException {
+        int[] program = {
+                0x01, 0x00, 0x00,   //LD BC,0000H
+                0x01, 0x00, 0x00    //LD BC,0000H
+        };
+
+        CPU cpu = createCPU(program, true);
+        RunResult result = cpu.runFor(7);
+
+        assertEquals(RunResult.StopReason.CYCLES_ELAPSED, result.getReason());
+        assertEquals(10, result.getMachineCycles());
+        assertEquals(0x106, cpu.getRegisters().getProgramCounter());
+
+        result = cpu.runFrame();
+        assertEquals(CPU.CYCLES_PER_FRAME, result.getMachineCycles());
+    }
+
+    /**
+     * Test that a halted cpu doesn't skip past the end of a bounded run
+     */
+    @Test
+    void runForBoundsHaltSkip() throws FileNotFoundException {
+        int[] program = {
+                0x76                //HALT
+        };
+
+        CPU cpu = createCPU(program, true);
+        RunResult result = cpu.runFor(100);
+
+        assertEquals(100, result.getMachineCycles());
+        assertEquals(100, cpu.getTimers().getMachineCycles());
+    }
+
+    /**
+     * Test that running until a condition stops right after the instruction
+     * that made it true and that a stopped cpu gives control back
+     */
+    @Test
+    void runUntilStopsOnCondition() throws FileNotFoundException {
+        int[] program = new int[0x20];
+        program[0x1F] = 0x10;       //STOP
+
+        CPU cpu = createCPU(program, true);
+        RunResult result = cpu.runUntil(running ->
+                running.getProgramCounter() == 0x110);
+
+        assertEquals(RunResult.StopReason.CONDITION_MET, result.getReason());
+        assertEquals(0x10, result.getMachineCycles());
+        assertEquals(0x110, cpu.getRegisters().getProgramCounter());
+
+        result = cpu.runUntil(running -> false);
+        assertEquals(RunResult.StopReason.STOPPED, result.getReason());
+        assertEquals(0x10, result.getMachineCycles());
+    }
+
+    /**
+     * Test that the stop condition and the cycle budget are checked after
+     * every instruction in every execution mode, including inside blocks
+     */
+    @Test
+    void runStopsInsideBlocks() throws FileNotFoundException {
+        int[] program = new int[0x12];
+        program[0x10] = 0x18;       //JR 0100H
+        program[0x11] = 0xEE;
+
+        for(ExecutionMode executionMode : ExecutionMode.values()) {
+            CPU cpu = TestMachines.cpu(TestMachines.rom(program));
+            cpu.setExecutionMode(executionMode);
+
+            RunResult result = cpu.runUntil(running ->
+                    running.getProgramCounter() == 0x104);
+
+            assertEquals(RunResult.StopReason.CONDITION_MET, result.getReason(),
+                    executionMode.name());
+            assertEquals(4, result.getMachineCycles(), executionMode.name());
+            assertEquals(0x104, cpu.getRegisters().getProgramCounter());
+
+            result = cpu.runFor(1);
+
+            assertEquals(RunResult.StopReason.CYCLES_ELAPSED, result.getReason(),
+                    executionMode.name());
+            assertEquals(1, result.getMachineCycles(), executionMode.name());
+            assertEquals(0x105, cpu.getRegisters().getProgramCounter());
+        }
+    }
+}
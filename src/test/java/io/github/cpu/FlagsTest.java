@@ -0,0 +1,132 @@
+package io.github.cpu;
+
+import io.github.TestMachines;
+import io.github.memory.Bus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlagsTest {
+
+    Bus bus;
+
+    @BeforeEach
+    void init() {
+        bus = TestMachines.bus();
+    }
+
+    /**
+     * Builds the flag register value the way the eager ALU used to
+     */
+    private int expected(boolean zero, boolean subtract, boolean half, boolean carry) {
+        return (zero ? 0x80 : 0) | (subtract ? 0x40 : 0) | (half ? 0x20 : 0) |
+                (carry ? 0x10 : 0);
+    }
+
+    /**
+     * Creates a flags object in the given mode with the given operation
+     * recorded
+     */
+    private Flags record(boolean lazy, int operation, int operand1, int operand2,
+                         int carry, int result) {
+        Flags flags = new Flags(bus);
+        flags.setLazy(lazy);
+        flags.recordOperation(operation, operand1, operand2, carry, result);
+
+        return flags;
+    }
+
+    /**
+     * Test additions (with and without carry) for every pair of operands in
+     * both modes, reading zero and carry straight from the pending operation
+     */
+    @Test
+    void addMatchesEagerFormulas() {
+        for(int a = 0; a < 0x100; a++)
+            for(int n = 0; n < 0x100; n++)
+                for(int c = 0; c < 2; c++) {
+                    int sum = a + n + c;
+                    int value = expected((sum & 0xFF) == 0, false,
+                            (((a & 0xF) + (n & 0xF) + c) & 0x10) == 0x10, sum > 0xFF);
+
+                    Flags lazy = record(true, Flags.ADD, a, n, c, sum);
+                    assertEquals((value & 0x80) != 0, lazy.getZeroFlag());
+                    assertEquals((value & 0x10) != 0, lazy.getCarryFlag());
+                    assertEquals(value, lazy.getValue());
+
+                    assertEquals(value, record(false, Flags.ADD, a, n, c, sum).getValue());
+                }
+    }
+
+    /**
+     * Test subtractions (with and without carry) for every pair of operands in
+     * both modes, reading zero and carry straight from the pending operation
+     */
+    @Test
+    void subMatchesEagerFormulas() {
+        for(int a = 0; a < 0x100; a++)
+            for(int n = 0; n < 0x100; n++)
+                for(int c = 0; c < 2; c++) {
+                    int difference = a - n - c;
+                    int value = expected((difference & 0xFF) == 0, true,
+                            ((a & 0xF) - (n & 0xF) - c) < 0, difference < 0);
+
+                    Flags lazy = record(true, Flags.SUB, a, n, c, difference);
+                    assertEquals((value & 0x80) != 0, lazy.getZeroFlag());
+                    assertEquals((value & 0x10) != 0, lazy.getCarryFlag());
+                    assertEquals(value, lazy.getValue());
+
+                    assertEquals(value, record(false, Flags.SUB, a, n, c, difference).getValue());
+                }
+    }
+
+    /**
+     * Test that increments and decrements keep the carry of the previous
+     * operation even when it is still pending
+     */
+    @Test
+    void incDecKeepPendingCarry() {
+        for(int v = 0; v < 0x100; v++) {
+            Flags flags = record(true, Flags.ADD, 0xFF, 0x01, 0, 0x100);
+            flags.recordOperation(Flags.INC, v, 1, 0, (v + 1) & 0xFF);
+
+            assertEquals(expected(((v + 1) & 0xFF) == 0, false,
+                    (((v & 0xF) + 1) & 0x10) == 0x10, true), flags.getValue());
+
+            flags = record(true, Flags.SUB, 0x05, 0x01, 0, 0x04);
+            flags.recordOperation(Flags.DEC, v, 1, 0, (v - 1) & 0xFF);
+
+            assertEquals(expected(((v - 1) & 0xFF) == 0, true,
+                    ((v & 0xF) - 1) < 0, false), flags.getValue());
+        }
+    }
+
+    /**
+     * Test the flags produced by the logic operations
+     */
+    @Test
+    void logicOperations() {
+        assertEquals(0xA0, record(true, Flags.AND, 0, 0, 0, 0x00).getValue());
+        assertEquals(0x20, record(true, Flags.AND, 0, 0, 0, 0x01).getValue());
+        assertEquals(0x80, record(true, Flags.OR, 0, 0, 0, 0x00).getValue());
+        assertEquals(0x00, record(true, Flags.OR, 0, 0, 0, 0x10).getValue());
+    }
+
+    /**
+     * Test that partially updating the flags keeps the values computed from
+     * the pending operation
+     */
+    @Test
+    void partialUpdateAfterPendingOperation() {
+        Flags flags = record(true, Flags.SUB, 0x10, 0x20, 0, 0x10 - 0x20);
+        flags.setFlags(2, 0, 0, 2);
+
+        assertEquals(0x10, flags.getValue());
+
+        flags = record(true, Flags.SUB, 0x10, 0x20, 0, 0x10 - 0x20);
+        flags.setFlags(1, 0, 0, 0);
+
+        assertEquals(0x80, flags.getValue());
+    }
+}
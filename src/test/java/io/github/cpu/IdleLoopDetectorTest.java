@@ -0,0 +1,110 @@
+package io.github.cpu;
+
+import io.github.TestMachines;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleLoopDetectorTest {
+
+    /**
+     * Creates a cpu that will execute the given bytes at address 0x100
+     *
+     * @param program bytes to place at address 0x100
+     * @param idleLoopDetection whether to skip idle loops
+     * @return cpu ready to execute the program
+     */
+    private CPU createCPU(int[] program, boolean idleLoopDetection)
+            throws FileNotFoundException {
+        CPU cpu = TestMachines.cpu(TestMachines.rom(program));
+        cpu.setIdleLoopDetection(idleLoopDetection);
+
+        return cpu;
+    }
+
+    /**
+     * Runs both cpus until the skipping one reaches the given machine cycles
+     * and checks that the other one reaches the same state at that point
+     *
+     * @param skippingCPU cpu with idle loop detection
+     * @param referenceCPU cpu executing every iteration
+     * @param machineCycles to run for
+     */
+    private void assertSameState(CPU skippingCPU, CPU referenceCPU,
+                                 int machineCycles) {
+        while(skippingCPU.getTimers().getMachineCycles() < machineCycles)
+            skippingCPU.tick();
+        while(referenceCPU.getTimers().getMachineCycles() <
+                skippingCPU.getTimers().getMachineCycles())
+            referenceCPU.tick();
+
+        assertEquals(referenceCPU.getTimers().getMachineCycles(),
+                skippingCPU.getTimers().getMachineCycles());
+        assertEquals(referenceCPU.getRegisters().toString(),
+                skippingCPU.getRegisters().toString());
+    }
+
+    /**
+     * Test that a loop polling LY is fast-forwarded without changing the
+     * state reached
+     */
+    @Test
+    void pollingLoopIsSkipped() throws FileNotFoundException {
+        int[] program = {
+                0xF0, 0x44,         //LDH A,(44H)
+                0xFE, 0x91,         //CP 91H
+                0x20, 0xFA          //JR NZ,0100H
+        };
+
+        CPU skippingCPU = createCPU(program, true);
+        assertSameState(skippingCPU, createCPU(program, false), 100000);
+
+        assertTrue(skippingCPU.getMetrics().getIdleLoopSkips() > 0);
+        assertTrue(skippingCPU.getMetrics().getIdleLoopSkippedCycles() > 90000);
+    }
+
+    /**
+     * Test that the configured maximum skip is respected
+     */
+    @Test
+    void skipIsLimited() throws FileNotFoundException {
+        int[] program = {
+                0x18, 0xFE          //JR 0100H
+        };
+
+        CPU cpu = createCPU(program, true);
+        cpu.getIdleLoopDetector().setMaxSkip(30);
+
+        for(int i = 0; i < 10; i++)
+            cpu.tick();
+
+        assertTrue(cpu.getTimers().getMachineCycles() <= 10 * (3 + 30));
+        assertTrue(cpu.getMetrics().getIdleLoopSkips() > 0);
+    }
+
+    /**
+     * Test that loops writing to memory or counting are not skipped
+     */
+    @Test
+    void loopsWithSideEffectsAreNotSkipped() throws FileNotFoundException {
+        int[] writingLoop = {
+                0xEA, 0x00, 0xC0,   //LD (C000H),A
+                0x18, 0xFB          //JR 0100H
+        };
+        int[] countingLoop = {
+                0x05,               //DEC B
+                0x20, 0xFD,         //JR NZ,0100H
+                0x18, 0xFB          //JR 0100H
+        };
+
+        CPU writingCPU = createCPU(writingLoop, true);
+        assertSameState(writingCPU, createCPU(writingLoop, false), 10000);
+        assertEquals(0, writingCPU.getMetrics().getIdleLoopSkips());
+
+        CPU countingCPU = createCPU(countingLoop, true);
+        assertSameState(countingCPU, createCPU(countingLoop, false), 10000);
+        assertEquals(0, countingCPU.getMetrics().getIdleLoopSkips());
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.cpu;
+
+import io.github.TestMachines;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistersTest {
+
+    Registers registers;
+
+    @BeforeEach
+    void init() {
+        registers = new Registers(TestMachines.bus());
+    }
+
+    /**
+     * Test the default values assigned at the end of the boot rom
+     */
+    @Test
+    void defaultRegisterPairs() {
+        assertEquals(registers.getAF(), 0x01B0);
+        assertEquals(registers.getBC(), 0x0013);
+        assertEquals(registers.getDE(), 0x00D8);
+        assertEquals(registers.getHL(), 0x014D);
+    }
+
+    /**
+     * Test that each 8 bit register is kept inside its range when assigned
+     *
+     * @param register index of the register to assign
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {Registers.A, Registers.B, Registers.C, Registers.D,
+            Registers.E, Registers.H, Registers.L})
+    void setRegisterMasksValue(int register) {
+        registers.setRegister(register, 0x1AB);
+
+        assertEquals(registers.getRegister(register), 0xAB);
+    }
+
+    /**
+     * Test that the 16 bit pairs are composed by the correct 8 bit registers
+     */
+    @Test
+    void pairsMatchSingleRegisters() {
+        registers.setBC(0x1234);
+        registers.setDE(0x5678);
+        registers.setHL(0x9ABC);
+
+        assertEquals(registers.getRegister(Registers.B), 0x12);
+        assertEquals(registers.getRegister(Registers.C), 0x34);
+        assertEquals(registers.getRegister(Registers.D), 0x56);
+        assertEquals(registers.getRegister(Registers.E), 0x78);
+        assertEquals(registers.getRegister(Registers.H), 0x9A);
+        assertEquals(registers.getRegister(Registers.L), 0xBC);
+    }
+
+    /**
+     * Test that register F is shared with the flags object and that its lower
+     * nibble is always cleared when assigned through AF
+     */
+    @Test
+    void registerFIsFlags() {
+        registers.setAF(0xFFFF);
+
+        assertEquals(registers.getAF(), 0xFFF0);
+        assertEquals(registers.getRegister(Registers.F), 0xF0);
+        assertTrue(registers.getFlags().getZeroFlag());
+        assertTrue(registers.getFlags().getCarryFlag());
+    }
+}
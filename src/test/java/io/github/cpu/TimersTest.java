@@ -0,0 +1,140 @@
+package io.github.cpu;
+
+import io.github.TestMachines;
+import io.github.memory.Bus;
+import io.github.memory.ReservedAddresses;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimersTest {
+
+    /**
+     * Stores the addresses of the timer and interrupt registers
+     */
+    private static final int DIV  = ReservedAddresses.DIV.getAddress();
+    private static final int TIMA = ReservedAddresses.TIMA.getAddress();
+    private static final int TMA  = ReservedAddresses.TMA.getAddress();
+    private static final int TAC  = ReservedAddresses.TAC.getAddress();
+    private static final int IF   = ReservedAddresses.IF.getAddress();
+
+    /**
+     * Attaches a cpu to the given bus, lets its divider count the given cycles
+     * and then sets the timer registers, with no interrupt requested
+     *
+     * @param bus of the machine
+     * @param divider machine cycles counted before the timer is configured
+     * @param tac value of the timer control register
+     * @param tma value of the timer modulo register
+     * @param tima value of the timer counter
+     * @return timers of the cpu
+     */
+    private Timers createTimers(Bus bus, int divider, int tac, int tma, int tima) {
+        Timers timers = TestMachines.cpu(bus).getTimers();
+
+        bus.setValue(TAC, 0);
+        bus.setValue(DIV, 0);
+        timers.advance(divider);
+
+        bus.setValue(TAC, tac);
+        bus.setValue(TMA, tma);
+        bus.setValue(TIMA, tima);
+        bus.setValue(IF, 0);
+
+        return timers;
+    }
+
+    /**
+     * Test that advancing several cycles at once leaves DIV, TIMA and the
+     * timer interrupt request as ticking every cycle does
+     */
+    @Test
+    void advanceMatchesTicking() throws FileNotFoundException {
+        Random random = new Random(7);
+
+        for(int i = 0; i < 300; i++) {
+            int divider = random.nextInt(0x4000);
+            int tac     = random.nextInt(8);
+            int tma     = random.nextInt(0x100);
+            int tima    = random.nextInt(0x100);
+            int cycles  = random.nextInt(3000);
+
+            Bus ticked   = TestMachines.bus();
+            Bus advanced = TestMachines.bus();
+            Timers tickedTimers   = createTimers(ticked, divider, tac, tma, tima);
+            Timers advancedTimers = createTimers(advanced, divider, tac, tma, tima);
+
+            for(int j = 0; j < cycles; j++)
+                tickedTimers.tick();
+            advancedTimers.advance(cycles);
+
+            String state = "divider " + divider + " tac " + tac + " tma " + tma +
+                    " tima " + tima + " cycles " + cycles;
+            assertEquals(ticked.peek(DIV), advanced.peek(DIV), state);
+            assertEquals(ticked.peek(TIMA), advanced.peek(TIMA), state);
+            assertEquals(ticked.peek(IF) & 0x04, advanced.peek(IF) & 0x04, state);
+            assertEquals(tickedTimers.getCyclesToNextEvent(),
+                    advancedTimers.getCyclesToNextEvent(), state);
+        }
+    }
+
+    /**
+     * Test that the timer interrupt is requested exactly after the cycles
+     * reported until the next event
+     */
+    @Test
+    void nextEventIsTheOverflow() throws FileNotFoundException {
+        Bus bus = TestMachines.bus();
+        Timers timers = createTimers(bus, 0x123, 0x05, 0x80, 0xF0);
+
+        int cycles = timers.getCyclesToNextEvent();
+        for(int i = 1; i < cycles; i++)
+            timers.tick();
+
+        assertEquals(0, bus.peek(IF) & 0x04);
+
+        timers.tick();
+
+        assertEquals(0x04, bus.peek(IF) & 0x04);
+        assertEquals(0x80, bus.peek(TIMA));
+    }
+
+    /**
+     * Test that a disabled timer has no event and only the divider counts
+     */
+    @Test
+    void disabledTimerOnlyCountsDivider() throws FileNotFoundException {
+        Bus bus = TestMachines.bus();
+        Timers timers = createTimers(bus, 0, 0x01, 0x00, 0xFF);
+
+        assertEquals(Integer.MAX_VALUE, timers.getCyclesToNextEvent());
+
+        timers.advance(0x40 * 3 + 5);
+
+        assertEquals(3, bus.peek(DIV));
+        assertEquals(0xFF, bus.peek(TIMA));
+        assertEquals(0, bus.peek(IF) & 0x04);
+    }
+
+    /**
+     * Test that writing DIV resets the whole divider so the next increment
+     * comes a full period later
+     */
+    @Test
+    void writingDivResetsDivider() throws FileNotFoundException {
+        Bus bus = TestMachines.bus();
+        Timers timers = createTimers(bus, 0x3F, 0x00, 0x00, 0x00);
+
+        bus.setValue(DIV, 0x55);
+        assertEquals(0, bus.peek(DIV));
+
+        timers.advance(0x3F);
+        assertEquals(0, bus.peek(DIV));
+
+        timers.tick();
+        assertEquals(1, bus.peek(DIV));
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.cpu.instructions;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.cpu.Registers;
+import io.github.memory.Bus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AluTablesTest {
+
+    Bus arithmeticBus;
+
+    Bus tableBus;
+
+    CPU arithmeticCPU;
+
+    CPU tableCPU;
+
+    Alu arithmeticAlu;
+
+    Alu tableAlu;
+
+    @BeforeEach
+    void init() throws FileNotFoundException {
+        arithmeticBus = TestMachines.bus();
+        tableBus      = TestMachines.bus();
+        arithmeticCPU = TestMachines.cpu(arithmeticBus);
+        tableCPU      = TestMachines.cpu(tableBus);
+
+        arithmeticAlu = new Alu(arithmeticBus, arithmeticCPU);
+        tableAlu      = new Alu(tableBus, tableCPU);
+        tableAlu.setTableBackend(true);
+    }
+
+    /**
+     * Assigns the same A, B and F values to both cpus
+     */
+    private void load(int a, int b, int f) {
+        for(CPU cpu : new CPU[]{arithmeticCPU, tableCPU}) {
+            cpu.getRegisters().setRegister(Registers.A, a);
+            cpu.getRegisters().setRegister(Registers.B, b);
+            cpu.getRegisters().getFlags().setValue(f);
+        }
+    }
+
+    private void assertSameState() {
+        assertEquals(arithmeticCPU.getRegisters().getRegister(Registers.A),
+                tableCPU.getRegisters().getRegister(Registers.A));
+        assertEquals(arithmeticCPU.getRegisters().getRegister(Registers.B),
+                tableCPU.getRegisters().getRegister(Registers.B));
+        assertEquals(arithmeticCPU.getRegisters().getFlags().getValue(),
+                tableCPU.getRegisters().getFlags().getValue());
+    }
+
+    /**
+     * Test the 8 bit arithmetic operations for every pair of operands and
+     * carry
+     */
+    @Test
+    void arithmeticMatchesTables() {
+        for(int a = 0; a < 0x100; a++)
+            for(int b = 0; b < 0x100; b++)
+                for(int f = 0; f <= 0x10; f += 0x10) {
+                    load(a, b, f); arithmeticAlu.adc(Registers.B); tableAlu.adc(Registers.B);
+                    assertSameState();
+
+                    load(a, b, f); arithmeticAlu.sbc(Registers.B); tableAlu.sbc(Registers.B);
+                    assertSameState();
+
+                    load(a, b, f); arithmeticAlu.cp(Registers.B); tableAlu.cp(Registers.B);
+                    assertSameState();
+                }
+    }
+
+    /**
+     * Test increments, decrements and DAA for every value and flag combination
+     */
+    @Test
+    void incDecDaaMatchTables() {
+        for(int value = 0; value < 0x100; value++)
+            for(int f = 0; f < 0x100; f += 0x10) {
+                load(value, value, f); arithmeticAlu.inc(Registers.B); tableAlu.inc(Registers.B);
+                assertSameState();
+
+                load(value, value, f); arithmeticAlu.dec(Registers.B); tableAlu.dec(Registers.B);
+                assertSameState();
+
+                load(value, value, f); arithmeticAlu.daa(); tableAlu.daa();
+                assertSameState();
+            }
+    }
+
+    /**
+     * Test every CB rotate and shift operation for every value and carry
+     */
+    @Test
+    void rotateShiftMatchesTables() {
+        CBExecutor arithmeticExecutor = new CBExecutor(arithmeticBus, arithmeticCPU);
+        CBExecutor tableExecutor = new CBExecutor(tableBus, tableCPU);
+        tableExecutor.setTableBackend(true);
+
+        for(int operationCode = 0; operationCode < 0x40; operationCode += 8)
+            for(int value = 0; value < 0x100; value++)
+                for(int f = 0; f <= 0x10; f += 0x10) {
+                    load(0, value, f);
+                    arithmeticExecutor.execute(operationCode);
+                    tableExecutor.execute(operationCode);
+
+                    assertSameState();
+                }
+    }
+}
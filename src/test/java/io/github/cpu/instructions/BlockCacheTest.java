@@ -0,0 +1,160 @@
+package io.github.cpu.instructions;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.cpu.ExecutionMode;
+import io.github.cpu.Registers;
+import io.github.memory.Bus;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockCacheTest {
+
+    /**
+     * Creates a cpu running the given rom from address 0x100
+     *
+     * @param rom cartridge contents
+     * @param executionMode mode used by the cpu
+     * @return cpu ready to execute the rom
+     */
+    private CPU createCPU(byte[] rom, ExecutionMode executionMode)
+            throws FileNotFoundException {
+        return createCPU(TestMachines.bus(rom), executionMode);
+    }
+
+    /**
+     * Creates a cpu connected to the given bus
+     *
+     * @param bus bus used by the cpu
+     * @param executionMode mode used by the cpu
+     * @return cpu ready to execute
+     */
+    private CPU createCPU(Bus bus, ExecutionMode executionMode)
+            throws FileNotFoundException {
+        CPU cpu = TestMachines.cpu(bus);
+        cpu.setExecutionMode(executionMode);
+
+        return cpu;
+    }
+
+    /**
+     * Creates a cpu that runs the given program from the start of WRAM
+     *
+     * @param bus bus used by the cpu
+     * @param program bytes to place at address 0xC000
+     * @param executionMode mode used by the cpu
+     * @return cpu ready to execute the program
+     */
+    private CPU createRamCPU(Bus bus, int[] program, ExecutionMode executionMode)
+            throws FileNotFoundException {
+        CPU cpu = createCPU(bus, executionMode);
+
+        for(int i = 0; i < program.length; i++)
+            bus.setValue(0xC000 + i, program[i]);
+        cpu.getRegisters().setProgramCounter(0xC000);
+
+        return cpu;
+    }
+
+    /**
+     * Runs the block cpu for the given ticks and checks after each one that
+     * the interpreter reaches the same state for the same machine cycles
+     *
+     * @param blockCPU cpu using pre-decoded blocks
+     * @param interpreterCPU cpu interpreting every instruction
+     * @param ticks number of block cpu ticks
+     */
+    private void assertLockstep(CPU blockCPU, CPU interpreterCPU, int ticks) {
+        for(int i = 0; i < ticks; i++) {
+            blockCPU.tick();
+
+            int machineCycles = blockCPU.getTimers().getMachineCycles();
+            while(interpreterCPU.getTimers().getMachineCycles() < machineCycles)
+                interpreterCPU.tick();
+
+            assertEquals(interpreterCPU.getTimers().getMachineCycles(),
+                    machineCycles);
+            assertEquals(interpreterCPU.getRegisters().toString(),
+                    blockCPU.getRegisters().toString());
+        }
+    }
+
+    /**
+     * Test that running blocks decoded from a random rom matches interpreting
+     * it instruction by instruction
+     */
+    @Test
+    void blocksMatchInterpreter() throws FileNotFoundException {
+        byte[] rom = TestMachines.randomRom(7, 0x150, TestMachines.ROM_SIZE);
+        rom[0x101] = (byte) 0xC3;
+        rom[0x102] = 0x50;
+        rom[0x103] = 0x01;
+
+        assertLockstep(createCPU(rom, ExecutionMode.BLOCK_CACHE),
+                createCPU(rom, ExecutionMode.INTERPRETER), 2000);
+    }
+
+    /**
+     * Test that a block that modifies code it was decoded from stops and is
+     * decoded again
+     */
+    @Test
+    void writeInsideBlockInvalidatesIt() throws FileNotFoundException {
+        int[] program = {
+                0x3E, 0x3C,         //LD A,3CH (INC A)
+                0xEA, 0x06, 0xC0,   //LD (C006H),A
+                0x00,               //NOP
+                0x00,               //NOP, becomes INC A
+                0x18, 0xF7          //JR C000H
+        };
+
+        CPU cpu = createRamCPU(TestMachines.bus(), program, ExecutionMode.BLOCK_CACHE);
+        do {
+            cpu.tick();
+        } while(cpu.getRegisters().getProgramCounter() != 0xC000);
+
+        assertEquals(0x3D, cpu.getRegisters().getRegister(Registers.A));
+    }
+
+    /**
+     * Test that code modified by a previous run of a block is decoded again
+     */
+    @Test
+    void writeToCachedCodeInvalidatesBlock() throws FileNotFoundException {
+        int[] program = {
+                0x3E, 0x05,         //LD A,05H
+                0x3C,               //INC A
+                0xEA, 0x01, 0xC0,   //LD (C001H),A
+                0x18, 0xF8          //JR C000H
+        };
+
+        Bus blockBus = TestMachines.bus();
+        CPU blockCPU = createRamCPU(blockBus, program, ExecutionMode.BLOCK_CACHE);
+        assertLockstep(blockCPU, createRamCPU(TestMachines.bus(), program,
+                ExecutionMode.INTERPRETER), 20);
+
+        assertEquals(blockCPU.getRegisters().getRegister(Registers.A),
+                blockBus.getValue(0xC001));
+    }
+
+    /**
+     * Test that writes to the rom area, which only reach the cartridge
+     * controller, don't drop the blocks decoded from rom
+     */
+    @Test
+    void romWriteKeepsBlocks() throws FileNotFoundException {
+        Bus bus = TestMachines.bus(TestMachines.rom(0x00, 0x00, 0x18, 0xFC));
+        CPU cpu = TestMachines.cpu(bus);
+        BlockCache blockCache = new BlockCache(bus, cpu.getDecoder());
+
+        Block block = blockCache.getBlock(0x100);
+        blockCache.memoryWritten(0x101);
+        blockCache.memoryWritten(0x2000);
+
+        assertTrue(block.isValid());
+        assertSame(block, blockCache.getBlock(0x100));
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.cpu.instructions;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.cpu.Registers;
+import io.github.memory.Bus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CBExecutorTest {
+
+    CPU cpu;
+
+    Bus bus;
+
+    CBExecutor executor;
+
+    @BeforeEach
+    void init() throws FileNotFoundException {
+        bus = TestMachines.bus();
+        cpu = TestMachines.cpu(bus);
+
+        executor = new CBExecutor(bus, cpu);
+
+        cpu.getRegisters().setHL(0xC000);
+    }
+
+    /**
+     * Test that BIT only changes flags and that reading (HL) takes one cycle
+     */
+    @Test
+    void bitHLReadsMemory() {
+        bus.setValue(0xC000, 0x80);
+        int machineCycles = cpu.getTimers().getMachineCycles();
+
+        executor.execute(0x7E); //BIT 7,(HL)
+
+        assertFalse(cpu.getRegisters().getFlags().getZeroFlag());
+        assertTrue(cpu.getRegisters().getFlags().getHalfCarryFlag());
+        assertEquals(0x80, bus.getValue(0xC000));
+        assertEquals(machineCycles + 1, cpu.getTimers().getMachineCycles());
+    }
+
+    /**
+     * Test that read-modify-write operations on (HL) take two cycles
+     */
+    @Test
+    void setHLWritesMemory() {
+        int machineCycles = cpu.getTimers().getMachineCycles();
+
+        executor.execute(0xDE); //SET 3,(HL)
+
+        assertEquals(0x08, bus.getValue(0xC000));
+        assertEquals(machineCycles + 2, cpu.getTimers().getMachineCycles());
+    }
+
+    /**
+     * Test that RES only clears the selected bit of the selected register
+     */
+    @Test
+    void resRegister() {
+        cpu.getRegisters().setRegister(Registers.E, 0xFF);
+
+        executor.execute(0xAB); //RES 5,E
+
+        assertEquals(0xDF, cpu.getRegisters().getRegister(Registers.E));
+    }
+
+    /**
+     * Test the rotate through carry and the flags it produces
+     */
+    @Test
+    void rlRegister() {
+        cpu.getRegisters().getFlags().setFlags(0, 0, 0, 1);
+        cpu.getRegisters().setRegister(Registers.B, 0x80);
+
+        executor.execute(0x10); //RL B
+
+        assertEquals(0x01, cpu.getRegisters().getRegister(Registers.B));
+        assertTrue(cpu.getRegisters().getFlags().getCarryFlag());
+        assertFalse(cpu.getRegisters().getFlags().getZeroFlag());
+    }
+
+    /**
+     * Test that swap exchanges nibbles and clears carry
+     */
+    @Test
+    void swapRegister() {
+        cpu.getRegisters().getFlags().setFlags(0, 0, 0, 1);
+        cpu.getRegisters().setRegister(Registers.A, 0x3C);
+
+        executor.execute(0x37); //SWAP A
+
+        assertEquals(0xC3, cpu.getRegisters().getRegister(Registers.A));
+        assertFalse(cpu.getRegisters().getFlags().getCarryFlag());
+    }
+}
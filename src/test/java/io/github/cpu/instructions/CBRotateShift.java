@@ -0,0 +1,433 @@
+package io.github.cpu.instructions;
+
+import io.github.cpu.CpuPort;
+import io.github.cpu.Flags;
+import io.github.memory.Bus;
+
+/**
+ * Frozen copy of the 0xCB prefixed rotate and shift handlers the switch
+ * decoder used before the bit field executor, kept for SwitchDecoder
+ *
+ * @author rodrigotimoteo
+ */
+
+class CBRotateShift {
+
+    /**
+     * Stores a reference to the bus used to communicate with other components
+     */
+    private final Bus bus;
+
+    /**
+     * Stores a reference to the cpu used to access its registers and timers
+     */
+    private final CpuPort cpu;
+
+    /**
+     * Creates a handler for the 0xCB prefixed rotate and shift operations
+     *
+     * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
+     */
+    CBRotateShift(Bus bus, CpuPort cpu) {
+        this.bus = bus;
+        this.cpu = cpu;
+    }
+
+    /**
+     * Checks if the zero flag will be set or reset based on the values used
+     * in the arithmetic calculation. Used for additions
+     *
+     * @param value1 to check
+     * @return status of the zero flag (1 if true 0 otherwise)
+     */
+    private int checkZero(int value1) {
+        if(value1 == 0x00) return 1;
+        else return 0;
+    }
+
+    /**
+     * Rotates word n to left, and old 7 bit is used to set or reset the carry flag
+     *
+     * @param register which register to rotate left
+     */
+    void rlc(int register) {
+        int value = cpu.getRegister(register);
+
+        Flags flags = cpu.getFlags();
+
+        int carryTemp = (value & 0x80) >> 7;
+        int carry = ((value & 0x80) == 0x80) ? 1 : 0;
+
+        value = (((value << 1) & 0xFF) | carryTemp) & 0xFF;
+
+        int zero = checkZero(value);
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.setRegister(register, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+
+    /**
+     * Rotates given word to the left and uses old 7 bit to set or reset the
+     * carry flag
+     *
+     * @param address HL value
+     */
+    void rlcHL(int address) {
+        cpu.tickTimers();
+
+        Flags flags = cpu.getFlags();
+
+        int value = bus.getValue(address);
+        int carryTemp = (value & 0x80) >> 7;
+        int carry = ((value & 0x80) == 0x80) ? 1 : 0;
+
+        value = (((value << 1) & 0xFF) | carryTemp) & 0xFF;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.tickTimers();
+        bus.setValue(address, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Rotate given register left through the carry left
+     *
+     * @param register which register to rotate left
+     */
+    void rl(int register) {
+        int value = cpu.getRegister(register);
+
+        Flags flags = cpu.getFlags();
+
+        int carryTemp = flags.getCarryFlag() ? 1 : 0;
+        int carry = ((value & 0x80) == 0x80) ? 1 : 0;
+
+        value = (((value << 1) & 0xff) | carryTemp) & 0xff;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.setRegister(register, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Rotates given word to the left through carry flag
+     *
+     * @param address HL value
+     */
+    void rlHL(int address) {
+        cpu.tickTimers();
+
+        Flags flags = cpu.getFlags();
+
+        int value = bus.getValue(address);
+        int carryTemp = flags.getCarryFlag() ? 1 : 0;
+        int carry = ((value & 0x80) == 0x80) ? 1 : 0;
+
+        value = (((value << 1) & 0xff) | carryTemp) & 0xff;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.tickTimers();
+        bus.setValue(address, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Rotates word n to right, and old 0 bit is used to set or reset the carry
+     * flag
+     *
+     * @param register which register to rotate right
+     */
+    void rrc(int register) {
+        int value = cpu.getRegister(register);
+
+        Flags flags = cpu.getFlags();
+
+        int carryTemp = (value & 0x01) << 7;
+        int carry = ((value & 0x01) == 0x01) ? 1 : 0;
+
+        value = (((value >> 1) & 0xff) | carryTemp) & 0xff;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.setRegister(register, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Rotates given word to the right and uses old 7 bit to set or reset the
+     * carry flag
+     *
+     * @param address HL value
+     */
+    void rrcHL(int address) {
+        cpu.tickTimers();
+
+        Flags flags = cpu.getFlags();
+
+        int value = bus.getValue(address);
+        int carryTemp = (value & 0x01) << 7;
+        int carry = ((value & 0x01) == 0x01) ? 1 : 0;
+
+        value = (((value >> 1) & 0xff) | carryTemp) & 0xff;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.tickTimers();
+        bus.setValue(address, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Rotates word n to right through the carry flag
+     *
+     * @param register which register to rotate right
+     */
+    void rr(int register) {
+        int value = cpu.getRegister(register);
+
+        Flags flags = cpu.getFlags();
+
+        int carryTemp = flags.getCarryFlag() ? 1 : 0;
+        int carry = ((value & 0x01) == 0x01) ? 1 : 0;
+
+        value = (((value >> 1) & 0xff) | (carryTemp << 7)) & 0xff;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.setRegister(register, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Rotates given word to the right through the carry flag
+     *
+     * @param address HL value
+     */
+    void rrHL(int address) {
+        cpu.tickTimers();
+
+        Flags flags = cpu.getFlags();
+
+        int value = bus.getValue(address);
+        int carryTemp = flags.getCarryFlag() ? 1 : 0;
+        int carry = ((value & 0x01) == 0x01) ? 1 : 0;
+
+        value = (((value >> 1) & 0xff) | (carryTemp << 7)) & 0xff;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.tickTimers();
+        bus.setValue(address, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Shifts the register's value left into the carry.
+     *
+     * @param register which register to shift left
+     */
+    void sla(int register) {
+        int value = cpu.getRegister(register);
+
+        Flags flags = cpu.getFlags();
+
+        int carry = ((value & 0x80) == 0x80) ? 1 : 0;
+
+        value = (value << 1) & 0xff;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.setRegister(register, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Shifts word n to left through the carry flag
+     *
+     * @param address HL value
+     */
+    void slaHL(int address) {
+        cpu.tickTimers();
+
+        Flags flags = cpu.getFlags();
+
+        int value = bus.getValue(address);
+        int carry = ((value & 0x80) == 0x80) ? 1 : 0;
+
+        value = (value << 1) & 0xff;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.tickTimers();
+        bus.setValue(address, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Swaps the lower bits with the higher bits of a given register
+     *
+     * @param register which register to swap
+     */
+    void swap(int register) {
+        int value = cpu.getRegister(register);
+
+        Flags flags = cpu.getFlags();
+
+        int lower = (value & 0xF0) >> 4;
+        int upper = (value & 0x0F) << 4;
+
+        value = (upper | lower) & 0xFF;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, 0);
+
+        cpu.setRegister(register, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Swaps the lower bits with the higher bits of memory stored at the address
+     * given by the HL value
+     *
+     * @param address HL value
+     */
+    void swapHL(int address) {
+        cpu.tickTimers();
+
+        int value = bus.getValue(address);
+
+        Flags flags = cpu.getFlags();
+
+        int lower = (value & 0xF0) >> 4;
+        int upper = (value & 0x0F) << 4;
+
+        value = (upper | lower) & 0xFF;
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, 0);
+
+        bus.setValue(address, value);
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Shifts the value contained inside the given register to the right into
+     * the carry. Uses the carry value
+     *
+     * @param register which register to shift
+     */
+    void sra(int register) {
+        int value = cpu.getRegister(register);
+
+        Flags flags = cpu.getFlags();
+
+        int carryTemp = value & 0x80;
+        int carry = ((value & 0x01) != 0) ? 1 : 0;
+
+        value = ((value >> 1) | carryTemp) & 0xFF;
+
+        int zero = checkZero(value);
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.setRegister(register, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Shifts right the value of the memory contained inside the address given
+     * by the 16bit register HL. Uses the carry value
+     *
+     * @param address HL value
+     */
+    void sraHL(int address) {
+        cpu.tickTimers();
+
+        Flags flags = cpu.getFlags();
+
+        int value = bus.getValue(address);
+        int carryTemp = value & 0x80;
+        int carry = ((value & 0x01) != 0) ? 1 : 0;
+
+        value = ((value >> 1) | carryTemp) & 0xFF;
+
+        int zero = checkZero(value);
+        flags.setFlags(zero, 0, 0, carry);
+
+        bus.setValue(address, value);
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Shifts the value contained inside the given register to the right into
+     * the carry. Doesn't use the carry value
+     *
+     * @param register which register to shift
+     */
+    void srl(int register) {
+        int value = cpu.getRegister(register);
+
+        Flags flags = cpu.getFlags();
+
+        int carry = ((value & 0x01) == 0x01) ? 1 : 0;
+        value = (value >> 1) & 0xFF;
+
+        int zero = checkZero(value);
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.setRegister(register, value);
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Shifts right a word contained in the memory address of 16bit register HL into
+     * the carry. Doesn't use the carry value
+     *
+     * @param address HL value
+     */
+    void srlHL(int address) {
+        cpu.tickTimers();
+
+        Flags flags = cpu.getFlags();
+
+        int value = bus.getValue(address);
+        int carry = ((value & 0x01) == 0x01) ? 1 : 0;
+
+        value = (value >> 1) & 0xFF;
+        bus.setValue(address, value);
+
+        int zero = checkZero(value);
+
+        flags.setFlags(zero, 0, 0, carry);
+
+        cpu.tickTimers();
+        cpu.incrementProgramCounter(1);
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.cpu.instructions;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.memory.Bus;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecoderTest {
+
+    /**
+     * Opcodes with no instruction assigned to them
+     */
+    private static final int[] INVALID_OPCODES = {0xD3, 0xDB, 0xDD, 0xE3, 0xE4,
+            0xEB, 0xEC, 0xED, 0xF4, 0xFC, 0xFD};
+
+    /**
+     * Creates a bus whose rom holds the given bytes at address 0x100 and
+     * varied values everywhere else
+     *
+     * @param program bytes to place at address 0x100
+     * @return bus ready to be connected to a cpu
+     */
+    private Bus createBus(int[] program) {
+        byte[] rom = TestMachines.rom(program);
+        for(int i = 0; i < rom.length; i++)
+            if(i < 0x100 || i >= 0x100 + program.length)
+                rom[i] = (byte) (i * 7 + 3);
+
+        return TestMachines.bus(rom);
+    }
+
+    /**
+     * Creates a cpu connected to the given bus with HL and SP pointing to
+     * ram
+     *
+     * @param bus bus used by the cpu
+     * @return cpu ready to execute the program
+     */
+    private CPU createCPU(Bus bus) throws FileNotFoundException {
+        CPU cpu = TestMachines.cpu(bus);
+
+        cpu.getRegisters().setHL(0xC010);
+        cpu.getRegisters().setStackPointer(0xDFF0);
+
+        return cpu;
+    }
+
+    private boolean isInvalid(int operationCode) {
+        for(int invalid : INVALID_OPCODES)
+            if(invalid == operationCode) return true;
+
+        return false;
+    }
+
+    /**
+     * Decodes the first instruction of the given program with the opcode
+     * tables and with the switch oracle and checks that they reach the same
+     * state
+     *
+     * @param program bytes to place at address 0x100
+     */
+    private void assertSameExecution(int[] program) throws FileNotFoundException {
+        Bus switchBus = createBus(program);
+        CPU tableCPU  = createCPU(createBus(program));
+        CPU switchCPU = createCPU(switchBus);
+        SwitchDecoder switchDecoder = new SwitchDecoder(switchBus, switchCPU);
+
+        tableCPU.getDecoder().decode(program[0]);
+        switchDecoder.decode(program[0]);
+
+        assertEquals(switchCPU.getRegisters().toString(),
+                tableCPU.getRegisters().toString());
+        assertEquals(switchCPU.getMachineCycles(), tableCPU.getMachineCycles());
+        assertEquals(switchCPU.isHalted(), tableCPU.isHalted());
+    }
+
+    /**
+     * Test that the opcode table matches the switch for every regular opcode
+     */
+    @Test
+    void regularTableMatchesSwitch() throws FileNotFoundException {
+        for(int operationCode = 0; operationCode < 0x100; operationCode++) {
+            if(operationCode == 0xCB || isInvalid(operationCode)) continue;
+
+            assertSameExecution(new int[]{operationCode});
+        }
+    }
+
+    /**
+     * Test that the opcode table matches the switch for every 0xCB prefixed
+     * opcode
+     */
+    @Test
+    void cbTableMatchesSwitch() throws FileNotFoundException {
+        for(int operationCode = 0; operationCode < 0x100; operationCode++)
+            assertSameExecution(new int[]{0xCB, operationCode});
+    }
+}
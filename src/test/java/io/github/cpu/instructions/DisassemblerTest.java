@@ -0,0 +1,34 @@
+package io.github.cpu.instructions;
+
+import io.github.TestMachines;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisassemblerTest {
+
+    /**
+     * Disassembles the instruction made of the given bytes at address 0x100
+     *
+     * @param bytes of the instruction
+     * @return instruction text
+     */
+    private String disassemble(int... bytes) {
+        return new Disassembler(TestMachines.bus(TestMachines.rom(bytes)))
+                .disassemble(0x100);
+    }
+
+    @Test
+    void disassemblesOperands() {
+        assertEquals("NOP", disassemble(0x00));
+        assertEquals("LD B,$12", disassemble(0x06, 0x12));
+        assertEquals("LD BC,$1234", disassemble(0x01, 0x34, 0x12));
+        assertEquals("JP $0150", disassemble(0xC3, 0x50, 0x01));
+        assertEquals("LDH ($FF44),A", disassemble(0xE0, 0x44));
+        assertEquals("JR NZ,$00FE", disassemble(0x20, 0xFC));
+        assertEquals("LD HL,SP-$02", disassemble(0xF8, 0xFE));
+        assertEquals("ADD SP,$05", disassemble(0xE8, 0x05));
+        assertEquals("SET 3,(HL)", disassemble(0xCB, 0xDE));
+        assertEquals("INVALID", disassemble(0xD3));
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.cpu.instructions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpcodeHistogramTest {
+
+    /**
+     * Creates a histogram with a few regular and prefixed executions
+     *
+     * @return filled histogram
+     */
+    private OpcodeHistogram createHistogram() {
+        OpcodeHistogram histogram = new OpcodeHistogram();
+
+        histogram.record(OpcodeTable.getRegular(0x00), 1);
+        histogram.record(OpcodeTable.getRegular(0x00), 1);
+        histogram.record(OpcodeTable.getRegular(0x20), 3);
+        histogram.record(OpcodeTable.getPrefixed(0x7C), 2);
+
+        return histogram;
+    }
+
+    /**
+     * Test that regular and prefixed opcodes are counted separately
+     */
+    @Test
+    void countsPerTable() {
+        OpcodeHistogram histogram = createHistogram();
+
+        assertEquals(2, histogram.getCount(0x00, false));
+        assertEquals(2, histogram.getCycles(0x00, false));
+        assertEquals(1, histogram.getCount(0x7C, true));
+        assertEquals(0, histogram.getCount(0x7C, false));
+        assertEquals(4, histogram.getTotalCount());
+        assertEquals(7, histogram.getTotalCycles());
+    }
+
+    /**
+     * Test that a snapshot keeps its values when the histogram changes
+     */
+    @Test
+    void snapshotIsIndependent() {
+        OpcodeHistogram histogram = createHistogram();
+        OpcodeHistogram snapshot = histogram.snapshot();
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(4, snapshot.getTotalCount());
+    }
+
+    /**
+     * Test the CSV and JSON exports
+     */
+    @Test
+    void exportsCsvAndJson() {
+        OpcodeHistogram histogram = createHistogram();
+
+        assertEquals("table,opcode,mnemonic,count,cycles\n" +
+                "regular,0x00,\"NOP\",2,2\n" +
+                "regular,0x20,\"JR NZ,r8\",1,3\n" +
+                "cb,0x7C,\"BIT 7,H\",1,2\n", histogram.toCsv());
+
+        assertEquals("{\"regular\":[" +
+                "{\"opcode\":0,\"mnemonic\":\"NOP\",\"count\":2,\"cycles\":2}," +
+                "{\"opcode\":32,\"mnemonic\":\"JR NZ,r8\",\"count\":1,\"cycles\":3}]," +
+                "\"cb\":[{\"opcode\":124,\"mnemonic\":\"BIT 7,H\",\"count\":1,\"cycles\":2}]}",
+                histogram.toJson());
+    }
+}
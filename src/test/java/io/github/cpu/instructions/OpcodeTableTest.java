@@ -0,0 +1,127 @@
+package io.github.cpu.instructions;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.cpu.instructions.OpcodeInfo.MemoryAccess;
+import io.github.cpu.instructions.OpcodeInfo.OperandKind;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpcodeTableTest {
+
+    /**
+     * Stores the flag register values each instruction is executed with, so
+     * that every conditional branch is seen both taken and not taken
+     */
+    private static final int[] FLAG_VALUES = {0x00, 0xF0};
+
+    /**
+     * Executes one instruction placed at address 0x100
+     *
+     * @param bytes of the instruction followed by its operands
+     * @param flags value of the F register before executing
+     * @return cpu after executing the instruction
+     */
+    private CPU execute(int[] bytes, int flags) throws FileNotFoundException {
+        CPU cpu = TestMachines.cpu(TestMachines.rom(bytes));
+
+        cpu.getRegisters().setHL(0xC010);
+        cpu.getRegisters().setStackPointer(0xDFF0);
+        cpu.getRegisters().getFlags().setValue(flags);
+        cpu.tick();
+
+        return cpu;
+    }
+
+    /**
+     * Checks an opcode description against what its handler does
+     *
+     * @param info description being checked
+     * @param bytes of the instruction followed by its operands
+     */
+    private void assertMatchesHandler(OpcodeInfo info, int[] bytes)
+            throws FileNotFoundException {
+        String name = info.getMnemonic();
+        int takenCount = 0;
+
+        for(int flags : FLAG_VALUES) {
+            CPU cpu = execute(bytes, flags);
+            int programCounter = cpu.getRegisters().getProgramCounter();
+            int machineCycles = cpu.getTimers().getMachineCycles();
+            boolean taken = programCounter != 0x100 + info.getLength();
+
+            if(!info.isBranch()) {
+                assertEquals(0x100 + info.getLength(), programCounter, name);
+                assertEquals(info.getCycles(), machineCycles, name);
+
+                int changed = cpu.getRegisters().getFlags().getValue() ^ flags;
+                assertEquals(0, changed & ~info.getFlagsWritten() & 0xF0, name);
+            } else if(info.isConditional()) {
+                assertEquals(taken ? info.getTakenCycles() : info.getCycles(),
+                        machineCycles, name);
+                if(taken) takenCount++;
+            } else
+                assertEquals(info.getCycles(), machineCycles, name);
+        }
+
+        if(info.isConditional())
+            assertEquals(1, takenCount, name);
+    }
+
+    /**
+     * Test that every regular opcode description matches its handler
+     */
+    @Test
+    void regularTableMatchesHandlers() throws FileNotFoundException {
+        for(int opcode = 0; opcode < 0x100; opcode++) {
+            OpcodeInfo info = OpcodeTable.getRegular(opcode);
+            if(!info.isValid() || opcode == OpcodeTable.PREFIX) continue;
+
+            assertMatchesHandler(info, new int[] {opcode, 0x10, 0xC0});
+        }
+    }
+
+    /**
+     * Test that every prefixed opcode description matches its handler
+     */
+    @Test
+    void prefixedTableMatchesHandlers() throws FileNotFoundException {
+        for(int opcode = 0; opcode < 0x100; opcode++)
+            assertMatchesHandler(OpcodeTable.getPrefixed(opcode),
+                    new int[] {OpcodeTable.PREFIX, opcode});
+    }
+
+    /**
+     * Test the descriptions of a few instructions
+     */
+    @Test
+    void describesInstructions() {
+        OpcodeInfo jumpNotZero = OpcodeTable.getRegular(0x20);
+        assertEquals("JR NZ,r8", jumpNotZero.getMnemonic());
+        assertEquals(OperandKind.RELATIVE_8, jumpNotZero.getOperandKind());
+        assertEquals(OpcodeInfo.FLAG_Z, jumpNotZero.getFlagsRead());
+        assertTrue(jumpNotZero.isConditional());
+        assertTrue(jumpNotZero.endsBlock());
+
+        OpcodeInfo addCarry = OpcodeTable.getRegular(0x88);
+        assertEquals("ADC A,B", addCarry.getMnemonic());
+        assertEquals(OpcodeInfo.FLAG_C, addCarry.getFlagsRead());
+        assertEquals(0xF0, addCarry.getFlagsWritten());
+
+        assertEquals(MemoryAccess.WRITE, OpcodeTable.getRegular(0x36).getMemoryAccess());
+        assertEquals(MemoryAccess.READ, OpcodeTable.getRegular(0xBE).getMemoryAccess());
+        assertEquals(MemoryAccess.READ_WRITE, OpcodeTable.getRegular(0x34).getMemoryAccess());
+        assertEquals(MemoryAccess.STACK, OpcodeTable.getRegular(0xCD).getMemoryAccess());
+
+        OpcodeInfo bitTest = OpcodeTable.getPrefixed(0x7E);
+        assertEquals("BIT 7,(HL)", bitTest.getMnemonic());
+        assertEquals(MemoryAccess.READ, bitTest.getMemoryAccess());
+        assertEquals(2, bitTest.getLength());
+
+        assertFalse(OpcodeTable.getRegular(0xD3).isValid());
+        assertTrue(OpcodeTable.getRegular(OpcodeTable.HALT).endsBlock());
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.cpu.instructions;
+
+import io.github.cpu.CpuPort;
+import io.github.cpu.Flags;
+import io.github.memory.Bus;
+
+/**
+ * Frozen copy of the single bit handlers the switch decoder used before the
+ * bit field executor, kept for SwitchDecoder
+ *
+ * @author rodrigotimoteo
+ */
+
+class SingleBit {
+
+    /**
+     * Stores a reference to the bus used to communicate with other components
+     */
+    private final Bus bus;
+
+    /**
+     * Stores a reference to the cpu used to access its registers and timers
+     */
+    private final CpuPort cpu;
+
+    /**
+     * Creates a handler for the single bit operations done by the CPU
+     *
+     * @param bus reference to this instances bus
+     * @param cpu reference to this instances cpu
+     */
+    SingleBit(Bus bus, CpuPort cpu) {
+        this.bus = bus;
+        this.cpu = cpu;
+    }
+
+    /**
+     * Test given bit of a specific register given
+     *
+     * @param bit to test
+     * @param register to test
+     */
+    protected void bit(int bit, int register) {
+        boolean testResult = (cpu.getRegister(register) & (1 << bit)) != 0;
+
+        Flags flags = cpu.getFlags();
+
+        if(testResult)
+            flags.setFlags(0, 0, 1, 2);
+        else
+            flags.setFlags(1, 0, 1, 2);
+
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Test given bit of a specific memory address contained in (HL)
+     *
+     * @param bit to test
+     * @param address retrieve memory to test bit
+     */
+    protected void bitHL(int bit, int address) {
+        cpu.tickTimers();
+
+        boolean testResult = (bus.getValue(address) & (1 << bit)) != 0;
+
+        Flags flags = cpu.getFlags();
+
+        if(testResult)
+            flags.setFlags(0, 0, 1, 2);
+        else
+            flags.setFlags(1, 0, 1, 2);
+
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Sets a bit on the given cpu register
+     *
+     * @param bit to set
+     * @param register to change the given bit
+     */
+    protected void set(int bit, int register) {
+        cpu.setRegister(register, cpu.getRegister(register) | (1 << bit));
+
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Executes the operation that sets a specific bit from a value retrieved
+     * from the main memory
+     *
+     * @param bit to set
+     * @param address to retrieve value from
+     */
+    protected void setHL(int bit, int address) {
+        cpu.tickTimers();
+        int value = bus.getValue(address);
+        cpu.tickTimers();
+        bus.setValue(address, value | (1 << bit));
+
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Resets a bit on the given cpu register
+     *
+     * @param bit to reset
+     * @param register to change the given bit
+     */
+    protected void res(int bit, int register) {
+        cpu.setRegister(register, cpu.getRegister(register) & ~(1 << bit));
+
+        cpu.incrementProgramCounter(1);
+    }
+
+    /**
+     * Executes the operation that resets a specific bit from a value retrieved
+     * from the main memory
+     *
+     * @param bit to reset
+     * @param address to retrieve value from
+     */
+    protected void resHL(int bit, int address) {
+        cpu.tickTimers();
+        int value = bus.getValue(address);
+        cpu.tickTimers();
+        bus.setValue(address, value & ~(1 << bit));
+
+        cpu.incrementProgramCounter(1);
+    }
+
+}
@@ -0,0 +1,172 @@
+package io.github.debug;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.cpu.Registers;
+import io.github.cpu.RunResult;
+import io.github.memory.Bus;
+import io.github.memory.cartridge.MBC1;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebuggerTest {
+
+    private Bus bus;
+    private CPU cpu;
+    private Debugger debugger;
+
+    /**
+     * Creates a cpu that will execute the given bytes at address 0x100 and a
+     * debugger for it
+     *
+     * @param program bytes to place at address 0x100
+     */
+    private void createCPU(int[] program) {
+        bus = TestMachines.bus(TestMachines.rom(program));
+        cpu = TestMachines.cpu(bus);
+
+        debugger = new Debugger(bus, cpu);
+    }
+
+    /**
+     * Test that a breakpoint stops a run before its instruction and that
+     * resuming executes it
+     */
+    @Test
+    void breakpointStopsBeforeInstruction() {
+        createCPU(new int[] {
+                0x00,               //NOP
+                0x3C,               //INC A
+                0x18, 0xFC          //JR 0100H
+        });
+        debugger.addBreakpoint(0x101);
+
+        RunResult result = cpu.runFor(1000);
+        assertEquals(RunResult.StopReason.BREAKPOINT, result.getReason());
+        assertEquals(1, result.getMachineCycles());
+        assertEquals(0x101, cpu.getRegisters().getProgramCounter());
+        assertEquals(0x01, cpu.getRegisters().getRegister(Registers.A));
+
+        result = cpu.runFor(1000);
+        assertEquals(RunResult.StopReason.BREAKPOINT, result.getReason());
+        assertEquals(0x101, cpu.getRegisters().getProgramCounter());
+        assertEquals(0x02, cpu.getRegisters().getRegister(Registers.A));
+        assertEquals(Breakpoint.Kind.EXECUTE, debugger.getLastHit().getKind());
+
+        assertTrue(debugger.remove(debugger.getLastHit()));
+        assertNull(cpu.getDebugger());
+        assertEquals(RunResult.StopReason.CYCLES_ELAPSED, cpu.runFor(1000).getReason());
+    }
+
+    /**
+     * Test that a conditional breakpoint only stops when its condition holds
+     * and that a breakpoint on another bank doesn't stop
+     */
+    @Test
+    void conditionAndBankAreChecked() {
+        createCPU(new int[] {
+                0x3C,               //INC A
+                0x18, 0xFD          //JR 0100H
+        });
+        debugger.addBreakpoint(0x100);
+        debugger.clear();
+        debugger.addBreakpoint(Breakpoint.ANY_BANK, 0x100, (registers, memory) ->
+                registers.getRegister(Registers.A) == 0x10);
+        debugger.addBreakpoint(5, 0x101, null);
+
+        RunResult result = cpu.runFor(10000);
+        assertEquals(RunResult.StopReason.BREAKPOINT, result.getReason());
+        assertEquals(0x10, cpu.getRegisters().getRegister(Registers.A));
+        assertEquals(0x100, cpu.getRegisters().getProgramCounter());
+    }
+
+    /**
+     * Test that watchpoints stop after the instruction that accessed their
+     * address and that conditions reading memory don't hit them
+     */
+    @Test
+    void watchpointsStopAfterAccess() {
+        createCPU(new int[] {
+                0x3E, 0x42,         //LD A,42H
+                0xEA, 0x00, 0xC0,   //LD (C000H),A
+                0x00,               //NOP
+                0xFA, 0x00, 0xC0,   //LD A,(C000H)
+                0x00                //NOP
+        });
+        debugger.addWatchpoint(Breakpoint.Kind.WRITE, Breakpoint.ANY_BANK, 0xC000,
+                (registers, memory) -> memory.getValue(0xC000) == 0x42);
+        debugger.addWatchpoint(Breakpoint.Kind.READ, 0xC000);
+
+        RunResult result = cpu.runFor(1000);
+        assertEquals(RunResult.StopReason.WATCHPOINT, result.getReason());
+        assertEquals(Breakpoint.Kind.WRITE, debugger.getLastHit().getKind());
+        assertEquals(0x105, cpu.getRegisters().getProgramCounter());
+
+        result = cpu.runFor(1000);
+        assertEquals(RunResult.StopReason.WATCHPOINT, result.getReason());
+        assertEquals(Breakpoint.Kind.READ, debugger.getLastHit().getKind());
+        assertEquals(0x109, cpu.getRegisters().getProgramCounter());
+        assertEquals(0x42, cpu.getRegisters().getRegister(Registers.A));
+    }
+
+    /**
+     * Test that the memory read by the trace writer and the profiler doesn't
+     * hit read watchpoints
+     */
+    @Test
+    void toolReadsDontHitWatchpoints() throws IOException {
+        createCPU(new int[] {
+                0x00,               //NOP
+                0xCD, 0x05, 0x01,   //CALL 0105H
+                0x00,               //NOP
+                0x18, 0xFE          //JR 0105H
+        });
+        debugger.addWatchpoint(Breakpoint.Kind.READ, 0x102);
+        debugger.addWatchpoint(Breakpoint.Kind.READ, 0xFFFC);
+
+        Profiler profiler = new Profiler(bus, cpu, 1);
+        profiler.setCallStackTracking(true);
+        cpu.setProfiler(profiler);
+
+        Path trace = Files.createTempFile("trace", ".bin");
+        try(TraceWriter traceWriter = new TraceWriter(bus, cpu, trace)) {
+            cpu.setTraceWriter(traceWriter);
+
+            assertEquals(RunResult.StopReason.CYCLES_ELAPSED, cpu.runFor(100).getReason());
+            assertEquals(1, profiler.getCallDepth());
+        } finally {
+            Files.deleteIfExists(trace);
+        }
+    }
+
+    /**
+     * Test that breakpoints in the fixed rom area match the bank MBC1 maps
+     * there in banking mode 1
+     */
+    @Test
+    void fixedAreaBankIsChecked() {
+        byte[] rom = new byte[0x4000 * 64];
+        rom[0x80100] = 0x18;        //JR 0100H (bank 20H)
+        rom[0x80101] = (byte) 0xFE;
+
+        bus = new Bus(false, new MBC1(64, 0, ByteBuffer.wrap(rom)));
+        cpu = TestMachines.cpu(bus);
+        debugger = new Debugger(bus, cpu);
+
+        bus.setValue(0x6000, 0x01);
+        bus.setValue(0x4000, 0x01);
+        assertEquals(0x20, bus.getFixedRomBank());
+
+        debugger.addBreakpoint(0, 0x100, null);
+        assertEquals(RunResult.StopReason.CYCLES_ELAPSED, cpu.runFor(100).getReason());
+
+        debugger.addBreakpoint(0x20, 0x100, null);
+        assertEquals(RunResult.StopReason.BREAKPOINT, cpu.runFor(100).getReason());
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.debug;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongCounterMapTest {
+
+    /**
+     * Test that counts survive the table growing
+     */
+    @Test
+    void countsAcrossGrowth() {
+        LongCounterMap map = new LongCounterMap();
+
+        for(long key = 0; key < 10000; key++)
+            map.add(key << 16, key);
+        map.add(5L << 16, 1);
+
+        assertEquals(10000, map.size());
+        assertEquals(6, map.get(5L << 16));
+        assertEquals(9999, map.get(9999L << 16));
+        assertEquals(0, map.get(10000L << 16));
+
+        long[] total = new long[1];
+        map.forEach((key, count) -> total[0] += count);
+        assertEquals(10000L * 9999 / 2 + 1, total[0]);
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(0, map.get(5L << 16));
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.debug;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.memory.Bus;
+import io.github.memory.cartridge.MBC1;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfilerTest {
+
+    /**
+     * Stores a program that calls a subroutine in a loop
+     */
+    private static final int[] PROGRAM = {
+            0xCD, 0x00, 0x02,   //0100: CALL 0200H
+            0x18, 0xFB          //0103: JR 0100H
+    };
+
+    /**
+     * Stores the subroutine called by the program
+     */
+    private static final int[] SUBROUTINE = {
+            0x00,               //0200: NOP
+            0x00,               //0201: NOP
+            0x00,               //0202: NOP
+            0xC9                //0203: RET
+    };
+
+    /**
+     * Creates a cpu running the program with a profiler attached
+     *
+     * @param sampleInterval instructions between samples
+     * @param callStackTracking whether to keep the shadow call stack
+     * @return profiler attached to the cpu
+     */
+    private Profiler runProfiled(int sampleInterval, boolean callStackTracking)
+            throws FileNotFoundException {
+        byte[] rom = TestMachines.rom(PROGRAM);
+        for(int i = 0; i < SUBROUTINE.length; i++)
+            rom[0x200 + i] = (byte) SUBROUTINE[i];
+
+        Bus bus = TestMachines.bus(rom);
+        CPU cpu = TestMachines.cpu(bus);
+
+        Profiler profiler = new Profiler(bus, cpu, sampleInterval);
+        profiler.setCallStackTracking(callStackTracking);
+        cpu.setProfiler(profiler);
+
+        for(int i = 0; i < 60; i++)
+            cpu.tick();
+
+        return profiler;
+    }
+
+    /**
+     * Test that a sample is taken every sample interval instructions
+     */
+    @Test
+    void samplesEveryInterval() throws FileNotFoundException {
+        Profiler profiler = runProfiled(3, false);
+
+        assertEquals(20, profiler.getTotalSamples());
+        assertEquals(0, profiler.getCallDepth());
+    }
+
+    /**
+     * Test the collapsed stacks with and without symbols
+     */
+    @Test
+    void exportsCollapsedStacks() throws IOException {
+        Profiler profiler = runProfiled(1, true);
+        SymbolTable symbols = SymbolTable.parse(new StringReader(
+                "00:0100 Main\n00:0200 Sub\n"));
+
+        assertEquals("Main 20\nMain;Sub 40\n", profiler.toCollapsedStacks(symbols));
+        assertEquals(10, profiler.getSamples(0, 0x200));
+        assertTrue(profiler.toCollapsedStacks(null).contains("00:0102;00:0203 10\n"));
+    }
+
+    /**
+     * Test that samples in the fixed rom area are located in the bank MBC1
+     * maps there in banking mode 1
+     */
+    @Test
+    void locatesFixedAreaBank() {
+        byte[] rom = new byte[0x4000 * 64];
+        rom[0x80100] = 0x18;        //JR 0100H (bank 20H)
+        rom[0x80101] = (byte) 0xFE;
+
+        Bus bus = new Bus(false, new MBC1(64, 0, ByteBuffer.wrap(rom)));
+        CPU cpu = TestMachines.cpu(bus);
+        bus.setValue(0x6000, 0x01);
+        bus.setValue(0x4000, 0x01);
+
+        Profiler profiler = new Profiler(bus, cpu, 1);
+        cpu.setProfiler(profiler);
+
+        for(int i = 0; i < 10; i++)
+            cpu.tick();
+
+        assertEquals(10, profiler.getSamples(0x20, 0x100));
+        assertEquals(0, profiler.getSamples(0, 0x100));
+    }
+}
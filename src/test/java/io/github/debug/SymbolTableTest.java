@@ -0,0 +1,36 @@
+package io.github.debug;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolTableTest {
+
+    /**
+     * Test that labels are read per bank and addresses are named after the
+     * closest label before them
+     */
+    @Test
+    void namesAddresses() throws IOException {
+        SymbolTable symbols = SymbolTable.parse(new StringReader(
+                "; File generated by rgblink\n" +
+                "00:0150 Start\n" +
+                "00:0200 Start.loop ; local label\n" +
+                "01:4000 BankOne\n" +
+                "1FF:4000 LastBank\n" +
+                "bad line\n" +
+                "0:12345 BadAddress\n"));
+
+        assertEquals("Start", symbols.getLabel(0, 0x150));
+        assertEquals("Start", symbols.getLabel(0, 0x1FF));
+        assertEquals("Start.loop", symbols.getLabel(0, 0x200));
+        assertEquals("BankOne", symbols.getLabel(1, 0x4100));
+        assertEquals("LastBank", symbols.getLabel(0x1FF, 0x4000));
+        assertEquals("1FF:4000", SymbolTable.format(0x1FF, 0x4000));
+        assertNull(symbols.getLabel(0, 0x100));
+        assertEquals("02:4000", symbols.getName(2, 0x4000));
+    }
+}
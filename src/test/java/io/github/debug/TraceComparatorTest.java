@@ -0,0 +1,143 @@
+package io.github.debug;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.memory.Bus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceComparatorTest {
+
+    /**
+     * Stores the number of traced instructions
+     */
+    private static final int RECORDS = 1000;
+
+    /**
+     * Stores a window size that isn't a multiple of the record size, so
+     * records and lines cross windows
+     */
+    private static final int WINDOW_SIZE = 100;
+
+    private Path trace;
+    private Path reference;
+
+    /**
+     * Traces a random program from address 0x100
+     */
+    @BeforeEach
+    void writeTrace() throws IOException {
+        Bus bus = TestMachines.bus(TestMachines.randomRom(2, 0x100, 0x4100));
+        CPU cpu = TestMachines.cpu(bus);
+
+        trace = Files.createTempFile("trace", ".bin");
+        reference = Files.createTempFile("reference", ".log");
+
+        try(TraceWriter traceWriter = new TraceWriter(bus, cpu, trace)) {
+            cpu.setTraceWriter(traceWriter);
+
+            for(int i = 0; i < RECORDS; i++)
+                cpu.tick();
+        }
+    }
+
+    @AfterEach
+    void deleteFiles() throws IOException {
+        Files.deleteIfExists(trace);
+        Files.deleteIfExists(reference);
+    }
+
+    /**
+     * Writes the trace as text to the reference file
+     *
+     * @param format of the reference lines
+     * @return lines of the reference
+     */
+    private List<String> writeReference(TraceRecord.TextFormat format) throws IOException {
+        try(Writer writer = Files.newBufferedWriter(reference)) {
+            TraceConverter.convert(trace, writer, format);
+        }
+
+        return Files.readAllLines(reference);
+    }
+
+    /**
+     * Test that the text conversions of a trace match it in both formats
+     */
+    @Test
+    void conversionsDontDiverge() throws IOException {
+        for(TraceRecord.TextFormat format : TraceRecord.TextFormat.values()) {
+            writeReference(format);
+
+            StringWriter report = new StringWriter();
+            assertEquals(-1, new TraceComparator(reference, trace, WINDOW_SIZE).compare(report));
+            assertEquals("No divergence in 1000 records, trace ended at record 1000\n",
+                    report.toString());
+        }
+    }
+
+    /**
+     * Test that the first changed line is reported with the fields that
+     * differ and its context
+     */
+    @Test
+    void reportsFirstDivergence() throws IOException {
+        List<String> lines = writeReference(TraceRecord.TextFormat.DOCTOR);
+        String line = lines.get(500);
+        String stackPointer = line.substring(line.indexOf("SP:") + 3, line.indexOf("SP:") + 7);
+        lines.set(500, line.replace("SP:" + stackPointer, "SP:1234").toLowerCase());
+        Files.write(reference, lines);
+
+        TraceComparator traceComparator = new TraceComparator(reference, trace, WINDOW_SIZE);
+        traceComparator.setContextLines(2);
+
+        StringWriter report = new StringWriter();
+        assertEquals(500, traceComparator.compare(report));
+
+        String[] reportLines = report.toString().split("\n");
+        assertTrue(reportLines[0].startsWith("Divergence at record 500 (reference line 501"));
+        assertEquals("  SP: reference 1234, trace " + stackPointer, reportLines[1]);
+        assertEquals(2 + 5 * 2, reportLines.length);
+        assertEquals("  498 R " + lines.get(498), reportLines[2]);
+        assertEquals("  498 T " + lines.get(498), reportLines[3]);
+        assertEquals("> 500 T " + line, reportLines[7]);
+        assertEquals("  502 R " + lines.get(502), reportLines[10]);
+    }
+
+    /**
+     * Test that starting after a divergence, by record or by machine cycles,
+     * skips it
+     */
+    @Test
+    void startSkipsDivergence() throws IOException {
+        List<String> lines = writeReference(TraceRecord.TextFormat.LOG);
+        int registerA = Integer.parseInt(lines.get(10).substring(3, 5), 16);
+        lines.set(10, String.format("A: %02X", registerA ^ 0xFF) + lines.get(10).substring(5));
+        Files.write(reference, lines);
+
+        TraceComparator traceComparator = new TraceComparator(reference, trace, WINDOW_SIZE);
+        assertEquals(10, traceComparator.compare(new StringWriter()));
+
+        traceComparator.setStartRecord(11);
+        assertEquals(-1, traceComparator.compare(new StringWriter()));
+
+        ByteBuffer record = ByteBuffer.wrap(Files.readAllBytes(trace));
+        long machineCycles = new TraceRecord().load(record, 11 * TraceRecord.SIZE)
+                .getMachineCycles();
+
+        traceComparator.setStartRecord(0);
+        traceComparator.setStartCycle(machineCycles);
+        assertEquals(-1, traceComparator.compare(new StringWriter()));
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.debug;
+
+import io.github.TestMachines;
+import io.github.cpu.CPU;
+import io.github.memory.Bus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceWriterTest {
+
+    /**
+     * Creates a bus with a random program from address 0x100
+     *
+     * @return bus ready to be connected to a cpu
+     */
+    private Bus createBus() {
+        return TestMachines.bus(TestMachines.randomRom(2, 0x100, 0x4100));
+    }
+
+    /**
+     * Test that the converted trace matches the registers printed before
+     * every instruction, with a buffer small enough to wrap around many times
+     */
+    @Test
+    void traceMatchesRegisters() throws IOException {
+        List<String> expected = new ArrayList<>();
+        CPU referenceCPU = TestMachines.cpu(createBus());
+        for(int i = 0; i < 1000; i++) {
+            expected.add(referenceCPU.getRegisters().toString());
+            referenceCPU.tick();
+        }
+
+        Path trace = Files.createTempFile("trace", ".bin");
+        try {
+            Bus bus = createBus();
+            CPU cpu = TestMachines.cpu(bus);
+            try(TraceWriter traceWriter = new TraceWriter(bus, cpu, trace, 8)) {
+                cpu.setTraceWriter(traceWriter);
+
+                for(int i = 0; i < 1000; i++)
+                    cpu.tick();
+
+                assertEquals(1000, traceWriter.getRecordCount());
+            }
+
+            assertEquals(1000 * TraceRecord.SIZE, Files.size(trace));
+
+            StringWriter log = new StringWriter();
+            assertEquals(1000, TraceConverter.convert(trace, log, TraceRecord.TextFormat.LOG));
+            assertEquals(String.join("\n", expected) + "\n", log.toString());
+
+            StringWriter doctor = new StringWriter();
+            TraceConverter.convert(trace, doctor, TraceRecord.TextFormat.DOCTOR);
+            assertTrue(doctor.toString().startsWith(
+                    "A:01 F:B0 B:00 C:13 D:00 E:D8 H:01 L:4D SP:FFFE PC:0100 PCMEM:"));
+        } finally {
+            Files.deleteIfExists(trace);
+        }
+    }
+
+    /**
+     * Test that the machine cycles of the records keep counting past the
+     * range of the cpu's 32 bit counter
+     */
+    @Test
+    void cyclesDontWrap() throws IOException {
+        Path trace = Files.createTempFile("trace", ".bin");
+        try {
+            Bus bus = TestMachines.bus();
+            CPU cpu = TestMachines.cpu(bus);
+            cpu.getTimers().advance(Integer.MAX_VALUE - 2);
+
+            try(TraceWriter traceWriter = new TraceWriter(bus, cpu, trace, 8)) {
+                cpu.setTraceWriter(traceWriter);
+
+                for(int i = 0; i < 8; i++)
+                    cpu.tick();
+            }
+
+            ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(trace));
+            TraceRecord record = new TraceRecord();
+            for(int i = 0; i < 8; i++)
+                assertEquals(Integer.MAX_VALUE - 2L + i,
+                        record.load(records, i * TraceRecord.SIZE).getMachineCycles());
+        } finally {
+            Files.deleteIfExists(trace);
+        }
+    }
+}
@@ -1,8 +1,100 @@
 package io.github.memory;
 
+import io.github.TestMachines;
+import io.github.memory.cartridge.MBC1;
+import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class BusTest {
 
+    /**
+     * Test that fetching code reads the same values as regular reads across
+     * every area, including fetches that cross from one bank to the next
+     */
+    @Test
+    void immediateMatchesValue() {
+        Random random = new Random(1);
+        byte[] rom = new byte[TestMachines.ROM_SIZE];
+        random.nextBytes(rom);
+
+        Bus bus = TestMachines.bus(rom);
+        for(int address = 0xC000; address < 0xE000; address++)
+            bus.setValue(address, random.nextInt(0x100));
+
+        for(int address = 0; address < 0xFFFF; address++)
+            assertEquals(bus.getValue(address), bus.getImmediate(address),
+                    Integer.toHexString(address));
+
+        for(int address = 0xFFFE; address >= 0; address--)
+            assertEquals(bus.getValue(address), bus.getImmediate(address),
+                    Integer.toHexString(address));
+    }
+
+    /**
+     * Test that code fetched after a rom bank switch comes from the new bank
+     */
+    @Test
+    void immediateFollowsBankSwitch() {
+        byte[] rom = new byte[0x4000 * 4];
+        for(int bank = 0; bank < 4; bank++)
+            rom[0x4000 * bank] = (byte) bank;
+
+        Bus bus = new Bus(false, new MBC1(4, 0, ByteBuffer.wrap(rom)));
+        assertEquals(1, bus.getImmediate(0x4000));
+
+        bus.setValue(0x2000, 2);
+        assertEquals(2, bus.getImmediate(0x4000));
+
+        bus.setValue(0x2000, 3);
+        assertEquals(3, bus.getImmediate(0x4000));
+    }
+
+    /**
+     * Test that pages mapped straight to memory and handled pages agree and
+     * echo ram mirrors work ram
+     */
+    @Test
+    void pageTableMatchesModules() {
+        byte[] rom = TestMachines.rom();
+        rom[0x4321] = 0x56;
+
+        Bus bus = TestMachines.bus(rom);
+        assertEquals(0x56, bus.getValue(0x4321));
+
+        bus.setValue(0x8123, 0x9A);
+        assertEquals(0x9A, bus.getValue(0x8123));
+
+        bus.setValue(0xC456, 0xBC);
+        assertEquals(0xBC, bus.getValue(0xC456));
+        assertEquals(0xBC, bus.getValue(0xE456));
+
+        bus.setValue(0xFF85, 0xDE);
+        assertEquals(0xDE, bus.getValue(0xFF85));
+    }
+
+    /**
+     * Test that external ram is only reachable while enabled and keeps its
+     * content across being disabled
+     */
+    @Test
+    void externalRamFollowsEnable() {
+        Bus bus = new Bus(false, new MBC1(4, 1, ByteBuffer.allocate(0x4000 * 4)));
+
+        bus.setValue(0xA123, 0x45);
+        assertEquals(0x00, bus.getValue(0xA123));
+
+        bus.setValue(0x0000, 0x0A);
+        bus.setValue(0xA123, 0x45);
+        assertEquals(0x45, bus.getValue(0xA123));
+
+        bus.setValue(0x0000, 0x00);
+        assertEquals(0x00, bus.getValue(0xA123));
 
-}
\ No newline at end of file
+        bus.setValue(0x0000, 0x0A);
+        assertEquals(0x45, bus.getValue(0xA123));
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.ByteBuffer;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MemoryModuleTest {
@@ -98,4 +100,63 @@ class MemoryModuleTest {
 
         assertEquals(moduleTest3.getValue(address), address);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a Word returned by the module is a view of its memory, so
+     * writes through either are seen by the other
+     */
+    @Test
+    void wordIsViewOfMemory() {
+        Word word = moduleTest3.getWord(0x35);
+
+        word.setValue(0x12);
+        assertEquals(0x12, moduleTest3.getValue(0x35));
+
+        moduleTest3.setValue(0x35, 0x80);
+        assertTrue(word.testBit(7));
+    }
+
+    /**
+     * Tests that content given to the module is laid out bank after bank
+     */
+    @Test
+    void contentIsLaidOutByBank() {
+        byte[] content = new byte[0x40];
+        for(int i = 0; i < content.length; i++)
+            content[i] = (byte) i;
+
+        MemoryModule module = new MemoryModule(ByteBuffer.wrap(content), 0x10, 2, 0x00, 4);
+        assertEquals(0x05, module.getValue(0x05));
+        assertEquals(0x15, module.getValue(0x15));
+
+        module.changeActiveBank(3);
+        assertEquals(0x05, module.getValue(0x05));
+        assertEquals(0x35, module.getValue(0x15));
+    }
+
+    /**
+     * Tests that banks are only allocated and copied from the content once
+     * they are mapped
+     */
+    @Test
+    void banksAreLoadedWhenMapped() {
+        byte[] content = new byte[0x40];
+        for(int i = 0; i < content.length; i++)
+            content[i] = (byte) (i + 1);
+
+        MemoryModule module = new MemoryModule(ByteBuffer.wrap(content), 0x10, 2, 0x00, 4);
+        assertTrue(module.isBankLoaded(0));
+        assertTrue(module.isBankLoaded(1));
+        assertFalse(module.isBankLoaded(2));
+        assertFalse(module.isBankLoaded(3));
+
+        module.changeActiveBank(2);
+        assertTrue(module.isBankLoaded(2));
+        assertFalse(module.isBankLoaded(3));
+        assertEquals(0x21, module.getValue(0x10));
+        assertEquals(0x10, module.getMemory(0x10).length);
+
+        module.changeFixedBank(3);
+        assertEquals(0x31, module.getValue(0x00));
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.memory.cartridge;
+
+import io.github.memory.Bus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MBCTest {
+
+    /**
+     * Creates a rom where the first byte of every bank holds its number
+     *
+     * @param banks number of rom banks
+     * @return rom content
+     */
+    private byte[] numberedRom(int banks) {
+        byte[] rom = new byte[0x4000 * banks];
+        for(int bank = 0; bank < banks; bank++) {
+            rom[0x4000 * bank]     = (byte) bank;
+            rom[0x4000 * bank + 1] = (byte) (bank >> 8);
+        }
+
+        return rom;
+    }
+
+    /**
+     * Test that MBC1 combines both bank registers and that banking mode 1
+     * switches the first rom area and the ram bank
+     */
+    @Test
+    void mbc1BankingModes() {
+        Bus bus = new Bus(false, new MBC1(128, 4, ByteBuffer.wrap(numberedRom(128))));
+
+        bus.setValue(0x2000, 0x00);
+        assertEquals(1, bus.getValue(0x4000));
+
+        bus.setValue(0x2000, 0x05);
+        bus.setValue(0x4000, 0x02);
+        assertEquals(0x45, bus.getValue(0x4000));
+        assertEquals(0, bus.getValue(0x0000));
+
+        bus.setValue(0x0000, 0x0A);
+        bus.setValue(0xA000, 0x11);
+
+        bus.setValue(0x6000, 0x01);
+        assertEquals(0x40, bus.getValue(0x0000));
+        assertEquals(0x00, bus.getValue(0xA000));
+
+        bus.setValue(0xA000, 0x22);
+        bus.setValue(0x6000, 0x00);
+        assertEquals(0x11, bus.getValue(0xA000));
+        assertEquals(0, bus.getValue(0x0000));
+    }
+
+    /**
+     * Test that MBC2 selects registers with address bit 8 and keeps only the
+     * lower half of every byte of its built-in ram
+     */
+    @Test
+    void mbc2BuiltInRam() {
+        Bus bus = new Bus(false, new MBC2(16, 0, ByteBuffer.wrap(numberedRom(16))));
+
+        bus.setValue(0x2100, 0x03);
+        assertEquals(3, bus.getValue(0x4000));
+
+        bus.setValue(0x0000, 0x0A);
+        bus.setValue(0xA001, 0x5C);
+        assertEquals(0xFC, bus.getValue(0xA001));
+        assertEquals(0xFC, bus.getValue(0xA201));
+
+        bus.setValue(0x0100, 0x0A);
+        assertEquals(10, bus.getValue(0x4000));
+        assertEquals(0xFC, bus.getValue(0xA001));
+    }
+
+    /**
+     * Test that MBC3 maps clock registers over the ram and only updates them
+     * when latched
+     */
+    @Test
+    void mbc3ClockRegisters() {
+        Bus bus = new Bus(false, new MBC3(128, 4, ByteBuffer.wrap(numberedRom(128))));
+
+        bus.setValue(0x2000, 0x7F);
+        assertEquals(0x7F, bus.getValue(0x4000));
+
+        bus.setValue(0x0000, 0x0A);
+        bus.setValue(0x4000, 0x01);
+        bus.setValue(0xA000, 0x33);
+
+        bus.setValue(0x4000, 0x0C);
+        bus.setValue(0xA000, 0x40);
+        bus.setValue(0x4000, 0x0A);
+        bus.setValue(0xA000, 0x05);
+
+        bus.setValue(0x6000, 0x00);
+        bus.setValue(0x6000, 0x01);
+        assertEquals(0x05, bus.getValue(0xA000));
+
+        bus.setValue(0x4000, 0x0C);
+        assertEquals(0x40, bus.getValue(0xA000));
+
+        bus.setValue(0x4000, 0x01);
+        assertEquals(0x33, bus.getValue(0xA000));
+    }
+
+    /**
+     * Test that MBC5 uses a 9 bit rom bank number and can map bank 0
+     */
+    @Test
+    void mbc5NineBitRomBank() {
+        Bus bus = new Bus(false, new MBC5(512, 16, ByteBuffer.wrap(numberedRom(512))));
+
+        bus.setValue(0x2000, 0x23);
+        bus.setValue(0x3000, 0x01);
+        assertEquals(0x23, bus.getValue(0x4000));
+        assertEquals(0x01, bus.getValue(0x4001));
+
+        bus.setValue(0x2000, 0x00);
+        bus.setValue(0x3000, 0x00);
+        assertEquals(0x00, bus.getValue(0x4000));
+        assertEquals(0x00, bus.getValue(0x4001));
+    }
+}
@@ -1,10 +1,16 @@
 package io.github.memory.cartridge;
 
+import io.github.memory.MemoryModule;
+import io.github.memory.ReservedAddresses;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,5 +34,58 @@ class RomReaderTest {
         assertEquals(romReader.getRamSize(), 0);
     }
 
+    /**
+     * Test that a memory mapped rom creates the same module as one read into
+     * the heap
+     */
+    @Test
+    void testLoadMappedRom(@TempDir Path directory) throws IOException {
+        byte[] content = new byte[0x4000 * 4];
+        new Random(1).nextBytes(content);
+        content[ReservedAddresses.CARTRIDGE_TYPE.getAddress()] = 0x01;
+        content[ReservedAddresses.ROM_SIZE.getAddress()] = 0x01;
+        content[ReservedAddresses.RAM_SIZE.getAddress()] = 0x00;
+
+        File rom = directory.resolve("mapped.gb").toFile();
+        Files.write(rom.toPath(), content);
+
+        romReader.loadRom(rom);
+        MemoryModule heapModule = romReader.getModule();
+
+        romReader.loadMappedRom(rom);
+        MemoryModule mappedModule = romReader.getModule();
 
-}
\ No newline at end of file
+        assertInstanceOf(MBC1.class, mappedModule);
+        assertEquals(4, romReader.getRomSize());
+
+        for(int bank = 1; bank < 4; bank++) {
+            heapModule.changeActiveBank(bank);
+            mappedModule.changeActiveBank(bank);
+
+            for(int address = 0; address < 0x8000; address++)
+                assertEquals(heapModule.getValue(address), mappedModule.getValue(address));
+        }
+    }
+
+    /**
+     * Test that the content is handed to the module, the header can still be
+     * read but a second module can't be built without loading again
+     */
+    @Test
+    void testModuleTakesContent(@TempDir Path directory) throws IOException {
+        byte[] content = new byte[0x4000 * 2];
+        content[ReservedAddresses.TITLE_START.getAddress()] = 'J';
+        content[ReservedAddresses.CONSOLE_TYPE.getAddress()] = (byte) 0x80;
+
+        File rom = directory.resolve("header.gb").toFile();
+        Files.write(rom.toPath(), content);
+
+        romReader.loadMappedRom(rom);
+        assertInstanceOf(MBC0.class, romReader.getModule());
+
+        assertEquals("J", romReader.getRomTitle());
+        assertTrue(romReader.isCGB());
+        assertEquals(2, romReader.getRomSize());
+        assertThrows(IllegalStateException.class, romReader::getModule);
+    }
+}